@@ -28,7 +28,7 @@ repositories {
 dependencies {
     // Spring Boot Starters
     implementation("org.springframework.boot:spring-boot-starter-actuator")
-    implementation("org.springframework.boot:spring-boot-starter-batch")
+    implementation("org.springframework.boot:spring-boot-starter-batch-jdbc")
     implementation("org.springframework.boot:spring-boot-starter-data-jpa")
     implementation("org.springframework.boot:spring-boot-starter-security")
     implementation("org.springframework.boot:spring-boot-starter-security-oauth2-resource-server")
@@ -45,7 +45,10 @@ dependencies {
     implementation(libs.awssdk.s3)
 
     // Other Libraries
+    implementation("com.github.ben-manes.caffeine:caffeine")
+    implementation(libs.fastutil)
     implementation(libs.icu4j)
+    implementation(libs.roaringbitmap)
     implementation(libs.mapstruct)
     implementation(libs.slugify)
     implementation(libs.uuid.creator)
@@ -93,8 +96,25 @@ dependencies {
     testRuntimeOnly("org.junit.platform:junit-platform-launcher")
 }
 
-tasks.withType<Test> {
-    useJUnitPlatform()
+tasks.test {
+    useJUnitPlatform {
+        excludeTags("benchmark")
+    }
+}
+
+// Performance benchmarks (Testcontainers-backed), run explicitly with `./gradlew benchmark`
+tasks.register<Test>("benchmark") {
+    description = "Runs benchmark tests."
+    group = "verification"
+    testClassesDirs = sourceSets.test.get().output.classesDirs
+    classpath = sourceSets.test.get().runtimeClasspath
+    useJUnitPlatform {
+        includeTags("benchmark")
+    }
+    testLogging {
+        showStandardStreams = true
+    }
+    shouldRunAfter(tasks.test)
 }
 
 idea {
@@ -0,0 +1,15 @@
+package dev.harakki.comics.achievements.api;
+
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Published once per user and achievement, when the achievement is unlocked.
+ */
+public record AchievementUnlockedEvent(
+        UUID userId,
+        String achievement,
+        Instant unlockedAt
+) implements Serializable {
+}
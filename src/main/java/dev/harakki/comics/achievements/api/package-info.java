@@ -0,0 +1,4 @@
+@NamedInterface("api")
+package dev.harakki.comics.achievements.api;
+
+import org.springframework.modulith.NamedInterface;
@@ -0,0 +1,136 @@
+package dev.harakki.comics.achievements.application;
+
+import dev.harakki.comics.analytics.api.ReadingHistoryProvider;
+import dev.harakki.comics.analytics.api.ReadingHistoryProvider.ReadingHistory;
+import dev.harakki.comics.library.api.LibraryEntryProvider;
+import dev.harakki.comics.library.api.LibraryEntryProvider.LibraryCounts;
+import org.springframework.batch.core.job.Job;
+import org.springframework.batch.core.job.builder.JobBuilder;
+import org.springframework.batch.core.partition.Partitioner;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.core.step.Step;
+import org.springframework.batch.core.step.builder.StepBuilder;
+import org.springframework.batch.infrastructure.item.ExecutionContext;
+import org.springframework.batch.infrastructure.repeat.RepeatStatus;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Backfill of achievement progress as a Spring Batch job: the reading history and then the library
+ * counts of all users replace their counters, unlocking every achievement they qualify for. Each step
+ * splits the user ID space into ranges that are processed concurrently, a page of users per
+ * transaction in keyset order. Since counters are replaced rather than added to, the job can be rerun.
+ */
+@Configuration
+class AchievementBackfillJobConfiguration {
+
+    static final String JOB_NAME = "achievementBackfillJob";
+    private static final UUID NIL = new UUID(0, 0);
+
+    private final JobRepository jobRepository;
+    private final int pageSize;
+    private final int gridSize;
+    private final SimpleAsyncTaskExecutor taskExecutor;
+
+    AchievementBackfillJobConfiguration(
+            JobRepository jobRepository,
+            @Value("${achievements.backfill.page-size:500}") int pageSize,
+            @Value("${achievements.backfill.grid-size:16}") int gridSize,
+            @Value("${achievements.backfill.threads:4}") int threads
+    ) {
+        this.jobRepository = jobRepository;
+        this.pageSize = pageSize;
+        this.gridSize = gridSize;
+        // Bounded, every partition holds a database connection while it runs
+        this.taskExecutor = new SimpleAsyncTaskExecutor("achievement-backfill-");
+        this.taskExecutor.setConcurrencyLimit(threads);
+    }
+
+    @Bean
+    Job achievementBackfillJob(ReadingHistoryProvider readingHistoryProvider,
+                               LibraryEntryProvider libraryEntryProvider,
+                               AchievementService achievementService) {
+        return new JobBuilder(JOB_NAME, jobRepository)
+                .start(partitioned("achievementReadingBackfillStep",
+                        readingHistoryProvider::getReadingHistories, ReadingHistory::userId, achievementService::applyReadingHistories))
+                .next(partitioned("achievementLibraryBackfillStep",
+                        libraryEntryProvider::getLibraryCounts, LibraryCounts::userId, achievementService::applyLibraryCounts))
+                .build();
+    }
+
+    /**
+     * Step applying all pages of a source, with one worker per user range. A worker handles a page
+     * per tasklet call and keeps its position in the step execution context.
+     */
+    private <T> Step partitioned(String name, BiFunction<UUID, Integer, List<T>> pageLoader,
+                                 Function<T, UUID> userId, Consumer<List<T>> writer) {
+        var worker = new StepBuilder(name + "Worker", jobRepository)
+                .tasklet((contribution, chunkContext) -> {
+                    var range = chunkContext.getStepContext().getStepExecution().getExecutionContext();
+                    var after = UUID.fromString(range.getString("after"));
+                    var to = range.containsKey("to") ? UUID.fromString(range.getString("to")) : null;
+
+                    var page = pageLoader.apply(after, pageSize);
+                    var inRange = page.stream()
+                            .takeWhile(item -> to == null || compare(userId.apply(item), to) < 0)
+                            .toList();
+                    if (!inRange.isEmpty()) {
+                        writer.accept(inRange);
+                        range.putString("after", userId.apply(inRange.getLast()).toString());
+                        contribution.incrementWriteCount(inRange.size());
+                    }
+                    // A full page that stayed within the range may be followed by more users
+                    return page.size() == pageSize && inRange.size() == page.size()
+                            ? RepeatStatus.CONTINUABLE
+                            : RepeatStatus.FINISHED;
+                })
+                .allowStartIfComplete(true)
+                .build();
+        return new StepBuilder(name, jobRepository)
+                .partitioner(worker.getName(), userRanges())
+                .step(worker)
+                .taskExecutor(taskExecutor)
+                .gridSize(gridSize)
+                .allowStartIfComplete(true)
+                .build();
+    }
+
+    /**
+     * Contiguous ranges of the user ID space split on the leading 64 bits. Bounds have all trailing
+     * bits clear, which no generated UUID has, so no user falls on a bound.
+     */
+    private static Partitioner userRanges() {
+        return gridSize -> {
+            long width = Long.divideUnsigned(-1L, gridSize);
+            Map<String, ExecutionContext> partitions = new HashMap<>();
+            for (int part = 0; part < gridSize; part++) {
+                var range = new ExecutionContext();
+                range.putString("after", (part == 0 ? NIL : new UUID(width * part, 0)).toString());
+                if (part + 1 < gridSize) {
+                    range.putString("to", new UUID(width * (part + 1), 0).toString());
+                }
+                partitions.put("partition" + part, range);
+            }
+            return partitions;
+        };
+    }
+
+    /**
+     * Orders UUIDs as PostgreSQL does, by their bytes unsigned. {@link UUID#compareTo} compares signed.
+     */
+    static int compare(UUID a, UUID b) {
+        int most = Long.compareUnsigned(a.getMostSignificantBits(), b.getMostSignificantBits());
+        return most != 0 ? most : Long.compareUnsigned(a.getLeastSignificantBits(), b.getLeastSignificantBits());
+    }
+
+}
@@ -0,0 +1,85 @@
+package dev.harakki.comics.achievements.application;
+
+import dev.harakki.comics.analytics.api.ReadingHistoryReadyEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.job.Job;
+import org.springframework.batch.core.job.parameters.JobParameters;
+import org.springframework.batch.core.job.parameters.JobParametersBuilder;
+import org.springframework.batch.core.launch.JobOperator;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+
+/**
+ * Runs the achievement backfill job, once after the reading history is first available and on demand.
+ * The first backfill is a job instance with fixed parameters, so whether it already completed is
+ * recorded in the job repository rather than guessed from the progress table, which live events
+ * fill as well.
+ */
+@Slf4j
+@Service
+public class AchievementBackfillService {
+
+    private static final JobParameters INITIAL_BACKFILL = new JobParametersBuilder()
+            .addString("run", "initial")
+            .toJobParameters();
+
+    private final JobOperator jobOperator;
+    private final JobRepository jobRepository;
+    private final Job achievementBackfillJob;
+    private final boolean backfillOnStartup;
+
+    AchievementBackfillService(
+            JobOperator jobOperator,
+            JobRepository jobRepository,
+            @Qualifier("achievementBackfillJob") Job achievementBackfillJob,
+            @Value("${achievements.backfill-on-startup:true}") boolean backfillOnStartup
+    ) {
+        this.jobOperator = jobOperator;
+        this.jobRepository = jobRepository;
+        this.achievementBackfillJob = achievementBackfillJob;
+        this.backfillOnStartup = backfillOnStartup;
+    }
+
+    /**
+     * Runs once the analytics rollups the history is read from are backfilled, unless the first
+     * backfill already completed. A failed first backfill is restarted on the next start.
+     */
+    @Async
+    @EventListener(ReadingHistoryReadyEvent.class)
+    public void backfillIfNeverCompleted() {
+        if (!backfillOnStartup) {
+            return;
+        }
+        var last = jobRepository.getLastJobExecution(AchievementBackfillJobConfiguration.JOB_NAME, INITIAL_BACKFILL);
+        if (last == null || last.getStatus() != BatchStatus.COMPLETED) {
+            run(INITIAL_BACKFILL);
+        }
+    }
+
+    @Async
+    public void backfill() {
+        run(new JobParametersBuilder()
+                .addLong("startedAt", System.currentTimeMillis())
+                .toJobParameters());
+    }
+
+    private synchronized void run(JobParameters parameters) {
+        long started = System.nanoTime();
+        try {
+            var execution = jobOperator.start(achievementBackfillJob, parameters);
+            if (execution.getStatus() != BatchStatus.COMPLETED) {
+                log.error("Achievement backfill finished with status {}", execution.getStatus());
+                return;
+            }
+            log.info("Backfilled achievement progress in {} ms", (System.nanoTime() - started) / 1_000_000);
+        } catch (Exception e) {
+            log.error("Failed to backfill achievement progress", e);
+        }
+    }
+
+}
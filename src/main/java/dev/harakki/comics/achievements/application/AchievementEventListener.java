@@ -0,0 +1,84 @@
+package dev.harakki.comics.achievements.application;
+
+import dev.harakki.comics.analytics.api.TitleReadStartedEvent;
+import dev.harakki.comics.content.api.ChapterReadEvent;
+import dev.harakki.comics.library.api.LibraryAddTitleEvent;
+import dev.harakki.comics.library.api.LibraryRemoveTitleEvent;
+import dev.harakki.comics.library.api.LibraryVoteTitleEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.modulith.events.ApplicationModuleListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AchievementEventListener {
+
+    private final AchievementService achievementService;
+
+    @Async
+    @ApplicationModuleListener
+    public void on(ChapterReadEvent event) {
+        log.debug("Processing chapter read event: userId={}, chapterId={}", event.userId(), event.chapterId());
+
+        try {
+            achievementService.recordChapterRead(event.userId(), event.chapterId(), event.readTimeMillis(), event.readAt());
+        } catch (Exception e) {
+            log.error("Failed to process chapter read event: userId={}, chapterId={}", event.userId(), event.chapterId(), e);
+        }
+    }
+
+    @Async
+    @ApplicationModuleListener
+    public void on(TitleReadStartedEvent event) {
+        log.debug("Processing title read started event: userId={}, titleId={}", event.userId(), event.titleId());
+
+        try {
+            achievementService.recordTitleReadStarted(event.userId(), event.titleId());
+        } catch (Exception e) {
+            log.error("Failed to process title read started event: userId={}, titleId={}", event.userId(), event.titleId(), e);
+        }
+    }
+
+    @Async
+    @ApplicationModuleListener
+    public void on(LibraryAddTitleEvent event) {
+        log.debug("Processing library add event: userId={}, titleId={}", event.userId(), event.titleId());
+
+        try {
+            achievementService.recordLibraryChanged(event.userId());
+        } catch (Exception e) {
+            log.error("Failed to process library add event: userId={}, titleId={}", event.userId(), event.titleId(), e);
+        }
+    }
+
+    @Async
+    @ApplicationModuleListener
+    public void on(LibraryRemoveTitleEvent event) {
+        log.debug("Processing library remove event: userId={}, titleId={}", event.userId(), event.titleId());
+
+        try {
+            achievementService.recordLibraryChanged(event.userId());
+        } catch (Exception e) {
+            log.error("Failed to process library remove event: userId={}, titleId={}", event.userId(), event.titleId(), e);
+        }
+    }
+
+    @Async
+    @ApplicationModuleListener
+    public void on(LibraryVoteTitleEvent event) {
+        log.debug("Processing library vote event: userId={}, titleId={}", event.userId(), event.titleId());
+
+        try {
+            // Changing a vote keeps the number of voted titles
+            if (event.previousVote() == null) {
+                achievementService.recordLibraryChanged(event.userId());
+            }
+        } catch (Exception e) {
+            log.error("Failed to process library vote event: userId={}, titleId={}", event.userId(), event.titleId(), e);
+        }
+    }
+
+}
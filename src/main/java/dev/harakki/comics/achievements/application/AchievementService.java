@@ -0,0 +1,218 @@
+package dev.harakki.comics.achievements.application;
+
+import dev.harakki.comics.achievements.api.AchievementUnlockedEvent;
+import dev.harakki.comics.achievements.domain.Achievement;
+import dev.harakki.comics.achievements.domain.AchievementMetric;
+import dev.harakki.comics.achievements.domain.AchievementProgress;
+import dev.harakki.comics.achievements.domain.UserAchievement;
+import dev.harakki.comics.achievements.dto.AchievementResponse;
+import dev.harakki.comics.achievements.dto.UserAchievementsResponse;
+import dev.harakki.comics.achievements.infrastructure.AchievementEventReceiptRepository;
+import dev.harakki.comics.achievements.infrastructure.AchievementProgressRepository;
+import dev.harakki.comics.achievements.infrastructure.UserAchievementRepository;
+import dev.harakki.comics.analytics.api.ReadingHistoryProvider.ReadingHistory;
+import dev.harakki.comics.library.api.LibraryEntryProvider;
+import dev.harakki.comics.library.api.LibraryEntryProvider.LibraryCounts;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.*;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Achievements of users, evaluated against per-user counters that every event updates in place
+ * under a row lock. Only achievements whose threshold an update crosses are unlocked, and the
+ * unlock itself is an insert that is a no-op for achievements the user already has, so each
+ * {@link AchievementUnlockedEvent} is published once per user.
+ * <p>
+ * Events may be delivered again after a crash. Reading events are counted once per event, through
+ * a receipt inserted in the same transaction; library counters are not incremented at all but set
+ * to the current counts of the library.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class AchievementService {
+
+    private static final long[] NOTHING = new long[AchievementMetric.values().length];
+
+    private final AchievementProgressRepository progressRepository;
+    private final UserAchievementRepository userAchievementRepository;
+    private final AchievementEventReceiptRepository receiptRepository;
+    private final LibraryEntryProvider libraryEntryProvider;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${achievements.event-receipts.retention:P30D}")
+    private Duration receiptRetention;
+
+    public UserAchievementsResponse getUserAchievements(UUID userId) {
+        var progress = progressRepository.findById(userId)
+                .orElseGet(() -> AchievementProgress.builder().userId(userId).build());
+        Map<Achievement, Instant> unlocked = userAchievementRepository.findByUserId(userId).stream()
+                .collect(Collectors.toMap(UserAchievement::getAchievement, UserAchievement::getUnlockedAt));
+
+        var achievements = Arrays.stream(Achievement.values())
+                .map(achievement -> new AchievementResponse(
+                        achievement,
+                        achievement.metric(),
+                        achievement.threshold(),
+                        achievement.metric().valueOf(progress),
+                        unlocked.get(achievement)
+                ))
+                .toList();
+
+        return new UserAchievementsResponse(
+                userId,
+                progress.getChaptersRead(),
+                progress.getTitlesRead(),
+                progress.getReadTimeMillis(),
+                progress.streakOn(today()),
+                progress.getLongestStreak(),
+                progress.getLibraryTitles(),
+                progress.getVotes(),
+                achievements
+        );
+    }
+
+    /**
+     * @param readAt when the chapter was read, its UTC day extends the streak; null for now, and
+     *               such reads can't be told apart from a redelivery
+     */
+    @Transactional
+    public void recordChapterRead(UUID userId, UUID chapterId, long readTimeMillis, Instant readAt) {
+        if (userId == null || readAt != null && !receive("chapter-read", userId, chapterId, readAt)) {
+            return;
+        }
+        var day = readAt != null ? LocalDate.ofInstant(readAt, ZoneOffset.UTC) : today();
+        update(userId, progress -> {
+            progress.setChaptersRead(progress.getChaptersRead() + 1);
+            progress.setReadTimeMillis(progress.getReadTimeMillis() + Math.max(readTimeMillis, 0));
+            progress.recordActiveDay(day);
+        });
+    }
+
+    /**
+     * A title is started once per user, so the event is its own identity.
+     */
+    @Transactional
+    public void recordTitleReadStarted(UUID userId, UUID titleId) {
+        if (userId == null || !receive("title-read-started", userId, titleId, null)) {
+            return;
+        }
+        update(userId, progress -> progress.setTitlesRead(progress.getTitlesRead() + 1));
+    }
+
+    /**
+     * Sets the library counters to the current counts after an entry was added, removed or voted on.
+     */
+    @Transactional
+    public void recordLibraryChanged(UUID userId) {
+        if (userId == null) {
+            return;
+        }
+        var counts = libraryEntryProvider.getLibraryCounts(userId);
+        update(userId, progress -> {
+            progress.setLibraryTitles(counts.titles());
+            progress.setVotes(counts.votes());
+        });
+    }
+
+    @Transactional
+    @Scheduled(cron = "${achievements.event-receipts.cleanup-cron:0 15 4 * * *}")
+    public void deleteExpiredReceipts() {
+        int deleted = receiptRepository.deleteReceivedBefore(Instant.now().minus(receiptRetention));
+        if (deleted > 0) {
+            log.debug("Deleted {} expired achievement event receipts", deleted);
+        }
+    }
+
+    /**
+     * Replaces the reading counters and streaks of the users with their history, unlocking every
+     * achievement they qualify for. Used by the backfill.
+     */
+    @Transactional
+    public void applyReadingHistories(List<ReadingHistory> histories) {
+        replace(histories, ReadingHistory::userId, (progress, history) -> {
+            progress.setChaptersRead(history.chaptersRead());
+            progress.setTitlesRead(history.titlesRead());
+            progress.setReadTimeMillis(history.readTimeMillis());
+            progress.rebuildStreaks(history.activeDays());
+        });
+    }
+
+    /**
+     * Replaces the library counters of the users, unlocking every achievement they qualify for.
+     * Used by the backfill.
+     */
+    @Transactional
+    public void applyLibraryCounts(List<LibraryCounts> counts) {
+        replace(counts, LibraryCounts::userId, (progress, library) -> {
+            progress.setLibraryTitles(library.titles());
+            progress.setVotes(library.votes());
+        });
+    }
+
+    private void update(UUID userId, Consumer<AchievementProgress> change) {
+        if (userId == null) {
+            return;
+        }
+        progressRepository.insertIfAbsent(userId);
+        var progress = progressRepository.findByUserIdWithLock(userId).orElseThrow();
+
+        long[] before = AchievementMetric.measure(progress);
+        change.accept(progress);
+        var now = Instant.now();
+        progress.setUpdatedAt(now);
+        unlock(userId, Achievement.reachedBetween(before, AchievementMetric.measure(progress)), now);
+    }
+
+    /**
+     * Records that an event was counted.
+     *
+     * @return false if it was counted before
+     */
+    private boolean receive(String type, UUID userId, UUID targetId, Instant occurredAt) {
+        var key = UUID.nameUUIDFromBytes((type + ":" + userId + ":" + targetId + ":" + occurredAt).getBytes(StandardCharsets.UTF_8));
+        return receiptRepository.insertIfAbsent(key, Instant.now()) > 0;
+    }
+
+    private <T> void replace(List<T> items, Function<T, UUID> userId, BiConsumer<AchievementProgress, T> change) {
+        Map<UUID, T> byUser = items.stream().collect(Collectors.toMap(userId, Function.identity()));
+        byUser.keySet().forEach(progressRepository::insertIfAbsent);
+
+        var now = Instant.now();
+        for (var progress : progressRepository.findByUserIdInWithLock(byUser.keySet())) {
+            change.accept(progress, byUser.get(progress.getUserId()));
+            progress.setUpdatedAt(now);
+            unlock(progress.getUserId(), Achievement.reachedBetween(NOTHING, AchievementMetric.measure(progress)), now);
+        }
+    }
+
+    private void unlock(UUID userId, List<Achievement> achievements, Instant unlockedAt) {
+        for (var achievement : achievements) {
+            if (userAchievementRepository.insertIfAbsent(userId, achievement.name(), unlockedAt) > 0) {
+                log.debug("User {} unlocked achievement {}", userId, achievement);
+                eventPublisher.publishEvent(new AchievementUnlockedEvent(userId, achievement.name(), unlockedAt));
+            }
+        }
+    }
+
+    private static LocalDate today() {
+        return LocalDate.now(ZoneOffset.UTC);
+    }
+
+}
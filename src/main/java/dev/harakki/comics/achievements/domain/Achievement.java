@@ -0,0 +1,65 @@
+package dev.harakki.comics.achievements.domain;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static dev.harakki.comics.achievements.domain.AchievementMetric.*;
+
+/**
+ * Achievement definitions: an achievement is unlocked once its metric reaches the threshold.
+ * Users who already qualify for a newly added achievement get it on the next backfill.
+ */
+public enum Achievement {
+
+    FIRST_CHAPTER(CHAPTERS_READ, 1),
+    CHAPTERS_100(CHAPTERS_READ, 100),
+    CHAPTERS_1000(CHAPTERS_READ, 1_000),
+    CHAPTERS_10000(CHAPTERS_READ, 10_000),
+    TITLES_10(TITLES_READ, 10),
+    TITLES_100(TITLES_READ, 100),
+    TITLES_1000(TITLES_READ, 1_000),
+    READING_1_HOUR(READING_HOURS, 1),
+    READING_24_HOURS(READING_HOURS, 24),
+    READING_100_HOURS(READING_HOURS, 100),
+    STREAK_7_DAYS(LONGEST_STREAK_DAYS, 7),
+    STREAK_30_DAYS(LONGEST_STREAK_DAYS, 30),
+    STREAK_365_DAYS(LONGEST_STREAK_DAYS, 365),
+    LIBRARY_10(LIBRARY_TITLES, 10),
+    LIBRARY_100(LIBRARY_TITLES, 100),
+    VOTES_10(VOTES, 10),
+    VOTES_100(VOTES, 100);
+
+    private static final Achievement[] VALUES = values();
+
+    private final AchievementMetric metric;
+    private final long threshold;
+
+    Achievement(AchievementMetric metric, long threshold) {
+        this.metric = metric;
+        this.threshold = threshold;
+    }
+
+    public AchievementMetric metric() {
+        return metric;
+    }
+
+    public long threshold() {
+        return threshold;
+    }
+
+    /**
+     * Achievements whose threshold was crossed between two measurements of
+     * {@link AchievementMetric#measure}, so each is reported once however often it is evaluated.
+     */
+    public static List<Achievement> reachedBetween(long[] before, long[] after) {
+        List<Achievement> reached = new ArrayList<>();
+        for (var achievement : VALUES) {
+            int metric = achievement.metric.ordinal();
+            if (before[metric] < achievement.threshold && after[metric] >= achievement.threshold) {
+                reached.add(achievement);
+            }
+        }
+        return reached;
+    }
+
+}
@@ -0,0 +1,35 @@
+package dev.harakki.comics.achievements.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.*;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Receipt of an event that was counted into {@link AchievementProgress}, keyed by a name-based UUID
+ * of the event's identity, so a redelivered event is not counted twice. Receipts are dropped once
+ * redelivery is no longer expected.
+ */
+@Getter
+@Setter
+@Entity
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "achievement_event_receipts", indexes = {
+        @Index(name = "idx_achievement_event_receipt_received", columnList = "receivedAt")
+})
+public class AchievementEventReceipt {
+
+    @Id
+    private UUID eventKey;
+
+    @Column(nullable = false)
+    private Instant receivedAt;
+
+}
@@ -0,0 +1,40 @@
+package dev.harakki.comics.achievements.domain;
+
+import java.util.function.ToLongFunction;
+
+/**
+ * Counters of {@link AchievementProgress} that achievements are defined over.
+ */
+public enum AchievementMetric {
+
+    CHAPTERS_READ(AchievementProgress::getChaptersRead),
+    TITLES_READ(AchievementProgress::getTitlesRead),
+    READING_HOURS(progress -> progress.getReadTimeMillis() / 3_600_000),
+    LONGEST_STREAK_DAYS(AchievementProgress::getLongestStreak),
+    LIBRARY_TITLES(AchievementProgress::getLibraryTitles),
+    VOTES(AchievementProgress::getVotes);
+
+    private static final AchievementMetric[] VALUES = values();
+
+    private final ToLongFunction<AchievementProgress> value;
+
+    AchievementMetric(ToLongFunction<AchievementProgress> value) {
+        this.value = value;
+    }
+
+    public long valueOf(AchievementProgress progress) {
+        return value.applyAsLong(progress);
+    }
+
+    /**
+     * Values of all metrics, indexed by ordinal.
+     */
+    public static long[] measure(AchievementProgress progress) {
+        long[] values = new long[VALUES.length];
+        for (var metric : VALUES) {
+            values[metric.ordinal()] = metric.valueOf(progress);
+        }
+        return values;
+    }
+
+}
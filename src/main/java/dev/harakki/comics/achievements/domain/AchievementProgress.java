@@ -0,0 +1,86 @@
+package dev.harakki.comics.achievements.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.*;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Running counters and reading streaks of a user, updated in place on every event so achievements
+ * are evaluated without looking at the history. Days are UTC days with at least one chapter read.
+ */
+@Getter
+@Setter
+@Entity
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "achievement_progress")
+public class AchievementProgress {
+
+    @Id
+    private UUID userId;
+
+    @Column(nullable = false)
+    private long chaptersRead;
+
+    @Column(nullable = false)
+    private long titlesRead;
+
+    @Column(nullable = false)
+    private long readTimeMillis;
+
+    @Column(nullable = false)
+    private long libraryTitles;
+
+    @Column(nullable = false)
+    private long votes;
+
+    private LocalDate lastActiveDay;
+
+    @Column(nullable = false)
+    private int currentStreak;
+
+    @Column(nullable = false)
+    private int longestStreak;
+
+    @Column(nullable = false)
+    private Instant updatedAt;
+
+    /**
+     * Extends the current streak by a day. Days already counted, including late events of earlier
+     * days, leave the streaks unchanged.
+     */
+    public void recordActiveDay(LocalDate day) {
+        if (lastActiveDay != null && !day.isAfter(lastActiveDay)) {
+            return;
+        }
+        currentStreak = lastActiveDay != null && day.equals(lastActiveDay.plusDays(1)) ? currentStreak + 1 : 1;
+        longestStreak = Math.max(longestStreak, currentStreak);
+        lastActiveDay = day;
+    }
+
+    /**
+     * Recomputes the streaks from all active days, in ascending order.
+     */
+    public void rebuildStreaks(List<LocalDate> activeDays) {
+        lastActiveDay = null;
+        currentStreak = 0;
+        longestStreak = 0;
+        activeDays.forEach(this::recordActiveDay);
+    }
+
+    /**
+     * The current streak as of the given day, zero once a whole day passed without reading.
+     */
+    public int streakOn(LocalDate today) {
+        return lastActiveDay != null && !lastActiveDay.isBefore(today.minusDays(1)) ? currentStreak : 0;
+    }
+
+}
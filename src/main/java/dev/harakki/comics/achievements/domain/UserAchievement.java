@@ -0,0 +1,41 @@
+package dev.harakki.comics.achievements.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * An achievement unlocked by a user. The primary key makes unlocking idempotent.
+ */
+@Getter
+@Setter
+@Entity
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@IdClass(UserAchievement.Key.class)
+@Table(name = "user_achievements")
+public class UserAchievement {
+
+    @Id
+    private UUID userId;
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    private Achievement achievement;
+
+    @Column(nullable = false)
+    private Instant unlockedAt;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private UUID userId;
+        private Achievement achievement;
+    }
+
+}
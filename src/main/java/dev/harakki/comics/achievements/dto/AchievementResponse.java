@@ -0,0 +1,29 @@
+package dev.harakki.comics.achievements.dto;
+
+import dev.harakki.comics.achievements.domain.Achievement;
+import dev.harakki.comics.achievements.domain.AchievementMetric;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+@Schema(description = "An achievement with the user's progress towards it")
+public record AchievementResponse(
+
+        @Schema(description = "Achievement", example = "TITLES_1000")
+        Achievement achievement,
+
+        @Schema(description = "Counter the achievement is defined over", example = "TITLES_READ")
+        AchievementMetric metric,
+
+        @Schema(description = "Value of the counter that unlocks the achievement", example = "1000")
+        long threshold,
+
+        @Schema(description = "Current value of the counter", example = "412")
+        long progress,
+
+        @Schema(description = "When the achievement was unlocked, null while locked", example = "2026-01-29T10:00:00Z")
+        Instant unlockedAt
+
+) implements Serializable {
+}
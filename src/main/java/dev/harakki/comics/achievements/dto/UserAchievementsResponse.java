@@ -0,0 +1,40 @@
+package dev.harakki.comics.achievements.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.io.Serializable;
+import java.util.List;
+import java.util.UUID;
+
+@Schema(description = "Achievements of a user with the counters behind them")
+public record UserAchievementsResponse(
+
+        @Schema(description = "User unique identifier", example = "019b9d1e-bc3a-70f3-8520-36e8d82dc9e0")
+        UUID userId,
+
+        @Schema(description = "Chapters read", example = "5120")
+        long chaptersRead,
+
+        @Schema(description = "Distinct titles read", example = "412")
+        long titlesRead,
+
+        @Schema(description = "Total reading time in milliseconds", example = "86400000")
+        long readTimeMillis,
+
+        @Schema(description = "Consecutive UTC days with reading up to today or yesterday", example = "12")
+        int currentStreak,
+
+        @Schema(description = "Longest run of consecutive UTC days with reading", example = "40")
+        int longestStreak,
+
+        @Schema(description = "Titles in the library", example = "57")
+        long libraryTitles,
+
+        @Schema(description = "Titles in the library the user voted on", example = "23")
+        long votes,
+
+        @Schema(description = "All achievements, unlocked or not")
+        List<AchievementResponse> achievements
+
+) implements Serializable {
+}
@@ -0,0 +1,29 @@
+package dev.harakki.comics.achievements.infrastructure;
+
+import dev.harakki.comics.achievements.domain.AchievementEventReceipt;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.UUID;
+
+@Repository
+public interface AchievementEventReceiptRepository extends JpaRepository<AchievementEventReceipt, UUID> {
+
+    /**
+     * @return 1 if the event is new, 0 if it was received before
+     */
+    @Modifying
+    @Query(value = """
+                INSERT INTO achievement_event_receipts (event_key, received_at) VALUES (:eventKey, :receivedAt)
+                ON CONFLICT DO NOTHING
+            """, nativeQuery = true)
+    int insertIfAbsent(UUID eventKey, Instant receivedAt);
+
+    @Modifying
+    @Query("DELETE FROM AchievementEventReceipt r WHERE r.receivedAt < :before")
+    int deleteReceivedBefore(Instant before);
+
+}
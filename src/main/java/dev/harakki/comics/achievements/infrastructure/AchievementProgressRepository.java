@@ -0,0 +1,37 @@
+package dev.harakki.comics.achievements.infrastructure;
+
+import dev.harakki.comics.achievements.domain.AchievementProgress;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface AchievementProgressRepository extends JpaRepository<AchievementProgress, UUID> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p FROM AchievementProgress p WHERE p.userId = :userId")
+    Optional<AchievementProgress> findByUserIdWithLock(UUID userId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p FROM AchievementProgress p WHERE p.userId IN :userIds")
+    List<AchievementProgress> findByUserIdInWithLock(Collection<UUID> userIds);
+
+    // Creates the empty row first, so concurrent first events of a user serialize on its row lock
+    @Modifying
+    @Query(value = """
+                INSERT INTO achievement_progress (user_id, chapters_read, titles_read, read_time_millis, library_titles,
+                                                  votes, current_streak, longest_streak, updated_at)
+                VALUES (:userId, 0, 0, 0, 0, 0, 0, 0, now())
+                ON CONFLICT DO NOTHING
+            """, nativeQuery = true)
+    void insertIfAbsent(UUID userId);
+
+}
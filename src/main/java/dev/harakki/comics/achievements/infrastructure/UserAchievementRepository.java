@@ -0,0 +1,28 @@
+package dev.harakki.comics.achievements.infrastructure;
+
+import dev.harakki.comics.achievements.domain.UserAchievement;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface UserAchievementRepository extends JpaRepository<UserAchievement, UserAchievement.Key> {
+
+    List<UserAchievement> findByUserId(UUID userId);
+
+    /**
+     * @return 1 if the achievement was unlocked now, 0 if the user already had it
+     */
+    @Modifying
+    @Query(value = """
+                INSERT INTO user_achievements (user_id, achievement, unlocked_at) VALUES (:userId, :achievement, :unlockedAt)
+                ON CONFLICT DO NOTHING
+            """, nativeQuery = true)
+    int insertIfAbsent(UUID userId, String achievement, Instant unlockedAt);
+
+}
@@ -0,0 +1,11 @@
+@ApplicationModule(
+        allowedDependencies = {
+                "shared",
+                "analytics :: api",
+                "content :: api",
+                "library :: api"
+        }
+)
+package dev.harakki.comics.achievements;
+
+import org.springframework.modulith.ApplicationModule;
@@ -0,0 +1,38 @@
+package dev.harakki.comics.achievements.web;
+
+import dev.harakki.comics.achievements.dto.UserAchievementsResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+@Tag(name = "Achievements", description = "Achievements API.")
+public interface AchievementApi {
+
+    @Operation(
+            operationId = "getMyAchievements",
+            summary = "Get my achievements",
+            description = "Retrieve all achievements with the current user's progress towards each, the unlock time of those already unlocked, and the counters behind them."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Achievements retrieved successfully",
+                    content = @Content(schema = @Schema(implementation = UserAchievementsResponse.class))),
+            @ApiResponse(responseCode = "401", ref = "Unauthorized")
+    })
+    UserAchievementsResponse getMyAchievements();
+
+    @Operation(
+            operationId = "backfillAchievements",
+            summary = "Rebuild achievement progress from history",
+            description = "Start rebuilding the achievement counters of all users from their reading history and libraries, unlocking achievements they qualify for. Runs in the background. Requires ADMIN role."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "202", description = "Backfill started"),
+            @ApiResponse(responseCode = "401", ref = "Unauthorized"),
+            @ApiResponse(responseCode = "403", ref = "Forbidden")
+    })
+    void backfill();
+
+}
@@ -0,0 +1,34 @@
+package dev.harakki.comics.achievements.web;
+
+import dev.harakki.comics.achievements.application.AchievementBackfillService;
+import dev.harakki.comics.achievements.application.AchievementService;
+import dev.harakki.comics.achievements.dto.UserAchievementsResponse;
+import dev.harakki.comics.shared.utils.SecurityUtils;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+@RequiredArgsConstructor
+@RestController
+@RequestMapping(path = "/api/v1/achievements", produces = MediaType.APPLICATION_JSON_VALUE)
+public class AchievementController implements AchievementApi {
+
+    private final AchievementService achievementService;
+    private final AchievementBackfillService achievementBackfillService;
+
+    @PreAuthorize("hasRole('USER')")
+    @GetMapping("/users/me")
+    public UserAchievementsResponse getMyAchievements() {
+        return achievementService.getUserAchievements(SecurityUtils.getCurrentUserId());
+    }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping("/backfill")
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    public void backfill() {
+        achievementBackfillService.backfill();
+    }
+
+}
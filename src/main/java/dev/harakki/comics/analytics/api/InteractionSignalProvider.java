@@ -0,0 +1,44 @@
+package dev.harakki.comics.analytics.api;
+
+import org.jspecify.annotations.Nullable;
+
+import java.util.List;
+import java.util.UUID;
+
+public interface InteractionSignalProvider {
+
+    /**
+     * Aggregated interactions of one user with one title. Votes and library membership reflect the latest state.
+     */
+    record TitleSignal(
+            UUID userId,
+            UUID titleId,
+            long chapterReads,
+            boolean liked,
+            boolean disliked,
+            boolean inLibrary,
+            boolean inCollection
+    ) {
+    }
+
+    /**
+     * A page of title signals. The signals of deleted titles are left out, so a page can hold fewer users
+     * than were picked, or none at all: paging goes on after {@code lastUserId}, not after the last signal.
+     *
+     * @param signals    signals ordered by user and title
+     * @param lastUserId last user picked for the page, {@code null} once all users are read
+     */
+    record TitleSignalPage(List<TitleSignal> signals, @Nullable UUID lastUserId) {
+    }
+
+    /**
+     * Get the title signals of the next users after the given one, in keyset order. Every user in a page
+     * comes with all of their signals, so pages can be processed independently. Deleted titles are excluded.
+     *
+     * @param afterUserId last user ID of the previous page, the nil UUID for the first page
+     * @param userLimit   maximum number of users in the page
+     * @return the page, with no last user once all users are read
+     */
+    TitleSignalPage getTitleSignals(UUID afterUserId, int userLimit);
+
+}
@@ -0,0 +1,16 @@
+package dev.harakki.comics.analytics.api;
+
+import java.util.List;
+import java.util.UUID;
+
+public interface PopularTitleProvider {
+
+    /**
+     * Get the titles with the most readers of all time, then the most library adds.
+     *
+     * @param limit maximum number of titles
+     * @return title IDs, most popular first
+     */
+    List<UUID> getPopularTitleIds(int limit);
+
+}
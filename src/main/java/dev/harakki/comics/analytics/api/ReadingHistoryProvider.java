@@ -0,0 +1,30 @@
+package dev.harakki.comics.analytics.api;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+public interface ReadingHistoryProvider {
+
+    /**
+     * Lifetime reading history of one user. Active days are the UTC days with at least one chapter read.
+     */
+    record ReadingHistory(
+            UUID userId,
+            long chaptersRead,
+            long titlesRead,
+            long readTimeMillis,
+            List<LocalDate> activeDays
+    ) {
+    }
+
+    /**
+     * Get the reading histories of the next users after the given one, in keyset order.
+     *
+     * @param afterUserId last user ID of the previous page, the nil UUID for the first page
+     * @param userLimit   maximum number of users in the page
+     * @return histories ordered by user ID with active days in ascending order, empty once all users are read
+     */
+    List<ReadingHistory> getReadingHistories(UUID afterUserId, int userLimit);
+
+}
@@ -0,0 +1,13 @@
+package dev.harakki.comics.analytics.api;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+/**
+ * Published on startup once the rollups behind {@link ReadingHistoryProvider} are backfilled, so
+ * consumers that read all histories don't see half-built rollups.
+ */
+public record ReadingHistoryReadyEvent(
+        Instant readyAt
+) implements Serializable {
+}
@@ -0,0 +1,13 @@
+package dev.harakki.comics.analytics.api;
+
+import java.io.Serializable;
+import java.util.UUID;
+
+/**
+ * Published when a user reads a chapter of a title for the first time.
+ */
+public record TitleReadStartedEvent(
+        UUID titleId,
+        UUID userId
+) implements Serializable {
+}
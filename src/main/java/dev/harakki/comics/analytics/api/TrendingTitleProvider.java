@@ -0,0 +1,18 @@
+package dev.harakki.comics.analytics.api;
+
+import java.util.List;
+import java.util.UUID;
+
+public interface TrendingTitleProvider {
+
+    /**
+     * Get the titles with the most recent activity (views, chapter reads, library adds), from the
+     * latest trending snapshot.
+     *
+     * @param window time scale of the ranking
+     * @param limit  maximum number of titles
+     * @return title IDs, most trending first
+     */
+    List<UUID> getTrendingTitleIds(TrendingWindow window, int limit);
+
+}
@@ -0,0 +1,23 @@
+package dev.harakki.comics.analytics.api;
+
+import java.time.Duration;
+
+/**
+ * Time scale of a trending ranking: activity older than the window counts for less than a third
+ * of fresh activity.
+ */
+public enum TrendingWindow {
+    HOUR(Duration.ofHours(1)),
+    DAY(Duration.ofDays(1)),
+    WEEK(Duration.ofDays(7));
+
+    private final Duration duration;
+
+    TrendingWindow(Duration duration) {
+        this.duration = duration;
+    }
+
+    public Duration duration() {
+        return duration;
+    }
+}
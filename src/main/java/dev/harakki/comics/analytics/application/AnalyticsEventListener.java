@@ -8,8 +8,10 @@ import dev.harakki.comics.content.api.ChapterCreatedEvent;
 import dev.harakki.comics.content.api.ChapterDeletedEvent;
 import dev.harakki.comics.content.api.ChapterReadEvent;
 import dev.harakki.comics.content.api.ChapterUpdatedEvent;
+import dev.harakki.comics.content.api.ChaptersImportedEvent;
 import dev.harakki.comics.library.api.LibraryAddTitleEvent;
 import dev.harakki.comics.library.api.LibraryRemoveTitleEvent;
+import dev.harakki.comics.library.api.LibraryVoteTitleEvent;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.modulith.events.ApplicationModuleListener;
@@ -65,14 +67,14 @@ public class AnalyticsEventListener {
 
     @Async
     @ApplicationModuleListener
-    public void on(TitleViewedEvent event) {
-        log.debug("Processing title viewed event: titleId={}, userId={}", event.titleId(), event.userId());
+    public void on(TitleViewsRecordedEvent event) {
+        log.debug("Processing title views recorded event: views={}", event.views().size());
 
         try {
-            analyticsService.recordTitleView(event);
-            log.info("Title viewed event processed successfully: titleId={}, userId={}", event.titleId(), event.userId());
+            analyticsService.recordTitleViews(event);
+            log.info("Title views recorded event processed successfully: views={}", event.views().size());
         } catch (Exception e) {
-            log.error("Failed to process title viewed event: titleId={}, userId={}", event.titleId(), event.userId(), e);
+            log.error("Failed to process title views recorded event: views={}", event.views().size(), e);
         }
     }
 
@@ -103,6 +105,20 @@ public class AnalyticsEventListener {
         }
     }
 
+    @Async
+    @ApplicationModuleListener
+    public void on(LibraryVoteTitleEvent event) {
+        log.debug("Processing title vote event: titleId={}, userId={}, vote={}, previousVote={}",
+                event.titleId(), event.userId(), event.vote(), event.previousVote());
+
+        try {
+            analyticsService.recordTitleVote(event);
+            log.info("Title vote event processed successfully: titleId={}, userId={}", event.titleId(), event.userId());
+        } catch (Exception e) {
+            log.error("Failed to process title vote event: titleId={}, userId={}", event.titleId(), event.userId(), e);
+        }
+    }
+
     @Async
     @ApplicationModuleListener
     public void on(TitleCreatedEvent event) {
@@ -117,6 +133,19 @@ public class AnalyticsEventListener {
         }
     }
 
+    @Async
+    @ApplicationModuleListener
+    public void on(TitlesImportedEvent event) {
+        log.debug("Processing titles imported event: titles={}, userId={}", event.titles().size(), event.userId());
+
+        try {
+            analyticsService.recordTitlesImported(event);
+            log.info("Titles imported event processed successfully: titles={}, userId={}", event.titles().size(), event.userId());
+        } catch (Exception e) {
+            log.error("Failed to process titles imported event: titles={}, userId={}", event.titles().size(), event.userId(), e);
+        }
+    }
+
     @Async
     @ApplicationModuleListener
     public void on(TitleUpdatedEvent event) {
@@ -157,6 +186,19 @@ public class AnalyticsEventListener {
         }
     }
 
+    @Async
+    @ApplicationModuleListener
+    public void on(AuthorsImportedEvent event) {
+        log.debug("Processing authors imported event: authors={}, userId={}", event.authors().size(), event.userId());
+
+        try {
+            analyticsService.recordAuthorsImported(event);
+            log.info("Authors imported event processed successfully: authors={}, userId={}", event.authors().size(), event.userId());
+        } catch (Exception e) {
+            log.error("Failed to process authors imported event: authors={}, userId={}", event.authors().size(), event.userId(), e);
+        }
+    }
+
     @Async
     @ApplicationModuleListener
     public void on(AuthorUpdatedEvent event) {
@@ -237,6 +279,19 @@ public class AnalyticsEventListener {
         }
     }
 
+    @Async
+    @ApplicationModuleListener
+    public void on(ChaptersImportedEvent event) {
+        log.debug("Processing chapters imported event: chapters={}, userId={}", event.chapters().size(), event.userId());
+
+        try {
+            analyticsService.recordChaptersImported(event);
+            log.info("Chapters imported event processed successfully: chapters={}, userId={}", event.chapters().size(), event.userId());
+        } catch (Exception e) {
+            log.error("Failed to process chapters imported event: chapters={}, userId={}", event.chapters().size(), event.userId(), e);
+        }
+    }
+
     @Async
     @ApplicationModuleListener
     public void on(ChapterUpdatedEvent event) {
@@ -3,52 +3,69 @@ package dev.harakki.comics.analytics.application;
 import dev.harakki.comics.analytics.api.TitleDislikedEvent;
 import dev.harakki.comics.analytics.api.TitleLikedEvent;
 import dev.harakki.comics.analytics.domain.InteractionType;
+import dev.harakki.comics.analytics.domain.UniqueCountMetric;
 import dev.harakki.comics.analytics.domain.UserInteraction;
 import dev.harakki.comics.analytics.dto.TitleAnalyticsResponse;
-import dev.harakki.comics.analytics.infrastructure.UserInteractionRepository;
 import dev.harakki.comics.catalog.api.*;
 import dev.harakki.comics.collections.api.*;
 import dev.harakki.comics.content.api.ChapterCreatedEvent;
 import dev.harakki.comics.content.api.ChapterDeletedEvent;
 import dev.harakki.comics.content.api.ChapterReadEvent;
 import dev.harakki.comics.content.api.ChapterUpdatedEvent;
+import dev.harakki.comics.content.api.ChaptersImportedEvent;
 import dev.harakki.comics.library.api.LibraryAddTitleEvent;
 import dev.harakki.comics.library.api.LibraryRemoveTitleEvent;
+import dev.harakki.comics.library.api.LibraryVoteTitleEvent;
+import dev.harakki.comics.library.api.VoteType;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.UUID;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
-@Transactional(readOnly = true)
 public class AnalyticsService {
 
-    private final UserInteractionRepository userInteractionRepository;
+    private final InteractionIngestionBuffer interactionIngestionBuffer;
+    private final TitleStatsService titleStatsService;
+    private final UniqueCountService uniqueCountService;
+    private final ChapterReadHistoryService chapterReadHistoryService;
+    private final UserStatsService userStatsService;
+    private final TrendingService trendingService;
 
+    @Transactional(readOnly = true)
     public TitleAnalyticsResponse getTitleAnalytics(UUID titleId) {
-        var averageRating = getAverageRatingForTitle(titleId);
-        var totalViews = getTotalViewCount(titleId);
+        var stats = titleStatsService.getStats(titleId);
 
         return new TitleAnalyticsResponse(
                 titleId,
-                averageRating,
-                totalViews != null ? totalViews : 0L,
+                titleStatsService.getAverageRating(stats),
+                titleStatsService.getRatingScore(stats),
+                uniqueCountService.getLifetimeCount(UniqueCountMetric.TITLE_VIEWERS, titleId),
+                stats.getViews(),
+                stats.getUniqueReaders(),
+                stats.getChapterReads(),
+                stats.getLikes(),
+                stats.getDislikes(),
+                stats.getLibraryAdds(),
                 Instant.now()
         );
     }
 
+    @Transactional(readOnly = true)
     public Double getAverageRatingForTitle(UUID titleId) {
-        return userInteractionRepository.getAverageRating(titleId);
+        return titleStatsService.getAverageRating(titleStatsService.getStats(titleId));
     }
 
+    @Transactional(readOnly = true)
     public Long getTotalViewCount(UUID titleId) {
-        return userInteractionRepository.countByTargetIdAndType(titleId, InteractionType.TITLE_VIEWED);
+        return uniqueCountService.getLifetimeCount(UniqueCountMetric.TITLE_VIEWERS, titleId);
     }
 
     @Transactional
@@ -61,38 +78,68 @@ public class AnalyticsService {
                         "titleId", event.titleId(),
                         "readTimeMillis", event.readTimeMillis()
                 ))
+                .occurredAt(event.readAt())
                 .build();
-        userInteractionRepository.save(interaction);
+        interactionIngestionBuffer.enqueue(interaction);
+        titleStatsService.recordChapterRead(event.titleId(), event.userId());
+        trendingService.recordChapterRead(event.titleId());
+        uniqueCountService.recordChapterRead(event.titleId(), event.chapterId(), event.userId());
+        userStatsService.recordChapterRead(event.userId(), event.readTimeMillis(), event.readAt());
+        if (event.userId() != null && event.readIndex() != null) {
+            chapterReadHistoryService.markRead(event.userId(), event.titleId(), event.readIndex());
+        }
     }
 
-    @Transactional
     public void recordTitleLike(TitleLikedEvent event) {
         var interaction = UserInteraction.builder()
                 .userId(event.userId())
                 .type(InteractionType.TITLE_LIKED)
                 .targetId(event.titleId())
                 .build();
-        userInteractionRepository.save(interaction);
+        interactionIngestionBuffer.enqueue(interaction);
     }
 
-    @Transactional
     public void recordTitleDislike(TitleDislikedEvent event) {
         var interaction = UserInteraction.builder()
                 .userId(event.userId())
                 .type(InteractionType.TITLE_DISLIKED)
                 .targetId(event.titleId())
                 .build();
-        userInteractionRepository.save(interaction);
+        interactionIngestionBuffer.enqueue(interaction);
     }
 
     @Transactional
-    public void recordTitleView(TitleViewedEvent event) {
+    public void recordTitleVote(LibraryVoteTitleEvent event) {
+        var metadata = new HashMap<String, Object>();
+        if (event.previousVote() != null) {
+            metadata.put("previousVote", event.previousVote().name());
+        }
         var interaction = UserInteraction.builder()
                 .userId(event.userId())
-                .type(InteractionType.TITLE_VIEWED)
+                .type(event.vote() == VoteType.LIKE ? InteractionType.TITLE_LIKED : InteractionType.TITLE_DISLIKED)
                 .targetId(event.titleId())
+                .metadata(metadata)
                 .build();
-        userInteractionRepository.save(interaction);
+        interactionIngestionBuffer.enqueue(interaction);
+        titleStatsService.recordVote(event.titleId(), event.vote(), event.previousVote());
+    }
+
+    @Transactional
+    public void recordTitleViews(TitleViewsRecordedEvent event) {
+        for (var view : event.views()) {
+            // One interaction per coalesced bucket, its number of views kept in the metadata
+            var interaction = UserInteraction.builder()
+                    .userId(view.userId())
+                    .type(InteractionType.TITLE_VIEWED)
+                    .targetId(view.titleId())
+                    .metadata(view.count() > 1 ? Map.of("views", view.count()) : null)
+                    .occurredAt(view.viewedAt())
+                    .build();
+            interactionIngestionBuffer.enqueue(interaction);
+            titleStatsService.recordViews(view.titleId(), view.count());
+            trendingService.recordViews(view.titleId(), view.count(), view.viewedAt());
+            uniqueCountService.recordTitleView(view.titleId(), view.userId());
+        }
     }
 
     @Transactional
@@ -102,7 +149,9 @@ public class AnalyticsService {
                 .type(InteractionType.TITLE_ADDED_TO_LIBRARY)
                 .targetId(event.titleId())
                 .build();
-        userInteractionRepository.save(interaction);
+        interactionIngestionBuffer.enqueue(interaction);
+        titleStatsService.recordLibraryAdd(event.titleId());
+        trendingService.recordLibraryAdd(event.titleId());
     }
 
     @Transactional
@@ -112,10 +161,10 @@ public class AnalyticsService {
                 .type(InteractionType.TITLE_REMOVED_FROM_LIBRARY)
                 .targetId(event.titleId())
                 .build();
-        userInteractionRepository.save(interaction);
+        interactionIngestionBuffer.enqueue(interaction);
+        titleStatsService.recordLibraryRemove(event.titleId(), event.vote());
     }
 
-    @Transactional
     public void recordTitleCreated(TitleCreatedEvent event) {
         var interaction = UserInteraction.builder()
                 .userId(event.userId())
@@ -123,17 +172,27 @@ public class AnalyticsService {
                 .targetId(event.titleId())
                 .metadata(Map.of("titleName", event.titleName()))
                 .build();
-        userInteractionRepository.save(interaction);
+        interactionIngestionBuffer.enqueue(interaction);
+    }
+
+    public void recordTitlesImported(TitlesImportedEvent event) {
+        for (var title : event.titles()) {
+            interactionIngestionBuffer.enqueue(UserInteraction.builder()
+                    .userId(event.userId())
+                    .type(InteractionType.TITLE_CREATED)
+                    .targetId(title.titleId())
+                    .metadata(Map.of("titleName", title.titleName()))
+                    .build());
+        }
     }
 
-    @Transactional
     public void recordTitleUpdated(TitleUpdatedEvent event) {
         var interaction = UserInteraction.builder()
                 .userId(event.userId())
                 .type(InteractionType.TITLE_UPDATED)
                 .targetId(event.titleId())
                 .build();
-        userInteractionRepository.save(interaction);
+        interactionIngestionBuffer.enqueue(interaction);
     }
 
     @Transactional
@@ -143,10 +202,13 @@ public class AnalyticsService {
                 .type(InteractionType.TITLE_DELETED)
                 .targetId(event.titleId())
                 .build();
-        userInteractionRepository.save(interaction);
+        interactionIngestionBuffer.enqueue(interaction);
+        titleStatsService.deleteStats(event.titleId());
+        uniqueCountService.deleteTitleSketches(event.titleId());
+        chapterReadHistoryService.deleteTitleProgress(event.titleId());
+        trendingService.removeTitle(event.titleId());
     }
 
-    @Transactional
     public void recordAuthorCreated(AuthorCreatedEvent event) {
         var interaction = UserInteraction.builder()
                 .userId(event.userId())
@@ -154,30 +216,38 @@ public class AnalyticsService {
                 .targetId(event.authorId())
                 .metadata(Map.of("authorName", event.authorName()))
                 .build();
-        userInteractionRepository.save(interaction);
+        interactionIngestionBuffer.enqueue(interaction);
+    }
+
+    public void recordAuthorsImported(AuthorsImportedEvent event) {
+        for (var author : event.authors()) {
+            interactionIngestionBuffer.enqueue(UserInteraction.builder()
+                    .userId(event.userId())
+                    .type(InteractionType.AUTHOR_CREATED)
+                    .targetId(author.authorId())
+                    .metadata(Map.of("authorName", author.authorName()))
+                    .build());
+        }
     }
 
-    @Transactional
     public void recordAuthorUpdated(AuthorUpdatedEvent event) {
         var interaction = UserInteraction.builder()
                 .userId(event.userId())
                 .type(InteractionType.AUTHOR_UPDATED)
                 .targetId(event.authorId())
                 .build();
-        userInteractionRepository.save(interaction);
+        interactionIngestionBuffer.enqueue(interaction);
     }
 
-    @Transactional
     public void recordAuthorDeleted(AuthorDeletedEvent event) {
         var interaction = UserInteraction.builder()
                 .userId(event.userId())
                 .type(InteractionType.AUTHOR_DELETED)
                 .targetId(event.authorId())
                 .build();
-        userInteractionRepository.save(interaction);
+        interactionIngestionBuffer.enqueue(interaction);
     }
 
-    @Transactional
     public void recordPublisherCreated(PublisherCreatedEvent event) {
         var interaction = UserInteraction.builder()
                 .userId(event.userId())
@@ -185,30 +255,27 @@ public class AnalyticsService {
                 .targetId(event.publisherId())
                 .metadata(Map.of("publisherName", event.publisherName()))
                 .build();
-        userInteractionRepository.save(interaction);
+        interactionIngestionBuffer.enqueue(interaction);
     }
 
-    @Transactional
     public void recordPublisherUpdated(PublisherUpdatedEvent event) {
         var interaction = UserInteraction.builder()
                 .userId(event.userId())
                 .type(InteractionType.PUBLISHER_UPDATED)
                 .targetId(event.publisherId())
                 .build();
-        userInteractionRepository.save(interaction);
+        interactionIngestionBuffer.enqueue(interaction);
     }
 
-    @Transactional
     public void recordPublisherDeleted(PublisherDeletedEvent event) {
         var interaction = UserInteraction.builder()
                 .userId(event.userId())
                 .type(InteractionType.PUBLISHER_DELETED)
                 .targetId(event.publisherId())
                 .build();
-        userInteractionRepository.save(interaction);
+        interactionIngestionBuffer.enqueue(interaction);
     }
 
-    @Transactional
     public void recordChapterCreated(ChapterCreatedEvent event) {
         var interaction = UserInteraction.builder()
                 .userId(event.userId())
@@ -219,10 +286,23 @@ public class AnalyticsService {
                         "chapterNumber", event.chapterNumber()
                 ))
                 .build();
-        userInteractionRepository.save(interaction);
+        interactionIngestionBuffer.enqueue(interaction);
+    }
+
+    public void recordChaptersImported(ChaptersImportedEvent event) {
+        for (var chapter : event.chapters()) {
+            interactionIngestionBuffer.enqueue(UserInteraction.builder()
+                    .userId(event.userId())
+                    .type(InteractionType.CHAPTER_CREATED)
+                    .targetId(chapter.chapterId())
+                    .metadata(Map.of(
+                            "titleId", chapter.titleId(),
+                            "chapterNumber", chapter.chapterNumber()
+                    ))
+                    .build());
+        }
     }
 
-    @Transactional
     public void recordChapterUpdated(ChapterUpdatedEvent event) {
         var interaction = UserInteraction.builder()
                 .userId(event.userId())
@@ -230,7 +310,7 @@ public class AnalyticsService {
                 .targetId(event.chapterId())
                 .metadata(Map.of("titleId", event.titleId()))
                 .build();
-        userInteractionRepository.save(interaction);
+        interactionIngestionBuffer.enqueue(interaction);
     }
 
     @Transactional
@@ -241,10 +321,10 @@ public class AnalyticsService {
                 .targetId(event.chapterId())
                 .metadata(Map.of("titleId", event.titleId()))
                 .build();
-        userInteractionRepository.save(interaction);
+        interactionIngestionBuffer.enqueue(interaction);
+        uniqueCountService.deleteChapterSketches(event.chapterId());
     }
 
-    @Transactional
     public void recordCollectionCreated(CollectionCreatedEvent event) {
         var interaction = UserInteraction.builder()
                 .userId(event.userId())
@@ -252,30 +332,27 @@ public class AnalyticsService {
                 .targetId(event.collectionId())
                 .metadata(Map.of("collectionName", event.collectionName()))
                 .build();
-        userInteractionRepository.save(interaction);
+        interactionIngestionBuffer.enqueue(interaction);
     }
 
-    @Transactional
     public void recordCollectionUpdated(CollectionUpdatedEvent event) {
         var interaction = UserInteraction.builder()
                 .userId(event.userId())
                 .type(InteractionType.COLLECTION_UPDATED)
                 .targetId(event.collectionId())
                 .build();
-        userInteractionRepository.save(interaction);
+        interactionIngestionBuffer.enqueue(interaction);
     }
 
-    @Transactional
     public void recordCollectionDeleted(CollectionDeletedEvent event) {
         var interaction = UserInteraction.builder()
                 .userId(event.userId())
                 .type(InteractionType.COLLECTION_DELETED)
                 .targetId(event.collectionId())
                 .build();
-        userInteractionRepository.save(interaction);
+        interactionIngestionBuffer.enqueue(interaction);
     }
 
-    @Transactional
     public void recordCollectionTitleAdded(CollectionTitleAddedEvent event) {
         var interaction = UserInteraction.builder()
                 .userId(event.userId())
@@ -283,10 +360,9 @@ public class AnalyticsService {
                 .targetId(event.titleId())
                 .metadata(Map.of("collectionId", event.collectionId()))
                 .build();
-        userInteractionRepository.save(interaction);
+        interactionIngestionBuffer.enqueue(interaction);
     }
 
-    @Transactional
     public void recordCollectionTitleRemoved(CollectionTitleRemovedEvent event) {
         var interaction = UserInteraction.builder()
                 .userId(event.userId())
@@ -294,7 +370,7 @@ public class AnalyticsService {
                 .targetId(event.titleId())
                 .metadata(Map.of("collectionId", event.collectionId()))
                 .build();
-        userInteractionRepository.save(interaction);
+        interactionIngestionBuffer.enqueue(interaction);
     }
 
 }
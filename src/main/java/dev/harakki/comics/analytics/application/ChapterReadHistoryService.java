@@ -1,36 +1,211 @@
 package dev.harakki.comics.analytics.application;
 
-import dev.harakki.comics.analytics.domain.InteractionType;
-import dev.harakki.comics.analytics.infrastructure.UserInteractionRepository;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import dev.harakki.comics.analytics.domain.BackfillCheckpoint;
+import dev.harakki.comics.analytics.domain.ReadProgress;
+import dev.harakki.comics.analytics.infrastructure.BackfillCheckpointRepository;
+import dev.harakki.comics.analytics.infrastructure.ReadProgressRepository;
+import dev.harakki.comics.content.api.ChapterIndexProvider;
 import dev.harakki.comics.shared.api.ChapterReadHistoryProvider;
-import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.util.HashSet;
-import java.util.List;
-import java.util.Set;
-import java.util.UUID;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
 
+/**
+ * Per-user read progress of a title as a bitmap over chapter read indexes, so read checks and
+ * next-unread lookups are bit operations instead of queries over the interaction log.
+ * Cached bitmaps are never mutated: updates replace them once the transaction commits.
+ */
+@Slf4j
 @Service
-@RequiredArgsConstructor
 @Transactional(readOnly = true)
 public class ChapterReadHistoryService implements ChapterReadHistoryProvider {
 
-    private final UserInteractionRepository interactionRepository;
+    private record ProgressKey(UUID userId, UUID titleId) {
+    }
+
+    private static final BitSet NONE_READ = new BitSet();
+    private static final UUID NIL = new UUID(0, 0);
+    private static final String BACKFILL_CHECKPOINT = "read-progress";
+
+    private final ReadProgressRepository readProgressRepository;
+    private final BackfillCheckpointRepository checkpointRepository;
+    private final ChapterIndexProvider chapterIndexProvider;
+    private final TransactionTemplate transactionTemplate;
+    private final LoadingCache<ProgressKey, BitSet> cache;
+
+    @Value("${analytics.read-progress.backfill-on-startup:true}")
+    private boolean backfillOnStartup;
+
+    @Value("${analytics.read-progress.backfill-batch-size:5000}")
+    private int backfillBatchSize;
+
+    public ChapterReadHistoryService(
+            ReadProgressRepository readProgressRepository,
+            BackfillCheckpointRepository checkpointRepository,
+            ChapterIndexProvider chapterIndexProvider,
+            PlatformTransactionManager transactionManager,
+            @Value("${analytics.read-progress.cache-size:100000}") long cacheSize,
+            @Value("${analytics.read-progress.cache-ttl:PT30M}") Duration cacheTtl
+    ) {
+        this.readProgressRepository = readProgressRepository;
+        this.checkpointRepository = checkpointRepository;
+        this.chapterIndexProvider = chapterIndexProvider;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfterAccess(cacheTtl)
+                .build(key -> readProgressRepository.findByUserIdAndTitleId(key.userId(), key.titleId())
+                        .map(progress -> BitSet.valueOf(progress.getReadChapters()))
+                        .orElse(NONE_READ));
+    }
 
     @Override
-    public boolean isChapterRead(UUID userId, UUID chapterId) {
-        return interactionRepository.existsByUserIdAndTargetIdAndType(userId, chapterId, InteractionType.CHAPTER_READ);
+    public boolean isChapterRead(UUID userId, UUID titleId, int readIndex) {
+        return cache.get(new ProgressKey(userId, titleId)).get(readIndex);
     }
 
     @Override
-    public Set<UUID> getReadChapterIds(UUID userId, List<UUID> chapterIds) {
-        if (chapterIds.isEmpty()) {
-            return Set.of();
+    public BitSet getReadChapterIndexes(UUID userId, UUID titleId) {
+        return (BitSet) cache.get(new ProgressKey(userId, titleId)).clone();
+    }
+
+    @Transactional
+    public void markRead(UUID userId, UUID titleId, int readIndex) {
+        var read = new BitSet();
+        read.set(readIndex);
+        markRead(userId, titleId, read);
+    }
+
+    /**
+     * Adds the given chapters to the user's progress, under a row lock so concurrent reads of the same title are not lost.
+     */
+    @Transactional
+    public void markRead(UUID userId, UUID titleId, BitSet readIndexes) {
+        var key = new ProgressKey(userId, titleId);
+        var cached = cache.getIfPresent(key);
+        if (cached != null && contains(cached, readIndexes)) {
+            return;
+        }
+
+        readProgressRepository.insertIfAbsent(userId, titleId);
+        ReadProgress progress = readProgressRepository.findByUserIdAndTitleIdWithLock(userId, titleId)
+                .orElseThrow();
+        var bits = BitSet.valueOf(progress.getReadChapters());
+        if (contains(bits, readIndexes)) {
+            updateCacheAfterCommit(key, bits);
+            return;
         }
-        List<UUID> readIds = interactionRepository.findReadChapterIds(userId, chapterIds, InteractionType.CHAPTER_READ);
-        return new HashSet<>(readIds);
+
+        bits.or(readIndexes);
+        progress.setReadChapters(bits.toByteArray());
+        progress.setReadCount(bits.cardinality());
+        progress.setUpdatedAt(Instant.now());
+        updateCacheAfterCommit(key, bits);
+    }
+
+    @Transactional
+    public void deleteTitleProgress(UUID titleId) {
+        readProgressRepository.deleteByTitleId(titleId);
+        cache.asMap().keySet().removeIf(key -> key.titleId().equals(titleId));
+    }
+
+    /**
+     * Builds progress from the read log on the first start with this table. Runs after chapter read
+     * indexes are assigned; reads of chapters deleted since then have no index and are skipped.
+     * Each page is committed together with its checkpoint, so an interrupted backfill resumes after
+     * the last committed page.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillIfEmpty() {
+        if (!backfillOnStartup) {
+            return;
+        }
+        var checkpoint = checkpointRepository.findById(BACKFILL_CHECKPOINT)
+                .orElseGet(() -> BackfillCheckpoint.builder()
+                        .name(BACKFILL_CHECKPOINT)
+                        .afterUserId(NIL)
+                        .afterTargetId(NIL)
+                        // Progress recorded before checkpoints existed was backfilled already
+                        .completed(readProgressRepository.count() > 0)
+                        .updatedAt(Instant.now())
+                        .build());
+        if (checkpoint.isCompleted()) {
+            checkpointRepository.save(checkpoint);
+            return;
+        }
+
+        long pairs = 0;
+        int pageSize;
+        do {
+            pageSize = transactionTemplate.execute(_ -> backfillPage(checkpoint));
+            pairs += pageSize;
+        } while (pageSize == backfillBatchSize);
+
+        checkpoint.setCompleted(true);
+        checkpoint.setUpdatedAt(Instant.now());
+        checkpointRepository.save(checkpoint);
+        if (pairs > 0) {
+            log.info("Backfilled read progress from {} chapter reads in the interaction log", pairs);
+        }
+    }
+
+    private int backfillPage(BackfillCheckpoint checkpoint) {
+        var page = readProgressRepository.findReadChapterPairs(
+                checkpoint.getAfterUserId(), checkpoint.getAfterTargetId(), backfillBatchSize);
+        if (page.isEmpty()) {
+            return 0;
+        }
+
+        var chapterIds = page.stream().map(row -> (UUID) row[1]).toList();
+        var indexes = chapterIndexProvider.getChapterIndexes(chapterIds);
+        Map<ProgressKey, BitSet> progress = new HashMap<>();
+        for (var row : page) {
+            var index = indexes.get((UUID) row[1]);
+            if (index != null) {
+                progress.computeIfAbsent(new ProgressKey((UUID) row[0], index.titleId()), _ -> new BitSet())
+                        .set(index.readIndex());
+            }
+        }
+        progress.forEach((key, bits) -> markRead(key.userId(), key.titleId(), bits));
+
+        checkpoint.setAfterUserId((UUID) page.getLast()[0]);
+        checkpoint.setAfterTargetId((UUID) page.getLast()[1]);
+        checkpoint.setUpdatedAt(Instant.now());
+        checkpointRepository.save(checkpoint);
+        return page.size();
+    }
+
+    private void updateCacheAfterCommit(ProgressKey key, BitSet bits) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                cache.put(key, bits);
+            }
+        });
+    }
+
+    private static boolean contains(BitSet bits, BitSet subset) {
+        var missing = (BitSet) subset.clone();
+        missing.andNot(bits);
+        return missing.isEmpty();
     }
 
 }
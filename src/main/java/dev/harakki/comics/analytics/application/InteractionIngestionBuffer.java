@@ -0,0 +1,243 @@
+package dev.harakki.comics.analytics.application;
+
+import dev.harakki.comics.analytics.domain.UserInteraction;
+import dev.harakki.comics.analytics.infrastructure.UserInteractionBatchWriter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bounded write-behind buffer for {@link UserInteraction} inserts.
+ * <p>
+ * A single drainer thread flushes the queue when {@code batchSize} interactions are collected or
+ * {@code flushInterval} elapses, whichever comes first. When the queue is full, producers wait up to
+ * {@code offerTimeout} and then write their interaction synchronously, so overload slows event
+ * processing down instead of dropping interactions. Everything still queued is flushed on shutdown.
+ * <p>
+ * Interactions recorded in a transaction are only taken once it commits, so an event handler that
+ * rolls back and is retried does not write its interactions twice.
+ */
+@Slf4j
+@Component
+public class InteractionIngestionBuffer implements SmartLifecycle {
+
+    private final UserInteractionBatchWriter batchWriter;
+
+    private final BlockingQueue<UserInteraction> queue;
+    private final int batchSize;
+    private final Duration flushInterval;
+    private final Duration offerTimeout;
+
+    private final Counter enqueuedCounter;
+    private final Counter writtenCounter;
+    private final Counter droppedCounter;
+    private final Counter backpressureCounter;
+    private final DistributionSummary batchSizeSummary;
+    private final Timer flushTimer;
+
+    private volatile boolean running;
+    private Thread drainer;
+
+    public InteractionIngestionBuffer(
+            UserInteractionBatchWriter batchWriter,
+            MeterRegistry meterRegistry,
+            @Value("${analytics.ingestion.capacity:10000}") int capacity,
+            @Value("${analytics.ingestion.batch-size:500}") int batchSize,
+            @Value("${analytics.ingestion.flush-interval:PT1S}") Duration flushInterval,
+            @Value("${analytics.ingestion.offer-timeout:PT0.1S}") Duration offerTimeout
+    ) {
+        this.batchWriter = batchWriter;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.batchSize = batchSize;
+        this.flushInterval = flushInterval;
+        this.offerTimeout = offerTimeout;
+
+        Gauge.builder("analytics.ingestion.queue.size", queue, BlockingQueue::size)
+                .description("Interactions waiting to be written")
+                .register(meterRegistry);
+        this.enqueuedCounter = Counter.builder("analytics.ingestion.enqueued")
+                .description("Interactions accepted by the buffer")
+                .register(meterRegistry);
+        this.writtenCounter = Counter.builder("analytics.ingestion.written")
+                .description("Interactions persisted to the database")
+                .register(meterRegistry);
+        this.droppedCounter = Counter.builder("analytics.ingestion.dropped")
+                .description("Interactions that could not be persisted")
+                .register(meterRegistry);
+        this.backpressureCounter = Counter.builder("analytics.ingestion.backpressure")
+                .description("Interactions written synchronously because the buffer was full")
+                .register(meterRegistry);
+        this.batchSizeSummary = DistributionSummary.builder("analytics.ingestion.batch.size")
+                .description("Number of interactions written per flush")
+                .register(meterRegistry);
+        this.flushTimer = Timer.builder("analytics.ingestion.flush")
+                .description("Time spent writing a batch")
+                .register(meterRegistry);
+    }
+
+    public void enqueue(UserInteraction interaction) {
+        if (interaction.getOccurredAt() == null) {
+            interaction.setOccurredAt(Instant.now());
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    offer(interaction);
+                }
+            });
+            return;
+        }
+        offer(interaction);
+    }
+
+    private void offer(UserInteraction interaction) {
+        if (!running) {
+            write(List.of(interaction));
+            return;
+        }
+
+        try {
+            if (queue.offer(interaction, offerTimeout.toNanos(), TimeUnit.NANOSECONDS)) {
+                enqueuedCounter.increment();
+                if (!running) {
+                    // Raced with shutdown, nobody will drain the queue anymore
+                    flushPending();
+                }
+                return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        // Buffer is saturated: the producer pays for its own write
+        backpressureCounter.increment();
+        write(List.of(interaction));
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        drainer = Thread.ofPlatform()
+                .name("interaction-ingestion")
+                .daemon(true)
+                .start(this::drainLoop);
+        log.info("Interaction ingestion buffer started: capacity={}, batchSize={}, flushInterval={}",
+                queue.remainingCapacity(), batchSize, flushInterval);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (drainer != null) {
+            drainer.interrupt();
+            try {
+                drainer.join(flushInterval.multipliedBy(2).toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        // Flush whatever is left after the drainer has exited
+        int flushed = flushPending();
+        log.info("Interaction ingestion buffer stopped, flushed {} pending interactions", flushed);
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        // Stop before the async event executors and the DataSource go away
+        return SmartLifecycle.DEFAULT_PHASE - 1;
+    }
+
+    private void drainLoop() {
+        List<UserInteraction> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                var first = queue.poll(flushInterval.toNanos(), TimeUnit.NANOSECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+
+                long deadline = System.nanoTime() + flushInterval.toNanos();
+                while (batch.size() < batchSize) {
+                    queue.drainTo(batch, batchSize - batch.size());
+                    if (batch.size() >= batchSize) {
+                        break;
+                    }
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        break;
+                    }
+                    var next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+            } catch (InterruptedException e) {
+                // Stop requested while collecting: write the half-collected batch, leftover items are flushed by stop()
+                Thread.currentThread().interrupt();
+                drain(batch);
+                break;
+            }
+            drain(batch);
+        }
+    }
+
+    /**
+     * Writes the collected batch exactly once and clears it, a failed batch is counted as dropped.
+     */
+    private void drain(List<UserInteraction> batch) {
+        try {
+            write(batch);
+        } catch (RuntimeException e) {
+            log.error("Failed to flush {} interactions", batch.size(), e);
+            droppedCounter.increment(batch.size());
+        } finally {
+            batch.clear();
+        }
+    }
+
+    private int flushPending() {
+        List<UserInteraction> pending = new ArrayList<>(queue.size());
+        queue.drainTo(pending);
+        for (int from = 0; from < pending.size(); from += batchSize) {
+            write(pending.subList(from, Math.min(from + batchSize, pending.size())));
+        }
+        return pending.size();
+    }
+
+    private void write(List<UserInteraction> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        int written = flushTimer.record(() -> batchWriter.writeAll(batch));
+        writtenCounter.increment(written);
+        droppedCounter.increment(batch.size() - written);
+        batchSizeSummary.record(batch.size());
+    }
+
+}
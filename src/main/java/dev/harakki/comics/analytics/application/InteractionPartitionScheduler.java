@@ -0,0 +1,110 @@
+package dev.harakki.comics.analytics.application;
+
+import dev.harakki.comics.analytics.infrastructure.UserInteractionPartitionRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+
+/**
+ * Keeps monthly partitions of {@code user_interactions} ahead of time and retires the expired ones.
+ * Runs once on startup (before event processing begins) and then on a daily schedule.
+ */
+@Slf4j
+@Component
+class InteractionPartitionScheduler implements InitializingBean {
+
+    enum RetentionMode {
+        DETACH,  // Partition stays as a standalone table in the same schema
+        ARCHIVE, // Partition is detached and moved to the archive schema
+        DROP     // Partition is detached and dropped
+    }
+
+    private final UserInteractionPartitionRepository partitionRepository;
+
+    private final int premakeMonths;
+    private final int retentionMonths;
+    private final RetentionMode retentionMode;
+    private final String archiveSchema;
+    private final boolean convertHeapTable;
+
+    private final Clock clock = Clock.system(ZoneOffset.UTC);
+
+    InteractionPartitionScheduler(
+            UserInteractionPartitionRepository partitionRepository,
+            @Value("${analytics.partitions.premake-months:3}") int premakeMonths,
+            @Value("${analytics.partitions.retention-months:24}") int retentionMonths,
+            @Value("${analytics.partitions.retention-mode:ARCHIVE}") RetentionMode retentionMode,
+            @Value("${analytics.partitions.archive-schema:analytics_archive}") String archiveSchema,
+            @Value("${analytics.partitions.convert-heap-table:false}") boolean convertHeapTable
+    ) {
+        this.partitionRepository = partitionRepository;
+        this.premakeMonths = premakeMonths;
+        this.retentionMonths = retentionMonths;
+        this.retentionMode = retentionMode;
+        this.archiveSchema = archiveSchema;
+        this.convertHeapTable = convertHeapTable;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        if (!partitionRepository.exists()) {
+            log.warn("Table user_interactions does not exist yet, partition maintenance postponed");
+            return;
+        }
+        if (!partitionRepository.isPartitioned()) {
+            if (!convertHeapTable) {
+                log.warn("Table user_interactions is not partitioned, set analytics.partitions.convert-heap-table=true to convert it");
+                return;
+            }
+            var firstManagedMonth = YearMonth.now(clock).plusMonths(1);
+            partitionRepository.convertHeapTable(firstManagedMonth);
+            log.info("Converted user_interactions to a partitioned table, existing rows kept in user_interactions_legacy");
+        }
+        maintainPartitions();
+    }
+
+    @Scheduled(cron = "${analytics.partitions.cron:0 0 3 * * *}", zone = "UTC")
+    public void maintainPartitions() {
+        if (!partitionRepository.isPartitioned()) {
+            return;
+        }
+
+        var currentMonth = YearMonth.now(clock);
+        partitionRepository.createDefaultPartition();
+        for (int i = 0; i <= premakeMonths; i++) {
+            var month = currentMonth.plusMonths(i);
+            try {
+                partitionRepository.createMonthlyPartition(month);
+            } catch (DataAccessException e) {
+                // Typically rows for this month already landed in the default partition
+                log.error("Failed to create user_interactions partition for {}", month, e);
+            }
+        }
+
+        var oldestRetainedMonth = currentMonth.minusMonths(retentionMonths);
+        partitionRepository.findMonthlyPartitions().stream()
+                .filter(month -> month.isBefore(oldestRetainedMonth))
+                .forEach(this::retire);
+    }
+
+    private void retire(YearMonth month) {
+        try {
+            switch (retentionMode) {
+                case DETACH -> partitionRepository.detachPartition(month);
+                case ARCHIVE -> partitionRepository.archivePartition(month, archiveSchema);
+                case DROP -> partitionRepository.dropPartition(month);
+            }
+            log.info("Retired user_interactions partition for {} ({})", month, retentionMode);
+        } catch (DataAccessException e) {
+            log.error("Failed to retire user_interactions partition for {}", month, e);
+        }
+    }
+
+}
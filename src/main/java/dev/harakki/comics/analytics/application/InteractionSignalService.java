@@ -0,0 +1,39 @@
+package dev.harakki.comics.analytics.application;
+
+import dev.harakki.comics.analytics.api.InteractionSignalProvider;
+import dev.harakki.comics.analytics.infrastructure.UserInteractionRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.UUID;
+
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class InteractionSignalService implements InteractionSignalProvider {
+
+    private final UserInteractionRepository userInteractionRepository;
+
+    @Override
+    public TitleSignalPage getTitleSignals(UUID afterUserId, int userLimit) {
+        var lastUserId = userInteractionRepository.findLastSignalUserId(afterUserId, userLimit);
+        if (lastUserId == null) {
+            return new TitleSignalPage(List.of(), null);
+        }
+        var signals = userInteractionRepository.findTitleSignals(afterUserId, lastUserId).stream()
+                .map(row -> new TitleSignal(
+                        row.getUserId(),
+                        row.getTitleId(),
+                        row.getChapterReads(),
+                        row.getLiked(),
+                        row.getDisliked(),
+                        row.getInLibrary(),
+                        row.getInCollection()
+                ))
+                .toList();
+        return new TitleSignalPage(signals, lastUserId);
+    }
+
+}
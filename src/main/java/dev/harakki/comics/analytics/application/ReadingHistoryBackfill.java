@@ -0,0 +1,31 @@
+package dev.harakki.comics.analytics.application;
+
+import dev.harakki.comics.analytics.api.ReadingHistoryReadyEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+
+/**
+ * Runs the startup backfills of the title and user rollups the reading history is read from, one
+ * after the other, and announces the history once both are done.
+ */
+@Component
+@RequiredArgsConstructor
+class ReadingHistoryBackfill {
+
+    private final TitleStatsService titleStatsService;
+    private final UserStatsService userStatsService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        titleStatsService.backfillIfEmpty();
+        userStatsService.backfillIfEmpty();
+        eventPublisher.publishEvent(new ReadingHistoryReadyEvent(Instant.now()));
+    }
+
+}
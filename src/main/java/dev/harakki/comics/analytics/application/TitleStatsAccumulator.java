@@ -0,0 +1,283 @@
+package dev.harakki.comics.analytics.application;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import dev.harakki.comics.analytics.domain.TitleStats;
+import dev.harakki.comics.analytics.infrastructure.TitleStatsBatchWriter;
+import dev.harakki.comics.analytics.infrastructure.TitleStatsBatchWriter.Delta;
+import dev.harakki.comics.analytics.infrastructure.TitleStatsRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory striped counters for {@code title_stats}. Event handlers only bump {@link LongAdder}s,
+ * a scheduled flush turns the accumulated deltas into a single batch of upserts.
+ * <p>
+ * Reads combine the cached persisted row, the deltas being flushed and the pending deltas under the
+ * read lock. Moving deltas between those layers happens under the write lock, so a read never sees a
+ * delta twice or not at all. The upsert itself runs outside the lock: while it does, titles with deltas
+ * in flight are read from rows pinned before it, which can't contain those deltas yet, and the cached
+ * rows are only dropped once the upsert is done. Counter updates never take the lock.
+ * Counters of titles without activity are evicted after a flush and kept aside for one more cycle,
+ * so increments from a handler that still holds a reference are not lost.
+ */
+@Slf4j
+@Component
+class TitleStatsAccumulator {
+
+    private final TitleStatsBatchWriter batchWriter;
+    private final TitleStatsRepository titleStatsRepository;
+
+    private final Map<UUID, Counters> counters = new ConcurrentHashMap<>();
+    private final LoadingCache<UUID, TitleStats> persisted;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Guarded by lock
+    private Map<UUID, Delta> inFlight = Map.of();
+    private Map<UUID, TitleStats> pinned = Map.of();
+    private List<Map.Entry<UUID, Counters>> retired = List.of();
+
+    TitleStatsAccumulator(
+            TitleStatsBatchWriter batchWriter,
+            TitleStatsRepository titleStatsRepository,
+            @Value("${analytics.stats.cache-size:100000}") long cacheSize,
+            @Value("${analytics.stats.cache-ttl:PT10M}") Duration cacheTtl
+    ) {
+        this.batchWriter = batchWriter;
+        this.titleStatsRepository = titleStatsRepository;
+        this.persisted = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfterWrite(cacheTtl)
+                .build(titleId -> titleStatsRepository.findById(titleId).orElseGet(() -> empty(titleId)));
+    }
+
+    void addViews(UUID titleId, long count) {
+        countersFor(titleId).views.add(count);
+    }
+
+    void addUniqueReader(UUID titleId) {
+        countersFor(titleId).uniqueReaders.increment();
+    }
+
+    void addChapterRead(UUID titleId) {
+        countersFor(titleId).chapterReads.increment();
+    }
+
+    void addLike(UUID titleId, long delta) {
+        countersFor(titleId).likes.add(delta);
+    }
+
+    void addDislike(UUID titleId, long delta) {
+        countersFor(titleId).dislikes.add(delta);
+    }
+
+    void addLibraryAdd(UUID titleId, long delta) {
+        countersFor(titleId).libraryAdds.add(delta);
+    }
+
+    /**
+     * Current counters: the persisted row plus everything not flushed yet.
+     */
+    TitleStats current(UUID titleId) {
+        lock.readLock().lock();
+        try {
+            var row = pinned.get(titleId);
+            if (row == null) {
+                row = persisted.get(titleId);
+            }
+            var stats = TitleStats.builder()
+                    .titleId(titleId)
+                    .views(row.getViews())
+                    .uniqueReaders(row.getUniqueReaders())
+                    .chapterReads(row.getChapterReads())
+                    .likes(row.getLikes())
+                    .dislikes(row.getDislikes())
+                    .libraryAdds(row.getLibraryAdds())
+                    .updatedAt(row.getUpdatedAt())
+                    .build();
+            apply(stats, inFlight.get(titleId));
+            var pending = counters.get(titleId);
+            if (pending != null) {
+                apply(stats, pending.peek(titleId));
+            }
+            return stats;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    void discard(UUID titleId) {
+        lock.writeLock().lock();
+        try {
+            counters.remove(titleId);
+            retired = retired.stream()
+                    .filter(entry -> !entry.getKey().equals(titleId))
+                    .toList();
+            persisted.invalidate(titleId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${analytics.stats.flush-interval:PT5S}")
+    synchronized void flush() {
+        List<Delta> deltas = drain();
+        if (deltas.isEmpty()) {
+            return;
+        }
+
+        try {
+            // Only flushes write the rows, so until the upsert below they hold none of the in-flight deltas
+            pin(deltas);
+            batchWriter.upsertAll(deltas);
+        } catch (RuntimeException e) {
+            log.error("Failed to flush title stats for {} titles, retrying on next flush", deltas.size(), e);
+            handOff(() -> deltas.forEach(this::restore));
+            return;
+        }
+        // A row loaded from now on contains the deltas, so they leave the in-flight layer at the same time
+        handOff(() -> persisted.invalidateAll(inFlight.keySet()));
+        log.debug("Flushed title stats for {} titles", deltas.size());
+    }
+
+    @PreDestroy
+    void flushOnShutdown() {
+        flush();
+        // Second pass picks up the counters retired by the first one
+        flush();
+    }
+
+    private List<Delta> drain() {
+        lock.writeLock().lock();
+        try {
+            List<Delta> deltas = new ArrayList<>();
+            List<Map.Entry<UUID, Counters>> idle = new ArrayList<>();
+
+            // Late increments on counters evicted by the previous flush
+            for (var entry : retired) {
+                var delta = entry.getValue().drain(entry.getKey());
+                if (!isZero(delta)) {
+                    deltas.add(delta);
+                }
+            }
+
+            for (var entry : counters.entrySet()) {
+                var delta = entry.getValue().drain(entry.getKey());
+                if (isZero(delta)) {
+                    idle.add(entry);
+                } else {
+                    deltas.add(delta);
+                }
+            }
+            for (var entry : idle) {
+                counters.remove(entry.getKey(), entry.getValue());
+            }
+            retired = idle;
+
+            // A title can appear twice (retired and current counters)
+            inFlight = deltas.stream().collect(Collectors.toMap(Delta::titleId, delta -> delta, TitleStatsAccumulator::sum));
+            return List.copyOf(inFlight.values());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void pin(List<Delta> deltas) {
+        var rows = new HashMap<UUID, TitleStats>();
+        for (var delta : deltas) {
+            rows.put(delta.titleId(), empty(delta.titleId()));
+        }
+        titleStatsRepository.findAllById(rows.keySet()).forEach(row -> rows.put(row.getTitleId(), row));
+
+        lock.writeLock().lock();
+        try {
+            pinned = rows;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void handOff(Runnable change) {
+        lock.writeLock().lock();
+        try {
+            change.run();
+            inFlight = Map.of();
+            pinned = Map.of();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void restore(Delta delta) {
+        var target = countersFor(delta.titleId());
+        target.views.add(delta.views());
+        target.uniqueReaders.add(delta.uniqueReaders());
+        target.chapterReads.add(delta.chapterReads());
+        target.likes.add(delta.likes());
+        target.dislikes.add(delta.dislikes());
+        target.libraryAdds.add(delta.libraryAdds());
+    }
+
+    private Counters countersFor(UUID titleId) {
+        return counters.computeIfAbsent(titleId, _ -> new Counters());
+    }
+
+    private static TitleStats empty(UUID titleId) {
+        return TitleStats.builder().titleId(titleId).updatedAt(Instant.EPOCH).build();
+    }
+
+    private static void apply(TitleStats stats, Delta delta) {
+        if (delta == null) {
+            return;
+        }
+        stats.setViews(stats.getViews() + delta.views());
+        stats.setUniqueReaders(stats.getUniqueReaders() + delta.uniqueReaders());
+        stats.setChapterReads(stats.getChapterReads() + delta.chapterReads());
+        stats.setLikes(stats.getLikes() + delta.likes());
+        stats.setDislikes(stats.getDislikes() + delta.dislikes());
+        stats.setLibraryAdds(stats.getLibraryAdds() + delta.libraryAdds());
+    }
+
+    private static Delta sum(Delta a, Delta b) {
+        return new Delta(a.titleId(), a.views() + b.views(), a.uniqueReaders() + b.uniqueReaders(),
+                a.chapterReads() + b.chapterReads(), a.likes() + b.likes(), a.dislikes() + b.dislikes(),
+                a.libraryAdds() + b.libraryAdds());
+    }
+
+    private static boolean isZero(Delta delta) {
+        return delta.views() == 0 && delta.uniqueReaders() == 0 && delta.chapterReads() == 0
+                && delta.likes() == 0 && delta.dislikes() == 0 && delta.libraryAdds() == 0;
+    }
+
+    private static final class Counters {
+        final LongAdder views = new LongAdder();
+        final LongAdder uniqueReaders = new LongAdder();
+        final LongAdder chapterReads = new LongAdder();
+        final LongAdder likes = new LongAdder();
+        final LongAdder dislikes = new LongAdder();
+        final LongAdder libraryAdds = new LongAdder();
+
+        Delta peek(UUID titleId) {
+            return new Delta(titleId, views.sum(), uniqueReaders.sum(), chapterReads.sum(),
+                    likes.sum(), dislikes.sum(), libraryAdds.sum());
+        }
+
+        Delta drain(UUID titleId) {
+            return new Delta(titleId, views.sumThenReset(), uniqueReaders.sumThenReset(), chapterReads.sumThenReset(),
+                    likes.sumThenReset(), dislikes.sumThenReset(), libraryAdds.sumThenReset());
+        }
+    }
+
+}
@@ -0,0 +1,172 @@
+package dev.harakki.comics.analytics.application;
+
+import dev.harakki.comics.analytics.api.PopularTitleProvider;
+import dev.harakki.comics.analytics.api.TitleReadStartedEvent;
+import dev.harakki.comics.analytics.domain.TitleStats;
+import dev.harakki.comics.analytics.infrastructure.TitleStatsBatchWriter;
+import dev.harakki.comics.analytics.infrastructure.TitleStatsRepository;
+import dev.harakki.comics.library.api.VoteType;
+import dev.harakki.comics.shared.api.TitlePopularityProvider;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class TitleStatsService implements PopularTitleProvider, TitlePopularityProvider {
+
+    private static final double WILSON_Z = 1.96;
+    private static final double MAX_RATING = 5.0;
+
+    private final TitleStatsRepository titleStatsRepository;
+    private final TitleStatsBatchWriter titleStatsBatchWriter;
+    private final TitleStatsAccumulator accumulator;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${analytics.stats.backfill-on-startup:true}")
+    private boolean backfillOnStartup;
+
+    @Value("${analytics.rating.prior-mean:0.7}")
+    private double ratingPriorMean;
+
+    @Value("${analytics.rating.prior-votes:10}")
+    private double ratingPriorVotes;
+
+    /**
+     * Persisted counters plus the deltas not flushed yet, served from memory. Both are read under the
+     * accumulator's lock, so a concurrent flush is neither counted twice nor dropped.
+     */
+    public TitleStats getStats(UUID titleId) {
+        return accumulator.current(titleId);
+    }
+
+    /**
+     * Lower bound of the 95% Wilson score interval for the share of likes, in {@code [0, 1]}.
+     * Unlike the plain ratio it does not rank a title with a single like above a well-liked one.
+     *
+     * @return the score, or null if the title has no votes
+     */
+    public Double getRatingScore(TitleStats stats) {
+        long votes = stats.getLikes() + stats.getDislikes();
+        if (votes <= 0) {
+            return null;
+        }
+        double positive = (double) stats.getLikes() / votes;
+        double z2 = WILSON_Z * WILSON_Z;
+        double center = positive + z2 / (2 * votes);
+        double margin = WILSON_Z * Math.sqrt((positive * (1 - positive) + z2 / (4 * votes)) / votes);
+        return (center - margin) / (1 + z2 / votes);
+    }
+
+    /**
+     * Bayesian average of the likes share on a 0-5 scale: titles with few votes are pulled
+     * towards the prior, {@code ratingPriorVotes} votes weigh as much as the prior.
+     *
+     * @return the rating, or null if the title has no votes
+     */
+    public Double getAverageRating(TitleStats stats) {
+        long votes = stats.getLikes() + stats.getDislikes();
+        if (votes <= 0) {
+            return null;
+        }
+        double share = (stats.getLikes() + ratingPriorMean * ratingPriorVotes) / (votes + ratingPriorVotes);
+        return Math.round(share * MAX_RATING * 100) / 100.0;
+    }
+
+    @Override
+    public List<UUID> getPopularTitleIds(int limit) {
+        return titleStatsRepository.findPopularTitleIds(Limit.of(limit));
+    }
+
+    @Override
+    public Map<UUID, Long> getPopularity(Collection<UUID> titleIds) {
+        if (titleIds.isEmpty()) {
+            return Map.of();
+        }
+        var popularity = new HashMap<UUID, Long>();
+        for (var row : titleStatsRepository.findPopularityByTitleIdIn(titleIds)) {
+            popularity.put((UUID) row[0], Math.max((Long) row[1], 0));
+        }
+        return popularity;
+    }
+
+    public void recordViews(UUID titleId, int count) {
+        accumulator.addViews(titleId, count);
+    }
+
+    @Transactional
+    public void recordChapterRead(UUID titleId, UUID userId) {
+        accumulator.addChapterRead(titleId);
+        if (userId != null && titleStatsRepository.insertReaderIfAbsent(titleId, userId) > 0) {
+            accumulator.addUniqueReader(titleId);
+            eventPublisher.publishEvent(new TitleReadStartedEvent(titleId, userId));
+        }
+    }
+
+    /**
+     * Moves one vote from {@code previousVote} (if any) to {@code vote}.
+     */
+    public void recordVote(UUID titleId, VoteType vote, VoteType previousVote) {
+        if (vote == previousVote) {
+            return;
+        }
+        addVote(titleId, previousVote, -1);
+        addVote(titleId, vote, 1);
+    }
+
+    public void recordLibraryAdd(UUID titleId) {
+        accumulator.addLibraryAdd(titleId, 1);
+    }
+
+    /**
+     * The vote of a removed entry is withdrawn together with it.
+     */
+    public void recordLibraryRemove(UUID titleId, VoteType vote) {
+        accumulator.addLibraryAdd(titleId, -1);
+        addVote(titleId, vote, -1);
+    }
+
+    @Transactional
+    public void deleteStats(UUID titleId) {
+        accumulator.discard(titleId);
+        titleStatsRepository.deleteById(titleId);
+        titleStatsRepository.deleteReadersByTitleId(titleId);
+    }
+
+    private void addVote(UUID titleId, VoteType vote, long delta) {
+        if (vote == null) {
+            return;
+        }
+        switch (vote) {
+            case LIKE -> accumulator.addLike(titleId, delta);
+            case DISLIKE -> accumulator.addDislike(titleId, delta);
+        }
+    }
+
+    /**
+     * Run on startup by {@link ReadingHistoryBackfill}.
+     */
+    @Transactional
+    public void backfillIfEmpty() {
+        if (!backfillOnStartup || !titleStatsBatchWriter.isEmpty()) {
+            return;
+        }
+        int titles = titleStatsBatchWriter.backfillFromInteractions();
+        if (titles > 0) {
+            log.info("Backfilled title stats for {} titles from the interaction log", titles);
+        }
+    }
+
+}
@@ -0,0 +1,191 @@
+package dev.harakki.comics.analytics.application;
+
+import dev.harakki.comics.analytics.api.TrendingWindow;
+import dev.harakki.comics.analytics.infrastructure.TrendingScoreBatchWriter.Score;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.DoubleAdder;
+
+/**
+ * Exponentially decayed activity scores of titles, one set per {@link TrendingWindow}. An event at
+ * time {@code t} adds {@code weight * e^((t - origin) / window)} to the title's counter, so the score
+ * at time {@code now} is the counter times {@code e^(-(now - origin) / window)}: old activity fades
+ * without ever being revisited, and recording is a lock-free {@link DoubleAdder} increment.
+ * <p>
+ * The growing factor is kept in range by rebasing: once it gets large, a generation of counters with
+ * a fresh origin takes over, and the old sums are carried over decayed, dropping titles whose score
+ * faded away. The old generation is folded in once more on the next snapshot, so increments from a
+ * writer that still held it are not lost. Each snapshot ranks the top titles of every window.
+ */
+@Component
+class TrendingAccumulator {
+
+    record TrendingTitle(UUID titleId, double score) {
+    }
+
+    // Rebase once the growing factor exceeds e^16, about 9 million
+    private static final double REBASE_EXPONENT = 16;
+
+    private final int topSize;
+    private final double minScore;
+    private final Map<TrendingWindow, Window> windows = new EnumMap<>(TrendingWindow.class);
+
+    private volatile Instant snapshotAt = Instant.EPOCH;
+
+    TrendingAccumulator(
+            @Value("${analytics.trending.top-size:100}") int topSize,
+            @Value("${analytics.trending.min-score:0.01}") double minScore
+    ) {
+        this.topSize = topSize;
+        this.minScore = minScore;
+        long now = System.currentTimeMillis();
+        for (var window : TrendingWindow.values()) {
+            windows.put(window, new Window(window.duration().toMillis(), now));
+        }
+    }
+
+    void add(UUID titleId, double weight, Instant at) {
+        long millis = at.toEpochMilli();
+        for (var window : windows.values()) {
+            window.add(titleId, weight, millis);
+        }
+    }
+
+    /**
+     * Adds a score as of the given instant to one window only, for restoring persisted scores.
+     */
+    void add(TrendingWindow window, UUID titleId, double score, Instant at) {
+        windows.get(window).add(titleId, score, at.toEpochMilli());
+    }
+
+    void remove(UUID titleId) {
+        for (var window : windows.values()) {
+            window.remove(titleId);
+        }
+    }
+
+    /**
+     * Titles of the latest snapshot, most trending first.
+     */
+    List<TrendingTitle> top(TrendingWindow window) {
+        return windows.get(window).top;
+    }
+
+    Instant snapshotAt() {
+        return snapshotAt;
+    }
+
+    /**
+     * Re-ranks every window, rebasing counters that need it.
+     */
+    synchronized void snapshot(Instant now) {
+        for (var window : windows.values()) {
+            window.snapshot(now.toEpochMilli());
+        }
+        snapshotAt = now;
+    }
+
+    /**
+     * Scores as of {@code now} of at most {@code limit} titles per window, highest first.
+     */
+    synchronized List<Score> scores(Instant now, int limit) {
+        List<Score> scores = new ArrayList<>();
+        windows.forEach((trendingWindow, window) -> {
+            for (var title : window.rank(now.toEpochMilli(), limit)) {
+                scores.add(new Score(trendingWindow, title.titleId(), title.score()));
+            }
+        });
+        return scores;
+    }
+
+    private record Generation(long origin, Map<UUID, DoubleAdder> counters) {
+
+        Generation(long origin) {
+            this(origin, new ConcurrentHashMap<>());
+        }
+
+        DoubleAdder counter(UUID titleId) {
+            var counter = counters.get(titleId);
+            return counter != null ? counter : counters.computeIfAbsent(titleId, _ -> new DoubleAdder());
+        }
+    }
+
+    private final class Window {
+
+        private final double lifetimeMillis;
+        private volatile Generation current;
+        private volatile Generation retired;
+        private volatile List<TrendingTitle> top = List.of();
+
+        Window(double lifetimeMillis, long origin) {
+            this.lifetimeMillis = lifetimeMillis;
+            this.current = new Generation(origin);
+        }
+
+        void add(UUID titleId, double weight, long millis) {
+            var generation = current;
+            generation.counter(titleId).add(weight * Math.exp((millis - generation.origin()) / lifetimeMillis));
+        }
+
+        void remove(UUID titleId) {
+            current.counters().remove(titleId);
+            var old = retired;
+            if (old != null) {
+                old.counters().remove(titleId);
+            }
+        }
+
+        void snapshot(long now) {
+            var generation = current;
+            var old = retired;
+            if (old != null) {
+                fold(old, generation, 0);
+                retired = null;
+            }
+            if ((now - generation.origin()) / lifetimeMillis > REBASE_EXPONENT) {
+                var rebased = new Generation(now);
+                current = rebased;
+                // Counters of the new generation are plain scores at first, prune the faded ones
+                fold(generation, rebased, minScore);
+                retired = generation;
+            }
+            top = rank(now, topSize);
+        }
+
+        List<TrendingTitle> rank(long now, int limit) {
+            var generation = current;
+            double decay = Math.exp(-(now - generation.origin()) / lifetimeMillis);
+            var heap = new PriorityQueue<TrendingTitle>(Comparator.comparingDouble(TrendingTitle::score));
+            for (var entry : generation.counters().entrySet()) {
+                double score = entry.getValue().sum() * decay;
+                if (score < minScore) {
+                    continue;
+                }
+                if (heap.size() < limit) {
+                    heap.add(new TrendingTitle(entry.getKey(), score));
+                } else if (score > heap.peek().score()) {
+                    heap.poll();
+                    heap.add(new TrendingTitle(entry.getKey(), score));
+                }
+            }
+            var ranked = new ArrayList<>(heap);
+            ranked.sort(Comparator.comparingDouble(TrendingTitle::score).reversed());
+            return List.copyOf(ranked);
+        }
+
+        private void fold(Generation from, Generation to, double threshold) {
+            double scale = Math.exp((from.origin() - to.origin()) / lifetimeMillis);
+            for (var entry : from.counters().entrySet()) {
+                double value = entry.getValue().sumThenReset() * scale;
+                if (value != 0 && Math.abs(value) >= threshold) {
+                    to.counter(entry.getKey()).add(value);
+                }
+            }
+        }
+    }
+
+}
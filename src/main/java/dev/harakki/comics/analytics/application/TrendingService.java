@@ -0,0 +1,132 @@
+package dev.harakki.comics.analytics.application;
+
+import dev.harakki.comics.analytics.api.TrendingTitleProvider;
+import dev.harakki.comics.analytics.api.TrendingWindow;
+import dev.harakki.comics.analytics.dto.TrendingTitleResponse;
+import dev.harakki.comics.analytics.dto.TrendingTitlesResponse;
+import dev.harakki.comics.analytics.infrastructure.TrendingScoreBatchWriter;
+import dev.harakki.comics.analytics.infrastructure.TrendingScoreRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * "Popular now" rankings from the {@link TrendingAccumulator}: views, chapter reads and library adds
+ * are weighted and recorded in memory, reads are served from the latest snapshot. Scores are
+ * persisted periodically and restored on startup, so a restart does not reset the trends.
+ */
+@Slf4j
+@Service
+public class TrendingService implements TrendingTitleProvider {
+
+    private final TrendingAccumulator accumulator;
+    private final TrendingScoreRepository trendingScoreRepository;
+    private final TrendingScoreBatchWriter trendingScoreBatchWriter;
+    private final double viewWeight;
+    private final double chapterReadWeight;
+    private final double libraryAddWeight;
+    private final int persistSize;
+    private final int maxLimit;
+
+    // Nothing is persisted before the stored scores are loaded, or they would be overwritten
+    private final AtomicBoolean loaded = new AtomicBoolean();
+
+    TrendingService(
+            TrendingAccumulator accumulator,
+            TrendingScoreRepository trendingScoreRepository,
+            TrendingScoreBatchWriter trendingScoreBatchWriter,
+            @Value("${analytics.trending.view-weight:1}") double viewWeight,
+            @Value("${analytics.trending.chapter-read-weight:2}") double chapterReadWeight,
+            @Value("${analytics.trending.library-add-weight:5}") double libraryAddWeight,
+            @Value("${analytics.trending.persist-size:5000}") int persistSize,
+            @Value("${analytics.trending.top-size:100}") int maxLimit
+    ) {
+        this.accumulator = accumulator;
+        this.trendingScoreRepository = trendingScoreRepository;
+        this.trendingScoreBatchWriter = trendingScoreBatchWriter;
+        this.viewWeight = viewWeight;
+        this.chapterReadWeight = chapterReadWeight;
+        this.libraryAddWeight = libraryAddWeight;
+        this.persistSize = persistSize;
+        this.maxLimit = maxLimit;
+    }
+
+    public TrendingTitlesResponse getTrendingTitles(TrendingWindow window, int limit) {
+        var items = accumulator.top(window).stream()
+                .limit(Math.clamp(limit, 0, maxLimit))
+                .map(title -> new TrendingTitleResponse(title.titleId(), title.score()))
+                .toList();
+        return new TrendingTitlesResponse(window, items, accumulator.snapshotAt());
+    }
+
+    @Override
+    public List<UUID> getTrendingTitleIds(TrendingWindow window, int limit) {
+        return accumulator.top(window).stream()
+                .limit(Math.max(limit, 0))
+                .map(TrendingAccumulator.TrendingTitle::titleId)
+                .toList();
+    }
+
+    public void recordViews(UUID titleId, int count, Instant viewedAt) {
+        accumulator.add(titleId, viewWeight * count, viewedAt);
+    }
+
+    public void recordChapterRead(UUID titleId) {
+        accumulator.add(titleId, chapterReadWeight, Instant.now());
+    }
+
+    public void recordLibraryAdd(UUID titleId) {
+        accumulator.add(titleId, libraryAddWeight, Instant.now());
+    }
+
+    public void removeTitle(UUID titleId) {
+        accumulator.remove(titleId);
+    }
+
+    @Scheduled(fixedDelayString = "${analytics.trending.snapshot-interval:PT30S}")
+    public void snapshot() {
+        accumulator.snapshot(Instant.now());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        try {
+            var scores = trendingScoreRepository.findAll();
+            for (var score : scores) {
+                accumulator.add(score.getWindow(), score.getTitleId(), score.getScore(), score.getScoredAt());
+            }
+            accumulator.snapshot(Instant.now());
+            log.info("Restored {} trending scores", scores.size());
+        } catch (Exception e) {
+            log.error("Failed to restore trending scores, trends start from scratch", e);
+        } finally {
+            loaded.set(true);
+        }
+    }
+
+    @PreDestroy
+    @Scheduled(fixedDelayString = "${analytics.trending.persist-interval:PT5M}")
+    public void persist() {
+        if (!loaded.get()) {
+            return;
+        }
+        try {
+            var now = Instant.now();
+            var scores = accumulator.scores(now, persistSize);
+            trendingScoreBatchWriter.replaceAll(scores, now);
+            log.debug("Persisted {} trending scores", scores.size());
+        } catch (Exception e) {
+            log.error("Failed to persist trending scores, retrying on next run", e);
+        }
+    }
+
+}
@@ -0,0 +1,123 @@
+package dev.harakki.comics.analytics.application;
+
+import dev.harakki.comics.analytics.domain.HyperLogLog;
+import dev.harakki.comics.analytics.domain.UniqueCountMetric;
+import dev.harakki.comics.analytics.domain.UniqueCountSketch;
+import dev.harakki.comics.analytics.dto.ChapterUniqueCountsResponse;
+import dev.harakki.comics.analytics.dto.TitleUniqueCountsResponse;
+import dev.harakki.comics.analytics.infrastructure.UniqueCountSketchRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Approximate distinct-user counts backed by daily {@link HyperLogLog} sketches.
+ * Anonymous interactions cannot be told apart and are not counted.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class UniqueCountService {
+
+    // Relative standard error of a sketch: 1.04 / sqrt(registers)
+    public static final double STANDARD_ERROR = 1.04 / Math.sqrt(HyperLogLog.REGISTERS);
+
+    private static final int DEFAULT_WINDOW_DAYS = 30;
+
+    private final UniqueCountSketchStore sketchStore;
+    private final UniqueCountSketchRepository sketchRepository;
+
+    @Value("${analytics.unique-counts.max-window-days:366}")
+    private int maxWindowDays;
+
+    public void recordTitleView(UUID titleId, UUID userId) {
+        if (userId == null) {
+            return;
+        }
+        record(UniqueCountMetric.TITLE_VIEWERS, titleId, userId);
+    }
+
+    public void recordChapterRead(UUID titleId, UUID chapterId, UUID userId) {
+        if (userId == null) {
+            return;
+        }
+        record(UniqueCountMetric.TITLE_READERS, titleId, userId);
+        record(UniqueCountMetric.CHAPTER_READERS, chapterId, userId);
+    }
+
+    public long getLifetimeCount(UniqueCountMetric metric, UUID targetId) {
+        return sketchStore.union(metric, targetId, List.of(UniqueCountSketch.LIFETIME)).estimate();
+    }
+
+    public TitleUniqueCountsResponse getTitleUniqueCounts(UUID titleId, LocalDate from, LocalDate to) {
+        var days = window(from, to);
+        return new TitleUniqueCountsResponse(
+                titleId,
+                days.getFirst(),
+                days.getLast(),
+                sketchStore.union(UniqueCountMetric.TITLE_VIEWERS, titleId, days).estimate(),
+                sketchStore.union(UniqueCountMetric.TITLE_READERS, titleId, days).estimate(),
+                STANDARD_ERROR
+        );
+    }
+
+    public ChapterUniqueCountsResponse getChapterUniqueCounts(UUID chapterId, LocalDate from, LocalDate to) {
+        var days = window(from, to);
+        return new ChapterUniqueCountsResponse(
+                chapterId,
+                days.getFirst(),
+                days.getLast(),
+                sketchStore.union(UniqueCountMetric.CHAPTER_READERS, chapterId, days).estimate(),
+                STANDARD_ERROR
+        );
+    }
+
+    @Transactional
+    public void deleteTitleSketches(UUID titleId) {
+        sketchStore.evict(titleId);
+        sketchRepository.deleteByTargetId(titleId, Set.of(UniqueCountMetric.TITLE_VIEWERS, UniqueCountMetric.TITLE_READERS));
+    }
+
+    @Transactional
+    public void deleteChapterSketches(UUID chapterId) {
+        sketchStore.evict(chapterId);
+        sketchRepository.deleteByTargetId(chapterId, Set.of(UniqueCountMetric.CHAPTER_READERS));
+    }
+
+    private void record(UniqueCountMetric metric, UUID targetId, UUID userId) {
+        long hash = HyperLogLog.hash(userId);
+        sketchStore.add(metric, targetId, today(), hash);
+        sketchStore.add(metric, targetId, UniqueCountSketch.LIFETIME, hash);
+    }
+
+    /**
+     * Days of the requested window, defaults to the last 30 days and is capped to the configured maximum.
+     */
+    private List<LocalDate> window(LocalDate from, LocalDate to) {
+        var end = to != null ? to : today();
+        var start = from != null ? from : end.minusDays(DEFAULT_WINDOW_DAYS - 1);
+        if (start.isAfter(end)) {
+            start = end;
+        }
+        if (start.plusDays(maxWindowDays).isBefore(end.plusDays(1))) {
+            start = end.minusDays(maxWindowDays - 1);
+        }
+        if (!start.isAfter(UniqueCountSketch.LIFETIME)) {
+            start = UniqueCountSketch.LIFETIME.plusDays(1);
+            end = end.isBefore(start) ? start : end;
+        }
+        return start.datesUntil(end.plusDays(1)).toList();
+    }
+
+    private static LocalDate today() {
+        return LocalDate.now(ZoneOffset.UTC);
+    }
+
+}
@@ -0,0 +1,188 @@
+package dev.harakki.comics.analytics.application;
+
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import dev.harakki.comics.analytics.domain.HyperLogLog;
+import dev.harakki.comics.analytics.domain.UniqueCountMetric;
+import dev.harakki.comics.analytics.domain.UniqueCountSketch;
+import dev.harakki.comics.analytics.infrastructure.UniqueCountSketchRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Holds {@link HyperLogLog} sketches in three layers, all merged on read (sketch union is idempotent,
+ * so a sketch seen in two layers at once is never double counted):
+ * <ul>
+ *     <li>pending: additions since the last flush, mutated only under the map's bin lock</li>
+ *     <li>in-flight: sketches being merged into the database by the current flush</li>
+ *     <li>persisted: read-only copies of database rows, cached by weight</li>
+ * </ul>
+ */
+@Slf4j
+@Component
+class UniqueCountSketchStore {
+
+    record SketchKey(UniqueCountMetric metric, UUID targetId, LocalDate day) {
+    }
+
+    private static final HyperLogLog EMPTY = new HyperLogLog();
+
+    private final UniqueCountSketchRepository sketchRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Map<SketchKey, HyperLogLog> pending = new ConcurrentHashMap<>();
+    private final Map<SketchKey, HyperLogLog> inFlight = new ConcurrentHashMap<>();
+    private final LoadingCache<SketchKey, HyperLogLog> persisted;
+
+    UniqueCountSketchStore(
+            UniqueCountSketchRepository sketchRepository,
+            PlatformTransactionManager transactionManager,
+            @Value("${analytics.unique-counts.cache-size:64MB}") DataSize cacheSize,
+            @Value("${analytics.unique-counts.cache-ttl:PT10M}") Duration cacheTtl
+    ) {
+        this.sketchRepository = sketchRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.persisted = Caffeine.newBuilder()
+                .maximumWeight(cacheSize.toBytes())
+                .weigher((SketchKey _, HyperLogLog sketch) -> sketch.sizeInBytes())
+                .expireAfterWrite(cacheTtl)
+                .build(new SketchLoader());
+    }
+
+    void add(UniqueCountMetric metric, UUID targetId, LocalDate day, long hash) {
+        pending.compute(new SketchKey(metric, targetId, day), (_, sketch) -> {
+            var target = sketch != null ? sketch : new HyperLogLog();
+            target.addHash(hash);
+            return target;
+        });
+    }
+
+    /**
+     * Union of the sketches of the given days, including additions that are not flushed yet.
+     */
+    HyperLogLog union(UniqueCountMetric metric, UUID targetId, Collection<LocalDate> days) {
+        var keys = days.stream()
+                .map(day -> new SketchKey(metric, targetId, day))
+                .toList();
+        var result = new HyperLogLog();
+
+        // Read order matters: a flush moves pending -> in-flight -> persisted
+        for (var key : keys) {
+            pending.computeIfPresent(key, (_, sketch) -> {
+                result.merge(sketch);
+                return sketch;
+            });
+            var flushing = inFlight.get(key);
+            if (flushing != null) {
+                result.merge(flushing);
+            }
+        }
+        persisted.getAll(keys).values().forEach(result::merge);
+        return result;
+    }
+
+    void evict(UUID targetId) {
+        pending.keySet().removeIf(key -> key.targetId().equals(targetId));
+        persisted.asMap().keySet().removeIf(key -> key.targetId().equals(targetId));
+    }
+
+    @Scheduled(fixedDelayString = "${analytics.unique-counts.flush-interval:PT30S}")
+    synchronized void flush() {
+        int flushed = 0;
+        for (var key : List.copyOf(pending.keySet())) {
+            pending.computeIfPresent(key, (_, sketch) -> {
+                inFlight.put(key, sketch);
+                return null;
+            });
+            var sketch = inFlight.get(key);
+            if (sketch == null) {
+                continue;
+            }
+
+            try {
+                var merged = transactionTemplate.execute(_ -> persist(key, sketch));
+                persisted.put(key, merged);
+                flushed++;
+            } catch (RuntimeException e) {
+                log.error("Failed to flush unique count sketch {}, retrying on next flush", key, e);
+                pending.merge(key, sketch, (current, failed) -> {
+                    current.merge(failed);
+                    return current;
+                });
+            } finally {
+                inFlight.remove(key);
+            }
+        }
+        if (flushed > 0) {
+            log.debug("Flushed {} unique count sketches", flushed);
+        }
+    }
+
+    @PreDestroy
+    void flushOnShutdown() {
+        flush();
+    }
+
+    private HyperLogLog persist(SketchKey key, HyperLogLog additions) {
+        var row = sketchRepository.findByKeyWithLock(key.metric(), key.targetId(), key.day());
+        HyperLogLog merged;
+        if (row.isPresent()) {
+            merged = HyperLogLog.fromBytes(row.get().getSketch());
+            merged.merge(additions);
+            row.get().setSketch(merged.toBytes());
+            row.get().setUpdatedAt(Instant.now());
+        } else {
+            merged = additions.copy();
+            sketchRepository.save(UniqueCountSketch.builder()
+                    .metric(key.metric())
+                    .targetId(key.targetId())
+                    .day(key.day())
+                    .sketch(merged.toBytes())
+                    .updatedAt(Instant.now())
+                    .build());
+        }
+        return merged;
+    }
+
+    private class SketchLoader implements CacheLoader<SketchKey, HyperLogLog> {
+
+        @Override
+        public HyperLogLog load(SketchKey key) {
+            return loadAll(Set.of(key)).get(key);
+        }
+
+        @Override
+        public Map<SketchKey, HyperLogLog> loadAll(Set<? extends SketchKey> keys) {
+            Map<SketchKey, HyperLogLog> loaded = new HashMap<>();
+            var byTarget = keys.stream()
+                    .collect(Collectors.groupingBy(key -> new SketchKey(key.metric(), key.targetId(), null)));
+
+            byTarget.forEach((target, targetKeys) -> {
+                var days = targetKeys.stream().map(SketchKey::day).toList();
+                for (var row : sketchRepository.findByMetricAndTargetIdAndDayIn(target.metric(), target.targetId(), days)) {
+                    loaded.put(new SketchKey(row.getMetric(), row.getTargetId(), row.getDay()),
+                            HyperLogLog.fromBytes(row.getSketch()));
+                }
+            });
+            // Days without activity are cached as well, so they do not hit the database again
+            keys.forEach(key -> loaded.putIfAbsent(key, EMPTY));
+            return loaded;
+        }
+
+    }
+
+}
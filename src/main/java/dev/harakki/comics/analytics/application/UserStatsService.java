@@ -0,0 +1,169 @@
+package dev.harakki.comics.analytics.application;
+
+import dev.harakki.comics.analytics.api.ReadingHistoryProvider;
+import dev.harakki.comics.analytics.domain.UserDailyActivity;
+import dev.harakki.comics.analytics.domain.UserReadingTotals;
+import dev.harakki.comics.analytics.dto.UserStatsResponse;
+import dev.harakki.comics.analytics.infrastructure.TitleStatsRepository;
+import dev.harakki.comics.analytics.infrastructure.UserDailyActivityRepository;
+import dev.harakki.comics.analytics.infrastructure.UserReadingTotalsRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.function.Predicate;
+
+/**
+ * Reading statistics of users, maintained on every chapter read as a per-day rollup plus lifetime
+ * totals, so a year-long heatmap is a single primary key range read of at most 366 rows.
+ * The same rollups serve as the reading history of users for other modules.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class UserStatsService implements ReadingHistoryProvider {
+
+    private record Window(LocalDate from, LocalDate to) {
+    }
+
+    /**
+     * Statistics together with the entity tag of exactly this state.
+     */
+    public record TaggedUserStats(String eTag, UserStatsResponse stats) {
+    }
+
+    private static final int DEFAULT_WINDOW_DAYS = 365;
+    private static final int MAX_WINDOW_DAYS = 366;
+
+    private final UserDailyActivityRepository dailyActivityRepository;
+    private final UserReadingTotalsRepository readingTotalsRepository;
+    private final TitleStatsRepository titleStatsRepository;
+
+    @Value("${analytics.user-stats.backfill-on-startup:true}")
+    private boolean backfillOnStartup;
+
+    /**
+     * @param readAt when the chapter was read, the read is counted on its UTC day; null for now
+     */
+    @Transactional
+    public void recordChapterRead(UUID userId, long readTimeMillis, Instant readAt) {
+        if (userId == null) {
+            return;
+        }
+        long readTime = Math.max(readTimeMillis, 0);
+        var day = readAt != null ? LocalDate.ofInstant(readAt, ZoneOffset.UTC) : today();
+        dailyActivityRepository.addChapterRead(userId, day, readTime);
+        readingTotalsRepository.addChapterRead(userId, readTime);
+    }
+
+    /**
+     * Totals and daily heatmap of the requested UTC window, defaults to the last 365 days and is
+     * capped to 366 days. Days without activity are reported as zero.
+     * <p>
+     * The entity tag changes with every recorded read and with the window itself, which moves when the
+     * default window rolls over to a new day. The tag and the data are read from one snapshot, so the tag
+     * always identifies the returned data. If {@code notModified} accepts the tag, the heatmap is not read.
+     *
+     * @return the tagged statistics, or empty if they have not been modified
+     */
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    public Optional<TaggedUserStats> getUserStats(UUID userId, LocalDate from, LocalDate to, Predicate<String> notModified) {
+        var window = window(from, to);
+        var totals = readingTotalsRepository.findById(userId)
+                .orElseGet(() -> UserReadingTotals.builder().userId(userId).build());
+        var eTag = eTag(totals.getVersion(), window);
+        if (notModified.test(eTag)) {
+            return Optional.empty();
+        }
+
+        Map<LocalDate, Integer> heatmap = new TreeMap<>();
+        window.from().datesUntil(window.to().plusDays(1)).forEach(day -> heatmap.put(day, 0));
+        for (UserDailyActivity activity : dailyActivityRepository.findByUserIdAndDayBetweenOrderByDay(userId, window.from(), window.to())) {
+            heatmap.put(activity.getDay(), activity.getChaptersRead());
+        }
+
+        return Optional.of(new TaggedUserStats(
+                eTag,
+                new UserStatsResponse(userId, totals.getChaptersRead(), totals.getReadTimeMillis(), heatmap)
+        ));
+    }
+
+    @Override
+    public List<ReadingHistory> getReadingHistories(UUID afterUserId, int userLimit) {
+        var totals = readingTotalsRepository.findByUserIdGreaterThanOrderByUserId(afterUserId, Limit.of(userLimit));
+        if (totals.isEmpty()) {
+            return List.of();
+        }
+        var userIds = totals.stream().map(UserReadingTotals::getUserId).toList();
+
+        Map<UUID, Long> titlesRead = new HashMap<>();
+        for (var row : titleStatsRepository.countTitlesByUserIdIn(userIds)) {
+            titlesRead.put((UUID) row[0], (Long) row[1]);
+        }
+        Map<UUID, List<LocalDate>> activeDays = new HashMap<>();
+        for (var row : dailyActivityRepository.findDaysByUserIdIn(userIds)) {
+            activeDays.computeIfAbsent((UUID) row[0], _ -> new ArrayList<>()).add((LocalDate) row[1]);
+        }
+
+        return totals.stream()
+                .map(total -> new ReadingHistory(
+                        total.getUserId(),
+                        total.getChaptersRead(),
+                        titlesRead.getOrDefault(total.getUserId(), 0L),
+                        total.getReadTimeMillis(),
+                        activeDays.getOrDefault(total.getUserId(), List.of())
+                ))
+                .toList();
+    }
+
+    /**
+     * Run on startup by {@link ReadingHistoryBackfill}.
+     */
+    @Transactional
+    public void backfillIfEmpty() {
+        if (!backfillOnStartup || dailyActivityRepository.existsAny()) {
+            return;
+        }
+        int days = dailyActivityRepository.backfillFromInteractions();
+        if (days > 0) {
+            int users = readingTotalsRepository.backfillFromDailyActivity();
+            log.info("Backfilled reading stats of {} users ({} active days) from the interaction log", users, days);
+        }
+    }
+
+    private static String eTag(long version, Window window) {
+        return "\"" + version + "-" + window.from() + "-" + window.to() + "\"";
+    }
+
+    private static Window window(LocalDate from, LocalDate to) {
+        var end = to != null ? to : today();
+        var start = from != null ? from : end.minusDays(DEFAULT_WINDOW_DAYS - 1);
+        if (start.isAfter(end)) {
+            start = end;
+        }
+        if (start.isBefore(end.minusDays(MAX_WINDOW_DAYS - 1))) {
+            start = end.minusDays(MAX_WINDOW_DAYS - 1);
+        }
+        return new Window(start, end);
+    }
+
+    private static LocalDate today() {
+        return LocalDate.now(ZoneOffset.UTC);
+    }
+
+}
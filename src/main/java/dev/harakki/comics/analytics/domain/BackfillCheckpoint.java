@@ -0,0 +1,37 @@
+package dev.harakki.comics.analytics.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Progress of a chunked backfill from the interaction log: the keyset position after the last committed
+ * chunk, so an interrupted backfill resumes there, and whether it has finished.
+ */
+@Getter
+@Setter
+@Entity
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "analytics_backfill_checkpoints")
+public class BackfillCheckpoint {
+
+    @Id
+    private String name;
+
+    @Column(nullable = false)
+    private UUID afterUserId;
+
+    @Column(nullable = false)
+    private UUID afterTargetId;
+
+    @Column(nullable = false)
+    private boolean completed;
+
+    @Column(nullable = false)
+    private Instant updatedAt;
+
+}
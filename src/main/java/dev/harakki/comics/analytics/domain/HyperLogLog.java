@@ -0,0 +1,242 @@
+package dev.harakki.comics.analytics.domain;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.UUID;
+
+/**
+ * HyperLogLog cardinality sketch with {@code 2^12} registers (standard error ~1.6%).
+ * <p>
+ * Small sketches use a sparse representation (register index and rank packed in one int) and switch
+ * to dense registers once the sparse form stops being smaller. The serialized form is a varint
+ * delta-encoded list for sparse sketches and 6-bit packed registers (3 KiB) for dense ones.
+ * Not thread-safe, callers synchronize.
+ */
+public final class HyperLogLog {
+
+    public static final int PRECISION = 12;
+    public static final int REGISTERS = 1 << PRECISION;
+
+    private static final byte FORMAT_SPARSE = 1;
+    private static final byte FORMAT_DENSE = 2;
+    private static final int SPARSE_LIMIT = REGISTERS / 8;
+    private static final int RANK_BITS = 6;
+    private static final int RANK_MASK = (1 << RANK_BITS) - 1;
+    private static final double ALPHA = 0.7213 / (1 + 1.079 / REGISTERS);
+
+    // Sparse: (index << 6 | rank) entries, at most one per register
+    private int[] sparse = new int[8];
+    private int sparseSize;
+    // Dense: one rank per register, null while sparse
+    private byte[] registers;
+
+    public void add(UUID value) {
+        addHash(hash(value));
+    }
+
+    public void addHash(long hash) {
+        int index = (int) (hash >>> (Long.SIZE - PRECISION));
+        // Rank of the first set bit in the remaining 52 bits, the guard bit caps it at 53
+        int rank = Long.numberOfLeadingZeros((hash << PRECISION) | (1L << (PRECISION - 1))) + 1;
+        update(index, rank);
+    }
+
+    public void merge(HyperLogLog other) {
+        if (other.registers != null) {
+            toDense();
+            for (int i = 0; i < REGISTERS; i++) {
+                if (other.registers[i] > registers[i]) {
+                    registers[i] = other.registers[i];
+                }
+            }
+        } else {
+            for (int i = 0; i < other.sparseSize; i++) {
+                update(other.sparse[i] >>> RANK_BITS, other.sparse[i] & RANK_MASK);
+            }
+        }
+    }
+
+    public long estimate() {
+        double sum = 0;
+        int zeros = 0;
+        if (registers != null) {
+            for (byte rank : registers) {
+                sum += 1.0 / (1L << rank);
+                if (rank == 0) {
+                    zeros++;
+                }
+            }
+        } else {
+            zeros = REGISTERS - sparseSize;
+            sum = zeros;
+            for (int i = 0; i < sparseSize; i++) {
+                sum += 1.0 / (1L << (sparse[i] & RANK_MASK));
+            }
+        }
+
+        double estimate = ALPHA * REGISTERS * REGISTERS / sum;
+        if (estimate <= 2.5 * REGISTERS && zeros > 0) {
+            // Linear counting is more accurate for small cardinalities
+            estimate = REGISTERS * Math.log((double) REGISTERS / zeros);
+        }
+        return Math.round(estimate);
+    }
+
+    public boolean isEmpty() {
+        return registers == null && sparseSize == 0;
+    }
+
+    /**
+     * Approximate heap footprint, used to weigh cached sketches.
+     */
+    public int sizeInBytes() {
+        return registers != null ? REGISTERS : sparse.length * Integer.BYTES;
+    }
+
+    public HyperLogLog copy() {
+        var copy = new HyperLogLog();
+        copy.sparse = sparse != null ? sparse.clone() : null;
+        copy.sparseSize = sparseSize;
+        copy.registers = registers != null ? registers.clone() : null;
+        return copy;
+    }
+
+    public byte[] toBytes() {
+        if (registers != null) {
+            var out = new byte[2 + REGISTERS * RANK_BITS / Byte.SIZE];
+            out[0] = FORMAT_DENSE;
+            out[1] = PRECISION;
+            // Four 6-bit registers per three bytes
+            for (int i = 0, o = 2; i < REGISTERS; i += 4, o += 3) {
+                int packed = registers[i] << 18 | registers[i + 1] << 12 | registers[i + 2] << 6 | registers[i + 3];
+                out[o] = (byte) (packed >>> 16);
+                out[o + 1] = (byte) (packed >>> 8);
+                out[o + 2] = (byte) packed;
+            }
+            return out;
+        }
+
+        var entries = Arrays.copyOf(sparse, sparseSize);
+        Arrays.sort(entries);
+        var out = new ByteArrayOutputStream(3 + sparseSize * 2);
+        out.write(FORMAT_SPARSE);
+        out.write(PRECISION);
+        writeVarInt(out, sparseSize);
+        int previous = 0;
+        for (int entry : entries) {
+            writeVarInt(out, entry - previous);
+            previous = entry;
+        }
+        return out.toByteArray();
+    }
+
+    public static HyperLogLog fromBytes(byte[] bytes) {
+        var sketch = new HyperLogLog();
+        if (bytes == null || bytes.length < 2) {
+            return sketch;
+        }
+        if (bytes[1] != PRECISION) {
+            throw new IllegalArgumentException("Unsupported sketch precision: " + bytes[1]);
+        }
+
+        if (bytes[0] == FORMAT_DENSE) {
+            sketch.registers = new byte[REGISTERS];
+            for (int i = 0, o = 2; i < REGISTERS; i += 4, o += 3) {
+                int packed = (bytes[o] & 0xFF) << 16 | (bytes[o + 1] & 0xFF) << 8 | (bytes[o + 2] & 0xFF);
+                sketch.registers[i] = (byte) (packed >>> 18 & RANK_MASK);
+                sketch.registers[i + 1] = (byte) (packed >>> 12 & RANK_MASK);
+                sketch.registers[i + 2] = (byte) (packed >>> 6 & RANK_MASK);
+                sketch.registers[i + 3] = (byte) (packed & RANK_MASK);
+            }
+            sketch.sparse = null;
+            return sketch;
+        }
+
+        var in = ByteBuffer.wrap(bytes, 2, bytes.length - 2);
+        int size = readVarInt(in);
+        sketch.sparse = new int[Math.max(8, size)];
+        int entry = 0;
+        for (int i = 0; i < size; i++) {
+            entry += readVarInt(in);
+            sketch.sparse[i] = entry;
+        }
+        sketch.sparseSize = size;
+        return sketch;
+    }
+
+    /**
+     * 64-bit hash of a UUID (the murmur3 finalizer applied to both halves).
+     */
+    public static long hash(UUID value) {
+        return mix(mix(value.getMostSignificantBits()) ^ value.getLeastSignificantBits());
+    }
+
+    private void update(int index, int rank) {
+        if (registers != null) {
+            if (rank > registers[index]) {
+                registers[index] = (byte) rank;
+            }
+            return;
+        }
+
+        for (int i = 0; i < sparseSize; i++) {
+            if (sparse[i] >>> RANK_BITS == index) {
+                if (rank > (sparse[i] & RANK_MASK)) {
+                    sparse[i] = index << RANK_BITS | rank;
+                }
+                return;
+            }
+        }
+        if (sparseSize == SPARSE_LIMIT) {
+            toDense();
+            update(index, rank);
+            return;
+        }
+        if (sparseSize == sparse.length) {
+            sparse = Arrays.copyOf(sparse, Math.min(sparse.length * 2, SPARSE_LIMIT));
+        }
+        sparse[sparseSize++] = index << RANK_BITS | rank;
+    }
+
+    private void toDense() {
+        if (registers != null) {
+            return;
+        }
+        registers = new byte[REGISTERS];
+        for (int i = 0; i < sparseSize; i++) {
+            registers[sparse[i] >>> RANK_BITS] = (byte) (sparse[i] & RANK_MASK);
+        }
+        sparse = null;
+        sparseSize = 0;
+    }
+
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    private static void writeVarInt(ByteArrayOutputStream out, int value) {
+        while ((value & ~0x7F) != 0) {
+            out.write((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.write(value);
+    }
+
+    private static int readVarInt(ByteBuffer in) {
+        int value = 0;
+        for (int shift = 0; ; shift += 7) {
+            byte b = in.get();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+    }
+
+}
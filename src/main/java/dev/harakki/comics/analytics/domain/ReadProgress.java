@@ -0,0 +1,49 @@
+package dev.harakki.comics.analytics.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Chapters of a title read by a user, as a bitmap over chapter read indexes
+ * ({@link java.util.BitSet#toByteArray()}, 125 bytes for a 1000-chapter title).
+ */
+@Getter
+@Setter
+@Entity
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@IdClass(ReadProgress.Key.class)
+@Table(name = "read_progress", indexes = {
+        @Index(name = "idx_read_progress_title", columnList = "titleId")
+})
+public class ReadProgress {
+
+    @Id
+    private UUID userId;
+
+    @Id
+    private UUID titleId;
+
+    @Column(nullable = false)
+    private byte[] readChapters;
+
+    @Column(nullable = false)
+    private int readCount;
+
+    @Column(nullable = false)
+    private Instant updatedAt;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private UUID userId;
+        private UUID titleId;
+    }
+
+}
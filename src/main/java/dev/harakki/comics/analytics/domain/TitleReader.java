@@ -0,0 +1,38 @@
+package dev.harakki.comics.analytics.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+import java.util.UUID;
+
+/**
+ * Marks that a user has read at least one chapter of a title, backs the unique readers counter.
+ */
+@Getter
+@Setter
+@Entity
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@IdClass(TitleReader.Key.class)
+@Table(name = "title_readers", indexes = {
+        @Index(name = "idx_title_readers_user", columnList = "userId")
+})
+public class TitleReader {
+
+    @Id
+    private UUID titleId;
+
+    @Id
+    private UUID userId;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private UUID titleId;
+        private UUID userId;
+    }
+
+}
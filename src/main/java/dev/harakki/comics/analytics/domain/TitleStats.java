@@ -0,0 +1,47 @@
+package dev.harakki.comics.analytics.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Per-title counters maintained incrementally from module events, so reading them does not depend
+ * on the size of the interaction history. Rows are only written through upserts that add deltas.
+ */
+@Getter
+@Setter
+@Entity
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "title_stats")
+public class TitleStats {
+
+    @Id
+    private UUID titleId;
+
+    @Column(nullable = false)
+    private long views;
+
+    @Column(nullable = false)
+    private long uniqueReaders;
+
+    @Column(nullable = false)
+    private long chapterReads;
+
+    @Column(nullable = false)
+    private long likes;
+
+    @Column(nullable = false)
+    private long dislikes;
+
+    // Net number of libraries containing the title: removals are subtracted
+    @Column(nullable = false)
+    private long libraryAdds;
+
+    @Column(nullable = false)
+    private Instant updatedAt;
+
+}
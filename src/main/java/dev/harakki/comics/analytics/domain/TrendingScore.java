@@ -0,0 +1,47 @@
+package dev.harakki.comics.analytics.domain;
+
+import dev.harakki.comics.analytics.api.TrendingWindow;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Time-decayed trending score of a title as of {@link #scoredAt}, persisted periodically so trends
+ * survive a restart. The score keeps decaying from that instant once loaded.
+ */
+@Getter
+@Setter
+@Entity
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@IdClass(TrendingScore.Key.class)
+@Table(name = "trending_scores")
+public class TrendingScore {
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(name = "trending_window")
+    private TrendingWindow window;
+
+    @Id
+    private UUID titleId;
+
+    @Column(nullable = false)
+    private double score;
+
+    @Column(nullable = false)
+    private Instant scoredAt;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private TrendingWindow window;
+        private UUID titleId;
+    }
+
+}
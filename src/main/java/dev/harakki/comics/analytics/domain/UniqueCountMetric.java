@@ -0,0 +1,7 @@
+package dev.harakki.comics.analytics.domain;
+
+public enum UniqueCountMetric {
+    TITLE_VIEWERS,  // Signed-in users who opened the title page
+    TITLE_READERS,  // Users who read any chapter of the title
+    CHAPTER_READERS // Users who read the chapter
+}
@@ -0,0 +1,53 @@
+package dev.harakki.comics.analytics.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Serialized {@link HyperLogLog} of the distinct users behind a metric of one target on one UTC day.
+ * Sketches of a window are merged on read; the {@link #LIFETIME} row holds the all-time sketch.
+ */
+@Getter
+@Setter
+@Entity
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@IdClass(UniqueCountSketch.Key.class)
+@Table(name = "unique_count_sketches")
+public class UniqueCountSketch {
+
+    // Day marker of the all-time sketch, no interaction can happen on it
+    public static final LocalDate LIFETIME = LocalDate.EPOCH;
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    private UniqueCountMetric metric;
+
+    @Id
+    private UUID targetId;
+
+    @Id
+    private LocalDate day;
+
+    @Column(nullable = false)
+    private byte[] sketch;
+
+    @Column(nullable = false)
+    private Instant updatedAt;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private UniqueCountMetric metric;
+        private UUID targetId;
+        private LocalDate day;
+    }
+
+}
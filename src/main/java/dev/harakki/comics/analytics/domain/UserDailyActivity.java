@@ -0,0 +1,43 @@
+package dev.harakki.comics.analytics.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Reading activity of a user on one UTC day. The primary key doubles as the index for heatmap range reads.
+ */
+@Getter
+@Setter
+@Entity
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@IdClass(UserDailyActivity.Key.class)
+@Table(name = "user_daily_activity")
+public class UserDailyActivity {
+
+    @Id
+    private UUID userId;
+
+    @Id
+    private LocalDate day;
+
+    @Column(nullable = false)
+    private int chaptersRead;
+
+    @Column(nullable = false)
+    private long readTimeMillis;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private UUID userId;
+        private LocalDate day;
+    }
+
+}
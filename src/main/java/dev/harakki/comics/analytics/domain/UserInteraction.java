@@ -19,16 +19,19 @@ import java.util.UUID;
 @AllArgsConstructor
 @Table(name = "user_interactions", indexes = {
         @Index(name = "idx_interactions_user_target", columnList = "userId, targetId"), // "Did I read that?"
-        @Index(name = "idx_interactions_type", columnList = "type") // "Show me all likes"
+        @Index(name = "idx_interactions_type", columnList = "type"), // "Show me all likes"
+        @Index(name = "idx_interactions_target_type", columnList = "targetId, type") // "How many views has this title?"
 })
 @EntityListeners(AuditingEntityListener.class)
 public class UserInteraction {
 
+    // Range-partitioned by occurredAt (see db/schema/user-interactions.sql), the physical
+    // primary key is (id, occurred_at) while id stays unique through its sequence
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @Column(nullable = false)
+    // Null for anonymous interactions (e.g., title views by guests)
     private UUID userId;
 
     @Enumerated(EnumType.STRING)
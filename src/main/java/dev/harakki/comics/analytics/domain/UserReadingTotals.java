@@ -0,0 +1,37 @@
+package dev.harakki.comics.analytics.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Lifetime reading totals of a user. {@code version} grows with every recorded read and
+ * identifies the state of the user's statistics for HTTP revalidation.
+ */
+@Getter
+@Setter
+@Entity
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "user_reading_totals")
+public class UserReadingTotals {
+
+    @Id
+    private UUID userId;
+
+    @Column(nullable = false)
+    private long chaptersRead;
+
+    @Column(nullable = false)
+    private long readTimeMillis;
+
+    @Column(nullable = false)
+    private long version;
+
+    @Column(nullable = false)
+    private Instant updatedAt;
+
+}
@@ -0,0 +1,28 @@
+package dev.harakki.comics.analytics.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.UUID;
+
+@Schema(description = "Estimated number of distinct readers of a chapter in a date window")
+public record ChapterUniqueCountsResponse(
+
+        @Schema(description = "Chapter unique identifier", example = "019b9d1e-bc3a-70f3-8520-36e8d82dc9e0")
+        UUID chapterId,
+
+        @Schema(description = "First day of the window (UTC, inclusive)", example = "2026-01-01")
+        LocalDate from,
+
+        @Schema(description = "Last day of the window (UTC, inclusive)", example = "2026-01-30")
+        LocalDate to,
+
+        @Schema(description = "Estimated number of distinct users who read the chapter", example = "512")
+        Long uniqueReaders,
+
+        @Schema(description = "Relative standard error of the estimate", example = "0.01625")
+        Double standardError
+
+) implements Serializable {
+}
@@ -12,12 +12,33 @@ public record TitleAnalyticsResponse(
         @Schema(description = "Title unique identifier", example = "019b9d1e-bc3a-70f3-8520-36e8d82dc9e0")
         UUID titleId,
 
-        @Schema(description = "Average rating of the title", example = "4.5")
+        @Schema(description = "Bayesian average rating of the title on a 0-5 scale, null without votes", example = "4.5")
         Double averageRating,
 
-        @Schema(description = "Number of unique readers", example = "997")
+        @Schema(description = "Lower bound of the Wilson score interval of the likes share, for ranking", example = "0.87")
+        Double ratingScore,
+
+        @Schema(description = "Estimated number of distinct signed-in users who viewed the title", example = "997")
         Long totalViews,
 
+        @Schema(description = "Number of title page views, anonymous ones included", example = "15230")
+        Long pageViews,
+
+        @Schema(description = "Number of users who read at least one chapter", example = "997")
+        Long uniqueReaders,
+
+        @Schema(description = "Number of chapter reads", example = "8412")
+        Long chapterReads,
+
+        @Schema(description = "Number of likes", example = "320")
+        Long likes,
+
+        @Schema(description = "Number of dislikes", example = "12")
+        Long dislikes,
+
+        @Schema(description = "Number of user libraries containing the title", example = "540")
+        Long libraryAdds,
+
         @Schema(description = "Last updated timestamp", example = "2024-05-01T12:34:56Z")
         Instant lastUpdated
 
@@ -0,0 +1,31 @@
+package dev.harakki.comics.analytics.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.UUID;
+
+@Schema(description = "Estimated number of distinct users who interacted with a title in a date window")
+public record TitleUniqueCountsResponse(
+
+        @Schema(description = "Title unique identifier", example = "019b9d1e-bc3a-70f3-8520-36e8d82dc9e0")
+        UUID titleId,
+
+        @Schema(description = "First day of the window (UTC, inclusive)", example = "2026-01-01")
+        LocalDate from,
+
+        @Schema(description = "Last day of the window (UTC, inclusive)", example = "2026-01-30")
+        LocalDate to,
+
+        @Schema(description = "Estimated number of distinct signed-in users who viewed the title", example = "1204")
+        Long uniqueViewers,
+
+        @Schema(description = "Estimated number of distinct users who read any chapter", example = "731")
+        Long uniqueReaders,
+
+        @Schema(description = "Relative standard error of the estimates", example = "0.01625")
+        Double standardError
+
+) implements Serializable {
+}
@@ -0,0 +1,18 @@
+package dev.harakki.comics.analytics.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.io.Serializable;
+import java.util.UUID;
+
+@Schema(description = "Trending title with its time-decayed activity score")
+public record TrendingTitleResponse(
+
+        @Schema(description = "Title unique identifier", example = "019b9d1e-bc3a-70f3-8520-36e8d82dc9e0")
+        UUID titleId,
+
+        @Schema(description = "Weighted recent views, chapter reads and library adds, older activity counting for less", example = "412.7")
+        double score
+
+) implements Serializable {
+}
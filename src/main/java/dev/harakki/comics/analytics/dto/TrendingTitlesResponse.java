@@ -0,0 +1,23 @@
+package dev.harakki.comics.analytics.dto;
+
+import dev.harakki.comics.analytics.api.TrendingWindow;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.List;
+
+@Schema(description = "Titles with the most recent activity in a time window")
+public record TrendingTitlesResponse(
+
+        @Schema(description = "Time scale of the ranking", example = "DAY")
+        TrendingWindow window,
+
+        @Schema(description = "Trending titles, highest score first")
+        List<TrendingTitleResponse> items,
+
+        @Schema(description = "When the ranking was computed", example = "2026-01-30T12:00:30Z")
+        Instant computedAt
+
+) implements Serializable {
+}
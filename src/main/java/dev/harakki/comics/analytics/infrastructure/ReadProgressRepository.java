@@ -0,0 +1,48 @@
+package dev.harakki.comics.analytics.infrastructure;
+
+import dev.harakki.comics.analytics.domain.ReadProgress;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface ReadProgressRepository extends JpaRepository<ReadProgress, ReadProgress.Key> {
+
+    Optional<ReadProgress> findByUserIdAndTitleId(UUID userId, UUID titleId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT rp FROM ReadProgress rp WHERE rp.userId = :userId AND rp.titleId = :titleId")
+    Optional<ReadProgress> findByUserIdAndTitleIdWithLock(UUID userId, UUID titleId);
+
+    // Creates the empty row first, so concurrent first reads serialize on its row lock
+    @Modifying
+    @Query(value = """
+                INSERT INTO read_progress (user_id, title_id, read_chapters, read_count, updated_at)
+                VALUES (:userId, :titleId, CAST('' AS BYTEA), 0, now())
+                ON CONFLICT DO NOTHING
+            """, nativeQuery = true)
+    void insertIfAbsent(UUID userId, UUID titleId);
+
+    @Modifying
+    @Query("DELETE FROM ReadProgress rp WHERE rp.titleId = :titleId")
+    void deleteByTitleId(UUID titleId);
+
+    /**
+     * Keyset page of distinct (user, chapter) pairs from the raw read log, used to backfill progress.
+     */
+    @Query(value = """
+                SELECT DISTINCT user_id, target_id FROM user_interactions
+                WHERE type = 'CHAPTER_READ' AND user_id IS NOT NULL AND (user_id, target_id) > (:afterUserId, :afterChapterId)
+                ORDER BY user_id, target_id
+                LIMIT :limit
+            """, nativeQuery = true)
+    List<Object[]> findReadChapterPairs(UUID afterUserId, UUID afterChapterId, int limit);
+
+}
@@ -0,0 +1,136 @@
+package dev.harakki.comics.analytics.infrastructure;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Applies accumulated counter deltas to {@code title_stats} with {@code INSERT ... ON CONFLICT}
+ * upserts, so concurrent writers never read-modify-write a row.
+ */
+@Repository
+@RequiredArgsConstructor
+public class TitleStatsBatchWriter {
+
+    private static final String UPSERT = """
+            INSERT INTO title_stats (title_id, views, unique_readers, chapter_reads, likes, dislikes, library_adds, updated_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?)
+            ON CONFLICT (title_id) DO UPDATE SET
+                views = title_stats.views + EXCLUDED.views,
+                unique_readers = title_stats.unique_readers + EXCLUDED.unique_readers,
+                chapter_reads = title_stats.chapter_reads + EXCLUDED.chapter_reads,
+                likes = title_stats.likes + EXCLUDED.likes,
+                dislikes = title_stats.dislikes + EXCLUDED.dislikes,
+                library_adds = title_stats.library_adds + EXCLUDED.library_adds,
+                updated_at = EXCLUDED.updated_at
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public record Delta(
+            UUID titleId,
+            long views,
+            long uniqueReaders,
+            long chapterReads,
+            long likes,
+            long dislikes,
+            long libraryAdds
+    ) {
+    }
+
+    @Transactional
+    public void upsertAll(List<Delta> deltas) {
+        // Sorted by key so that concurrent flushes lock rows in the same order
+        var sorted = deltas.stream()
+                .sorted((a, b) -> a.titleId().compareTo(b.titleId()))
+                .toList();
+        var now = Timestamp.from(Instant.now());
+        jdbcTemplate.batchUpdate(UPSERT, sorted, 500, (ps, delta) -> {
+            ps.setObject(1, delta.titleId());
+            ps.setLong(2, delta.views());
+            ps.setLong(3, delta.uniqueReaders());
+            ps.setLong(4, delta.chapterReads());
+            ps.setLong(5, delta.likes());
+            ps.setLong(6, delta.dislikes());
+            ps.setLong(7, delta.libraryAdds());
+            ps.setTimestamp(8, now);
+        });
+    }
+
+    public boolean isEmpty() {
+        return !Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM title_stats)", Boolean.class));
+    }
+
+    /**
+     * One-off rebuild of the aggregates from the raw interaction log, for databases that
+     * already had interactions before the aggregates existed. Likes and dislikes are the users'
+     * current votes, like the incremental path keeps them, not every vote ever cast.
+     *
+     * @return number of titles with statistics
+     */
+    @Transactional
+    public int backfillFromInteractions() {
+        jdbcTemplate.update("""
+                INSERT INTO title_readers (title_id, user_id)
+                SELECT DISTINCT CAST(metadata ->> 'titleId' AS UUID), user_id
+                FROM user_interactions
+                WHERE type = 'CHAPTER_READ' AND user_id IS NOT NULL AND metadata ->> 'titleId' IS NOT NULL
+                ON CONFLICT DO NOTHING
+                """);
+        return jdbcTemplate.update("""
+                WITH last_votes AS (
+                    -- A user's latest vote on a title counts, unless the title left the library after it
+                    SELECT target_id AS title_id,
+                           (ARRAY_AGG(type ORDER BY occurred_at DESC))[1] AS last_type
+                    FROM user_interactions
+                    WHERE type IN ('TITLE_LIKED', 'TITLE_DISLIKED', 'TITLE_REMOVED_FROM_LIBRARY') AND user_id IS NOT NULL
+                    GROUP BY user_id, target_id
+                ),
+                votes AS (
+                    SELECT title_id,
+                           COUNT(*) FILTER (WHERE last_type = 'TITLE_LIKED') AS likes,
+                           COUNT(*) FILTER (WHERE last_type = 'TITLE_DISLIKED') AS dislikes
+                    FROM last_votes
+                    GROUP BY title_id
+                ),
+                totals AS (
+                    SELECT title_id,
+                           COALESCE(SUM(views) FILTER (WHERE type = 'TITLE_VIEWED'), 0) AS views,
+                           COUNT(*) FILTER (WHERE type = 'CHAPTER_READ') AS chapter_reads,
+                           COUNT(*) FILTER (WHERE type = 'TITLE_ADDED_TO_LIBRARY')
+                               - COUNT(*) FILTER (WHERE type = 'TITLE_REMOVED_FROM_LIBRARY') AS library_adds
+                    FROM (
+                        SELECT CASE WHEN type = 'CHAPTER_READ' THEN CAST(metadata ->> 'titleId' AS UUID) ELSE target_id END AS title_id,
+                               type,
+                               -- Coalesced views carry their count, a single view has none
+                               COALESCE(CAST(metadata ->> 'views' AS BIGINT), 1) AS views
+                        FROM user_interactions
+                        WHERE type IN ('TITLE_VIEWED', 'CHAPTER_READ', 'TITLE_LIKED', 'TITLE_DISLIKED',
+                                       'TITLE_ADDED_TO_LIBRARY', 'TITLE_REMOVED_FROM_LIBRARY')
+                    ) i
+                    WHERE title_id IS NOT NULL
+                    GROUP BY title_id
+                )
+                INSERT INTO title_stats (title_id, views, unique_readers, chapter_reads, likes, dislikes, library_adds, updated_at)
+                SELECT t.title_id,
+                       t.views,
+                       COALESCE((SELECT COUNT(*) FROM title_readers tr WHERE tr.title_id = t.title_id), 0),
+                       t.chapter_reads,
+                       COALESCE(v.likes, 0),
+                       COALESCE(v.dislikes, 0),
+                       t.library_adds,
+                       now()
+                FROM totals t
+                LEFT JOIN votes v ON v.title_id = t.title_id
+                ON CONFLICT (title_id) DO NOTHING
+                """);
+    }
+
+}
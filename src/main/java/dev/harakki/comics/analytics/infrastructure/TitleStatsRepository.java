@@ -0,0 +1,40 @@
+package dev.harakki.comics.analytics.infrastructure;
+
+import dev.harakki.comics.analytics.domain.TitleStats;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface TitleStatsRepository extends JpaRepository<TitleStats, UUID> {
+
+    @Query("SELECT s.titleId FROM TitleStats s ORDER BY s.uniqueReaders DESC, s.libraryAdds DESC, s.titleId")
+    List<UUID> findPopularTitleIds(Limit limit);
+
+    @Query("SELECT s.titleId, s.uniqueReaders + s.libraryAdds FROM TitleStats s WHERE s.titleId IN :titleIds")
+    List<Object[]> findPopularityByTitleIdIn(Collection<UUID> titleIds);
+
+    @Modifying
+    @Query(value = "DELETE FROM title_readers WHERE title_id = :titleId", nativeQuery = true)
+    void deleteReadersByTitleId(UUID titleId);
+
+    /**
+     * @return 1 if this is the first chapter read of the title by the user, 0 otherwise
+     */
+    @Modifying
+    @Query(value = """
+                INSERT INTO title_readers (title_id, user_id) VALUES (:titleId, :userId)
+                ON CONFLICT DO NOTHING
+            """, nativeQuery = true)
+    int insertReaderIfAbsent(UUID titleId, UUID userId);
+
+    @Query("SELECT r.userId, COUNT(r) FROM TitleReader r WHERE r.userId IN :userIds GROUP BY r.userId")
+    List<Object[]> countTitlesByUserIdIn(Collection<UUID> userIds);
+
+}
@@ -0,0 +1,43 @@
+package dev.harakki.comics.analytics.infrastructure;
+
+import dev.harakki.comics.analytics.api.TrendingWindow;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Replaces the persisted {@code trending_scores} with a fresh snapshot in one transaction.
+ */
+@Repository
+@RequiredArgsConstructor
+public class TrendingScoreBatchWriter {
+
+    private static final String INSERT = """
+            INSERT INTO trending_scores (trending_window, title_id, score, scored_at)
+            VALUES (?, ?, ?, ?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public record Score(TrendingWindow window, UUID titleId, double score) {
+    }
+
+    @Transactional
+    public void replaceAll(List<Score> scores, Instant scoredAt) {
+        jdbcTemplate.update("DELETE FROM trending_scores");
+        var timestamp = Timestamp.from(scoredAt);
+        jdbcTemplate.batchUpdate(INSERT, scores, 500, (ps, score) -> {
+            ps.setString(1, score.window().name());
+            ps.setObject(2, score.titleId());
+            ps.setDouble(3, score.score());
+            ps.setTimestamp(4, timestamp);
+        });
+    }
+
+}
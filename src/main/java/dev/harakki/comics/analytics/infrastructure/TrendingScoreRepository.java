@@ -0,0 +1,9 @@
+package dev.harakki.comics.analytics.infrastructure;
+
+import dev.harakki.comics.analytics.domain.TrendingScore;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface TrendingScoreRepository extends JpaRepository<TrendingScore, TrendingScore.Key> {
+}
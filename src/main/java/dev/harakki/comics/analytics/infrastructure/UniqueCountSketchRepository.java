@@ -0,0 +1,31 @@
+package dev.harakki.comics.analytics.infrastructure;
+
+import dev.harakki.comics.analytics.domain.UniqueCountMetric;
+import dev.harakki.comics.analytics.domain.UniqueCountSketch;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface UniqueCountSketchRepository extends JpaRepository<UniqueCountSketch, UniqueCountSketch.Key> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM UniqueCountSketch s WHERE s.metric = :metric AND s.targetId = :targetId AND s.day = :day")
+    Optional<UniqueCountSketch> findByKeyWithLock(UniqueCountMetric metric, UUID targetId, LocalDate day);
+
+    List<UniqueCountSketch> findByMetricAndTargetIdAndDayIn(UniqueCountMetric metric, UUID targetId, Collection<LocalDate> days);
+
+    @Modifying
+    @Query("DELETE FROM UniqueCountSketch s WHERE s.targetId = :targetId AND s.metric IN :metrics")
+    void deleteByTargetId(UUID targetId, Collection<UniqueCountMetric> metrics);
+
+}
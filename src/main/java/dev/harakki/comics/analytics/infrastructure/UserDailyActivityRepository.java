@@ -0,0 +1,54 @@
+package dev.harakki.comics.analytics.infrastructure;
+
+import dev.harakki.comics.analytics.domain.UserDailyActivity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface UserDailyActivityRepository extends JpaRepository<UserDailyActivity, UserDailyActivity.Key> {
+
+    List<UserDailyActivity> findByUserIdAndDayBetweenOrderByDay(UUID userId, LocalDate from, LocalDate to);
+
+    @Query("SELECT a.userId, a.day FROM UserDailyActivity a WHERE a.userId IN :userIds ORDER BY a.userId, a.day")
+    List<Object[]> findDaysByUserIdIn(Collection<UUID> userIds);
+
+    @Modifying
+    @Query(value = """
+                INSERT INTO user_daily_activity (user_id, day, chapters_read, read_time_millis)
+                VALUES (:userId, :day, 1, :readTimeMillis)
+                ON CONFLICT (user_id, day) DO UPDATE SET
+                    chapters_read = user_daily_activity.chapters_read + 1,
+                    read_time_millis = user_daily_activity.read_time_millis + EXCLUDED.read_time_millis
+            """, nativeQuery = true)
+    void addChapterRead(UUID userId, LocalDate day, long readTimeMillis);
+
+    @Query(value = "SELECT EXISTS (SELECT 1 FROM user_daily_activity)", nativeQuery = true)
+    boolean existsAny();
+
+    /**
+     * One-off rebuild of the daily rollup from the raw read log.
+     *
+     * @return number of (user, day) rows written
+     */
+    @Modifying
+    @Query(value = """
+                INSERT INTO user_daily_activity (user_id, day, chapters_read, read_time_millis)
+                SELECT user_id,
+                       CAST(occurred_at AT TIME ZONE 'UTC' AS DATE),
+                       COUNT(*),
+                       COALESCE(SUM(CAST(metadata ->> 'readTimeMillis' AS BIGINT)), 0)
+                FROM user_interactions
+                WHERE type = 'CHAPTER_READ' AND user_id IS NOT NULL
+                GROUP BY 1, 2
+                ON CONFLICT (user_id, day) DO NOTHING
+            """, nativeQuery = true)
+    int backfillFromInteractions();
+
+}
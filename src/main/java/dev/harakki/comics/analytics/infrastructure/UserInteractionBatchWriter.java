@@ -0,0 +1,95 @@
+package dev.harakki.comics.analytics.infrastructure;
+
+import dev.harakki.comics.analytics.domain.UserInteraction;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Writes {@link UserInteraction} rows with multi-row {@code INSERT} statements, bypassing the
+ * persistence context ({@code IDENTITY} ids prevent Hibernate from batching inserts).
+ */
+@Slf4j
+@Repository
+@RequiredArgsConstructor
+public class UserInteractionBatchWriter {
+
+    // 5 bind parameters per row, keeps a statement well below the 65535 parameters limit of PostgreSQL
+    private static final int MAX_ROWS_PER_STATEMENT = 1000;
+
+    private static final String INSERT_PREFIX =
+            "INSERT INTO user_interactions (user_id, type, target_id, metadata, occurred_at) VALUES ";
+
+    private static final String ROW_VALUES = "(?, ?, ?, CAST(? AS JSONB), ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final JsonMapper jsonMapper;
+
+    /**
+     * Inserts all interactions. If a statement is rejected, its rows are retried one by one
+     * so that a single malformed interaction does not drop the whole batch.
+     *
+     * @return number of rows that were written
+     */
+    // Every statement commits on its own, also when a producer writes right after its transaction committed
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public int writeAll(List<UserInteraction> interactions) {
+        int written = 0;
+        for (int from = 0; from < interactions.size(); from += MAX_ROWS_PER_STATEMENT) {
+            var chunk = interactions.subList(from, Math.min(from + MAX_ROWS_PER_STATEMENT, interactions.size()));
+            try {
+                written += insert(chunk);
+            } catch (DataAccessException e) {
+                log.warn("Multi-row insert of {} interactions failed, falling back to single-row inserts", chunk.size(), e);
+                written += insertOneByOne(chunk);
+            }
+        }
+        return written;
+    }
+
+    private int insertOneByOne(List<UserInteraction> interactions) {
+        int written = 0;
+        for (var interaction : interactions) {
+            try {
+                written += insert(List.of(interaction));
+            } catch (DataAccessException e) {
+                log.error("Dropping interaction that cannot be persisted: type={}, targetId={}, userId={}",
+                        interaction.getType(), interaction.getTargetId(), interaction.getUserId(), e);
+            }
+        }
+        return written;
+    }
+
+    private int insert(List<UserInteraction> rows) {
+        var sql = new StringBuilder(INSERT_PREFIX.length() + rows.size() * (ROW_VALUES.length() + 1))
+                .append(INSERT_PREFIX);
+        List<Object> args = new ArrayList<>(rows.size() * 5);
+
+        for (int i = 0; i < rows.size(); i++) {
+            if (i > 0) {
+                sql.append(',');
+            }
+            sql.append(ROW_VALUES);
+
+            var interaction = rows.get(i);
+            args.add(interaction.getUserId());
+            args.add(interaction.getType().name());
+            args.add(interaction.getTargetId());
+            args.add(interaction.getMetadata() != null ? jsonMapper.writeValueAsString(interaction.getMetadata()) : null);
+            args.add(Timestamp.from(interaction.getOccurredAt()));
+        }
+
+        return jdbcTemplate.update(sql.toString(), args.toArray());
+    }
+
+}
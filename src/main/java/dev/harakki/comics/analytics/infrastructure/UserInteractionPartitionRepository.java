@@ -0,0 +1,122 @@
+package dev.harakki.comics.analytics.infrastructure;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+/**
+ * DDL operations on the monthly range partitions of {@code user_interactions}.
+ * Partitions are named {@code user_interactions_pYYYY_MM} and cover {@code [first day of month, first day of next month)} in UTC.
+ */
+@Repository
+@RequiredArgsConstructor
+public class UserInteractionPartitionRepository {
+
+    private static final String PARENT_TABLE = "user_interactions";
+    private static final String DEFAULT_PARTITION = PARENT_TABLE + "_default";
+    private static final Pattern PARTITION_NAME = Pattern.compile("^" + PARENT_TABLE + "_p(\\d{4})_(\\d{2})$");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public boolean isPartitioned() {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject("""
+                SELECT EXISTS (
+                    SELECT 1 FROM pg_partitioned_table pt
+                    JOIN pg_class c ON c.oid = pt.partrelid
+                    WHERE c.relname = ? AND pg_table_is_visible(c.oid)
+                )
+                """, Boolean.class, PARENT_TABLE));
+    }
+
+    public boolean exists() {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT to_regclass(?) IS NOT NULL", Boolean.class, PARENT_TABLE));
+    }
+
+    public void createDefaultPartition() {
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + DEFAULT_PARTITION + " PARTITION OF " + PARENT_TABLE + " DEFAULT");
+    }
+
+    public void createMonthlyPartition(YearMonth month) {
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + partitionName(month)
+                + " PARTITION OF " + PARENT_TABLE
+                + " FOR VALUES FROM ('" + lowerBound(month) + "') TO ('" + lowerBound(month.plusMonths(1)) + "')");
+    }
+
+    public List<YearMonth> findMonthlyPartitions() {
+        return jdbcTemplate.queryForList("""
+                        SELECT c.relname FROM pg_inherits i
+                        JOIN pg_class c ON c.oid = i.inhrelid
+                        JOIN pg_class p ON p.oid = i.inhparent
+                        WHERE p.relname = ?
+                        """, String.class, PARENT_TABLE).stream()
+                .map(UserInteractionPartitionRepository::parseMonth)
+                .flatMap(Optional::stream)
+                .sorted()
+                .toList();
+    }
+
+    public void detachPartition(YearMonth month) {
+        jdbcTemplate.execute("ALTER TABLE " + PARENT_TABLE + " DETACH PARTITION " + partitionName(month));
+    }
+
+    @Transactional
+    public void archivePartition(YearMonth month, String archiveSchema) {
+        detachPartition(month);
+        jdbcTemplate.execute("CREATE SCHEMA IF NOT EXISTS " + archiveSchema);
+        jdbcTemplate.execute("ALTER TABLE " + partitionName(month) + " SET SCHEMA " + archiveSchema);
+    }
+
+    @Transactional
+    public void dropPartition(YearMonth month) {
+        detachPartition(month);
+        jdbcTemplate.execute("DROP TABLE " + partitionName(month));
+    }
+
+    /**
+     * Turn a pre-existing heap table into a partitioned one: the old table is renamed and attached
+     * as a single partition holding everything before {@code firstManagedMonth}.
+     */
+    @Transactional
+    public void convertHeapTable(YearMonth firstManagedMonth) {
+        var legacyTable = PARENT_TABLE + "_legacy";
+        jdbcTemplate.execute("ALTER TABLE " + PARENT_TABLE + " RENAME TO " + legacyTable);
+        jdbcTemplate.execute("ALTER TABLE " + legacyTable + " ALTER COLUMN id DROP IDENTITY IF EXISTS");
+        jdbcTemplate.execute("ALTER TABLE " + legacyTable + " ALTER COLUMN user_id DROP NOT NULL");
+        jdbcTemplate.execute("CREATE SEQUENCE IF NOT EXISTS " + PARENT_TABLE + "_id_seq");
+        jdbcTemplate.execute("SELECT setval('" + PARENT_TABLE + "_id_seq', COALESCE((SELECT MAX(id) FROM " + legacyTable + "), 0) + 1, false)");
+        jdbcTemplate.execute("""
+                CREATE TABLE %s (
+                    LIKE %s INCLUDING DEFAULTS,
+                    PRIMARY KEY (id, occurred_at)
+                ) PARTITION BY RANGE (occurred_at)
+                """.formatted(PARENT_TABLE, legacyTable));
+        jdbcTemplate.execute("ALTER TABLE " + PARENT_TABLE + " ALTER COLUMN id SET DEFAULT nextval('" + PARENT_TABLE + "_id_seq')");
+        jdbcTemplate.execute("ALTER TABLE " + PARENT_TABLE + " ATTACH PARTITION " + legacyTable
+                + " FOR VALUES FROM (MINVALUE) TO ('" + lowerBound(firstManagedMonth) + "')");
+    }
+
+    private static String partitionName(YearMonth month) {
+        return "%s_p%04d_%02d".formatted(PARENT_TABLE, month.getYear(), month.getMonthValue());
+    }
+
+    private static String lowerBound(YearMonth month) {
+        return month.atDay(1).atStartOfDay().atOffset(ZoneOffset.UTC).toString();
+    }
+
+    private static Optional<YearMonth> parseMonth(String partitionName) {
+        var matcher = PARTITION_NAME.matcher(partitionName);
+        if (!matcher.matches()) {
+            return Optional.empty();
+        }
+        return Optional.of(YearMonth.of(Integer.parseInt(matcher.group(1)), Integer.parseInt(matcher.group(2))));
+    }
+
+}
@@ -1,6 +1,5 @@
 package dev.harakki.comics.analytics.infrastructure;
 
-import dev.harakki.comics.analytics.domain.InteractionType;
 import dev.harakki.comics.analytics.domain.UserInteraction;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
@@ -9,21 +8,94 @@ import org.springframework.stereotype.Repository;
 import java.util.List;
 import java.util.UUID;
 
+/**
+ * The table is range-partitioned by {@code occurred_at}: lookups take a {@code since} lower bound
+ * so the planner only scans partitions that can hold matching rows.
+ */
 @Repository
 public interface UserInteractionRepository extends JpaRepository<UserInteraction, Long> {
 
-    long countByTargetIdAndType(UUID targetId, InteractionType type);
+    interface TitleSignalRow {
+        UUID getUserId();
 
+        UUID getTitleId();
+
+        long getChapterReads();
+
+        boolean getLiked();
+
+        boolean getDisliked();
+
+        boolean getInLibrary();
+
+        boolean getInCollection();
+    }
+
+    /**
+     * Last user of the next page of users with a preference signal, {@code null} once all users are read.
+     */
     @Query(value = """
-                SELECT AVG(CAST(metadata ->> 'rating' AS INTEGER))
-                FROM user_interactions
-                WHERE target_id = :titleId AND type = 'TITLE_RATED'
+                SELECT user_id FROM (
+                    SELECT DISTINCT user_id FROM user_interactions
+                    WHERE user_id > :afterUserId
+                      AND type IN ('CHAPTER_READ', 'TITLE_LIKED', 'TITLE_ADDED_TO_LIBRARY', 'TITLE_ADDED_TO_COLLECTION')
+                    ORDER BY user_id
+                    LIMIT :userLimit
+                ) page_users
+                ORDER BY user_id DESC
+                LIMIT 1
             """, nativeQuery = true)
-    Double getAverageRating(UUID titleId);
-
-    boolean existsByUserIdAndTargetIdAndType(UUID userId, UUID targetId, InteractionType type);
+    UUID findLastSignalUserId(UUID afterUserId, int userLimit);
 
-    @Query("SELECT ui.targetId FROM UserInteraction ui WHERE ui.userId = :userId AND ui.targetId IN :chapterIds AND ui.type = :type")
-    List<UUID> findReadChapterIds(UUID userId, List<UUID> chapterIds, InteractionType type);
+    /**
+     * Per (user, title) aggregates of the preference signals of the users in {@code (afterUserId, lastUserId]},
+     * the page bounded by {@link #findLastSignalUserId}. Picking the users and reading their signals has no
+     * time bound, so it looks into every monthly partition, through the {@code (user_id, target_id)} index of each. Deletions are probed once per title of the page, and
+     * only from its first signal on, as a title is deleted after it was interacted with; that probe can
+     * skip the partitions before the bound at execution time.
+     */
+    @Query(value = """
+                WITH page_users AS (
+                    SELECT DISTINCT user_id FROM user_interactions
+                    WHERE user_id > :afterUserId AND user_id <= :lastUserId
+                      AND type IN ('CHAPTER_READ', 'TITLE_LIKED', 'TITLE_ADDED_TO_LIBRARY', 'TITLE_ADDED_TO_COLLECTION')
+                ),
+                signals AS (
+                    SELECT ui.user_id, ui.type, ui.occurred_at,
+                           CASE WHEN ui.type = 'CHAPTER_READ' THEN CAST(ui.metadata ->> 'titleId' AS UUID) ELSE ui.target_id END AS title_id
+                    FROM user_interactions ui
+                    JOIN page_users pu ON pu.user_id = ui.user_id
+                    WHERE ui.type IN ('CHAPTER_READ', 'TITLE_LIKED', 'TITLE_DISLIKED', 'TITLE_ADDED_TO_LIBRARY',
+                                      'TITLE_REMOVED_FROM_LIBRARY', 'TITLE_ADDED_TO_COLLECTION', 'TITLE_REMOVED_FROM_COLLECTION')
+                ),
+                page_titles AS (
+                    SELECT title_id, MIN(occurred_at) AS first_at
+                    FROM signals
+                    WHERE title_id IS NOT NULL
+                    GROUP BY title_id
+                ),
+                live_titles AS (
+                    SELECT pt.title_id
+                    FROM page_titles pt
+                    WHERE NOT EXISTS (SELECT 1 FROM user_interactions d
+                                      WHERE d.type = 'TITLE_DELETED' AND d.target_id = pt.title_id AND d.occurred_at >= pt.first_at)
+                )
+                SELECT s.user_id AS userId,
+                       s.title_id AS titleId,
+                       COUNT(*) FILTER (WHERE s.type = 'CHAPTER_READ') AS chapterReads,
+                       COALESCE((ARRAY_AGG(s.type ORDER BY s.occurred_at DESC)
+                                 FILTER (WHERE s.type IN ('TITLE_LIKED', 'TITLE_DISLIKED')))[1] = 'TITLE_LIKED', FALSE) AS liked,
+                       COALESCE((ARRAY_AGG(s.type ORDER BY s.occurred_at DESC)
+                                 FILTER (WHERE s.type IN ('TITLE_LIKED', 'TITLE_DISLIKED')))[1] = 'TITLE_DISLIKED', FALSE) AS disliked,
+                       COALESCE((ARRAY_AGG(s.type ORDER BY s.occurred_at DESC)
+                                 FILTER (WHERE s.type IN ('TITLE_ADDED_TO_LIBRARY', 'TITLE_REMOVED_FROM_LIBRARY')))[1] = 'TITLE_ADDED_TO_LIBRARY', FALSE) AS inLibrary,
+                       COUNT(*) FILTER (WHERE s.type = 'TITLE_ADDED_TO_COLLECTION')
+                           > COUNT(*) FILTER (WHERE s.type = 'TITLE_REMOVED_FROM_COLLECTION') AS inCollection
+                FROM signals s
+                JOIN live_titles lt ON lt.title_id = s.title_id
+                GROUP BY s.user_id, s.title_id
+                ORDER BY s.user_id, s.title_id
+            """, nativeQuery = true)
+    List<TitleSignalRow> findTitleSignals(UUID afterUserId, UUID lastUserId);
 
 }
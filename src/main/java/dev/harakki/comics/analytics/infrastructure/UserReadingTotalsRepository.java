@@ -0,0 +1,43 @@
+package dev.harakki.comics.analytics.infrastructure;
+
+import dev.harakki.comics.analytics.domain.UserReadingTotals;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface UserReadingTotalsRepository extends JpaRepository<UserReadingTotals, UUID> {
+
+    List<UserReadingTotals> findByUserIdGreaterThanOrderByUserId(UUID afterUserId, Limit limit);
+
+    @Modifying
+    @Query(value = """
+                INSERT INTO user_reading_totals (user_id, chapters_read, read_time_millis, version, updated_at)
+                VALUES (:userId, 1, :readTimeMillis, 1, now())
+                ON CONFLICT (user_id) DO UPDATE SET
+                    chapters_read = user_reading_totals.chapters_read + 1,
+                    read_time_millis = user_reading_totals.read_time_millis + EXCLUDED.read_time_millis,
+                    version = user_reading_totals.version + 1,
+                    updated_at = EXCLUDED.updated_at
+            """, nativeQuery = true)
+    void addChapterRead(UUID userId, long readTimeMillis);
+
+    /**
+     * Rebuilds the totals from the daily rollup, which must be backfilled first.
+     */
+    @Modifying
+    @Query(value = """
+                INSERT INTO user_reading_totals (user_id, chapters_read, read_time_millis, version, updated_at)
+                SELECT user_id, SUM(chapters_read), SUM(read_time_millis), 1, now()
+                FROM user_daily_activity
+                GROUP BY user_id
+                ON CONFLICT (user_id) DO NOTHING
+            """, nativeQuery = true)
+    int backfillFromDailyActivity();
+
+}
@@ -1,6 +1,11 @@
 package dev.harakki.comics.analytics.web;
 
+import dev.harakki.comics.analytics.api.TrendingWindow;
+import dev.harakki.comics.analytics.dto.ChapterUniqueCountsResponse;
 import dev.harakki.comics.analytics.dto.TitleAnalyticsResponse;
+import dev.harakki.comics.analytics.dto.TitleUniqueCountsResponse;
+import dev.harakki.comics.analytics.dto.TrendingTitlesResponse;
+import dev.harakki.comics.analytics.dto.UserStatsResponse;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -8,7 +13,10 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
 
+import java.time.LocalDate;
 import java.util.UUID;
 
 @Tag(name = "Analytics", description = "Analytics API for interaction statistics.")
@@ -26,4 +34,65 @@ public interface AnalyticsApi {
     })
     TitleAnalyticsResponse getTitleAnalytics(@Parameter(description = "Title UUID", required = true) UUID titleId);
 
+    @Operation(
+            operationId = "getTrendingTitles",
+            summary = "Get trending titles",
+            description = "Retrieve the titles with the most recent views, chapter reads and library adds. Activity fades exponentially with the chosen window as time scale, so HOUR favours what is popular right now and WEEK what has been popular lately. The ranking is refreshed every few seconds."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Trending titles retrieved successfully",
+                    content = @Content(schema = @Schema(implementation = TrendingTitlesResponse.class)))
+    })
+    TrendingTitlesResponse getTrendingTitles(
+            @Parameter(description = "Time scale of the ranking", example = "DAY") TrendingWindow window,
+            @Parameter(description = "Maximum number of titles", example = "20") int limit
+    );
+
+    @Operation(
+            operationId = "getTitleUniqueCounts",
+            summary = "Get title unique users",
+            description = "Estimate distinct viewers and readers of a title in a UTC date window (last 30 days by default)."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Estimates retrieved successfully",
+                    content = @Content(schema = @Schema(implementation = TitleUniqueCountsResponse.class)))
+    })
+    TitleUniqueCountsResponse getTitleUniqueCounts(
+            @Parameter(description = "Title UUID", required = true) UUID titleId,
+            @Parameter(description = "First day of the window, inclusive", example = "2026-01-01") LocalDate from,
+            @Parameter(description = "Last day of the window, inclusive", example = "2026-01-30") LocalDate to
+    );
+
+    @Operation(
+            operationId = "getChapterUniqueCounts",
+            summary = "Get chapter unique readers",
+            description = "Estimate distinct readers of a chapter in a UTC date window (last 30 days by default)."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Estimate retrieved successfully",
+                    content = @Content(schema = @Schema(implementation = ChapterUniqueCountsResponse.class)))
+    })
+    ChapterUniqueCountsResponse getChapterUniqueCounts(
+            @Parameter(description = "Chapter UUID", required = true) UUID chapterId,
+            @Parameter(description = "First day of the window, inclusive", example = "2026-01-01") LocalDate from,
+            @Parameter(description = "Last day of the window, inclusive", example = "2026-01-30") LocalDate to
+    );
+
+    @Operation(
+            operationId = "getMyStats",
+            summary = "Get my reading statistics",
+            description = "Retrieve reading totals and a daily activity heatmap of the current user in a UTC date window (last 365 days by default). Supports revalidation with If-None-Match."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Statistics retrieved successfully",
+                    content = @Content(schema = @Schema(implementation = UserStatsResponse.class))),
+            @ApiResponse(responseCode = "304", description = "Statistics have not changed since the given ETag"),
+            @ApiResponse(responseCode = "401", ref = "Unauthorized")
+    })
+    ResponseEntity<UserStatsResponse> getMyStats(
+            @Parameter(description = "First day of the heatmap, inclusive", example = "2026-01-01") LocalDate from,
+            @Parameter(description = "Last day of the heatmap, inclusive", example = "2026-12-31") LocalDate to,
+            @Parameter(hidden = true) WebRequest webRequest
+    );
+
 }
@@ -1,14 +1,30 @@
 package dev.harakki.comics.analytics.web;
 
+import dev.harakki.comics.analytics.api.TrendingWindow;
 import dev.harakki.comics.analytics.application.AnalyticsService;
+import dev.harakki.comics.analytics.application.TrendingService;
+import dev.harakki.comics.analytics.application.UniqueCountService;
+import dev.harakki.comics.analytics.application.UserStatsService;
+import dev.harakki.comics.analytics.dto.ChapterUniqueCountsResponse;
 import dev.harakki.comics.analytics.dto.TitleAnalyticsResponse;
+import dev.harakki.comics.analytics.dto.TitleUniqueCountsResponse;
+import dev.harakki.comics.analytics.dto.TrendingTitlesResponse;
+import dev.harakki.comics.analytics.dto.UserStatsResponse;
+import dev.harakki.comics.shared.utils.SecurityUtils;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
+import java.time.LocalDate;
 import java.util.UUID;
 
 @RequiredArgsConstructor
@@ -17,10 +33,54 @@ import java.util.UUID;
 public class AnalyticsController implements AnalyticsApi {
 
     private final AnalyticsService analyticsService;
+    private final UniqueCountService uniqueCountService;
+    private final UserStatsService userStatsService;
+    private final TrendingService trendingService;
 
     @GetMapping("/titles/{titleId}")
     public TitleAnalyticsResponse getTitleAnalytics(@PathVariable UUID titleId) {
         return analyticsService.getTitleAnalytics(titleId);
     }
 
+    @GetMapping("/titles/trending")
+    public TrendingTitlesResponse getTrendingTitles(@RequestParam(defaultValue = "DAY") TrendingWindow window,
+                                                    @RequestParam(defaultValue = "20") int limit) {
+        return trendingService.getTrendingTitles(window, limit);
+    }
+
+    @GetMapping("/titles/{titleId}/unique-users")
+    public TitleUniqueCountsResponse getTitleUniqueCounts(
+            @PathVariable UUID titleId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+    ) {
+        return uniqueCountService.getTitleUniqueCounts(titleId, from, to);
+    }
+
+    @GetMapping("/chapters/{chapterId}/unique-users")
+    public ChapterUniqueCountsResponse getChapterUniqueCounts(
+            @PathVariable UUID chapterId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+    ) {
+        return uniqueCountService.getChapterUniqueCounts(chapterId, from, to);
+    }
+
+    @PreAuthorize("hasRole('USER')")
+    @GetMapping("/users/me/stats")
+    public ResponseEntity<UserStatsResponse> getMyStats(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            WebRequest webRequest
+    ) {
+        var userId = SecurityUtils.getCurrentUserId();
+        // Answers 304 from the totals row alone, before the heatmap is read
+        return userStatsService.getUserStats(userId, from, to, webRequest::checkNotModified)
+                .map(stats -> ResponseEntity.ok()
+                        .eTag(stats.eTag())
+                        .cacheControl(CacheControl.noCache().cachePrivate())
+                        .body(stats.stats()))
+                .orElse(null);
+    }
+
 }
@@ -0,0 +1,23 @@
+package dev.harakki.comics.catalog.api;
+
+import org.jspecify.annotations.Nullable;
+
+import java.io.Serializable;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Authors inserted by one bulk import batch.
+ */
+public record AuthorsImportedEvent(
+        List<ImportedAuthor> authors,
+        @Nullable UUID userId
+) implements Serializable {
+
+    public record ImportedAuthor(
+            UUID authorId,
+            String authorName
+    ) implements Serializable {
+    }
+
+}
@@ -0,0 +1,84 @@
+package dev.harakki.comics.catalog.api;
+
+import org.jspecify.annotations.Nullable;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Bulk writes of catalog entities for imports. Records are inserted with batched statements and
+ * announced with one event per call, instead of the per-entity checks and events of the services.
+ * Enum values are constant names, an invalid one fails the whole call.
+ */
+public interface CatalogImporter {
+
+    record AuthorRecord(
+            String name,
+            @Nullable String description,
+            @Nullable String countryIsoCode,
+            @Nullable List<String> websiteUrls
+    ) {
+    }
+
+    record TagRecord(
+            String name,
+            String type,
+            @Nullable String description
+    ) {
+    }
+
+    record TitleAuthorRecord(
+            UUID authorId,
+            String role
+    ) {
+    }
+
+    record TitleRecord(
+            String name,
+            @Nullable String description,
+            @Nullable String type,
+            @Nullable String status,
+            @Nullable Integer releaseYear,
+            String contentRating,
+            @Nullable String countryIsoCode,
+            boolean licensed,
+            List<TitleAuthorRecord> authors,
+            Collection<UUID> tagIds
+    ) {
+    }
+
+    /**
+     * @return IDs of all authors by name, the first created one for a name used more than once
+     */
+    Map<String, UUID> getAuthorIdsByName();
+
+    /**
+     * @return IDs of all tags by name
+     */
+    Map<String, UUID> getTagIdsByName();
+
+    /**
+     * @return IDs of all titles by name, the first created one for a name used more than once
+     */
+    Map<String, UUID> getTitleIdsByName();
+
+    /**
+     * @return IDs of the inserted authors by name
+     */
+    Map<String, UUID> importAuthors(List<AuthorRecord> authors, @Nullable UUID userId);
+
+    /**
+     * Tags whose name or slug is taken by now are left out.
+     *
+     * @return IDs of the inserted tags by name
+     */
+    Map<String, UUID> importTags(List<TagRecord> tags, @Nullable UUID userId);
+
+    /**
+     * @return IDs of the inserted titles by name
+     */
+    Map<String, UUID> importTitles(List<TitleRecord> titles, @Nullable UUID userId);
+
+}
@@ -3,8 +3,8 @@ package dev.harakki.comics.catalog.api;
 import java.io.Serializable;
 import java.util.UUID;
 
-public record TitleViewedEvent(
-        UUID titleId,
+public record TagUpdatedEvent(
+        UUID tagId,
         UUID userId
 ) implements Serializable {
 }
@@ -0,0 +1,38 @@
+package dev.harakki.comics.catalog.api;
+
+import java.time.Year;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+public interface TitleCardProvider {
+
+    /**
+     * What a title listing shows of a title, without its associations.
+     */
+    record TitleCard(
+            UUID id,
+            String name,
+            String slug,
+            String type,
+            String titleStatus,
+            String contentRating,
+            Year releaseYear,
+            UUID mainCoverMediaId
+    ) {
+    }
+
+    /**
+     * Get the cards of the given titles, in no particular order. Titles that do not exist are absent.
+     */
+    List<TitleCard> getTitleCards(Collection<UUID> titleIds);
+
+    /**
+     * Get the most recently created titles.
+     *
+     * @param limit maximum number of titles
+     * @return title IDs, newest first
+     */
+    List<UUID> getNewestTitleIds(int limit);
+
+}
@@ -0,0 +1,40 @@
+package dev.harakki.comics.catalog.api;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+public interface TitleFeatureProvider {
+
+    /**
+     * Descriptive attributes of a title. Type and content rating are enum constant names, null when unset.
+     */
+    record TitleFeatures(
+            UUID titleId,
+            String type,
+            String contentRating,
+            UUID publisherId,
+            Set<UUID> authorIds,
+            Set<UUID> tagIds
+    ) {
+    }
+
+    /**
+     * Get the features of a title.
+     *
+     * @param titleId the title ID
+     * @return the title's features, empty if the title does not exist
+     */
+    Optional<TitleFeatures> getTitleFeatures(UUID titleId);
+
+    /**
+     * Get the features of a page of titles, in keyset order of title ID.
+     *
+     * @param afterTitleId last title ID of the previous page, the nil UUID for the first page
+     * @param limit        maximum number of titles in the page
+     * @return features ordered by title ID, empty once all titles are read
+     */
+    List<TitleFeatures> getTitleFeatures(UUID afterTitleId, int limit);
+
+}
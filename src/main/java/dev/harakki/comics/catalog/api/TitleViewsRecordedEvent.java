@@ -0,0 +1,30 @@
+package dev.harakki.comics.catalog.api;
+
+import org.jspecify.annotations.Nullable;
+
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Title views coalesced since the previous flush, one entry per title, viewer and minute.
+ */
+public record TitleViewsRecordedEvent(
+        List<TitleView> views
+) implements Serializable {
+
+    /**
+     * @param userId   the viewer, null for anonymous views
+     * @param viewedAt start of the minute the views happened in
+     * @param count    number of views counted in that minute
+     */
+    public record TitleView(
+            UUID titleId,
+            @Nullable UUID userId,
+            Instant viewedAt,
+            int count
+    ) implements Serializable {
+    }
+
+}
@@ -0,0 +1,27 @@
+package dev.harakki.comics.catalog.api;
+
+import org.jspecify.annotations.Nullable;
+
+import java.io.Serializable;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Titles inserted by one bulk import batch, in place of a {@link TitleCreatedEvent} per title.
+ */
+public record TitlesImportedEvent(
+        List<ImportedTitle> titles,
+        @Nullable UUID userId
+) implements Serializable {
+
+    public record ImportedTitle(
+            UUID titleId,
+            String titleName
+    ) implements Serializable {
+    }
+
+    public List<UUID> titleIds() {
+        return titles.stream().map(ImportedTitle::titleId).toList();
+    }
+
+}
@@ -4,6 +4,7 @@ import dev.harakki.comics.catalog.api.AuthorCreatedEvent;
 import dev.harakki.comics.catalog.api.AuthorDeletedEvent;
 import dev.harakki.comics.catalog.api.AuthorUpdatedEvent;
 import dev.harakki.comics.catalog.domain.Author;
+import dev.harakki.comics.catalog.domain.SlugScope;
 import dev.harakki.comics.catalog.dto.AuthorCreateRequest;
 import dev.harakki.comics.catalog.dto.AuthorResponse;
 import dev.harakki.comics.catalog.dto.AuthorUpdateRequest;
@@ -54,7 +55,7 @@ public class AuthorService {
         var author = authorMapper.toEntity(request);
 
         // Generate and set unique slug
-        String slug = slugGenerator.generate(author.getName(), authorRepository::existsBySlug);
+        String slug = slugGenerator.generate(author.getName(), SlugScope.AUTHOR);
         author.setSlug(slug);
 
         if (request.mainCoverMediaId() != null) {
@@ -112,6 +113,7 @@ public class AuthorService {
             throw new ResourceAlreadyExistsException("Author with slug " + request.slug() + " already exists");
         }
 
+        slugGenerator.reserve(SlugScope.AUTHOR, request.slug());
         author.setSlug(request.slug());
         author = authorRepository.save(author);
 
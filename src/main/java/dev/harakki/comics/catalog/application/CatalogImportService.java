@@ -0,0 +1,213 @@
+package dev.harakki.comics.catalog.application;
+
+import com.github.f4b6a3.uuid.UuidCreator;
+import dev.harakki.comics.catalog.api.AuthorsImportedEvent;
+import dev.harakki.comics.catalog.api.AuthorsImportedEvent.ImportedAuthor;
+import dev.harakki.comics.catalog.api.CatalogImporter;
+import dev.harakki.comics.catalog.api.TitlesImportedEvent;
+import dev.harakki.comics.catalog.api.TitlesImportedEvent.ImportedTitle;
+import dev.harakki.comics.catalog.domain.*;
+import dev.harakki.comics.catalog.infrastructure.CatalogImportRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.jspecify.annotations.Nullable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
+
+import java.time.Instant;
+import java.time.Year;
+import java.util.*;
+import java.util.regex.Pattern;
+
+@Slf4j
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+@Service
+public class CatalogImportService implements CatalogImporter {
+
+    private static final Pattern COUNTRY_ISO_CODE = Pattern.compile("^[A-Z]{2}$");
+
+    private final CatalogImportRepository catalogImportRepository;
+
+    private final SlugGenerator slugGenerator;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Override
+    public Map<String, UUID> getAuthorIdsByName() {
+        return catalogImportRepository.findAuthorIdsByName();
+    }
+
+    @Override
+    public Map<String, UUID> getTagIdsByName() {
+        return catalogImportRepository.findTagIdsByName();
+    }
+
+    @Override
+    public Map<String, UUID> getTitleIdsByName() {
+        return catalogImportRepository.findTitleIdsByName();
+    }
+
+    @Override
+    @Transactional(noRollbackFor = IllegalArgumentException.class)
+    public Map<String, UUID> importAuthors(List<AuthorRecord> records, @Nullable UUID userId) {
+        if (records.isEmpty()) {
+            return Map.of();
+        }
+        records.forEach(record -> {
+            requireName(record.name());
+            requireCountryIsoCode(record.countryIsoCode());
+        });
+
+        var slugs = slugGenerator.generateAll(records.stream().map(AuthorRecord::name).toList(), SlugScope.AUTHOR);
+        var now = Instant.now();
+        var authors = new ArrayList<Author>(records.size());
+        for (int i = 0; i < records.size(); i++) {
+            var record = records.get(i);
+            authors.add(Author.builder()
+                    .id(UuidCreator.getTimeOrderedEpoch())
+                    .name(record.name())
+                    .slug(slugs.get(i))
+                    .description(record.description())
+                    .websiteUrls(record.websiteUrls() != null ? record.websiteUrls() : List.of())
+                    .countryIsoCode(record.countryIsoCode())
+                    .createdAt(now)
+                    .createdBy(userId)
+                    .build());
+        }
+        catalogImportRepository.insertAuthors(authors);
+        log.info("Imported {} authors", authors.size());
+
+        eventPublisher.publishEvent(new AuthorsImportedEvent(authors.stream()
+                .map(author -> new ImportedAuthor(author.getId(), author.getName()))
+                .toList(), userId));
+        return idsByName(authors.stream().map(author -> Map.entry(author.getName(), author.getId())).toList());
+    }
+
+    @Override
+    @Transactional(noRollbackFor = IllegalArgumentException.class)
+    public Map<String, UUID> importTags(List<TagRecord> records, @Nullable UUID userId) {
+        if (records.isEmpty()) {
+            return Map.of();
+        }
+        records.forEach(record -> requireName(record.name()));
+        var types = records.stream().map(record -> enumValue(TagType.class, record.type())).toList();
+
+        var slugs = slugGenerator.generateAll(records.stream().map(TagRecord::name).toList(), SlugScope.TAG);
+        var now = Instant.now();
+        var tags = new ArrayList<Tag>(records.size());
+        for (int i = 0; i < records.size(); i++) {
+            var record = records.get(i);
+            tags.add(Tag.builder()
+                    .id(UuidCreator.getTimeOrderedEpoch())
+                    .name(record.name())
+                    .slug(slugs.get(i))
+                    .type(types.get(i))
+                    .description(record.description())
+                    .createdAt(now)
+                    .createdBy(userId)
+                    .build());
+        }
+        var inserted = catalogImportRepository.insertTags(tags);
+        log.info("Imported {} of {} tags", inserted.size(), tags.size());
+
+        return idsByName(inserted.stream().map(tag -> Map.entry(tag.getName(), tag.getId())).toList());
+    }
+
+    @Override
+    @Transactional(noRollbackFor = IllegalArgumentException.class)
+    public Map<String, UUID> importTitles(List<TitleRecord> records, @Nullable UUID userId) {
+        if (records.isEmpty()) {
+            return Map.of();
+        }
+        // Validated up front, so a bad record fails the batch before any slug is allocated
+        var currentYear = Year.now();
+        for (var record : records) {
+            requireName(record.name());
+            requireCountryIsoCode(record.countryIsoCode());
+            if (record.releaseYear() != null && (record.releaseYear() < 1 || Year.of(record.releaseYear()).isAfter(currentYear))) {
+                throw new IllegalArgumentException("Invalid release year " + record.releaseYear());
+            }
+            if (record.type() != null) {
+                TitleType.valueOf(record.type());
+            }
+            if (record.status() != null) {
+                TitleStatus.valueOf(record.status());
+            }
+            enumValue(ContentRating.class, record.contentRating());
+            record.authors().forEach(author -> AuthorRole.valueOf(author.role()));
+        }
+
+        var slugs = slugGenerator.generateAll(records.stream().map(TitleRecord::name).toList(), SlugScope.TITLE);
+        var now = Instant.now();
+        var titles = new ArrayList<Title>(records.size());
+        for (int i = 0; i < records.size(); i++) {
+            var record = records.get(i);
+            var title = Title.builder()
+                    .id(UuidCreator.getTimeOrderedEpoch())
+                    .name(record.name())
+                    .slug(slugs.get(i))
+                    .description(record.description())
+                    .type(record.type() != null ? TitleType.valueOf(record.type()) : null)
+                    .titleStatus(record.status() != null ? TitleStatus.valueOf(record.status()) : null)
+                    .releaseYear(record.releaseYear() != null ? Year.of(record.releaseYear()) : null)
+                    .contentRating(enumValue(ContentRating.class, record.contentRating()))
+                    .isLicensed(record.licensed())
+                    .countryIsoCode(record.countryIsoCode())
+                    .createdAt(now)
+                    .createdBy(userId)
+                    .build();
+
+            // Duplicate links would violate the unique constraints of the join tables
+            var authorLinks = new LinkedHashSet<TitleAuthorRecord>(record.authors());
+            int sortOrder = 0;
+            for (var link : authorLinks) {
+                title.getAuthors().add(TitleAuthor.builder()
+                        .id(UuidCreator.getTimeOrderedEpoch())
+                        .title(title)
+                        .author(Author.builder().id(link.authorId()).build())
+                        .role(AuthorRole.valueOf(link.role()))
+                        .sortOrder(sortOrder++)
+                        .build());
+            }
+            new LinkedHashSet<>(record.tagIds())
+                    .forEach(tagId -> title.getTags().add(Tag.builder().id(tagId).build()));
+            titles.add(title);
+        }
+        catalogImportRepository.insertTitles(titles);
+        log.info("Imported {} titles", titles.size());
+
+        eventPublisher.publishEvent(new TitlesImportedEvent(titles.stream()
+                .map(title -> new ImportedTitle(title.getId(), title.getName()))
+                .toList(), userId));
+        return idsByName(titles.stream().map(title -> Map.entry(title.getName(), title.getId())).toList());
+    }
+
+    private static void requireName(@Nullable String name) {
+        if (!StringUtils.hasText(name)) {
+            throw new IllegalArgumentException("Name must not be blank");
+        }
+    }
+
+    private static void requireCountryIsoCode(@Nullable String countryIsoCode) {
+        if (countryIsoCode != null && !COUNTRY_ISO_CODE.matcher(countryIsoCode).matches()) {
+            throw new IllegalArgumentException("Invalid country ISO code " + countryIsoCode);
+        }
+    }
+
+    private static <E extends Enum<E>> E enumValue(Class<E> type, @Nullable String name) {
+        if (name == null) {
+            throw new IllegalArgumentException(type.getSimpleName() + " is missing");
+        }
+        return Enum.valueOf(type, name);
+    }
+
+    private static Map<String, UUID> idsByName(List<Map.Entry<String, UUID>> entries) {
+        var ids = new HashMap<String, UUID>();
+        entries.forEach(entry -> ids.putIfAbsent(entry.getKey(), entry.getValue()));
+        return ids;
+    }
+
+}
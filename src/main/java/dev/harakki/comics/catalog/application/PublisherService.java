@@ -4,6 +4,7 @@ import dev.harakki.comics.catalog.api.PublisherCreatedEvent;
 import dev.harakki.comics.catalog.api.PublisherDeletedEvent;
 import dev.harakki.comics.catalog.api.PublisherUpdatedEvent;
 import dev.harakki.comics.catalog.domain.Publisher;
+import dev.harakki.comics.catalog.domain.SlugScope;
 import dev.harakki.comics.catalog.dto.PublisherCreateRequest;
 import dev.harakki.comics.catalog.dto.PublisherResponse;
 import dev.harakki.comics.catalog.dto.PublisherUpdateRequest;
@@ -54,7 +55,7 @@ public class PublisherService {
         var publisher = publisherMapper.toEntity(request);
 
         // Generate and set unique slug
-        String slug = slugGenerator.generate(publisher.getName(), publisherRepository::existsBySlug);
+        String slug = slugGenerator.generate(publisher.getName(), SlugScope.PUBLISHER);
         publisher.setSlug(slug);
 
         if (request.logoMediaId() != null) {
@@ -116,6 +117,7 @@ public class PublisherService {
             throw new ResourceAlreadyExistsException("Publisher with slug '" + request + "' already exists");
         }
 
+        slugGenerator.reserve(SlugScope.PUBLISHER, request.slug());
         publisher.setSlug(request.slug());
         publisher = publisherRepository.save(publisher);
 
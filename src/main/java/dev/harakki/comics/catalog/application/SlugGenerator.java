@@ -1,65 +1,112 @@
 package dev.harakki.comics.catalog.application;
 
 import com.github.slugify.Slugify;
-import dev.harakki.comics.catalog.domain.SlugSequence;
+import dev.harakki.comics.catalog.domain.SlugScope;
 import dev.harakki.comics.catalog.infrastructure.SlugSequenceRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.concurrent.ThreadLocalRandom;
-import java.util.function.Function;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeMap;
 
+/**
+ * Allocates unique slugs without locking across transactions. Every slug in use is reserved in the slug
+ * sequences, so a free slug takes a single upsert, and a taken one gets the next suffix of its counter,
+ * which is reserved in turn. Allocation runs outside the caller's transaction: a slug stays reserved even
+ * if the caller rolls back, and parallel creates never wait for each other's commits.
+ */
 @Slf4j
 @RequiredArgsConstructor
 @Service
-public class SlugGenerator {
+public class SlugGenerator implements SmartInitializingSingleton {
 
     private final Slugify slugify;
 
     private final SlugSequenceRepository slugSequenceRepository;
 
-    @Transactional(propagation = Propagation.REQUIRES_NEW)
-    public String generate(String sourceName, Function<String, Boolean> existenceCheck) {
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public String generate(String sourceName, SlugScope scope) {
         String slugPrefix = slugify.slugify(sourceName);
-        if (!existenceCheck.apply(slugPrefix)) {
-            return slugPrefix;
-        }
+        while (true) {
+            // The first one taken is slugPrefix-2
+            long counter = slugSequenceRepository.increment(scope, slugPrefix);
+            if (counter == 1) {
+                return slugPrefix;
+            }
 
-        int retries = 3;
-        while (retries > 0) {
-            try {
-                SlugSequence sequence = slugSequenceRepository.findBySlugPrefixWithLock(slugPrefix)
-                        .orElse(new SlugSequence(slugPrefix, 1L));
+            var newSlug = slugPrefix + "-" + counter;
+            if (slugSequenceRepository.reserve(scope, newSlug)) {
+                return newSlug;
+            }
+            log.warn("Slug collision detected: {}, retrying...", newSlug);
+        }
+    }
 
-                // Generate the next slug value (first one will be slugPrefix-2)
-                long nextVal = sequence.getCounter() + 1;
-                sequence.setCounter(nextVal);
+    /**
+     * Generates the slugs of many names with two statements, for bulk imports. Names that slugify alike
+     * get consecutive suffixes, only a suffixed slug that turns out to be taken is generated again alone.
+     *
+     * @return the slugs in the order of the names
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<String> generateAll(List<String> sourceNames, SlugScope scope) {
+        if (sourceNames.isEmpty()) {
+            return List.of();
+        }
+        var slugPrefixes = sourceNames.stream().map(slugify::slugify).toList();
+        var counts = new TreeMap<String, Integer>();
+        slugPrefixes.forEach(slugPrefix -> counts.merge(slugPrefix, 1, Integer::sum));
+        var counters = slugSequenceRepository.incrementAll(scope, counts);
 
-                slugSequenceRepository.save(sequence);
+        var nextCounters = new HashMap<String, Long>();
+        counts.forEach((slugPrefix, count) -> nextCounters.put(slugPrefix, counters.get(slugPrefix) - count + 1));
+        var slugs = new ArrayList<String>(slugPrefixes.size());
+        var suffixed = new ArrayList<String>();
+        for (var slugPrefix : slugPrefixes) {
+            long counter = nextCounters.merge(slugPrefix, 1L, Long::sum) - 1;
+            if (counter == 1) {
+                slugs.add(slugPrefix);
+            } else {
+                slugs.add(slugPrefix + "-" + counter);
+                suffixed.add(slugs.getLast());
+            }
+        }
 
-                var newSlug = slugPrefix + "-" + nextVal;
+        var reserved = suffixed.isEmpty() ? Set.<String>of() : slugSequenceRepository.reserveAll(scope, suffixed);
+        for (int i = 0; i < slugs.size(); i++) {
+            var slug = slugs.get(i);
+            if (!slug.equals(slugPrefixes.get(i)) && !reserved.contains(slug)) {
+                log.warn("Slug collision detected: {}, retrying...", slug);
+                slugs.set(i, generate(sourceNames.get(i), scope));
+            }
+        }
+        return slugs;
+    }
 
-                // Double-check uniqueness
-                if (!existenceCheck.apply(newSlug)) {
-                    return newSlug;
-                }
+    /**
+     * Reserves a slug set explicitly, so it is not generated for another entity.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void reserve(SlugScope scope, String slug) {
+        slugSequenceRepository.reserve(scope, slug);
+    }
 
-                log.warn("Slug collision detected: {}, retrying...", newSlug);
-                retries--;
-            } catch (Exception e) {
-                log.error("Error generating slug for prefix: {}", slugPrefix, e);
-                retries--;
-                if (retries == 0) {
-                    throw e;
-                }
+    // Runs once the schema is up to date and before requests are served
+    @Override
+    public void afterSingletonsInstantiated() {
+        for (var scope : SlugScope.values()) {
+            int reserved = slugSequenceRepository.reserveExisting(scope);
+            if (reserved > 0) {
+                log.info("Reserved {} existing {} slugs", reserved, scope.getTable());
             }
         }
-
-        // Fallback to random suffix if all retries failed
-        return slugPrefix + "-" + System.currentTimeMillis() + "-" + ThreadLocalRandom.current().nextInt(1000);
     }
 
 }
@@ -1,5 +1,7 @@
 package dev.harakki.comics.catalog.application;
 
+import dev.harakki.comics.catalog.api.TagUpdatedEvent;
+import dev.harakki.comics.catalog.domain.SlugScope;
 import dev.harakki.comics.catalog.dto.ReplaceSlugRequest;
 import dev.harakki.comics.catalog.dto.TagCreateRequest;
 import dev.harakki.comics.catalog.dto.TagResponse;
@@ -9,9 +11,11 @@ import dev.harakki.comics.catalog.infrastructure.TagRepository;
 import dev.harakki.comics.shared.exception.ResourceAlreadyExistsException;
 import dev.harakki.comics.shared.exception.ResourceInUseException;
 import dev.harakki.comics.shared.exception.ResourceNotFoundException;
+import dev.harakki.comics.shared.utils.SecurityUtils;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -33,6 +37,8 @@ public class TagService {
 
     private final SlugGenerator slugGenerator;
 
+    private final ApplicationEventPublisher eventPublisher;
+
     @Transactional
     public TagResponse create(TagCreateRequest request) {
         if (tagRepository.existsByName(request.name())) {
@@ -43,11 +49,12 @@ public class TagService {
 
         String slug = request.slug();
         if (slug == null || slug.isBlank()) {
-            slug = slugGenerator.generate(request.name(), tagRepository::existsBySlug);
+            slug = slugGenerator.generate(request.name(), SlugScope.TAG);
         } else {
             if (tagRepository.existsBySlug(slug)) {
                 throw new ResourceAlreadyExistsException("Tag with slug '" + slug + "' already exists");
             }
+            slugGenerator.reserve(SlugScope.TAG, slug);
         }
         tag.setSlug(slug);
 
@@ -71,11 +78,17 @@ public class TagService {
             throw new ResourceAlreadyExistsException("Tag with slug '" + request.slug() + "' already exists");
         }
 
+        if (request.slug() != null) {
+            slugGenerator.reserve(SlugScope.TAG, request.slug());
+        }
         tag = tagMapper.partialUpdate(request, tag);
 
         tag = tagRepository.save(tag);
         log.debug("Updated tag: id={}", id);
 
+        var userId = SecurityUtils.getOptionalCurrentUserId().orElse(null);
+        eventPublisher.publishEvent(new TagUpdatedEvent(tag.getId(), userId));
+
         return tagMapper.toResponse(tag);
     }
 
@@ -88,8 +101,13 @@ public class TagService {
             throw new ResourceAlreadyExistsException("Tag with slug '" + request + "' already exists");
         }
 
+        slugGenerator.reserve(SlugScope.TAG, request.slug());
         tag.setSlug(request.slug());
         tag = tagRepository.save(tag);
+
+        var userId = SecurityUtils.getOptionalCurrentUserId().orElse(null);
+        eventPublisher.publishEvent(new TagUpdatedEvent(tag.getId(), userId));
+
         return tagMapper.toResponse(tag);
     }
 
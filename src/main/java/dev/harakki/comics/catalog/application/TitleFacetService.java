@@ -0,0 +1,172 @@
+package dev.harakki.comics.catalog.application;
+
+import dev.harakki.comics.catalog.domain.*;
+import dev.harakki.comics.catalog.dto.FacetCountResponse;
+import dev.harakki.comics.catalog.dto.TitleFacetsResponse;
+import dev.harakki.comics.catalog.infrastructure.TitleRepository;
+import dev.harakki.comics.catalog.infrastructure.TitleSearchDocumentRepository;
+import dev.harakki.comics.catalog.infrastructure.TitleSpecifications;
+import lombok.extern.slf4j.Slf4j;
+import org.jspecify.annotations.Nullable;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * Live facet counts for the title browser from an in-memory {@link TitleFacetIndex}, built on startup and
+ * kept up to date from catalog events, so counting does not run a GROUP BY per facet per request.
+ */
+@Slf4j
+@Service
+public class TitleFacetService {
+
+    private static final UUID NIL = new UUID(0, 0);
+
+    private final TitleRepository titleRepository;
+    private final TitleSearchDocumentRepository documentRepository;
+    private final TitleFacetIndex index = new TitleFacetIndex();
+    private final int maxValues;
+    private final int pageSize;
+
+    TitleFacetService(
+            TitleRepository titleRepository,
+            TitleSearchDocumentRepository documentRepository,
+            @Value("${catalog.facets.max-values:50}") int maxValues,
+            @Value("${catalog.facets.page-size:500}") int pageSize
+    ) {
+        this.titleRepository = titleRepository;
+        this.documentRepository = documentRepository;
+        this.maxValues = maxValues;
+        this.pageSize = pageSize;
+    }
+
+    /**
+     * Counts titles matching the filters, which have the same meaning as in title search: any of the given
+     * values of a facet matches, the content rating is a maximum, and the release year range and search text
+     * narrow every facet.
+     */
+    public TitleFacetsResponse getFacets(
+            @Nullable Set<String> tags,
+            @Nullable Set<TitleType> types,
+            @Nullable Set<TitleStatus> statuses,
+            @Nullable ContentRating maxContentRating,
+            @Nullable Set<String> countries,
+            @Nullable Set<Integer> releaseYears,
+            @Nullable Integer yearFrom,
+            @Nullable Integer yearTo,
+            @Nullable String search
+    ) {
+        var selection = new EnumMap<TitleFacet, Set<String>>(TitleFacet.class);
+        select(selection, TitleFacet.TAG, tags);
+        select(selection, TitleFacet.TYPE, types);
+        select(selection, TitleFacet.STATUS, statuses);
+        select(selection, TitleFacet.COUNTRY, countries);
+        select(selection, TitleFacet.RELEASE_YEAR, releaseYears);
+        if (maxContentRating != null) {
+            select(selection, TitleFacet.CONTENT_RATING, Arrays.stream(ContentRating.values())
+                    .filter(rating -> rating.compareTo(maxContentRating) <= 0)
+                    .collect(Collectors.toSet()));
+        }
+
+        var filters = new EnumMap<TitleFacet, Predicate<String>>(TitleFacet.class);
+        if (yearFrom != null || yearTo != null) {
+            filters.put(TitleFacet.RELEASE_YEAR, value -> {
+                int year = Integer.parseInt(value);
+                return (yearFrom == null || year >= yearFrom) && (yearTo == null || year <= yearTo);
+            });
+        }
+        // The text is matched by the database, against the same search documents as the title listing
+        var textSpec = TitleSpecifications.matchesText(search);
+        var titleIds = textSpec != null ? titleRepository.findIds(textSpec, Pageable.unpaged()) : null;
+
+        var result = index.count(selection, filters, titleIds, maxValues);
+        var facets = new EnumMap<TitleFacet, List<FacetCountResponse>>(TitleFacet.class);
+        result.counts().forEach((facet, counts) -> facets.put(facet, counts.stream()
+                .map(count -> new FacetCountResponse(count.value(), count.count()))
+                .toList()));
+        return new TitleFacetsResponse(result.total(), facets);
+    }
+
+    public void updateTitle(UUID titleId) {
+        updateTitles(List.of(titleId));
+    }
+
+    public void updateTitlesByTag(UUID tagId) {
+        updateTitles(documentRepository.findTitleIdsByTagId(tagId));
+    }
+
+    public void removeTitle(UUID titleId) {
+        index.remove(titleId);
+    }
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildIndex() {
+        long started = System.nanoTime();
+        try {
+            UUID afterTitleId = NIL;
+            List<UUID> page;
+            do {
+                page = titleRepository.findIdsAfter(afterTitleId, Limit.of(pageSize));
+                if (page.isEmpty()) {
+                    break;
+                }
+                updateTitles(page);
+                afterTitleId = page.getLast();
+            } while (page.size() == pageSize);
+            index.optimize();
+
+            log.info("Built title facet index of {} titles in {} ms",
+                    index.size(), (System.nanoTime() - started) / 1_000_000);
+        } catch (Exception e) {
+            log.error("Failed to build the title facet index", e);
+        }
+    }
+
+    public void updateTitles(Collection<UUID> titleIds) {
+        var ids = List.copyOf(titleIds);
+        for (int from = 0; from < ids.size(); from += pageSize) {
+            var batch = ids.subList(from, Math.min(from + pageSize, ids.size()));
+            var missing = new HashSet<>(batch);
+            for (var title : titleRepository.findByIdInOrderById(batch)) {
+                index.put(title.getId(), facetValues(title));
+                missing.remove(title.getId());
+            }
+            missing.forEach(index::remove);
+        }
+    }
+
+    private static Map<TitleFacet, Set<String>> facetValues(Title title) {
+        var values = new EnumMap<TitleFacet, Set<String>>(TitleFacet.class);
+        values.put(TitleFacet.TAG, title.getTags().stream().map(Tag::getSlug).collect(Collectors.toSet()));
+        putValue(values, TitleFacet.TYPE, title.getType());
+        putValue(values, TitleFacet.STATUS, title.getTitleStatus());
+        putValue(values, TitleFacet.CONTENT_RATING, title.getContentRating());
+        putValue(values, TitleFacet.COUNTRY, title.getCountryIsoCode());
+        putValue(values, TitleFacet.RELEASE_YEAR, title.getReleaseYear() != null ? title.getReleaseYear().getValue() : null);
+        return values;
+    }
+
+    private static void putValue(Map<TitleFacet, Set<String>> values, TitleFacet facet, @Nullable Object value) {
+        if (value != null) {
+            values.put(facet, Set.of(value instanceof Enum<?> constant ? constant.name() : value.toString()));
+        }
+    }
+
+    private static void select(Map<TitleFacet, Set<String>> selection, TitleFacet facet, @Nullable Collection<?> values) {
+        if (values != null && !values.isEmpty()) {
+            selection.put(facet, values.stream()
+                    .map(value -> value instanceof Enum<?> constant ? constant.name() : value.toString())
+                    .collect(Collectors.toSet()));
+        }
+    }
+
+}
@@ -0,0 +1,107 @@
+package dev.harakki.comics.catalog.application;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import dev.harakki.comics.catalog.dto.TitleResponse;
+import dev.harakki.comics.catalog.infrastructure.TitleMapper;
+import dev.harakki.comics.catalog.infrastructure.TitleRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.Collection;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Title detail responses kept serialized, so a page view of a cached title neither loads the entity graph
+ * nor maps it, and callers cannot change a shared instance. Entries are bounded by their serialized size
+ * and dropped when an event says the title or something shown on it changed. Concurrent misses of a title
+ * wait for a single load, and an invalidation waits for a load in progress, so it cannot be overwritten
+ * with what was read before the change.
+ */
+@Component
+class TitleResponseCache {
+
+    private static final String CACHE_NAME = "catalog.titles";
+    // Rough per-entry cost of the key and cache bookkeeping
+    private static final int ENTRY_OVERHEAD = 64;
+
+    private final TitleRepository titleRepository;
+    private final JsonMapper jsonMapper;
+    private final LoadingCache<UUID, byte[]> responses;
+    // Slugs are resolved to IDs separately, a cached ID is checked against the slug of the response
+    private final Cache<String, UUID> slugs;
+
+    TitleResponseCache(
+            TitleRepository titleRepository,
+            TitleMapper titleMapper,
+            JsonMapper jsonMapper,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${catalog.title-cache.max-size:64MB}") DataSize maxSize,
+            @Value("${catalog.title-cache.max-slugs:100000}") long maxSlugs
+    ) {
+        this.titleRepository = titleRepository;
+        this.jsonMapper = jsonMapper;
+        var transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(true);
+        this.responses = Caffeine.newBuilder()
+                .maximumWeight(maxSize.toBytes())
+                .weigher((UUID _, byte[] response) -> response.length + ENTRY_OVERHEAD)
+                .recordStats()
+                .build(titleId -> transactionTemplate.execute(_ -> titleRepository.findById(titleId)
+                        .map(titleMapper::toResponse)
+                        .map(jsonMapper::writeValueAsBytes)
+                        .orElse(null)));
+        this.slugs = Caffeine.newBuilder()
+                .maximumSize(maxSlugs)
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, responses, CACHE_NAME);
+        Gauge.builder("cache.hit.ratio", responses, cache -> cache.stats().hitRate())
+                .description("Share of title detail lookups served from the cache")
+                .tag("cache", CACHE_NAME)
+                .register(meterRegistry);
+    }
+
+    Optional<TitleResponse> get(UUID titleId) {
+        return Optional.ofNullable(responses.get(titleId))
+                .map(response -> jsonMapper.readValue(response, TitleResponse.class));
+    }
+
+    Optional<TitleResponse> getBySlug(String slug) {
+        var titleId = slugs.get(slug, this::findIdBySlug);
+        if (titleId == null) {
+            return Optional.empty();
+        }
+        var response = get(titleId).filter(title -> title.slug().equals(slug));
+        if (response.isPresent()) {
+            return response;
+        }
+        // The title was renamed or deleted since its slug was cached, the slug may belong to another title by now
+        slugs.asMap().remove(slug, titleId);
+        titleId = slugs.get(slug, this::findIdBySlug);
+        return titleId != null ? get(titleId).filter(title -> title.slug().equals(slug)) : Optional.empty();
+    }
+
+    void invalidate(UUID titleId) {
+        responses.invalidate(titleId);
+    }
+
+    void invalidateAll(Collection<UUID> titleIds) {
+        responses.invalidateAll(titleIds);
+    }
+
+    private UUID findIdBySlug(String slug) {
+        return titleRepository.findIdBySlug(slug).orElse(null);
+    }
+
+}
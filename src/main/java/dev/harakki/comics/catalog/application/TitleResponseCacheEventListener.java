@@ -0,0 +1,85 @@
+package dev.harakki.comics.catalog.application;
+
+import dev.harakki.comics.catalog.api.AuthorUpdatedEvent;
+import dev.harakki.comics.catalog.api.PublisherUpdatedEvent;
+import dev.harakki.comics.catalog.api.TagUpdatedEvent;
+import dev.harakki.comics.catalog.api.TitleDeletedEvent;
+import dev.harakki.comics.catalog.api.TitleUpdatedEvent;
+import dev.harakki.comics.catalog.infrastructure.TitleRepository;
+import dev.harakki.comics.catalog.infrastructure.TitleSearchDocumentRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.modulith.events.ApplicationModuleListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TitleResponseCacheEventListener {
+
+    private final TitleResponseCache titleResponseCache;
+    private final TitleRepository titleRepository;
+    private final TitleSearchDocumentRepository documentRepository;
+
+    @Async
+    @ApplicationModuleListener
+    public void on(TitleUpdatedEvent event) {
+        log.debug("Processing title updated event: titleId={}", event.titleId());
+
+        try {
+            titleResponseCache.invalidate(event.titleId());
+        } catch (Exception e) {
+            log.error("Failed to process title updated event: titleId={}", event.titleId(), e);
+        }
+    }
+
+    @Async
+    @ApplicationModuleListener
+    public void on(TitleDeletedEvent event) {
+        log.debug("Processing title deleted event: titleId={}", event.titleId());
+
+        try {
+            titleResponseCache.invalidate(event.titleId());
+        } catch (Exception e) {
+            log.error("Failed to process title deleted event: titleId={}", event.titleId(), e);
+        }
+    }
+
+    @Async
+    @ApplicationModuleListener
+    public void on(AuthorUpdatedEvent event) {
+        log.debug("Processing author updated event: authorId={}", event.authorId());
+
+        try {
+            titleResponseCache.invalidateAll(documentRepository.findTitleIdsByAuthorId(event.authorId()));
+        } catch (Exception e) {
+            log.error("Failed to process author updated event: authorId={}", event.authorId(), e);
+        }
+    }
+
+    @Async
+    @ApplicationModuleListener
+    public void on(PublisherUpdatedEvent event) {
+        log.debug("Processing publisher updated event: publisherId={}", event.publisherId());
+
+        try {
+            titleResponseCache.invalidateAll(titleRepository.findIdsByPublisherId(event.publisherId()));
+        } catch (Exception e) {
+            log.error("Failed to process publisher updated event: publisherId={}", event.publisherId(), e);
+        }
+    }
+
+    @Async
+    @ApplicationModuleListener
+    public void on(TagUpdatedEvent event) {
+        log.debug("Processing tag updated event: tagId={}", event.tagId());
+
+        try {
+            titleResponseCache.invalidateAll(documentRepository.findTitleIdsByTagId(event.tagId()));
+        } catch (Exception e) {
+            log.error("Failed to process tag updated event: tagId={}", event.tagId(), e);
+        }
+    }
+
+}
@@ -0,0 +1,94 @@
+package dev.harakki.comics.catalog.application;
+
+import dev.harakki.comics.catalog.api.AuthorUpdatedEvent;
+import dev.harakki.comics.catalog.api.TagUpdatedEvent;
+import dev.harakki.comics.catalog.api.TitleCreatedEvent;
+import dev.harakki.comics.catalog.api.TitleDeletedEvent;
+import dev.harakki.comics.catalog.api.TitleUpdatedEvent;
+import dev.harakki.comics.catalog.api.TitlesImportedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.modulith.events.ApplicationModuleListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TitleSearchEventListener {
+
+    private final TitleSearchIndexer titleSearchIndexer;
+
+    @Async
+    @ApplicationModuleListener
+    public void on(TitleCreatedEvent event) {
+        log.debug("Processing title created event: titleId={}", event.titleId());
+
+        try {
+            titleSearchIndexer.refresh(event.titleId());
+        } catch (Exception e) {
+            log.error("Failed to process title created event: titleId={}", event.titleId(), e);
+        }
+    }
+
+    @Async
+    @ApplicationModuleListener
+    public void on(TitlesImportedEvent event) {
+        log.debug("Processing titles imported event: titles={}", event.titles().size());
+
+        try {
+            titleSearchIndexer.refreshAll(event.titleIds());
+        } catch (Exception e) {
+            log.error("Failed to process titles imported event: titles={}", event.titles().size(), e);
+        }
+    }
+
+    @Async
+    @ApplicationModuleListener
+    public void on(TitleUpdatedEvent event) {
+        log.debug("Processing title updated event: titleId={}", event.titleId());
+
+        try {
+            titleSearchIndexer.refresh(event.titleId());
+        } catch (Exception e) {
+            log.error("Failed to process title updated event: titleId={}", event.titleId(), e);
+        }
+    }
+
+    @Async
+    @ApplicationModuleListener
+    public void on(TitleDeletedEvent event) {
+        log.debug("Processing title deleted event: titleId={}", event.titleId());
+
+        try {
+            titleSearchIndexer.remove(event.titleId());
+        } catch (Exception e) {
+            log.error("Failed to process title deleted event: titleId={}", event.titleId(), e);
+        }
+    }
+
+    @Async
+    @ApplicationModuleListener
+    public void on(AuthorUpdatedEvent event) {
+        log.debug("Processing author updated event: authorId={}", event.authorId());
+
+        try {
+            titleSearchIndexer.refreshByAuthor(event.authorId());
+        } catch (Exception e) {
+            log.error("Failed to process author updated event: authorId={}", event.authorId(), e);
+        }
+    }
+
+    @Async
+    @ApplicationModuleListener
+    public void on(TagUpdatedEvent event) {
+        log.debug("Processing tag updated event: tagId={}", event.tagId());
+
+        try {
+            titleSearchIndexer.refreshByTag(event.tagId());
+        } catch (Exception e) {
+            log.error("Failed to process tag updated event: tagId={}", event.tagId(), e);
+        }
+    }
+
+}
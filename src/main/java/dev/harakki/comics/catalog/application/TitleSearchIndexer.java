@@ -0,0 +1,90 @@
+package dev.harakki.comics.catalog.application;
+
+import dev.harakki.comics.catalog.infrastructure.TitleSearchDocumentRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Keeps the full-text search documents of titles in sync with their names, descriptions, authors and tags.
+ * Documents are rebuilt in SQL from the current rows, so a refresh never works on stale entity state.
+ */
+@Slf4j
+@Service
+public class TitleSearchIndexer {
+
+    private final TitleSearchDocumentRepository documentRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean backfillOnStartup;
+    private final int batchSize;
+
+    TitleSearchIndexer(
+            TitleSearchDocumentRepository documentRepository,
+            PlatformTransactionManager transactionManager,
+            @Value("${catalog.search.backfill-on-startup:true}") boolean backfillOnStartup,
+            @Value("${catalog.search.batch-size:1000}") int batchSize
+    ) {
+        this.documentRepository = documentRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.backfillOnStartup = backfillOnStartup;
+        this.batchSize = batchSize;
+    }
+
+    public void refresh(UUID titleId) {
+        refreshAll(List.of(titleId));
+    }
+
+    public void refreshByAuthor(UUID authorId) {
+        refreshAll(documentRepository.findTitleIdsByAuthorId(authorId));
+    }
+
+    public void refreshByTag(UUID tagId) {
+        refreshAll(documentRepository.findTitleIdsByTagId(tagId));
+    }
+
+    public void remove(UUID titleId) {
+        transactionTemplate.executeWithoutResult(_ -> documentRepository.deleteByTitleId(titleId));
+    }
+
+    /**
+     * Indexes titles without a document, e.g. ones created before search documents existed.
+     */
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        if (!backfillOnStartup) {
+            return;
+        }
+
+        long started = System.nanoTime();
+        long indexed = 0;
+        int written;
+        do {
+            written = transactionTemplate.execute(_ -> documentRepository.insertMissing(batchSize));
+            indexed += written;
+        } while (written > 0);
+
+        if (indexed > 0) {
+            log.info("Indexed {} titles for search in {} ms", indexed, (System.nanoTime() - started) / 1_000_000);
+        }
+    }
+
+    public void refreshAll(Collection<UUID> titleIds) {
+        var ids = List.copyOf(titleIds);
+        for (int from = 0; from < ids.size(); from += batchSize) {
+            var batch = ids.subList(from, Math.min(from + batchSize, ids.size()));
+            transactionTemplate.executeWithoutResult(_ -> documentRepository.upsert(batch));
+        }
+        log.debug("Refreshed search documents: titles={}", ids.size());
+    }
+
+}
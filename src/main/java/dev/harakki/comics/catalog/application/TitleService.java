@@ -1,9 +1,10 @@
 package dev.harakki.comics.catalog.application;
 
+import dev.harakki.comics.catalog.api.TitleCardProvider;
 import dev.harakki.comics.catalog.api.TitleCreatedEvent;
 import dev.harakki.comics.catalog.api.TitleDeletedEvent;
+import dev.harakki.comics.catalog.api.TitleFeatureProvider;
 import dev.harakki.comics.catalog.api.TitleUpdatedEvent;
-import dev.harakki.comics.catalog.api.TitleViewedEvent;
 import dev.harakki.comics.catalog.domain.*;
 import dev.harakki.comics.catalog.dto.*;
 import dev.harakki.comics.catalog.infrastructure.*;
@@ -12,28 +13,40 @@ import dev.harakki.comics.media.api.MediaFixateRequestedEvent;
 import dev.harakki.comics.shared.exception.ResourceAlreadyExistsException;
 import dev.harakki.comics.shared.exception.ResourceInUseException;
 import dev.harakki.comics.shared.exception.ResourceNotFoundException;
+import dev.harakki.comics.shared.pagination.CursorPage;
+import dev.harakki.comics.shared.pagination.Cursors;
 import dev.harakki.comics.shared.utils.SecurityUtils;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.jspecify.annotations.Nullable;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.validation.annotation.Validated;
 
 import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Validated
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
 @Service
-public class TitleService {
+public class TitleService implements TitleFeatureProvider, TitleCardProvider {
+
+    private static final Set<String> SCROLL_SORTABLE = Set.of(Title_.NAME, Title_.CREATED_AT);
 
     private final TitleRepository titleRepository;
     private final TitleMapper titleMapper;
@@ -43,6 +56,8 @@ public class TitleService {
     private final AuthorRepository authorRepository;
 
     private final SlugGenerator slugGenerator;
+    private final TitleResponseCache titleResponseCache;
+    private final TitleViewTracker titleViewTracker;
 
     private final ApplicationEventPublisher eventPublisher;
 
@@ -54,7 +69,7 @@ public class TitleService {
 
         var title = titleMapper.toEntity(request);
 
-        var slug = slugGenerator.generate(request.name(), titleRepository::existsBySlug);
+        var slug = slugGenerator.generate(request.name(), SlugScope.TITLE);
         title.setSlug(slug);
 
         // Connection with Authors
@@ -153,31 +168,118 @@ public class TitleService {
         return titleMapper.toResponse(title);
     }
 
+    /**
+     * Served from the cache, which opens its own transaction on a miss. Nothing is published here: module
+     * events are only stored with a transaction, so views are counted in memory by the {@link TitleViewTracker},
+     * which publishes them in a transaction of its own.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public TitleResponse getById(UUID id) {
-        var response = titleRepository.findById(id)
-                .map(titleMapper::toResponse)
+        var response = titleResponseCache.get(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Title with id " + id + " not found"));
 
         var userId = SecurityUtils.getOptionalCurrentUserId().orElse(null);
-        eventPublisher.publishEvent(new TitleViewedEvent(response.id(), userId));
+        titleViewTracker.record(response.id(), userId);
 
         return response;
     }
 
+    /**
+     * Served like {@link #getById}, without a transaction.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public TitleResponse getBySlug(String slug) {
-        var response = titleRepository.findBySlug(slug)
-                .map(titleMapper::toResponse)
+        var response = titleResponseCache.getBySlug(slug)
                 .orElseThrow(() -> new ResourceNotFoundException("Title with slug '" + slug + "' not found"));
 
         var userId = SecurityUtils.getOptionalCurrentUserId().orElse(null);
-        eventPublisher.publishEvent(new TitleViewedEvent(response.id(), userId));
+        titleViewTracker.record(response.id(), userId);
 
         return response;
     }
 
-    public Page<TitleResponse> getAll(Specification<Title> spec, Pageable pageable) {
-        return titleRepository.findAll(spec, pageable)
-                .map(titleMapper::toResponse);
+    /**
+     * Searches in two phases: a page of IDs first, then the graphs of just those titles. Fetching the
+     * collections together with the page would make Hibernate load every match and page in memory.
+     * The count query only runs when the total cannot be told from the page itself.
+     *
+     * @param search full-text search text the {@value TitleSearchRepository#RELEVANCE} sort ranks against
+     */
+    public Page<TitleResponse> getAll(Specification<Title> spec, @Nullable String search, Pageable pageable) {
+        var ids = titleRepository.findIds(spec, pageable, TitleSpecifications.toTsQuery(search));
+        var titles = findGraphs(ids);
+        var content = ids.stream()
+                .map(titles::get)
+                .filter(Objects::nonNull)
+                .map(titleMapper::toResponse)
+                .toList();
+        return PageableExecutionUtils.getPage(content, pageable, () -> titleRepository.count(spec));
+    }
+
+    /**
+     * Keyset variant of {@link #getAll}: the slice is read by seeking past the cursor on the sort keys
+     * instead of skipping an offset, so deep slices cost the same as the first one. The count query
+     * only runs when the total is asked for.
+     */
+    public CursorPage<TitleResponse> scroll(Specification<Title> spec, Sort sort, @Nullable String cursor, int size, boolean withTotal) {
+        var keysetSort = Cursors.sort(sort, SCROLL_SORTABLE);
+        var position = Cursors.decode(cursor, keysetSort);
+        var limit = Cursors.limit(size);
+
+        Window<Title> window = titleRepository.findBy(spec, query -> query
+                .sortBy(keysetSort)
+                .limit(limit.max())
+                .scroll(position));
+        var titles = findGraphs(window.stream().map(Title::getId).toList());
+
+        return CursorPage.of(window, keysetSort,
+                title -> titleMapper.toResponse(titles.getOrDefault(title.getId(), title)),
+                withTotal ? titleRepository.count(spec) : null);
+    }
+
+    private Map<UUID, Title> findGraphs(List<UUID> ids) {
+        return ids.isEmpty() ? Map.of() : titleRepository.findByIdInOrderById(ids).stream()
+                .collect(Collectors.toMap(Title::getId, Function.identity()));
+    }
+
+    @Override
+    public Optional<TitleFeatures> getTitleFeatures(UUID titleId) {
+        return titleRepository.findById(titleId).map(TitleService::toFeatures);
+    }
+
+    @Override
+    public List<TitleFeatures> getTitleFeatures(UUID afterTitleId, int limit) {
+        var ids = titleRepository.findIdsAfter(afterTitleId, Limit.of(limit));
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return titleRepository.findByIdInOrderById(ids).stream()
+                .map(TitleService::toFeatures)
+                .toList();
+    }
+
+    @Override
+    public List<TitleCard> getTitleCards(Collection<UUID> titleIds) {
+        if (titleIds.isEmpty()) {
+            return List.of();
+        }
+        return titleRepository.findAllById(titleIds).stream()
+                .map(title -> new TitleCard(
+                        title.getId(),
+                        title.getName(),
+                        title.getSlug(),
+                        title.getType() != null ? title.getType().name() : null,
+                        title.getTitleStatus() != null ? title.getTitleStatus().name() : null,
+                        title.getContentRating() != null ? title.getContentRating().name() : null,
+                        title.getReleaseYear(),
+                        title.getMainCoverMediaId()
+                ))
+                .toList();
+    }
+
+    @Override
+    public List<UUID> getNewestTitleIds(int limit) {
+        return titleRepository.findNewestIds(Limit.of(limit));
     }
 
     @Transactional
@@ -245,6 +347,7 @@ public class TitleService {
             throw new ResourceAlreadyExistsException("Title with slug '" + request.slug() + "' already exists");
         }
 
+        slugGenerator.reserve(SlugScope.TITLE, request.slug());
         title.setSlug(request.slug());
         title = titleRepository.save(title);
 
@@ -316,4 +419,25 @@ public class TitleService {
         return titleMapper.toResponse(title);
     }
 
+    private static TitleFeatures toFeatures(Title title) {
+        var authorIds = new LinkedHashSet<UUID>();
+        for (var titleAuthor : title.getAuthors()) {
+            if (titleAuthor.getAuthor() != null) {
+                authorIds.add(titleAuthor.getAuthor().getId());
+            }
+        }
+        var tagIds = new LinkedHashSet<UUID>();
+        for (var tag : title.getTags()) {
+            tagIds.add(tag.getId());
+        }
+        return new TitleFeatures(
+                title.getId(),
+                title.getType() != null ? title.getType().name() : null,
+                title.getContentRating() != null ? title.getContentRating().name() : null,
+                title.getPublisher() != null ? title.getPublisher().getId() : null,
+                authorIds,
+                tagIds
+        );
+    }
+
 }
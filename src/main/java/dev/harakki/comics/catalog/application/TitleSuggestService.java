@@ -0,0 +1,200 @@
+package dev.harakki.comics.catalog.application;
+
+import dev.harakki.comics.catalog.domain.*;
+import dev.harakki.comics.catalog.dto.TitleSuggestionResponse;
+import dev.harakki.comics.catalog.infrastructure.AuthorRepository;
+import dev.harakki.comics.catalog.infrastructure.TagRepository;
+import dev.harakki.comics.catalog.infrastructure.TitleRepository;
+import dev.harakki.comics.shared.api.TitlePopularityProvider;
+import it.unimi.dsi.fastutil.objects.Object2LongOpenHashMap;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+
+/**
+ * Search box completions from an in-memory {@link TitleSuggestionIndex} of title, author and tag names,
+ * weighted by popularity. Names complete from their first word and from each following one, so
+ * "man" suggests "Chainsaw Man". Titles are updated from catalog events as they change; the full
+ * rebuild recomputes popularity, which authors and tags take as the sum over their titles.
+ */
+@Slf4j
+@Service
+public class TitleSuggestService {
+
+    private static final UUID NIL = new UUID(0, 0);
+    private static final int MAX_KEYS_PER_NAME = 8;
+
+    private final TitleRepository titleRepository;
+    private final AuthorRepository authorRepository;
+    private final TagRepository tagRepository;
+    private final TitlePopularityProvider titlePopularityProvider;
+    private final TitleSuggestionIndex index;
+    private final int maxLimit;
+    private final int pageSize;
+
+    TitleSuggestService(
+            TitleRepository titleRepository,
+            AuthorRepository authorRepository,
+            TagRepository tagRepository,
+            TitlePopularityProvider titlePopularityProvider,
+            @Value("${catalog.suggest.fuzzy-penalty:0.5}") float fuzzyPenalty,
+            @Value("${catalog.suggest.fuzzy-min-length:3}") int fuzzyMinLength,
+            @Value("${catalog.suggest.max-limit:20}") int maxLimit,
+            @Value("${catalog.suggest.page-size:500}") int pageSize
+    ) {
+        this.titleRepository = titleRepository;
+        this.authorRepository = authorRepository;
+        this.tagRepository = tagRepository;
+        this.titlePopularityProvider = titlePopularityProvider;
+        this.index = new TitleSuggestionIndex(fuzzyPenalty, fuzzyMinLength);
+        this.maxLimit = maxLimit;
+        this.pageSize = pageSize;
+    }
+
+    public List<TitleSuggestionResponse> suggest(String query, int limit) {
+        return index.suggest(TitleTextAnalyzer.phrase(query), Math.clamp(limit, 0, maxLimit)).stream()
+                .map(suggestion -> new TitleSuggestionResponse(
+                        suggestion.id(), suggestion.type(), suggestion.text(), suggestion.slug()))
+                .toList();
+    }
+
+    public void updateTitle(UUID titleId) {
+        updateTitles(List.of(titleId));
+    }
+
+    public void updateTitles(Collection<UUID> titleIds) {
+        var ids = List.copyOf(titleIds);
+        for (int from = 0; from < ids.size(); from += pageSize) {
+            var batch = ids.subList(from, Math.min(from + pageSize, ids.size()));
+            var popularity = titlePopularityProvider.getPopularity(batch);
+            var missing = new HashSet<>(batch);
+            for (var title : titleRepository.findByIdInOrderById(batch)) {
+                float weight = weight(popularity.getOrDefault(title.getId(), 0L));
+                put(title.getId(), SuggestionType.TITLE, title.getName(), title.getSlug(), weight);
+                // Authors and tags seen for the first time start with the title's weight until the next rebuild
+                for (var titleAuthor : title.getAuthors()) {
+                    var author = titleAuthor.getAuthor();
+                    if (index.get(author.getId()).isEmpty()) {
+                        put(author.getId(), SuggestionType.AUTHOR, author.getName(), author.getSlug(), weight);
+                    }
+                }
+                for (var tag : title.getTags()) {
+                    if (index.get(tag.getId()).isEmpty()) {
+                        put(tag.getId(), SuggestionType.TAG, tag.getName(), tag.getSlug(), weight);
+                    }
+                }
+                missing.remove(title.getId());
+            }
+            missing.forEach(index::remove);
+        }
+    }
+
+    public void updateAuthor(UUID authorId) {
+        index.get(authorId).ifPresent(existing -> authorRepository.findById(authorId).ifPresentOrElse(
+                author -> put(authorId, SuggestionType.AUTHOR, author.getName(), author.getSlug(), existing.weight()),
+                () -> index.remove(authorId)));
+    }
+
+    public void updateTag(UUID tagId) {
+        index.get(tagId).ifPresent(existing -> tagRepository.findById(tagId).ifPresentOrElse(
+                tag -> put(tagId, SuggestionType.TAG, tag.getName(), tag.getSlug(), existing.weight()),
+                () -> index.remove(tagId)));
+    }
+
+    public void remove(UUID id) {
+        index.remove(id);
+    }
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        rebuild();
+    }
+
+    /**
+     * Re-reads every title with its popularity, then the authors and tags with the popularity of their
+     * titles, and drops names that are no longer referenced.
+     */
+    @Scheduled(fixedDelayString = "${catalog.suggest.rebuild-interval:PT30M}",
+            initialDelayString = "${catalog.suggest.rebuild-interval:PT30M}")
+    public void rebuild() {
+        long started = System.nanoTime();
+        try {
+            var stale = index.ids();
+            var authors = new HashMap<UUID, Author>();
+            var tags = new HashMap<UUID, Tag>();
+            var authorPopularity = new Object2LongOpenHashMap<UUID>();
+            var tagPopularity = new Object2LongOpenHashMap<UUID>();
+
+            UUID afterTitleId = NIL;
+            List<UUID> page;
+            do {
+                page = titleRepository.findIdsAfter(afterTitleId, Limit.of(pageSize));
+                if (page.isEmpty()) {
+                    break;
+                }
+                var popularity = titlePopularityProvider.getPopularity(page);
+                for (var title : titleRepository.findByIdInOrderById(page)) {
+                    long titlePopularity = popularity.getOrDefault(title.getId(), 0L);
+                    put(title.getId(), SuggestionType.TITLE, title.getName(), title.getSlug(), weight(titlePopularity));
+                    stale.remove(title.getId());
+                    for (var titleAuthor : title.getAuthors()) {
+                        authors.putIfAbsent(titleAuthor.getAuthor().getId(), titleAuthor.getAuthor());
+                        authorPopularity.addTo(titleAuthor.getAuthor().getId(), titlePopularity);
+                    }
+                    for (var tag : title.getTags()) {
+                        tags.putIfAbsent(tag.getId(), tag);
+                        tagPopularity.addTo(tag.getId(), titlePopularity);
+                    }
+                }
+                afterTitleId = page.getLast();
+            } while (page.size() == pageSize);
+
+            authors.forEach((authorId, author) -> {
+                put(authorId, SuggestionType.AUTHOR, author.getName(), author.getSlug(),
+                        weight(authorPopularity.getLong(authorId)));
+                stale.remove(authorId);
+            });
+            tags.forEach((tagId, tag) -> {
+                put(tagId, SuggestionType.TAG, tag.getName(), tag.getSlug(), weight(tagPopularity.getLong(tagId)));
+                stale.remove(tagId);
+            });
+            stale.forEach(index::remove);
+
+            log.info("Built title suggestions for {} names in {} ms",
+                    index.size(), (System.nanoTime() - started) / 1_000_000);
+        } catch (Exception e) {
+            log.error("Failed to build title suggestions", e);
+        }
+    }
+
+    private void put(UUID id, SuggestionType type, String name, String slug, float weight) {
+        index.put(new TitleSuggestionIndex.Suggestion(id, type, name, slug, weight), keys(name));
+    }
+
+    // The whole normalized name and its tails starting at each later word
+    private static List<String> keys(String name) {
+        var phrase = TitleTextAnalyzer.phrase(name);
+        var keys = new ArrayList<String>();
+        int start = 0;
+        while (start >= 0 && keys.size() < MAX_KEYS_PER_NAME) {
+            keys.add(phrase.substring(start));
+            int space = phrase.indexOf(' ', start);
+            start = space < 0 ? -1 : space + 1;
+        }
+        return keys;
+    }
+
+    // Dampened so a handful of very popular titles do not hide every other completion
+    private static float weight(long popularity) {
+        return (float) Math.log1p(Math.max(popularity, 0)) + 1;
+    }
+
+}
@@ -0,0 +1,222 @@
+package dev.harakki.comics.catalog.application;
+
+import dev.harakki.comics.catalog.domain.Tag;
+import dev.harakki.comics.catalog.domain.Title;
+import dev.harakki.comics.catalog.domain.TitleTextAnalyzer;
+import dev.harakki.comics.catalog.domain.TitleTextIndex;
+import dev.harakki.comics.catalog.dto.TitleSearchHitResponse;
+import dev.harakki.comics.catalog.infrastructure.TitleRepository;
+import dev.harakki.comics.catalog.infrastructure.TitleSearchDocumentRepository;
+import dev.harakki.comics.catalog.infrastructure.TitleTextIndexStore;
+import it.unimi.dsi.fastutil.objects.Object2FloatOpenHashMap;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * Typo- and script-tolerant title lookup from an in-process {@link TitleTextIndex} over title, author and
+ * tag names. The index follows catalog changes and is snapshotted to a memory-mapped file; on startup the
+ * snapshot is loaded and only titles changed since it was written are re-read from the database.
+ */
+@Slf4j
+@Service
+public class TitleTextSearchService {
+
+    private static final UUID NIL = new UUID(0, 0);
+    // Changes committed shortly before a snapshot may still have been on their way to the index
+    private static final Duration SYNC_MARGIN = Duration.ofMinutes(1);
+
+    private final TitleRepository titleRepository;
+    private final TitleSearchDocumentRepository documentRepository;
+    private final TitleTextIndexStore store;
+    private final TitleTextAnalyzer analyzer;
+    private final float nameWeight;
+    private final float authorWeight;
+    private final float tagWeight;
+    private final float k1;
+    private final float b;
+    private final float minShouldMatch;
+    private final int maxLimit;
+    private final int pageSize;
+    private final double compactRatio;
+
+    private volatile TitleTextIndex index;
+    private final AtomicBoolean dirty = new AtomicBoolean();
+
+    TitleTextSearchService(
+            TitleRepository titleRepository,
+            TitleSearchDocumentRepository documentRepository,
+            TitleTextIndexStore store,
+            @Value("${catalog.search.index.gram-size:3}") int gramSize,
+            @Value("${catalog.search.index.name-weight:3.0}") float nameWeight,
+            @Value("${catalog.search.index.author-weight:1.5}") float authorWeight,
+            @Value("${catalog.search.index.tag-weight:1.0}") float tagWeight,
+            @Value("${catalog.search.index.k1:1.2}") float k1,
+            @Value("${catalog.search.index.b:0.75}") float b,
+            @Value("${catalog.search.index.min-should-match:0.5}") float minShouldMatch,
+            @Value("${catalog.search.index.max-limit:50}") int maxLimit,
+            @Value("${catalog.search.index.page-size:500}") int pageSize,
+            @Value("${catalog.search.index.compact-ratio:0.25}") double compactRatio
+    ) {
+        this.titleRepository = titleRepository;
+        this.documentRepository = documentRepository;
+        this.store = store;
+        this.analyzer = new TitleTextAnalyzer(gramSize);
+        this.nameWeight = nameWeight;
+        this.authorWeight = authorWeight;
+        this.tagWeight = tagWeight;
+        this.k1 = k1;
+        this.b = b;
+        this.minShouldMatch = minShouldMatch;
+        this.maxLimit = maxLimit;
+        this.pageSize = pageSize;
+        this.compactRatio = compactRatio;
+        this.index = new TitleTextIndex(k1, b, minShouldMatch);
+    }
+
+    public List<TitleSearchHitResponse> search(String query, int limit) {
+        int k = Math.clamp(limit, 0, maxLimit);
+        return index.search(analyzer.queryTerms(query), k).stream()
+                .map(hit -> new TitleSearchHitResponse(hit.titleId(), hit.name(), hit.slug(), hit.score()))
+                .toList();
+    }
+
+    public void updateTitle(UUID titleId) {
+        updateTitles(List.of(titleId));
+    }
+
+    public void updateTitlesByAuthor(UUID authorId) {
+        updateTitles(documentRepository.findTitleIdsByAuthorId(authorId));
+    }
+
+    public void updateTitlesByTag(UUID tagId) {
+        updateTitles(documentRepository.findTitleIdsByTagId(tagId));
+    }
+
+    public void removeTitle(UUID titleId) {
+        if (index.remove(titleId)) {
+            dirty.set(true);
+        }
+    }
+
+    /**
+     * Loads the snapshot and re-reads the titles changed since, or builds the whole index without one.
+     */
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadIndex() {
+        long started = System.nanoTime();
+        var syncedAt = Instant.now();
+        try {
+            var snapshot = readSnapshot();
+            if (snapshot != null) {
+                index = snapshot.index();
+                var stale = index.ids();
+                forEachTitleIdPage(page -> page.forEach(stale::remove));
+                stale.forEach(this::removeTitle);
+                updateTitles(titleRepository.findIdsChangedSince(snapshot.indexedAt().minus(SYNC_MARGIN)));
+            } else {
+                forEachTitleIdPage(this::updateTitles);
+                dirty.set(true);
+            }
+            log.info("Loaded title text index of {} titles in {} ms",
+                    index.size(), (System.nanoTime() - started) / 1_000_000);
+            saveSnapshot(syncedAt);
+        } catch (Exception e) {
+            log.error("Failed to load the title text index, it only covers titles changed from now on", e);
+        }
+    }
+
+    /**
+     * Writes a snapshot if anything changed, compacting the index first once enough titles were replaced or removed.
+     */
+    @PreDestroy
+    @Scheduled(fixedDelayString = "${catalog.search.index.snapshot-interval:PT5M}")
+    public void saveSnapshot() {
+        saveSnapshot(Instant.now());
+    }
+
+    private void saveSnapshot(Instant indexedAt) {
+        if (!dirty.getAndSet(false)) {
+            return;
+        }
+        try {
+            var current = index;
+            if (current.tombstones() > compactRatio * Math.max(current.size(), 1)) {
+                current.compact();
+            }
+            store.write(current, fingerprint(), indexedAt);
+        } catch (Exception e) {
+            dirty.set(true);
+            log.error("Failed to save the title text index", e);
+        }
+    }
+
+    private TitleTextIndexStore.Snapshot readSnapshot() {
+        try {
+            return store.read(fingerprint(), k1, b, minShouldMatch).orElse(null);
+        } catch (RuntimeException e) {
+            log.warn("Ignoring unreadable title text index snapshot", e);
+            return null;
+        }
+    }
+
+    // Field weights are baked into the postings, so a snapshot built with other weights is rebuilt
+    private long fingerprint() {
+        return Objects.hash(analyzer.fingerprint(), nameWeight, authorWeight, tagWeight);
+    }
+
+    private void forEachTitleIdPage(Consumer<List<UUID>> action) {
+        UUID afterTitleId = NIL;
+        List<UUID> page;
+        do {
+            page = titleRepository.findIdsAfter(afterTitleId, Limit.of(pageSize));
+            action.accept(page);
+            if (!page.isEmpty()) {
+                afterTitleId = page.getLast();
+            }
+        } while (!page.isEmpty());
+    }
+
+    public void updateTitles(Collection<UUID> titleIds) {
+        var ids = List.copyOf(titleIds);
+        for (int from = 0; from < ids.size(); from += pageSize) {
+            var batch = ids.subList(from, Math.min(from + pageSize, ids.size()));
+            var found = titleRepository.findByIdInOrderById(batch);
+            found.forEach(this::index);
+            if (found.size() < batch.size()) {
+                var foundIds = found.stream().map(Title::getId).toList();
+                batch.stream().filter(id -> !foundIds.contains(id)).forEach(this::removeTitle);
+            }
+        }
+    }
+
+    private void index(Title title) {
+        var terms = new Object2FloatOpenHashMap<String>();
+        float length = analyzer.addTerms(title.getName(), nameWeight, terms);
+        for (var titleAuthor : title.getAuthors()) {
+            length += analyzer.addTerms(titleAuthor.getAuthor().getName(), authorWeight, terms);
+        }
+        for (Tag tag : title.getTags()) {
+            length += analyzer.addTerms(tag.getName(), tagWeight, terms);
+        }
+        index.put(title.getId(), title.getName(), title.getSlug(), terms, length);
+        dirty.set(true);
+    }
+
+}
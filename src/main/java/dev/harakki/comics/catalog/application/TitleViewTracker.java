@@ -0,0 +1,150 @@
+package dev.harakki.comics.catalog.application;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import dev.harakki.comics.catalog.api.TitleViewsRecordedEvent;
+import dev.harakki.comics.catalog.api.TitleViewsRecordedEvent.TitleView;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.jspecify.annotations.Nullable;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Coalesces title views in memory into buckets of title, viewer and minute, and publishes them as one
+ * {@link TitleViewsRecordedEvent} per batch on every flush, so reading a title does no write of its own.
+ * Views still pending are lost if the node dies, which is accepted for a popularity signal. When too many
+ * buckets are pending, views of new buckets are dropped and counted rather than growing without bound.
+ */
+@Slf4j
+@Component
+public class TitleViewTracker {
+
+    /**
+     * How repeat views of a title by the same signed-in user are counted. Anonymous views always count.
+     */
+    public enum Dedupe {
+        // Every view counts
+        NONE,
+        // Once per minute bucket
+        BUCKET,
+        // Once per dedupe window
+        WINDOW
+    }
+
+    private record Bucket(UUID titleId, @Nullable UUID userId, long minute) {
+    }
+
+    private record Viewer(UUID titleId, UUID userId, long minute) {
+    }
+
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final Map<Bucket, Integer> pending = new ConcurrentHashMap<>();
+    // Signed-in viewers already counted, kept past a flush so a repeat view in the same bucket or window is not counted again
+    private final Cache<Viewer, Boolean> recentViewers;
+    private final Dedupe dedupe;
+    private final int maxPending;
+    private final int batchSize;
+
+    private final Counter recordedCounter;
+    private final Counter dedupedCounter;
+    private final Counter droppedCounter;
+
+    TitleViewTracker(
+            ApplicationEventPublisher eventPublisher,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${catalog.views.dedupe:BUCKET}") Dedupe dedupe,
+            @Value("${catalog.views.dedupe-window:PT30M}") Duration dedupeWindow,
+            @Value("${catalog.views.max-viewers:100000}") long maxViewers,
+            @Value("${catalog.views.max-pending:100000}") int maxPending,
+            @Value("${catalog.views.batch-size:1000}") int batchSize
+    ) {
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.recentViewers = Caffeine.newBuilder()
+                .maximumSize(maxViewers)
+                .expireAfterWrite(dedupe == Dedupe.WINDOW ? dedupeWindow : Duration.ofMinutes(2))
+                .build();
+        this.dedupe = dedupe;
+        this.maxPending = maxPending;
+        this.batchSize = batchSize;
+
+        Gauge.builder("catalog.views.pending", pending, Map::size)
+                .description("Coalesced title view buckets waiting to be published")
+                .register(meterRegistry);
+        this.recordedCounter = Counter.builder("catalog.views.recorded")
+                .description("Title views counted")
+                .register(meterRegistry);
+        this.dedupedCounter = Counter.builder("catalog.views.deduplicated")
+                .description("Repeat title views not counted")
+                .register(meterRegistry);
+        this.droppedCounter = Counter.builder("catalog.views.dropped")
+                .description("Title views dropped because too many buckets were pending")
+                .register(meterRegistry);
+    }
+
+    public void record(UUID titleId, @Nullable UUID userId) {
+        long minute = Instant.now().getEpochSecond() / 60;
+        var bucket = new Bucket(titleId, userId, minute);
+        if (pending.size() >= maxPending && !pending.containsKey(bucket)) {
+            droppedCounter.increment();
+            return;
+        }
+        if (userId != null && dedupe != Dedupe.NONE) {
+            var viewer = new Viewer(titleId, userId, dedupe == Dedupe.BUCKET ? minute : 0);
+            if (recentViewers.asMap().putIfAbsent(viewer, Boolean.TRUE) != null) {
+                dedupedCounter.increment();
+                return;
+            }
+        }
+        pending.merge(bucket, 1, Integer::sum);
+        recordedCounter.increment();
+    }
+
+    @PreDestroy
+    @Scheduled(fixedDelayString = "${catalog.views.flush-interval:PT10S}")
+    public synchronized void flush() {
+        // Each bucket is removed atomically, a view arriving meanwhile starts a new bucket for the next flush
+        var views = new ArrayList<TitleView>();
+        for (var bucket : pending.keySet()) {
+            var count = pending.remove(bucket);
+            if (count != null) {
+                views.add(new TitleView(bucket.titleId(), bucket.userId(), Instant.ofEpochSecond(bucket.minute() * 60), count));
+            }
+        }
+        if (views.isEmpty()) {
+            return;
+        }
+
+        for (int from = 0; from < views.size(); from += batchSize) {
+            var batch = List.copyOf(views.subList(from, Math.min(from + batchSize, views.size())));
+            try {
+                // The publication is stored with the transaction and delivered after it commits
+                transactionTemplate.executeWithoutResult(_ -> eventPublisher.publishEvent(new TitleViewsRecordedEvent(batch)));
+            } catch (Exception e) {
+                log.error("Failed to publish {} title view buckets, keeping them for the next flush", batch.size(), e);
+                batch.forEach(view -> pending.merge(new Bucket(view.titleId(), view.userId(), view.viewedAt().getEpochSecond() / 60),
+                        view.count(), Integer::sum));
+            }
+        }
+        log.debug("Published {} title view buckets", views.size());
+    }
+
+}
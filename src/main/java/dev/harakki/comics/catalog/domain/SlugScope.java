@@ -0,0 +1,20 @@
+package dev.harakki.comics.catalog.domain;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Kind of entity a slug identifies, each kind has its own slugs.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum SlugScope {
+
+    TITLE("titles"),
+    AUTHOR("authors"),
+    PUBLISHER("publishers"),
+    TAG("tags");
+
+    private final String table;
+
+}
@@ -6,6 +6,9 @@ import jakarta.persistence.Id;
 import jakarta.persistence.Table;
 import lombok.*;
 
+/**
+ * Reservation of a slug, keyed by its scope and the slug, with the last suffix handed out for it.
+ */
 @Getter
 @Setter
 @Entity
@@ -0,0 +1,7 @@
+package dev.harakki.comics.catalog.domain;
+
+public enum SuggestionType {
+    TITLE,
+    AUTHOR,
+    TAG
+}
@@ -24,6 +24,7 @@ import java.util.*;
 @ToString(onlyExplicitlyIncluded = true)
 @Table(name = "titles", indexes = {
         @Index(name = "idx_title_created_at", columnList = "createdAt"),
+        @Index(name = "idx_title_name", columnList = "name, id"),
         @Index(name = "idx_title_release_year", columnList = "releaseYear"),
         @Index(name = "idx_title_status", columnList = "titleStatus"),
         @Index(name = "idx_title_publisher", columnList = "publisher_id")
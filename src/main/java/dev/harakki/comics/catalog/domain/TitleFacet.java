@@ -0,0 +1,10 @@
+package dev.harakki.comics.catalog.domain;
+
+public enum TitleFacet {
+    TAG,
+    TYPE,
+    STATUS,
+    CONTENT_RATING,
+    COUNTRY,
+    RELEASE_YEAR
+}
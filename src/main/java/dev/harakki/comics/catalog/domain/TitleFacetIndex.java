@@ -0,0 +1,234 @@
+package dev.harakki.comics.catalog.domain;
+
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import org.jspecify.annotations.Nullable;
+import org.roaringbitmap.FastAggregation;
+import org.roaringbitmap.RoaringBitmap;
+
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+
+/**
+ * In-memory columnar index of title facets: one compressed bitmap of title numbers per facet value.
+ * <p>
+ * A query ORs the selected values of each facet and ANDs the facets together. Counts of a facet are taken
+ * against the titles matching every other facet's selection, so a selected value does not hide the
+ * alternatives of its own facet. Titles get dense numbers that are reused after removal, which keeps the
+ * bitmaps compact. Queries share a read lock, changes take the write lock.
+ */
+public final class TitleFacetIndex {
+
+    public record ValueCount(String value, long count) {
+    }
+
+    /**
+     * @param total  number of titles matching the selection
+     * @param counts per facet, its values by descending count
+     */
+    public record Result(long total, Map<TitleFacet, List<ValueCount>> counts) {
+    }
+
+    private static final Comparator<ValueCount> BY_COUNT = Comparator.comparingLong(ValueCount::count).reversed()
+            .thenComparing(ValueCount::value);
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<TitleFacet, Map<String, RoaringBitmap>> bitmaps = new EnumMap<>(TitleFacet.class);
+    private final RoaringBitmap live = new RoaringBitmap();
+    private final Object2IntOpenHashMap<UUID> numbers = new Object2IntOpenHashMap<>();
+    private final List<Map<TitleFacet, Set<String>>> values = new ArrayList<>();
+    private final IntArrayList free = new IntArrayList();
+
+    public TitleFacetIndex() {
+        for (var facet : TitleFacet.values()) {
+            bitmaps.put(facet, new HashMap<>());
+        }
+        numbers.defaultReturnValue(-1);
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return numbers.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public Set<UUID> ids() {
+        lock.readLock().lock();
+        try {
+            return new HashSet<>(numbers.keySet());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Adds a title or replaces its previous facet values.
+     */
+    public void put(UUID titleId, Map<TitleFacet, Set<String>> facetValues) {
+        lock.writeLock().lock();
+        try {
+            int number = numbers.getInt(titleId);
+            if (number < 0) {
+                number = free.isEmpty() ? values.size() : free.popInt();
+                if (number == values.size()) {
+                    values.add(null);
+                }
+                numbers.put(titleId, number);
+                live.add(number);
+            } else {
+                clear(number);
+            }
+            var copy = new EnumMap<TitleFacet, Set<String>>(TitleFacet.class);
+            for (var facet : facetValues.entrySet()) {
+                if (facet.getValue().isEmpty()) {
+                    continue;
+                }
+                copy.put(facet.getKey(), Set.copyOf(facet.getValue()));
+                for (String value : facet.getValue()) {
+                    bitmaps.get(facet.getKey()).computeIfAbsent(value, _ -> new RoaringBitmap()).add(number);
+                }
+            }
+            values.set(number, copy);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @return whether the title was in the index
+     */
+    public boolean remove(UUID titleId) {
+        lock.writeLock().lock();
+        try {
+            int number = numbers.removeInt(titleId);
+            if (number < 0) {
+                return false;
+            }
+            clear(number);
+            values.set(number, null);
+            live.remove(number);
+            free.add(number);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Recompresses the bitmaps into runs where that is smaller, worth doing after a bulk load.
+     */
+    public void optimize() {
+        lock.writeLock().lock();
+        try {
+            live.runOptimize();
+            bitmaps.values().forEach(facet -> facet.values().forEach(RoaringBitmap::runOptimize));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Counts the titles matching the selection and, for every facet, the matches of each of its values.
+     *
+     * @param selection selected values by facet, facets without values are not filtered
+     * @param maxValues most frequent values returned per facet
+     */
+    public Result count(Map<TitleFacet, Set<String>> selection, int maxValues) {
+        return count(selection, Map.of(), null, maxValues);
+    }
+
+    /**
+     * Same as {@link #count(Map, int)}, among the titles passing the filters only. Unlike a selection, a filter
+     * also narrows the counts of its own facet.
+     *
+     * @param filters  per facet, the test a title needs one of its values to pass
+     * @param titleIds titles to count among, null for all of them
+     */
+    public Result count(Map<TitleFacet, Set<String>> selection, Map<TitleFacet, Predicate<String>> filters,
+                        @Nullable Collection<UUID> titleIds, int maxValues) {
+        lock.readLock().lock();
+        try {
+            var universe = live.clone();
+            for (var filter : filters.entrySet()) {
+                universe.and(FastAggregation.or(bitmaps.get(filter.getKey()).entrySet().stream()
+                        .filter(value -> filter.getValue().test(value.getKey()))
+                        .map(Map.Entry::getValue)
+                        .iterator()));
+            }
+            if (titleIds != null) {
+                var given = new RoaringBitmap();
+                for (var titleId : titleIds) {
+                    int number = numbers.getInt(titleId);
+                    if (number >= 0) {
+                        given.add(number);
+                    }
+                }
+                universe.and(given);
+            }
+
+            // Titles having any of the selected values, per filtered facet
+            var selected = new EnumMap<TitleFacet, RoaringBitmap>(TitleFacet.class);
+            for (var facet : selection.entrySet()) {
+                if (facet.getValue() == null || facet.getValue().isEmpty()) {
+                    continue;
+                }
+                var facetBitmaps = bitmaps.get(facet.getKey());
+                selected.put(facet.getKey(), FastAggregation.or(facet.getValue().stream()
+                        .map(facetBitmaps::get)
+                        .filter(Objects::nonNull)
+                        .iterator()));
+            }
+            var matching = intersect(universe, selected, null);
+
+            var counts = new EnumMap<TitleFacet, List<ValueCount>>(TitleFacet.class);
+            for (var facet : TitleFacet.values()) {
+                var base = selected.containsKey(facet) ? intersect(universe, selected, facet) : matching;
+                var facetCounts = new ArrayList<ValueCount>();
+                for (var value : bitmaps.get(facet).entrySet()) {
+                    long count = RoaringBitmap.andCardinality(base, value.getValue());
+                    if (count > 0) {
+                        facetCounts.add(new ValueCount(value.getKey(), count));
+                    }
+                }
+                facetCounts.sort(BY_COUNT);
+                counts.put(facet, List.copyOf(facetCounts.subList(0, Math.min(maxValues, facetCounts.size()))));
+            }
+            return new Result(matching.getLongCardinality(), counts);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Titles of the universe matching every selected facet except the excluded one
+    private RoaringBitmap intersect(RoaringBitmap universe, Map<TitleFacet, RoaringBitmap> selected, TitleFacet excluded) {
+        var result = universe.clone();
+        for (var facet : selected.entrySet()) {
+            if (facet.getKey() != excluded) {
+                result.and(facet.getValue());
+            }
+        }
+        return result;
+    }
+
+    private void clear(int number) {
+        var previous = values.get(number);
+        if (previous == null) {
+            return;
+        }
+        for (var facet : previous.entrySet()) {
+            var facetBitmaps = bitmaps.get(facet.getKey());
+            for (String value : facet.getValue()) {
+                var bitmap = facetBitmaps.get(value);
+                bitmap.remove(number);
+                if (bitmap.isEmpty()) {
+                    facetBitmaps.remove(value);
+                }
+            }
+        }
+    }
+
+}
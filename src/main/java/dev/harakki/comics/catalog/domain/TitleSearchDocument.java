@@ -0,0 +1,32 @@
+package dev.harakki.comics.catalog.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Weighted full-text search document of a title. The table and its GIN index are created by
+ * {@code db/schema/title-search.sql}, rows are written by native upserts only.
+ */
+@Getter
+@Entity
+@NoArgsConstructor
+@Table(name = "title_search_documents")
+public class TitleSearchDocument {
+
+    @Id
+    private UUID titleId;
+
+    @Column(columnDefinition = "tsvector", nullable = false, insertable = false, updatable = false)
+    private String document;
+
+    @Column(nullable = false, insertable = false, updatable = false)
+    private Instant updatedAt;
+
+}
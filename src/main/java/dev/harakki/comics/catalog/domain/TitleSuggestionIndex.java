@@ -0,0 +1,342 @@
+package dev.harakki.comics.catalog.domain;
+
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Autocomplete over title, author and tag names as a radix trie of normalized keys.
+ * <p>
+ * Edges carry whole runs of characters, and every node knows the best weight in its subtree, so the top
+ * suggestions under a prefix are found best-first without visiting the rest of the subtree. A query also
+ * matches keys that start with something one edit away from it (an insertion, deletion, substitution or
+ * swap of adjacent characters); such matches are ranked with their weight multiplied by a penalty.
+ * Suggestions share a read lock, changes take the write lock.
+ */
+public final class TitleSuggestionIndex {
+
+    public record Suggestion(UUID id, SuggestionType type, String text, String slug, float weight) {
+    }
+
+    private static final Node[] NO_CHILDREN = new Node[0];
+    private static final Suggestion[] NO_VALUES = new Suggestion[0];
+
+    private static final class Node {
+        private char[] label;
+        private Node[] children = NO_CHILDREN;
+        private Suggestion[] values = NO_VALUES;
+        // Best weight of the values in this subtree
+        private float max = Float.NEGATIVE_INFINITY;
+
+        private Node(char[] label) {
+            this.label = label;
+        }
+    }
+
+    private record Entry(Suggestion suggestion, char[][] keys) {
+    }
+
+    // A subtree or a single value reached from a match, ordered by the best score it can give
+    private record Candidate(Node node, Suggestion value, float score, float factor) {
+    }
+
+    private final float fuzzyPenalty;
+    private final int fuzzyMinLength;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Node root = new Node(new char[0]);
+    private final Map<UUID, Entry> entries = new HashMap<>();
+
+    /**
+     * @param fuzzyPenalty   weight multiplier of matches one edit away from the query
+     * @param fuzzyMinLength shortest query matched with an edit, shorter ones only match exactly
+     */
+    public TitleSuggestionIndex(float fuzzyPenalty, int fuzzyMinLength) {
+        this.fuzzyPenalty = fuzzyPenalty;
+        this.fuzzyMinLength = Math.max(fuzzyMinLength, 2);
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public Set<UUID> ids() {
+        lock.readLock().lock();
+        try {
+            return new HashSet<>(entries.keySet());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public Optional<Suggestion> get(UUID id) {
+        lock.readLock().lock();
+        try {
+            return Optional.ofNullable(entries.get(id)).map(Entry::suggestion);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Adds a suggestion under the given normalized keys, replacing its previous version.
+     */
+    public void put(Suggestion suggestion, Collection<String> keys) {
+        var distinct = keys.stream()
+                .filter(key -> !key.isEmpty())
+                .distinct()
+                .map(String::toCharArray)
+                .toArray(char[][]::new);
+        lock.writeLock().lock();
+        try {
+            removeLocked(suggestion.id());
+            for (char[] key : distinct) {
+                insert(root, key, 0, suggestion);
+            }
+            entries.put(suggestion.id(), new Entry(suggestion, distinct));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @return whether the suggestion was in the index
+     */
+    public boolean remove(UUID id) {
+        lock.writeLock().lock();
+        try {
+            return removeLocked(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Best suggestions whose keys start with the normalized query or with something one edit away from it,
+     * by descending weight; each suggestion is returned once.
+     */
+    public List<Suggestion> suggest(String query, int limit) {
+        if (query.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        char[] q = query.toCharArray();
+        var frontier = new PriorityQueue<Candidate>(Comparator.comparingDouble(Candidate::score).reversed());
+        lock.readLock().lock();
+        try {
+            var exact = locate(q);
+            if (exact != null) {
+                frontier.add(new Candidate(exact, null, exact.max, 1));
+            }
+            if (q.length >= fuzzyMinLength) {
+                int[] row = new int[q.length + 1];
+                for (int j = 0; j <= q.length; j++) {
+                    row[j] = j;
+                }
+                collectFuzzy(root, q, row, null, '\0', frontier);
+            }
+
+            var seen = new HashSet<UUID>();
+            var suggestions = new ArrayList<Suggestion>(limit);
+            while (!frontier.isEmpty() && suggestions.size() < limit) {
+                var candidate = frontier.poll();
+                if (candidate.value() != null) {
+                    if (seen.add(candidate.value().id())) {
+                        suggestions.add(candidate.value());
+                    }
+                    continue;
+                }
+                float factor = candidate.factor();
+                for (var value : candidate.node().values) {
+                    frontier.add(new Candidate(null, value, value.weight() * factor, factor));
+                }
+                for (var child : candidate.node().children) {
+                    frontier.add(new Candidate(child, null, child.max * factor, factor));
+                }
+            }
+            return suggestions;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Node whose subtree holds exactly the keys starting with the query
+    private Node locate(char[] q) {
+        var node = root;
+        int pos = 0;
+        while (pos < q.length) {
+            int i = childIndex(node, q[pos]);
+            if (i < 0) {
+                return null;
+            }
+            var child = node.children[i];
+            int common = commonPrefix(child.label, q, pos);
+            if (pos + common == q.length) {
+                return child;
+            }
+            if (common < child.label.length) {
+                return null;
+            }
+            node = child;
+            pos += common;
+        }
+        return node;
+    }
+
+    /**
+     * Walks the trie with a row of the optimal string alignment distance between the path so far and every
+     * prefix of the query. A path one edit away from the whole query is a match for its subtree, a path more
+     * than one edit away from every query prefix cannot lead to one. Exact matches are left to {@link #locate}.
+     */
+    private void collectFuzzy(Node node, char[] q, int[] row, int[] previousRow, char previous, Queue<Candidate> frontier) {
+        int m = q.length;
+        for (var child : node.children) {
+            int[] r = row;
+            int[] p = previousRow;
+            char pc = previous;
+            boolean descend = true;
+            for (char c : child.label) {
+                int[] next = new int[m + 1];
+                next[0] = r[0] + 1;
+                int min = next[0];
+                for (int j = 1; j <= m; j++) {
+                    int distance = Math.min(Math.min(r[j] + 1, next[j - 1] + 1), r[j - 1] + (q[j - 1] == c ? 0 : 1));
+                    if (p != null && j > 1 && q[j - 1] == pc && q[j - 2] == c) {
+                        distance = Math.min(distance, p[j - 2] + 1);
+                    }
+                    next[j] = distance;
+                    min = Math.min(min, distance);
+                }
+                p = r;
+                r = next;
+                pc = c;
+                if (r[m] <= 1) {
+                    if (r[m] == 1) {
+                        frontier.add(new Candidate(child, null, child.max * fuzzyPenalty, fuzzyPenalty));
+                    }
+                    descend = false;
+                    break;
+                }
+                if (min > 1) {
+                    descend = false;
+                    break;
+                }
+            }
+            if (descend) {
+                collectFuzzy(child, q, r, p, pc, frontier);
+            }
+        }
+    }
+
+    private boolean removeLocked(UUID id) {
+        var entry = entries.remove(id);
+        if (entry == null) {
+            return false;
+        }
+        for (char[] key : entry.keys()) {
+            delete(root, key, 0, id);
+        }
+        return true;
+    }
+
+    private static void insert(Node node, char[] key, int pos, Suggestion suggestion) {
+        node.max = Math.max(node.max, suggestion.weight());
+        if (pos == key.length) {
+            node.values = Arrays.copyOf(node.values, node.values.length + 1);
+            node.values[node.values.length - 1] = suggestion;
+            return;
+        }
+        int i = childIndex(node, key[pos]);
+        if (i < 0) {
+            var leaf = new Node(Arrays.copyOfRange(key, pos, key.length));
+            leaf.values = new Suggestion[]{suggestion};
+            leaf.max = suggestion.weight();
+            int at = -i - 1;
+            var children = new Node[node.children.length + 1];
+            System.arraycopy(node.children, 0, children, 0, at);
+            children[at] = leaf;
+            System.arraycopy(node.children, at, children, at + 1, node.children.length - at);
+            node.children = children;
+            return;
+        }
+        var child = node.children[i];
+        int common = commonPrefix(child.label, key, pos);
+        if (common < child.label.length) {
+            var split = new Node(Arrays.copyOf(child.label, common));
+            child.label = Arrays.copyOfRange(child.label, common, child.label.length);
+            split.children = new Node[]{child};
+            split.max = child.max;
+            node.children[i] = split;
+            child = split;
+        }
+        insert(child, key, pos + common, suggestion);
+    }
+
+    private static void delete(Node node, char[] key, int pos, UUID id) {
+        if (pos == key.length) {
+            node.values = Arrays.stream(node.values)
+                    .filter(value -> !value.id().equals(id))
+                    .toArray(Suggestion[]::new);
+        } else {
+            int i = childIndex(node, key[pos]);
+            if (i >= 0) {
+                var child = node.children[i];
+                int common = commonPrefix(child.label, key, pos);
+                if (common == child.label.length) {
+                    delete(child, key, pos + common, id);
+                    if (child.values.length == 0 && child.children.length == 0) {
+                        var children = new Node[node.children.length - 1];
+                        System.arraycopy(node.children, 0, children, 0, i);
+                        System.arraycopy(node.children, i + 1, children, i, children.length - i);
+                        node.children = children;
+                    } else if (child.values.length == 0 && child.children.length == 1) {
+                        // Keep the trie compressed: a node without values and with a single child is merged into it
+                        var only = child.children[0];
+                        var label = Arrays.copyOf(child.label, child.label.length + only.label.length);
+                        System.arraycopy(only.label, 0, label, child.label.length, only.label.length);
+                        only.label = label;
+                        node.children[i] = only;
+                    }
+                }
+            }
+        }
+        float max = Float.NEGATIVE_INFINITY;
+        for (var value : node.values) {
+            max = Math.max(max, value.weight());
+        }
+        for (var child : node.children) {
+            max = Math.max(max, child.max);
+        }
+        node.max = max;
+    }
+
+    // Index of the child whose label starts with c, or (-(insertion point) - 1)
+    private static int childIndex(Node node, char c) {
+        int low = 0;
+        int high = node.children.length - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            char first = node.children[mid].label[0];
+            if (first < c) {
+                low = mid + 1;
+            } else if (first > c) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -(low + 1);
+    }
+
+    private static int commonPrefix(char[] label, char[] key, int pos) {
+        int n = Math.min(label.length, key.length - pos);
+        int i = 0;
+        while (i < n && label[i] == key[pos + i]) {
+            i++;
+        }
+        return i;
+    }
+
+}
@@ -0,0 +1,105 @@
+package dev.harakki.comics.catalog.domain;
+
+import com.ibm.icu.text.Transliterator;
+import it.unimi.dsi.fastutil.objects.Object2FloatMap;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+
+/**
+ * Turns names into terms of the {@link TitleTextIndex}.
+ * <p>
+ * Text is NFKC-normalized, transliterated from any script to Latin, folded to ASCII and lower-cased, so
+ * "Наруто", "ナルト" and "Naruto" all become {@code naruto}. Words are then split into character n-grams
+ * padded with a space on both sides ({@code " na", "nar", ..., "to "}), which matches partial words and
+ * small spelling differences between transliterations. Han characters transliterate by their Mandarin
+ * reading, so kanji-only names match pinyin rather than romaji.
+ */
+public final class TitleTextAnalyzer {
+
+    private static final String TRANSFORM = "NFKC; Any-Latin; Latin-ASCII; Lower";
+    private static final Pattern NON_WORD = Pattern.compile("[^a-z0-9]+");
+
+    // Transliterator instances are not safe for concurrent use
+    private static final ThreadLocal<Transliterator> TRANSLITERATOR =
+            ThreadLocal.withInitial(() -> Transliterator.getInstance(TRANSFORM));
+    private final int gramSize;
+
+    public TitleTextAnalyzer(int gramSize) {
+        if (gramSize < 2) {
+            throw new IllegalArgumentException("N-gram size must be at least 2");
+        }
+        this.gramSize = gramSize;
+    }
+
+    /**
+     * Identifies the analysis, so an index built with different settings is not reused.
+     */
+    public long fingerprint() {
+        return Objects.hash(TRANSFORM, gramSize);
+    }
+
+    public static String normalize(String text) {
+        return TRANSLITERATOR.get().transliterate(text);
+    }
+
+    /**
+     * Normalized words of a text separated by single spaces, e.g. {@code "Chainsaw Man!"} becomes {@code "chainsaw man"}.
+     */
+    public static String phrase(String text) {
+        if (text == null || text.isBlank()) {
+            return "";
+        }
+        return NON_WORD.matcher(normalize(text)).replaceAll(" ").strip();
+    }
+
+    /**
+     * Distinct terms of a query, in order of appearance.
+     */
+    public List<String> queryTerms(String text) {
+        var terms = new LinkedHashSet<String>();
+        forEachTerm(text, terms::add);
+        return new ArrayList<>(terms);
+    }
+
+    /**
+     * Adds the terms of a document field, each occurrence counting {@code weight}.
+     *
+     * @return the weighted number of terms added, the field's contribution to the document length
+     */
+    public float addTerms(String text, float weight, Object2FloatMap<String> termWeights) {
+        if (text == null || text.isBlank()) {
+            return 0;
+        }
+        int[] count = {0};
+        forEachTerm(text, term -> {
+            termWeights.mergeFloat(term, weight, Float::sum);
+            count[0]++;
+        });
+        return count[0] * weight;
+    }
+
+    private void forEachTerm(String text, Consumer<String> action) {
+        if (text == null || text.isBlank()) {
+            return;
+        }
+        for (String word : NON_WORD.split(normalize(text))) {
+            if (word.isEmpty()) {
+                continue;
+            }
+            String padded = " " + word + " ";
+            if (padded.length() <= gramSize) {
+                action.accept(padded);
+                continue;
+            }
+            for (int i = 0; i + gramSize <= padded.length(); i++) {
+                action.accept(padded.substring(i, i + gramSize));
+            }
+        }
+    }
+
+}
@@ -0,0 +1,488 @@
+package dev.harakki.comics.catalog.domain;
+
+import it.unimi.dsi.fastutil.objects.Object2FloatMap;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.LongFunction;
+
+/**
+ * In-memory inverted index of titles scored with BM25.
+ * <p>
+ * Titles get dense document numbers in insertion order, so every posting list is sorted by document and
+ * is stored as one packed int per posting: the gap to the previous document in the upper 24 bits and the
+ * field-weighted term frequency, in quarters, in the lower 8. A query accumulates scores into a dense array
+ * while walking the posting lists of its terms and keeps documents that match enough of them.
+ * <p>
+ * Removed and replaced titles stay in the posting lists as tombstones that are skipped while scoring, and
+ * still count towards document frequencies; {@link #compact()} rewrites the lists without them. Searches
+ * share a read lock, changes take the write lock.
+ */
+public final class TitleTextIndex {
+
+    public record Hit(UUID titleId, String name, String slug, float score) {
+    }
+
+    private static final int MAGIC = 0x58495454; // "TTIX"
+    private static final int VERSION = 1;
+    private static final int TF_BITS = 8;
+    private static final int TF_MASK = (1 << TF_BITS) - 1;
+    private static final float TF_SCALE = 4;
+    private static final int MAX_DOCUMENTS = 1 << (Integer.SIZE - TF_BITS);
+    private static final ValueLayout.OfInt INT = ValueLayout.JAVA_INT_UNALIGNED.withOrder(ByteOrder.LITTLE_ENDIAN);
+    private static final ValueLayout.OfLong LONG = ValueLayout.JAVA_LONG_UNALIGNED.withOrder(ByteOrder.LITTLE_ENDIAN);
+    private static final ValueLayout.OfFloat FLOAT = ValueLayout.JAVA_FLOAT_UNALIGNED.withOrder(ByteOrder.LITTLE_ENDIAN);
+
+    private final float k1;
+    private final float b;
+    private final float minShouldMatch;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private UUID[] ids = new UUID[16];
+    private String[] names = new String[16];
+    private String[] slugs = new String[16];
+    private float[] lengths = new float[16];
+    private final BitSet deleted = new BitSet();
+    private final Object2IntOpenHashMap<UUID> liveDocuments = new Object2IntOpenHashMap<>();
+    private final Map<String, Postings> postings = new HashMap<>();
+    private int documentCount;
+    private double liveLength;
+
+    /**
+     * @param k1             term frequency saturation
+     * @param b              document length normalization
+     * @param minShouldMatch share of the query terms a title has to contain to be returned
+     */
+    public TitleTextIndex(float k1, float b, float minShouldMatch) {
+        this.k1 = k1;
+        this.b = b;
+        this.minShouldMatch = minShouldMatch;
+        liveDocuments.defaultReturnValue(-1);
+    }
+
+    /**
+     * Number of searchable titles.
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return liveDocuments.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Number of removed or replaced titles still kept in the posting lists.
+     */
+    public int tombstones() {
+        lock.readLock().lock();
+        try {
+            return documentCount - liveDocuments.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public Set<UUID> ids() {
+        lock.readLock().lock();
+        try {
+            return new HashSet<>(liveDocuments.keySet());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Adds a title or replaces its previous version.
+     *
+     * @param termWeights field-weighted frequency of every term of the title
+     * @param length      field-weighted number of terms
+     */
+    public void put(UUID titleId, String name, String slug, Object2FloatMap<String> termWeights, float length) {
+        lock.writeLock().lock();
+        try {
+            if (documentCount == MAX_DOCUMENTS) {
+                compactLocked();
+                if (documentCount == MAX_DOCUMENTS) {
+                    throw new IllegalStateException("Title text index is full");
+                }
+            }
+            removeLocked(titleId);
+            int document = allocate(titleId, name, slug, length);
+            for (var term : termWeights.object2FloatEntrySet()) {
+                postings.computeIfAbsent(term.getKey(), _ -> new Postings())
+                        .add(document, quantize(term.getFloatValue()));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @return whether the title was in the index
+     */
+    public boolean remove(UUID titleId) {
+        lock.writeLock().lock();
+        try {
+            return removeLocked(titleId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Best titles for the distinct terms of a query, by descending BM25 score.
+     */
+    public List<Hit> search(List<String> queryTerms, int limit) {
+        if (queryTerms.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            int live = liveDocuments.size();
+            if (live == 0) {
+                return List.of();
+            }
+            double averageLength = Math.max(liveLength / live, 1e-6);
+            float[] scores = new float[documentCount];
+            byte[] matched = new byte[documentCount];
+
+            for (String term : queryTerms) {
+                var list = postings.get(term);
+                if (list == null) {
+                    continue;
+                }
+                double idf = Math.log(1 + (live - list.count + 0.5) / (list.count + 0.5));
+                int document = 0;
+                for (int i = 0; i < list.size; i++) {
+                    int posting = list.data[i];
+                    document += posting >>> TF_BITS;
+                    if (deleted.get(document)) {
+                        continue;
+                    }
+                    float tf = (posting & TF_MASK) / TF_SCALE;
+                    double norm = k1 * (1 - b + b * lengths[document] / averageLength);
+                    scores[document] += (float) (idf * tf * (k1 + 1) / (tf + norm));
+                    if (matched[document] < Byte.MAX_VALUE) {
+                        matched[document]++;
+                    }
+                }
+            }
+
+            int required = Math.min(Byte.MAX_VALUE, Math.max(1, (int) Math.ceil(minShouldMatch * queryTerms.size())));
+            var best = new PriorityQueue<Integer>(limit + 1, Comparator.comparingDouble(document -> scores[document]));
+            for (int document = 0; document < documentCount; document++) {
+                if (matched[document] >= required) {
+                    best.add(document);
+                    if (best.size() > limit) {
+                        best.poll();
+                    }
+                }
+            }
+
+            var hits = new ArrayList<Hit>(best.size());
+            while (!best.isEmpty()) {
+                int document = best.poll();
+                hits.add(new Hit(ids[document], names[document], slugs[document], scores[document]));
+            }
+            return hits.reversed();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Rewrites the posting lists without removed and replaced titles and renumbers the live ones.
+     */
+    public void compact() {
+        lock.writeLock().lock();
+        try {
+            compactLocked();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Writes the index, little-endian:
+     * <pre>
+     * header     magic "TTIX", version, document count, term count (int each)
+     * documents  id (most then least significant bits), length, removed flag, name, slug
+     * postings   term, posting count, document frequency, last document, packed postings
+     * </pre>
+     * Strings are written as their UTF-8 byte count followed by the bytes. Changes wait until it is written.
+     *
+     * @param target supplies a segment of the given number of bytes to write to
+     */
+    public void writeTo(LongFunction<MemorySegment> target) {
+        lock.readLock().lock();
+        try {
+            long size = 4L * Integer.BYTES;
+            for (int document = 0; document < documentCount; document++) {
+                size += 2L * Long.BYTES + Float.BYTES + 1 + stringSize(names[document]) + stringSize(slugs[document]);
+            }
+            for (var entry : postings.entrySet()) {
+                size += stringSize(entry.getKey()) + 3L * Integer.BYTES + (long) Integer.BYTES * entry.getValue().size;
+            }
+
+            var segment = target.apply(size);
+            var out = new Cursor(segment);
+            out.putInt(MAGIC);
+            out.putInt(VERSION);
+            out.putInt(documentCount);
+            out.putInt(postings.size());
+            for (int document = 0; document < documentCount; document++) {
+                out.putLong(ids[document].getMostSignificantBits());
+                out.putLong(ids[document].getLeastSignificantBits());
+                out.putFloat(lengths[document]);
+                out.putByte(deleted.get(document) ? (byte) 1 : 0);
+                out.putString(names[document]);
+                out.putString(slugs[document]);
+            }
+            for (var entry : postings.entrySet()) {
+                var list = entry.getValue();
+                out.putString(entry.getKey());
+                out.putInt(list.size);
+                out.putInt(list.count);
+                out.putInt(list.lastDocument);
+                MemorySegment.copy(list.data, 0, segment, INT, out.offset, list.size);
+                out.offset += (long) Integer.BYTES * list.size;
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Reads an index written by {@link #writeTo}.
+     *
+     * @throws IllegalStateException if the segment does not hold an index of this version
+     */
+    public static TitleTextIndex readFrom(MemorySegment segment, float k1, float b, float minShouldMatch) {
+        var in = new Cursor(segment);
+        if (in.getInt() != MAGIC || in.getInt() != VERSION) {
+            throw new IllegalStateException("Not a title text index of version " + VERSION);
+        }
+        var index = new TitleTextIndex(k1, b, minShouldMatch);
+        int count = in.getInt();
+        int terms = in.getInt();
+        index.ensureCapacity(count);
+        for (int document = 0; document < count; document++) {
+            var id = new UUID(in.getLong(), in.getLong());
+            index.ids[document] = id;
+            index.lengths[document] = in.getFloat();
+            if (in.getByte() != 0) {
+                index.deleted.set(document);
+            } else {
+                index.liveDocuments.put(id, document);
+                index.liveLength += index.lengths[document];
+            }
+            index.names[document] = in.getString();
+            index.slugs[document] = in.getString();
+        }
+        index.documentCount = count;
+        for (int t = 0; t < terms; t++) {
+            String term = in.getString();
+            var list = new Postings();
+            list.size = in.getInt();
+            list.count = in.getInt();
+            list.lastDocument = in.getInt();
+            list.data = new int[Math.max(4, list.size)];
+            MemorySegment.copy(segment, INT, in.offset, list.data, 0, list.size);
+            in.offset += (long) Integer.BYTES * list.size;
+            index.postings.put(term, list);
+        }
+        return index;
+    }
+
+    private boolean removeLocked(UUID titleId) {
+        int document = liveDocuments.removeInt(titleId);
+        if (document < 0) {
+            return false;
+        }
+        deleted.set(document);
+        liveLength -= lengths[document];
+        return true;
+    }
+
+    private int allocate(UUID titleId, String name, String slug, float length) {
+        ensureCapacity(documentCount + 1);
+        int document = documentCount++;
+        ids[document] = titleId;
+        names[document] = name;
+        slugs[document] = slug;
+        lengths[document] = length;
+        liveDocuments.put(titleId, document);
+        liveLength += length;
+        return document;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= ids.length) {
+            return;
+        }
+        int newCapacity = Math.max(capacity, ids.length * 2);
+        ids = Arrays.copyOf(ids, newCapacity);
+        names = Arrays.copyOf(names, newCapacity);
+        slugs = Arrays.copyOf(slugs, newCapacity);
+        lengths = Arrays.copyOf(lengths, newCapacity);
+    }
+
+    private void compactLocked() {
+        if (documentCount == liveDocuments.size()) {
+            return;
+        }
+        int[] renumbered = new int[documentCount];
+        int live = 0;
+        for (int document = 0; document < documentCount; document++) {
+            if (deleted.get(document)) {
+                renumbered[document] = -1;
+                continue;
+            }
+            renumbered[document] = live;
+            ids[live] = ids[document];
+            names[live] = names[document];
+            slugs[live] = slugs[document];
+            lengths[live] = lengths[document];
+            liveDocuments.put(ids[live], live);
+            live++;
+        }
+        Arrays.fill(ids, live, documentCount, null);
+        Arrays.fill(names, live, documentCount, null);
+        Arrays.fill(slugs, live, documentCount, null);
+        documentCount = live;
+        deleted.clear();
+
+        var iterator = postings.values().iterator();
+        while (iterator.hasNext()) {
+            var list = iterator.next();
+            list.retain(renumbered);
+            if (list.size == 0) {
+                iterator.remove();
+            }
+        }
+    }
+
+    private static int quantize(float weight) {
+        return Math.clamp(Math.round(weight * TF_SCALE), 1, TF_MASK);
+    }
+
+    private static long stringSize(String value) {
+        return Integer.BYTES + (value == null ? 0 : value.getBytes(StandardCharsets.UTF_8).length);
+    }
+
+    /**
+     * Posting list of one term, packed as described on {@link TitleTextIndex}.
+     */
+    private static final class Postings {
+
+        private int[] data = new int[4];
+        private int size;
+        private int count;
+        private int lastDocument;
+
+        void add(int document, int tf) {
+            if (size == data.length) {
+                data = Arrays.copyOf(data, size * 2);
+            }
+            data[size++] = (document - lastDocument) << TF_BITS | tf;
+            lastDocument = document;
+            count++;
+        }
+
+        void retain(int[] renumbered) {
+            int document = 0;
+            int kept = 0;
+            int last = 0;
+            for (int i = 0; i < size; i++) {
+                document += data[i] >>> TF_BITS;
+                int target = renumbered[document];
+                if (target >= 0) {
+                    data[kept++] = (target - last) << TF_BITS | (data[i] & TF_MASK);
+                    last = target;
+                }
+            }
+            size = kept;
+            count = kept;
+            lastDocument = last;
+        }
+
+    }
+
+    /**
+     * Sequential reads and writes over a segment.
+     */
+    private static final class Cursor {
+
+        private final MemorySegment segment;
+        private long offset;
+
+        Cursor(MemorySegment segment) {
+            this.segment = segment;
+        }
+
+        int getInt() {
+            int value = segment.get(INT, offset);
+            offset += Integer.BYTES;
+            return value;
+        }
+
+        long getLong() {
+            long value = segment.get(LONG, offset);
+            offset += Long.BYTES;
+            return value;
+        }
+
+        float getFloat() {
+            float value = segment.get(FLOAT, offset);
+            offset += Float.BYTES;
+            return value;
+        }
+
+        byte getByte() {
+            return segment.get(ValueLayout.JAVA_BYTE, offset++);
+        }
+
+        String getString() {
+            int length = getInt();
+            var bytes = new byte[length];
+            MemorySegment.copy(segment, ValueLayout.JAVA_BYTE, offset, bytes, 0, length);
+            offset += length;
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        void putInt(int value) {
+            segment.set(INT, offset, value);
+            offset += Integer.BYTES;
+        }
+
+        void putLong(long value) {
+            segment.set(LONG, offset, value);
+            offset += Long.BYTES;
+        }
+
+        void putFloat(float value) {
+            segment.set(FLOAT, offset, value);
+            offset += Float.BYTES;
+        }
+
+        void putByte(byte value) {
+            segment.set(ValueLayout.JAVA_BYTE, offset++, value);
+        }
+
+        void putString(String value) {
+            var bytes = (value == null ? "" : value).getBytes(StandardCharsets.UTF_8);
+            putInt(bytes.length);
+            MemorySegment.copy(bytes, 0, segment, ValueLayout.JAVA_BYTE, offset, bytes.length);
+            offset += bytes.length;
+        }
+
+    }
+
+}
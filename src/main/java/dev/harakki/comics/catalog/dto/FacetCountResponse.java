@@ -0,0 +1,9 @@
+package dev.harakki.comics.catalog.dto;
+
+import java.io.Serializable;
+
+public record FacetCountResponse(
+        String value,
+        long count
+) implements Serializable {
+}
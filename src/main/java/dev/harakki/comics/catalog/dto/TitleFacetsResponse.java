@@ -0,0 +1,17 @@
+package dev.harakki.comics.catalog.dto;
+
+import dev.harakki.comics.catalog.domain.TitleFacet;
+
+import java.io.Serializable;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Number of titles matching the filters and, per facet, the matches of its values, most frequent first.
+ * Counts of a facet ignore that facet's own filter.
+ */
+public record TitleFacetsResponse(
+        long total,
+        Map<TitleFacet, List<FacetCountResponse>> facets
+) implements Serializable {
+}
@@ -0,0 +1,15 @@
+package dev.harakki.comics.catalog.dto;
+
+import java.io.Serializable;
+import java.util.UUID;
+
+/**
+ * Title matched by the text index, with its BM25 score.
+ */
+public record TitleSearchHitResponse(
+        UUID id,
+        String name,
+        String slug,
+        float score
+) implements Serializable {
+}
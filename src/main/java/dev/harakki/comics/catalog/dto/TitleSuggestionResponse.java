@@ -0,0 +1,17 @@
+package dev.harakki.comics.catalog.dto;
+
+import dev.harakki.comics.catalog.domain.SuggestionType;
+
+import java.io.Serializable;
+import java.util.UUID;
+
+/**
+ * Search box completion: a title, author or tag name with the slug to navigate to.
+ */
+public record TitleSuggestionResponse(
+        UUID id,
+        SuggestionType type,
+        String text,
+        String slug
+) implements Serializable {
+}
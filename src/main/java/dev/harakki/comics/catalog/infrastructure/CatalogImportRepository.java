@@ -0,0 +1,145 @@
+package dev.harakki.comics.catalog.infrastructure;
+
+import dev.harakki.comics.catalog.domain.Author;
+import dev.harakki.comics.catalog.domain.Tag;
+import dev.harakki.comics.catalog.domain.Title;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.*;
+
+/**
+ * Batched inserts of catalog entities for bulk imports, bypassing the persistence context. Entities
+ * are only carriers of the column values here, their IDs and audit fields are set by the caller.
+ */
+@Repository
+@RequiredArgsConstructor
+public class CatalogImportRepository {
+
+    private static final int BATCH_SIZE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public Map<String, UUID> findAuthorIdsByName() {
+        return findIdsByName("authors");
+    }
+
+    public Map<String, UUID> findTagIdsByName() {
+        return findIdsByName("tags");
+    }
+
+    public Map<String, UUID> findTitleIdsByName() {
+        return findIdsByName("titles");
+    }
+
+    public void insertAuthors(List<Author> authors) {
+        jdbcTemplate.batchUpdate("""
+                INSERT INTO authors (id, name, slug, description, website_urls, country_iso_code, created_at, created_by, version)
+                VALUES (?, ?, ?, ?, ?, ?, ?, ?, 0)
+                """, authors, BATCH_SIZE, (ps, author) -> {
+            ps.setObject(1, author.getId());
+            ps.setString(2, author.getName());
+            ps.setString(3, author.getSlug());
+            ps.setString(4, author.getDescription());
+            ps.setArray(5, ps.getConnection().createArrayOf("text", author.getWebsiteUrls().toArray()));
+            ps.setString(6, author.getCountryIsoCode());
+            ps.setTimestamp(7, Timestamp.from(author.getCreatedAt()));
+            ps.setObject(8, author.getCreatedBy());
+        });
+    }
+
+    /**
+     * Tags whose name or slug is taken are left out.
+     *
+     * @return the inserted tags
+     */
+    public List<Tag> insertTags(List<Tag> tags) {
+        var counts = jdbcTemplate.batchUpdate("""
+                INSERT INTO tags (id, name, slug, type, description, created_at, created_by, version)
+                VALUES (?, ?, ?, ?, ?, ?, ?, 0)
+                ON CONFLICT DO NOTHING
+                """, tags, BATCH_SIZE, (ps, tag) -> {
+            ps.setObject(1, tag.getId());
+            ps.setString(2, tag.getName());
+            ps.setString(3, tag.getSlug());
+            ps.setString(4, tag.getType().name());
+            ps.setString(5, tag.getDescription());
+            ps.setTimestamp(6, Timestamp.from(tag.getCreatedAt()));
+            ps.setObject(7, tag.getCreatedBy());
+        });
+        var inserted = new ArrayList<Tag>(tags.size());
+        int i = 0;
+        for (int[] batch : counts) {
+            for (int count : batch) {
+                if (count > 0) {
+                    inserted.add(tags.get(i));
+                }
+                i++;
+            }
+        }
+        return inserted;
+    }
+
+    /**
+     * Inserts the titles with their author and tag links.
+     */
+    public void insertTitles(List<Title> titles) {
+        jdbcTemplate.batchUpdate("""
+                INSERT INTO titles (id, name, slug, description, type, title_status, release_year, content_rating,
+                                    is_licensed, country_iso_code, created_at, created_by, version)
+                VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0)
+                """, titles, BATCH_SIZE, (ps, title) -> {
+            ps.setObject(1, title.getId());
+            ps.setString(2, title.getName());
+            ps.setString(3, title.getSlug());
+            ps.setString(4, title.getDescription());
+            ps.setString(5, title.getType() != null ? title.getType().name() : null);
+            ps.setString(6, title.getTitleStatus() != null ? title.getTitleStatus().name() : null);
+            if (title.getReleaseYear() != null) {
+                ps.setInt(7, title.getReleaseYear().getValue());
+            } else {
+                ps.setNull(7, Types.INTEGER);
+            }
+            ps.setString(8, title.getContentRating().name());
+            ps.setBoolean(9, title.getIsLicensed());
+            ps.setString(10, title.getCountryIsoCode());
+            ps.setTimestamp(11, Timestamp.from(title.getCreatedAt()));
+            ps.setObject(12, title.getCreatedBy());
+        });
+
+        var titleAuthors = titles.stream().flatMap(title -> title.getAuthors().stream()).toList();
+        jdbcTemplate.batchUpdate("""
+                INSERT INTO title_authors (id, title_id, author_id, role, sort_order, version)
+                VALUES (?, ?, ?, ?, ?, 0)
+                """, titleAuthors, BATCH_SIZE, (ps, titleAuthor) -> {
+            ps.setObject(1, titleAuthor.getId());
+            ps.setObject(2, titleAuthor.getTitle().getId());
+            ps.setObject(3, titleAuthor.getAuthor().getId());
+            ps.setString(4, titleAuthor.getRole().name());
+            ps.setInt(5, titleAuthor.getSortOrder());
+        });
+
+        var titleTags = titles.stream()
+                .flatMap(title -> title.getTags().stream().map(tag -> new UUID[]{title.getId(), tag.getId()}))
+                .toList();
+        jdbcTemplate.batchUpdate("INSERT INTO title_tags (title_id, tag_id) VALUES (?, ?)",
+                titleTags, BATCH_SIZE, (ps, link) -> {
+                    ps.setObject(1, link[0]);
+                    ps.setObject(2, link[1]);
+                });
+    }
+
+    // IDs are time-ordered, so for a name used more than once the first created entity wins
+    private Map<String, UUID> findIdsByName(String table) {
+        var ids = new HashMap<String, UUID>();
+        jdbcTemplate.query("SELECT name, id FROM " + table + " ORDER BY id",
+                rs -> {
+                    ids.putIfAbsent(rs.getString(1), rs.getObject(2, UUID.class));
+                });
+        return ids;
+    }
+
+}
@@ -1,17 +1,118 @@
 package dev.harakki.comics.catalog.infrastructure;
 
-import dev.harakki.comics.catalog.domain.SlugSequence;
-import jakarta.persistence.LockModeType;
-import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.Lock;
-import org.springframework.data.jpa.repository.Query;
+import dev.harakki.comics.catalog.domain.SlugScope;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
 
-import java.util.Optional;
+import java.sql.Array;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.*;
 
-public interface SlugSequenceRepository extends JpaRepository<SlugSequence, String> {
+/**
+ * Slug allocation counters in {@code slug_sequences}, one row per slug in use, keyed by scope and slug.
+ * Every operation is a single statement, so outside a transaction it commits on its own and holds
+ * the row lock only while it runs.
+ */
+@Repository
+@RequiredArgsConstructor
+public class SlugSequenceRepository {
 
-    @Lock(LockModeType.PESSIMISTIC_WRITE)
-    @Query("SELECT s FROM SlugSequence s WHERE s.slugPrefix = :slugPrefix")
-    Optional<SlugSequence> findBySlugPrefixWithLock(String slugPrefix);
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Reserves the slug or, when it is taken, increments its counter.
+     *
+     * @return 1 if the slug was free, otherwise the next suffix to try
+     */
+    public long increment(SlugScope scope, String slug) {
+        return jdbcTemplate.queryForObject("""
+                INSERT INTO slug_sequences (slug_prefix, counter) VALUES (?, 1)
+                ON CONFLICT (slug_prefix) DO UPDATE SET counter = slug_sequences.counter + 1
+                RETURNING counter
+                """, Long.class, key(scope, slug));
+    }
+
+    /**
+     * @return whether the slug was free
+     */
+    public boolean reserve(SlugScope scope, String slug) {
+        return jdbcTemplate.update("""
+                INSERT INTO slug_sequences (slug_prefix, counter) VALUES (?, 1)
+                ON CONFLICT (slug_prefix) DO NOTHING
+                """, key(scope, slug)) > 0;
+    }
+
+    /**
+     * Reserves or increments several slugs in one statement, each by its count: a slug that was free gets
+     * its count as the counter, so the counters handed out for a slug are (returned - count, returned].
+     *
+     * @return the new counter of every slug
+     */
+    public Map<String, Long> incrementAll(SlugScope scope, SortedMap<String, Integer> counts) {
+        // Sorted keys lock rows in the same order in concurrent calls
+        var keys = new ArrayList<String>(counts.size());
+        var increments = new ArrayList<Long>(counts.size());
+        counts.forEach((slug, count) -> {
+            keys.add(key(scope, slug));
+            increments.add(count.longValue());
+        });
+        var counters = new HashMap<String, Long>();
+        jdbcTemplate.query("""
+                INSERT INTO slug_sequences (slug_prefix, counter)
+                SELECT * FROM unnest(CAST(? AS TEXT[]), CAST(? AS BIGINT[]))
+                ON CONFLICT (slug_prefix) DO UPDATE SET counter = slug_sequences.counter + EXCLUDED.counter
+                RETURNING slug_prefix, counter
+                """, ps -> {
+            ps.setArray(1, array(ps, "text", keys));
+            ps.setArray(2, array(ps, "bigint", increments));
+        }, rs -> {
+            counters.put(slug(scope, rs.getString(1)), rs.getLong(2));
+        });
+        return counters;
+    }
+
+    /**
+     * @return the slugs that were free and are reserved now
+     */
+    public Set<String> reserveAll(SlugScope scope, Collection<String> slugs) {
+        var keys = slugs.stream().sorted().map(slug -> key(scope, slug)).toList();
+        var reserved = new HashSet<String>();
+        jdbcTemplate.query("""
+                INSERT INTO slug_sequences (slug_prefix, counter)
+                SELECT slug_prefix, 1 FROM unnest(CAST(? AS TEXT[])) AS slug_prefix
+                ON CONFLICT (slug_prefix) DO NOTHING
+                RETURNING slug_prefix
+                """, ps -> ps.setArray(1, array(ps, "text", keys)), rs -> {
+            reserved.add(slug(scope, rs.getString(1)));
+        });
+        return reserved;
+    }
+
+    /**
+     * Reserves the slugs of existing entities, including ones set before allocation went through here.
+     *
+     * @return number of slugs reserved
+     */
+    public int reserveExisting(SlugScope scope) {
+        return jdbcTemplate.update("""
+                INSERT INTO slug_sequences (slug_prefix, counter)
+                SELECT ? || slug, 1 FROM %s
+                ON CONFLICT (slug_prefix) DO NOTHING
+                """.formatted(scope.getTable()), key(scope, ""));
+    }
+
+    private static String key(SlugScope scope, String slug) {
+        return scope.getTable() + ":" + slug;
+    }
+
+    private static String slug(SlugScope scope, String key) {
+        return key.substring(scope.getTable().length() + 1);
+    }
+
+    private static Array array(PreparedStatement ps, String type, List<?> values) throws SQLException {
+        return ps.getConnection().createArrayOf(type, values.toArray());
+    }
 
 }
@@ -3,38 +3,55 @@ package dev.harakki.comics.catalog.infrastructure;
 import dev.harakki.comics.catalog.domain.Title;
 import jakarta.validation.constraints.NotBlank;
 import org.jspecify.annotations.NonNull;
-import org.jspecify.annotations.Nullable;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
-import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 @Repository
-public interface TitleRepository extends JpaRepository<Title, UUID>, JpaSpecificationExecutor<Title> {
+public interface TitleRepository extends JpaRepository<Title, UUID>, JpaSpecificationExecutor<Title>, TitleSearchRepository {
 
     @Override
     @NonNull
     @EntityGraph(attributePaths = {"authors", "authors.author", "tags", "publisher"})
-    Page<Title> findAll(@NonNull Pageable pageable);
+    Optional<Title> findById(@NonNull UUID id);
 
-    @Override
-    @NonNull
     @EntityGraph(attributePaths = {"authors", "authors.author", "tags", "publisher"})
-    Page<Title> findAll(@Nullable Specification<Title> spec, @NonNull Pageable pageable);
+    Optional<Title> findBySlug(String slug);
 
-    @Override
-    @NonNull
-    @EntityGraph(attributePaths = {"authors", "authors.author", "tags", "publisher"})
-    Optional<Title> findById(@NonNull UUID id);
+    @Query("SELECT t.id FROM Title t WHERE t.slug = :slug")
+    Optional<UUID> findIdBySlug(String slug);
+
+    @Query("SELECT t.id FROM Title t WHERE t.publisher.id = :publisherId")
+    List<UUID> findIdsByPublisherId(UUID publisherId);
+
+    @Query("SELECT t.id FROM Title t WHERE t.id > :afterId ORDER BY t.id")
+    List<UUID> findIdsAfter(UUID afterId, Limit limit);
 
     @EntityGraph(attributePaths = {"authors", "authors.author", "tags", "publisher"})
-    Optional<Title> findBySlug(String slug);
+    List<Title> findByIdInOrderById(Collection<UUID> ids);
+
+    /**
+     * Titles created or changed since the instant, including ones whose authors or tags were renamed.
+     */
+    @Query("""
+                SELECT t.id FROM Title t
+                WHERE t.createdAt > :since OR t.updatedAt > :since
+                   OR EXISTS (SELECT 1 FROM TitleAuthor ta WHERE ta.title = t AND ta.author.updatedAt > :since)
+                   OR EXISTS (SELECT 1 FROM Title tt JOIN tt.tags g WHERE tt = t AND g.updatedAt > :since)
+            """)
+    List<UUID> findIdsChangedSince(Instant since);
+
+    @Query("SELECT t.id FROM Title t ORDER BY t.createdAt DESC, t.id DESC")
+    List<UUID> findNewestIds(Limit limit);
 
     boolean existsByName(@NotBlank String name);
 
@@ -0,0 +1,67 @@
+package dev.harakki.comics.catalog.infrastructure;
+
+import dev.harakki.comics.catalog.domain.TitleSearchDocument;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface TitleSearchDocumentRepository extends JpaRepository<TitleSearchDocument, UUID> {
+
+    /**
+     * Builds the weighted document of every title matched by the appended WHERE clause.
+     */
+    String SELECT_DOCUMENTS = """
+                INSERT INTO title_search_documents (title_id, document, updated_at)
+                SELECT t.id,
+                       setweight(to_tsvector('simple', coalesce(t.name, '')), 'A')
+                           || setweight(to_tsvector('simple', coalesce((SELECT string_agg(a.name, ' ')
+                                                                        FROM title_authors ta
+                                                                        JOIN authors a ON a.id = ta.author_id
+                                                                        WHERE ta.title_id = t.id), '')), 'B')
+                           || setweight(to_tsvector('simple', coalesce((SELECT string_agg(g.name, ' ')
+                                                                        FROM title_tags tt
+                                                                        JOIN tags g ON g.id = tt.tag_id
+                                                                        WHERE tt.title_id = t.id), '')), 'C')
+                           || setweight(to_tsvector('simple', coalesce(t.description, '')), 'D'),
+                       now()
+                FROM titles t
+            """;
+
+    String UPSERT = """
+                ON CONFLICT (title_id) DO UPDATE SET document = EXCLUDED.document, updated_at = EXCLUDED.updated_at
+            """;
+
+    @Modifying
+    @Query(value = SELECT_DOCUMENTS + "WHERE t.id IN (:titleIds)\n" + UPSERT, nativeQuery = true)
+    int upsert(Collection<UUID> titleIds);
+
+    /**
+     * Indexes up to {@code limit} titles that have no document yet.
+     *
+     * @return the number of documents written, 0 once every title is indexed
+     */
+    @Modifying
+    @Query(value = SELECT_DOCUMENTS + """
+                WHERE t.id IN (SELECT m.id FROM titles m
+                               WHERE NOT EXISTS (SELECT 1 FROM title_search_documents d WHERE d.title_id = m.id)
+                               LIMIT :limit)
+            """ + UPSERT, nativeQuery = true)
+    int insertMissing(int limit);
+
+    @Query(value = "SELECT DISTINCT title_id FROM title_authors WHERE author_id = :authorId", nativeQuery = true)
+    List<UUID> findTitleIdsByAuthorId(UUID authorId);
+
+    @Query(value = "SELECT title_id FROM title_tags WHERE tag_id = :tagId", nativeQuery = true)
+    List<UUID> findTitleIdsByTagId(UUID tagId);
+
+    @Modifying
+    @Query(value = "DELETE FROM title_search_documents WHERE title_id = :titleId", nativeQuery = true)
+    void deleteByTitleId(UUID titleId);
+
+}
@@ -0,0 +1,28 @@
+package dev.harakki.comics.catalog.infrastructure;
+
+import org.hibernate.boot.model.FunctionContributions;
+import org.hibernate.boot.model.FunctionContributor;
+import org.hibernate.type.StandardBasicTypes;
+
+/**
+ * Registers the Postgres full-text operators used by title search, so they can be used in criteria queries.
+ * Both take a tsvector and a {@code to_tsquery} expression built by {@link TitleSpecifications#toTsQuery}.
+ * Registered through {@code META-INF/services}.
+ */
+public class TitleSearchFunctionContributor implements FunctionContributor {
+
+    public static final String TS_MATCH = "ts_match";
+    public static final String TS_RELEVANCE = "ts_relevance";
+
+    @Override
+    public void contributeFunctions(FunctionContributions functionContributions) {
+        var registry = functionContributions.getFunctionRegistry();
+        var types = functionContributions.getTypeConfiguration().getBasicTypeRegistry();
+
+        registry.registerPattern(TS_MATCH, "(?1 @@ to_tsquery('simple', ?2))",
+                types.resolve(StandardBasicTypes.BOOLEAN));
+        registry.registerPattern(TS_RELEVANCE, "ts_rank_cd(?1, to_tsquery('simple', ?2))",
+                types.resolve(StandardBasicTypes.DOUBLE));
+    }
+
+}
@@ -0,0 +1,32 @@
+package dev.harakki.comics.catalog.infrastructure;
+
+import dev.harakki.comics.catalog.domain.Title;
+import org.jspecify.annotations.Nullable;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+import java.util.UUID;
+
+public interface TitleSearchRepository {
+
+    /**
+     * Sort property ordering titles by full-text relevance, best match first.
+     */
+    String RELEVANCE = "relevance";
+
+    /**
+     * IDs of one page of matching titles, in page order. Only the ID column is selected, so the
+     * database applies the limit and offset; load the titles themselves with {@link TitleRepository#findByIdInOrderById}.
+     */
+    default List<UUID> findIds(@Nullable Specification<Title> spec, Pageable pageable) {
+        return findIds(spec, pageable, null);
+    }
+
+    /**
+     * Same as {@link #findIds(Specification, Pageable)}, with the {@value #RELEVANCE} sort property ranking
+     * titles against the given {@code to_tsquery} expression. Without an expression it is ignored.
+     */
+    List<UUID> findIds(@Nullable Specification<Title> spec, Pageable pageable, @Nullable String tsQuery);
+
+}
@@ -0,0 +1,64 @@
+package dev.harakki.comics.catalog.infrastructure;
+
+import dev.harakki.comics.catalog.domain.Title;
+import dev.harakki.comics.catalog.domain.TitleSearchDocument;
+import dev.harakki.comics.catalog.domain.TitleSearchDocument_;
+import dev.harakki.comics.catalog.domain.Title_;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.Order;
+import org.jspecify.annotations.Nullable;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+class TitleSearchRepositoryImpl implements TitleSearchRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<UUID> findIds(@Nullable Specification<Title> spec, Pageable pageable, @Nullable String tsQuery) {
+        var cb = entityManager.getCriteriaBuilder();
+        var query = cb.createQuery(UUID.class);
+        var root = query.from(Title.class);
+        query.select(root.get(Title_.id));
+
+        if (spec != null) {
+            var predicate = spec.toPredicate(root, query, cb);
+            if (predicate != null) {
+                query.where(predicate);
+            }
+        }
+
+        List<Order> orders = new ArrayList<>();
+        for (Sort.Order order : pageable.getSort()) {
+            if (!RELEVANCE.equals(order.getProperty())) {
+                orders.addAll(QueryUtils.toOrders(Sort.by(order), root, cb));
+            } else if (tsQuery != null) {
+                var rank = query.subquery(Double.class);
+                var document = rank.from(TitleSearchDocument.class);
+                rank.select(cb.function(TitleSearchFunctionContributor.TS_RELEVANCE, Double.class,
+                                document.get(TitleSearchDocument_.document), cb.literal(tsQuery)))
+                        .where(cb.equal(document.get(TitleSearchDocument_.titleId), root.get(Title_.id)));
+                orders.add(cb.desc(rank));
+            }
+        }
+        // Ties on the requested sort would otherwise move titles between pages
+        orders.add(cb.asc(root.get(Title_.id)));
+        query.orderBy(orders);
+
+        var typedQuery = entityManager.createQuery(query);
+        if (pageable.isPaged()) {
+            typedQuery.setFirstResult((int) pageable.getOffset());
+            typedQuery.setMaxResults(pageable.getPageSize());
+        }
+        return typedQuery.getResultList();
+    }
+
+}
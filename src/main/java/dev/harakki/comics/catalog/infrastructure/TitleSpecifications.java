@@ -0,0 +1,82 @@
+package dev.harakki.comics.catalog.infrastructure;
+
+import dev.harakki.comics.catalog.domain.Tag_;
+import dev.harakki.comics.catalog.domain.Title;
+import dev.harakki.comics.catalog.domain.TitleSearchDocument;
+import dev.harakki.comics.catalog.domain.TitleSearchDocument_;
+import dev.harakki.comics.catalog.domain.Title_;
+import org.jspecify.annotations.Nullable;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+public final class TitleSpecifications {
+
+    private static final String NON_WORD = "[^\\p{L}\\p{N}]+";
+
+    private TitleSpecifications() {
+    }
+
+    /**
+     * Titles with at least one of the given tags. Matches through an {@code EXISTS} subquery instead
+     * of a join, so a title with several matching tags is returned once.
+     *
+     * @return null, meaning no restriction, if no tags are given
+     */
+    public static Specification<Title> hasAnyTag(Collection<String> tagSlugs) {
+        if (tagSlugs == null || tagSlugs.isEmpty()) {
+            return null;
+        }
+        return (root, query, cb) -> {
+            var subquery = query.subquery(Integer.class);
+            var title = subquery.correlate(root);
+            var tag = title.join(Title_.tags);
+            subquery.select(cb.literal(1)).where(tag.get(Tag_.slug).in(tagSlugs));
+            return cb.exists(subquery);
+        };
+    }
+
+    /**
+     * Titles whose search document (name, authors, tags, description) contains every word of the text,
+     * each word matched as a prefix. Served by the GIN index on the documents.
+     *
+     * @return null, meaning no restriction, if the text has no words
+     */
+    public static Specification<Title> matchesText(@Nullable String text) {
+        var tsQuery = toTsQuery(text);
+        if (tsQuery == null) {
+            return null;
+        }
+        return (root, query, cb) -> {
+            var subquery = query.subquery(Integer.class);
+            var document = subquery.from(TitleSearchDocument.class);
+            subquery.select(cb.literal(1)).where(
+                    cb.equal(document.get(TitleSearchDocument_.titleId), root.get(Title_.id)),
+                    cb.isTrue(cb.function(TitleSearchFunctionContributor.TS_MATCH, Boolean.class,
+                            document.get(TitleSearchDocument_.document), cb.literal(tsQuery)))
+            );
+            return cb.exists(subquery);
+        };
+    }
+
+    /**
+     * Words of the text as a {@code to_tsquery} expression of prefix terms, e.g. {@code chainsaw:* & ma:*}.
+     * Only letters and digits are kept, so the result is always a valid query.
+     *
+     * @return null if the text has no words
+     */
+    public static @Nullable String toTsQuery(@Nullable String text) {
+        if (text == null || text.isBlank()) {
+            return null;
+        }
+        var tsQuery = Arrays.stream(text.toLowerCase(Locale.ROOT).split(NON_WORD))
+                .filter(word -> !word.isEmpty())
+                .map(word -> word + ":*")
+                .collect(Collectors.joining(" & "));
+        return tsQuery.isEmpty() ? null : tsQuery;
+    }
+
+}
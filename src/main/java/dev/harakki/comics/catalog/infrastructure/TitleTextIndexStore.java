@@ -0,0 +1,100 @@
+package dev.harakki.comics.catalog.infrastructure;
+
+import dev.harakki.comics.catalog.domain.TitleTextIndex;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.ValueLayout;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.util.Optional;
+
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * Memory-mapped snapshot file of the {@link TitleTextIndex}, little-endian:
+ * <pre>
+ * header  analyzer fingerprint, indexed at (epoch millis)
+ * index   as written by {@link TitleTextIndex#writeTo}
+ * </pre>
+ * A new file is written next to the current one and moved over it.
+ */
+@Slf4j
+@Component
+public class TitleTextIndexStore {
+
+    public record Snapshot(TitleTextIndex index, Instant indexedAt) {
+    }
+
+    private static final long HEADER_BYTES = 16;
+    private static final ValueLayout.OfLong LONG = ValueLayout.JAVA_LONG_UNALIGNED.withOrder(ByteOrder.LITTLE_ENDIAN);
+
+    private final Path path;
+
+    public TitleTextIndexStore(@Value("${catalog.search.index.snapshot-path:data/catalog/title-text.idx}") Path path) {
+        this.path = path;
+    }
+
+    /**
+     * @param indexedAt every catalog change before this instant is in the index
+     */
+    public void write(TitleTextIndex index, long fingerprint, Instant indexedAt) {
+        var tmp = path.resolveSibling(path.getFileName() + ".tmp");
+        try {
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+            try (var channel = FileChannel.open(tmp, CREATE, TRUNCATE_EXISTING, READ, WRITE);
+                 var arena = Arena.ofConfined()) {
+                var header = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_BYTES, arena);
+                header.set(LONG, 0, fingerprint);
+                header.set(LONG, 8, indexedAt.toEpochMilli());
+                index.writeTo(size -> {
+                    try {
+                        return channel.map(FileChannel.MapMode.READ_WRITE, HEADER_BYTES, size, arena);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+            Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write the title text index to " + path, e);
+        }
+        log.debug("Wrote title text index of {} titles to {}", index.size(), path);
+    }
+
+    /**
+     * Reads the snapshot, empty if there is none or it was built with a different analyzer.
+     */
+    public Optional<Snapshot> read(long fingerprint, float k1, float b, float minShouldMatch) {
+        if (!Files.exists(path)) {
+            return Optional.empty();
+        }
+        try (var channel = FileChannel.open(path, READ);
+             var arena = Arena.ofConfined()) {
+            var file = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size(), arena);
+            if (file.byteSize() < HEADER_BYTES || file.get(LONG, 0) != fingerprint) {
+                log.info("Title text analysis changed since the snapshot {}, rebuilding the index", path);
+                return Optional.empty();
+            }
+            var indexedAt = Instant.ofEpochMilli(file.get(LONG, 8));
+            var index = TitleTextIndex.readFrom(file.asSlice(HEADER_BYTES), k1, b, minShouldMatch);
+            return Optional.of(new Snapshot(index, indexedAt));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read the title text index from " + path, e);
+        }
+    }
+
+}
@@ -1,7 +1,11 @@
 package dev.harakki.comics.catalog.web;
 
+import dev.harakki.comics.catalog.domain.ContentRating;
 import dev.harakki.comics.catalog.domain.Title;
+import dev.harakki.comics.catalog.domain.TitleStatus;
+import dev.harakki.comics.catalog.domain.TitleType;
 import dev.harakki.comics.catalog.dto.*;
+import dev.harakki.comics.shared.pagination.CursorPage;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.Parameters;
@@ -13,8 +17,11 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 
+import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
 @Tag(name = "Titles", description = "Management of comic titles")
@@ -82,7 +89,7 @@ public interface TitleApi {
     @Operation(
             operationId = "searchTitles",
             summary = "Search and filter titles",
-            description = "Retrieves titles with optional filtering."
+            description = "Retrieves titles with optional filtering. With a search text, sort=relevance orders the best matches first."
     )
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Page of titles",
@@ -90,22 +97,109 @@ public interface TitleApi {
             @ApiResponse(responseCode = "400", ref = "BadRequest")
     })
     @Parameters({
-            @Parameter(name = "search", description = "Search text", example = "chainsaw man"),
             @Parameter(name = "type", description = "Filter by type", example = "MANGA"),
             @Parameter(name = "titleStatus", description = "Filter by status", example = "COMPLETED"),
             @Parameter(name = "country", description = "Filter by Country ISO Code", example = "JP"),
-            @Parameter(name = "tags", description = "Filter by tag slugs", example = "action,shonen"),
             @Parameter(name = "releaseYear", description = "Release year", example = "2018"),
             @Parameter(name = "yearFrom", description = "Min release year", example = "2000"),
             @Parameter(name = "yearTo", description = "Max release year", example = "2020"),
             @Parameter(name = "contentRating", description = "Max content rating", example = "EIGHTEEN_PLUS")
     })
     Page<TitleResponse> getAllTitles(
-            @Parameter(hidden = true) Specification<Title> searchSpec,
             @Parameter(hidden = true) Specification<Title> filterSpec,
+            @Parameter(description = "Full-text search over name, authors, tags and description, words match as prefixes",
+                    example = "chainsaw man") String search,
+            @Parameter(description = "Filter by tag slugs, matches titles with any of them", example = "action,shonen") Set<String> tags,
             @ParameterObject Pageable pageable
     );
 
+    @Operation(
+            operationId = "scrollTitles",
+            summary = "Scroll titles with a cursor",
+            description = "Keyset-paginated variant of title search for deep pages and infinite scroll. " +
+                    "Sortable by name or createdAt. Pass the returned nextCursor to get the following slice; " +
+                    "the total is only counted when withTotal is set."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Slice of titles"),
+            @ApiResponse(responseCode = "400", ref = "BadRequest")
+    })
+    @Parameters({
+            @Parameter(name = "type", description = "Filter by type", example = "MANGA"),
+            @Parameter(name = "titleStatus", description = "Filter by status", example = "COMPLETED"),
+            @Parameter(name = "country", description = "Filter by Country ISO Code", example = "JP"),
+            @Parameter(name = "releaseYear", description = "Release year", example = "2018"),
+            @Parameter(name = "yearFrom", description = "Min release year", example = "2000"),
+            @Parameter(name = "yearTo", description = "Max release year", example = "2020"),
+            @Parameter(name = "contentRating", description = "Max content rating", example = "EIGHTEEN_PLUS"),
+            @Parameter(name = "sort", description = "Sort by name or createdAt", example = "createdAt,desc")
+    })
+    CursorPage<TitleResponse> scrollTitles(
+            @Parameter(hidden = true) Specification<Title> filterSpec,
+            @Parameter(description = "Full-text search over name, authors, tags and description, words match as prefixes",
+                    example = "chainsaw man") String search,
+            @Parameter(description = "Filter by tag slugs, matches titles with any of them", example = "action,shonen") Set<String> tags,
+            @Parameter(description = "Cursor from the previous slice, omit for the first one") String cursor,
+            @Parameter(description = "Slice size", example = "20") int size,
+            @Parameter(description = "Also count all matches") boolean withTotal,
+            @Parameter(hidden = true) Sort sort
+    );
+
+    @Operation(
+            operationId = "lookupTitles",
+            summary = "Search titles by name",
+            description = "Quick lookup by title, author and tag names, ranked by relevance. " +
+                    "Tolerates partial words and matches across scripts, so Cyrillic, kana and romaji spellings find each other."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Matching titles, best first"),
+            @ApiResponse(responseCode = "400", ref = "BadRequest")
+    })
+    List<TitleSearchHitResponse> lookupTitles(
+            @Parameter(description = "Search text", required = true, example = "наруто") String q,
+            @Parameter(description = "Max number of results", example = "10") int limit
+    );
+
+    @Operation(
+            operationId = "suggestTitles",
+            summary = "Autocomplete titles, authors and tags",
+            description = "Completions for the search box as the user types, most popular first. " +
+                    "Matches names starting with the query or with any of their words, allowing one typo."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Completions, best first"),
+            @ApiResponse(responseCode = "400", ref = "BadRequest")
+    })
+    List<TitleSuggestionResponse> suggestTitles(
+            @Parameter(description = "Text typed so far", required = true, example = "chainsw") String q,
+            @Parameter(description = "Max number of completions", example = "8") int limit
+    );
+
+    @Operation(
+            operationId = "getTitleFacets",
+            summary = "Count titles per filter value",
+            description = "Number of titles matching the filters and, for every facet (tag, type, status, content rating, " +
+                    "country, release year), how many of them have each value. Any of the given values of a facet matches; " +
+                    "the counts of a facet ignore its own filter, so they show how many titles each alternative would give. " +
+                    "The release year range and search text narrow every facet, as in title search."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Facet counts"),
+            @ApiResponse(responseCode = "400", ref = "BadRequest")
+    })
+    TitleFacetsResponse getTitleFacets(
+            @Parameter(description = "Filter by tag slugs", example = "action,shonen") Set<String> tags,
+            @Parameter(description = "Filter by types", example = "MANGA") Set<TitleType> type,
+            @Parameter(description = "Filter by statuses", example = "COMPLETED") Set<TitleStatus> titleStatus,
+            @Parameter(description = "Max content rating", example = "EIGHTEEN_PLUS") ContentRating contentRating,
+            @Parameter(description = "Filter by Country ISO Codes", example = "JP") Set<String> country,
+            @Parameter(description = "Filter by release years", example = "2018") Set<Integer> releaseYear,
+            @Parameter(description = "Min release year", example = "2000") Integer yearFrom,
+            @Parameter(description = "Max release year", example = "2020") Integer yearTo,
+            @Parameter(description = "Full-text search over name, authors, tags and description, words match as prefixes",
+                    example = "chainsaw man") String search
+    );
+
     @Operation(
             operationId = "deleteTitle",
             summary = "Delete title",
@@ -1,27 +1,36 @@
 package dev.harakki.comics.catalog.web;
 
+import dev.harakki.comics.catalog.application.TitleFacetService;
 import dev.harakki.comics.catalog.application.TitleService;
+import dev.harakki.comics.catalog.application.TitleSuggestService;
+import dev.harakki.comics.catalog.application.TitleTextSearchService;
+import dev.harakki.comics.catalog.domain.ContentRating;
 import dev.harakki.comics.catalog.domain.Title;
+import dev.harakki.comics.catalog.domain.TitleStatus;
+import dev.harakki.comics.catalog.domain.TitleType;
 import dev.harakki.comics.catalog.domain.Title_;
 import dev.harakki.comics.catalog.dto.*;
-import jakarta.persistence.criteria.JoinType;
+import dev.harakki.comics.catalog.infrastructure.TitleSpecifications;
+import dev.harakki.comics.shared.pagination.CursorPage;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
 import lombok.RequiredArgsConstructor;
 import net.kaczmarzyk.spring.data.jpa.domain.*;
 import net.kaczmarzyk.spring.data.jpa.web.annotation.And;
-import net.kaczmarzyk.spring.data.jpa.web.annotation.Join;
-import net.kaczmarzyk.spring.data.jpa.web.annotation.Or;
 import net.kaczmarzyk.spring.data.jpa.web.annotation.Spec;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.data.web.SortDefault;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
 @RequiredArgsConstructor
@@ -30,6 +39,9 @@ import java.util.UUID;
 class TitleController implements TitleApi {
 
     private final TitleService titleService;
+    private final TitleTextSearchService titleTextSearchService;
+    private final TitleSuggestService titleSuggestService;
+    private final TitleFacetService titleFacetService;
 
     @PreAuthorize("hasRole('ADMIN')")
     @PostMapping
@@ -59,11 +71,6 @@ class TitleController implements TitleApi {
 
     @GetMapping
     public Page<TitleResponse> getAllTitles(
-            @Or({
-                    @Spec(path = Title_.NAME, params = "search", spec = LikeIgnoreCase.class),
-                    @Spec(path = Title_.SLUG, params = "search", spec = LikeIgnoreCase.class)
-            }) Specification<Title> searchSpec,
-            @Join(path = Title_.TAGS, alias = "t", type = JoinType.LEFT)
             @And({
                     @Spec(path = Title_.TYPE, spec = In.class),
                     @Spec(path = Title_.TITLE_STATUS, spec = In.class),
@@ -71,13 +78,71 @@ class TitleController implements TitleApi {
                     @Spec(path = Title_.RELEASE_YEAR, params = "releaseYear", spec = Equal.class),
                     @Spec(path = Title_.RELEASE_YEAR, params = "yearFrom", spec = GreaterThanOrEqual.class),
                     @Spec(path = Title_.RELEASE_YEAR, params = "yearTo", spec = LessThanOrEqual.class),
-                    @Spec(path = Title_.CONTENT_RATING, params = "contentRating", spec = LessThanOrEqual.class),
-                    @Spec(path = "t.slug", params = "tags", spec = In.class)
+                    @Spec(path = Title_.CONTENT_RATING, params = "contentRating", spec = LessThanOrEqual.class)
             }) Specification<Title> filterSpec,
+            @RequestParam(required = false) String search,
+            @RequestParam(required = false) Set<String> tags,
             @PageableDefault(sort = Title_.NAME) Pageable pageable
     ) {
-        Specification<Title> spec = Specification.where(searchSpec).and(filterSpec);
-        return titleService.getAll(spec, pageable);
+        Specification<Title> spec = Specification.where(filterSpec)
+                .and(TitleSpecifications.matchesText(search))
+                .and(TitleSpecifications.hasAnyTag(tags));
+        return titleService.getAll(spec, search, pageable);
+    }
+
+    @GetMapping("/scroll")
+    public CursorPage<TitleResponse> scrollTitles(
+            @And({
+                    @Spec(path = Title_.TYPE, spec = In.class),
+                    @Spec(path = Title_.TITLE_STATUS, spec = In.class),
+                    @Spec(path = Title_.COUNTRY_ISO_CODE, params = "country", spec = Equal.class),
+                    @Spec(path = Title_.RELEASE_YEAR, params = "releaseYear", spec = Equal.class),
+                    @Spec(path = Title_.RELEASE_YEAR, params = "yearFrom", spec = GreaterThanOrEqual.class),
+                    @Spec(path = Title_.RELEASE_YEAR, params = "yearTo", spec = LessThanOrEqual.class),
+                    @Spec(path = Title_.CONTENT_RATING, params = "contentRating", spec = LessThanOrEqual.class)
+            }) Specification<Title> filterSpec,
+            @RequestParam(required = false) String search,
+            @RequestParam(required = false) Set<String> tags,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "false") boolean withTotal,
+            @SortDefault(sort = Title_.NAME) Sort sort
+    ) {
+        Specification<Title> spec = Specification.where(filterSpec)
+                .and(TitleSpecifications.matchesText(search))
+                .and(TitleSpecifications.hasAnyTag(tags));
+        return titleService.scroll(spec, sort, cursor, size, withTotal);
+    }
+
+    @GetMapping("/search")
+    public List<TitleSearchHitResponse> lookupTitles(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "10") int limit
+    ) {
+        return titleTextSearchService.search(q, limit);
+    }
+
+    @GetMapping("/suggest")
+    public List<TitleSuggestionResponse> suggestTitles(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "8") int limit
+    ) {
+        return titleSuggestService.suggest(q, limit);
+    }
+
+    @GetMapping("/facets")
+    public TitleFacetsResponse getTitleFacets(
+            @RequestParam(required = false) Set<String> tags,
+            @RequestParam(required = false) Set<TitleType> type,
+            @RequestParam(required = false) Set<TitleStatus> titleStatus,
+            @RequestParam(required = false) ContentRating contentRating,
+            @RequestParam(required = false) Set<String> country,
+            @RequestParam(required = false) Set<Integer> releaseYear,
+            @RequestParam(required = false) Integer yearFrom,
+            @RequestParam(required = false) Integer yearTo,
+            @RequestParam(required = false) String search
+    ) {
+        return titleFacetService.getFacets(tags, type, titleStatus, contentRating, country, releaseYear, yearFrom, yearTo, search);
     }
 
     @PreAuthorize("hasRole('ADMIN')")
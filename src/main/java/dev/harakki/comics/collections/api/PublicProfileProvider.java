@@ -0,0 +1,13 @@
+package dev.harakki.comics.collections.api;
+
+import java.util.Set;
+import java.util.UUID;
+
+public interface PublicProfileProvider {
+
+    /**
+     * Get which of the given users have a public profile, that is at least one public collection.
+     */
+    Set<UUID> getUsersWithPublicProfile(Set<UUID> userIds);
+
+}
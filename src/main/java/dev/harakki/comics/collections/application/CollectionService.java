@@ -8,13 +8,17 @@ import dev.harakki.comics.collections.infrastructure.CollectionMapper;
 import dev.harakki.comics.collections.infrastructure.CollectionRepository;
 import dev.harakki.comics.shared.exception.ResourceAlreadyExistsException;
 import dev.harakki.comics.shared.exception.ResourceNotFoundException;
+import dev.harakki.comics.shared.pagination.CursorPage;
+import dev.harakki.comics.shared.pagination.Cursors;
 import dev.harakki.comics.shared.utils.SecurityUtils;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.jspecify.annotations.Nullable;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -23,13 +27,16 @@ import java.security.SecureRandom;
 import java.util.ArrayList;
 import java.util.Base64;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
-public class CollectionService {
+public class CollectionService implements PublicProfileProvider {
+
+    private static final Set<String> SCROLL_SORTABLE = Set.of("name", "createdAt");
 
     private final CollectionRepository collectionRepository;
     private final CollectionMapper collectionMapper;
@@ -83,6 +90,20 @@ public class CollectionService {
                 .map(collectionMapper::toResponse);
     }
 
+    /**
+     * Keyset variant of {@link #search}: seeks past the cursor on the sort keys instead of skipping an offset,
+     * and only counts the matches when the total is asked for.
+     */
+    public CursorPage<UserCollectionResponse> scroll(String search, Sort sort, @Nullable String cursor, int size, boolean withTotal) {
+        if (search == null) search = "";
+        var keysetSort = Cursors.sort(sort, SCROLL_SORTABLE);
+        var position = Cursors.decode(cursor, keysetSort);
+
+        var window = collectionRepository.findByIsPublicTrueAndNameContainingIgnoreCase(search, position, keysetSort, Cursors.limit(size));
+        return CursorPage.of(window, keysetSort, collectionMapper::toResponse,
+                withTotal ? collectionRepository.countByIsPublicTrueAndNameContainingIgnoreCase(search) : null);
+    }
+
     public Page<UserCollectionResponse> getMyCollections(String search, Pageable pageable) {
         UUID currentUserId = getCurrentUserId();
         if (search == null || search.isBlank()) {
@@ -216,6 +237,14 @@ public class CollectionService {
         return result;
     }
 
+    @Override
+    public Set<UUID> getUsersWithPublicProfile(Set<UUID> userIds) {
+        if (userIds.isEmpty()) {
+            return Set.of();
+        }
+        return collectionRepository.findAuthorIdsWithPublicCollections(userIds);
+    }
+
     private UUID getCurrentUserId() {
         return SecurityUtils.getCurrentUserId();
     }
@@ -21,6 +21,8 @@ import java.util.UUID;
 @ToString(onlyExplicitlyIncluded = true)
 @Table(name = "user_collections", indexes = {
         @Index(name = "idx_collection_author", columnList = "authorId"),
+        @Index(name = "idx_collection_public_name", columnList = "isPublic, name, id"),
+        @Index(name = "idx_collection_public_created", columnList = "isPublic, createdAt, id"),
         @Index(name = "idx_collection_author_name", columnList = "authorId, name", unique = true),
         @Index(name = "idx_collection_share_token", columnList = "shareToken", unique = true)
 })
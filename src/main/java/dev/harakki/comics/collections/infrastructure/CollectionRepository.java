@@ -1,17 +1,28 @@
 package dev.harakki.comics.collections.infrastructure;
 
 import dev.harakki.comics.collections.domain.Collection;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 public interface CollectionRepository extends JpaRepository<Collection, UUID> {
 
     Page<Collection> findByIsPublicTrueAndNameContainingIgnoreCase(String search, Pageable pageable);
 
+    Window<Collection> findByIsPublicTrueAndNameContainingIgnoreCase(String search, ScrollPosition position, Sort sort, Limit limit);
+
+    long countByIsPublicTrueAndNameContainingIgnoreCase(String search);
+
     Page<Collection> findByAuthorId(UUID authorId, Pageable pageable);
 
     Page<Collection> findByAuthorIdAndNameContainingIgnoreCase(UUID authorId, String name, Pageable pageable);
@@ -24,4 +35,7 @@ public interface CollectionRepository extends JpaRepository<Collection, UUID> {
 
     boolean existsByShareToken(String shareToken);
 
+    @Query("SELECT DISTINCT c.authorId FROM Collection c WHERE c.isPublic = true AND c.authorId IN :authorIds")
+    Set<UUID> findAuthorIdsWithPublicCollections(@Param("authorIds") Set<UUID> authorIds);
+
 }
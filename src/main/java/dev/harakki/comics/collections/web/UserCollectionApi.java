@@ -3,6 +3,7 @@ package dev.harakki.comics.collections.web;
 import dev.harakki.comics.collections.dto.CollectionCreateRequest;
 import dev.harakki.comics.collections.dto.CollectionUpdateRequest;
 import dev.harakki.comics.collections.dto.UserCollectionResponse;
+import dev.harakki.comics.shared.pagination.CursorPage;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -14,6 +15,7 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 
 import java.util.List;
 import java.util.UUID;
@@ -59,6 +61,21 @@ public interface UserCollectionApi {
             @ParameterObject Pageable pageable
     );
 
+    @Operation(
+            operationId = "scrollPublicCollections",
+            summary = "Scroll public collections with a cursor",
+            description = "Keyset-paginated variant of public collection search. Sortable by name or createdAt. " +
+                    "Pass the returned nextCursor to get the following slice; the total is only counted when withTotal is set."
+    )
+    @Parameter(name = "sort", description = "Sort by name or createdAt", example = "createdAt,desc")
+    CursorPage<UserCollectionResponse> scroll(
+            @Parameter(description = "Search query") String search,
+            @Parameter(description = "Cursor from the previous slice, omit for the first one") String cursor,
+            @Parameter(description = "Slice size", example = "20") int size,
+            @Parameter(description = "Also count all matches") boolean withTotal,
+            @Parameter(hidden = true) Sort sort
+    );
+
     @Operation(
             operationId = "getMyCollections",
             summary = "Get my collections",
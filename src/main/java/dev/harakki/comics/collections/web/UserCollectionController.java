@@ -4,12 +4,15 @@ import dev.harakki.comics.collections.application.CollectionService;
 import dev.harakki.comics.collections.dto.CollectionCreateRequest;
 import dev.harakki.comics.collections.dto.CollectionUpdateRequest;
 import dev.harakki.comics.collections.dto.UserCollectionResponse;
+import dev.harakki.comics.shared.pagination.CursorPage;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.data.web.SortDefault;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -45,6 +48,17 @@ public class UserCollectionController implements UserCollectionApi {
         return collectionService.search(search, pageable);
     }
 
+    @GetMapping("/scroll")
+    public CursorPage<UserCollectionResponse> scroll(
+            @RequestParam(required = false) String search,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "false") boolean withTotal,
+            @SortDefault(sort = "name") Sort sort
+    ) {
+        return collectionService.scroll(search, sort, cursor, size, withTotal);
+    }
+
     @PreAuthorize("hasRole('USER')")
     @GetMapping("/my")
     public Page<UserCollectionResponse> getMyCollections(
@@ -1,12 +1,19 @@
 package dev.harakki.comics.content.api;
 
+import org.jspecify.annotations.Nullable;
+
 import java.io.Serializable;
+import java.time.Instant;
 import java.util.UUID;
 
+/**
+ * @param createdAt when the chapter was created, null in events published before it was recorded
+ */
 public record ChapterCreatedEvent(
         UUID chapterId,
         UUID titleId,
         UUID userId,
-        String chapterNumber
+        String chapterNumber,
+        @Nullable Instant createdAt
 ) implements Serializable {
 }
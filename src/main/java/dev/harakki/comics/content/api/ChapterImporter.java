@@ -0,0 +1,29 @@
+package dev.harakki.comics.content.api;
+
+import org.jspecify.annotations.Nullable;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Bulk inserts of chapters without pages for imports, announced with one event per call.
+ */
+public interface ChapterImporter {
+
+    record ChapterRecord(
+            UUID titleId,
+            @Nullable Integer volume,
+            int number,
+            int subNumber,
+            @Nullable String name
+    ) {
+    }
+
+    /**
+     * Chapters whose title already has a chapter with the same number and sub-number are left out.
+     *
+     * @return number of inserted chapters
+     */
+    int importChapters(List<ChapterRecord> chapters, @Nullable UUID userId);
+
+}
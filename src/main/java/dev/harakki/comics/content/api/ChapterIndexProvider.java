@@ -0,0 +1,26 @@
+package dev.harakki.comics.content.api;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.UUID;
+
+public interface ChapterIndexProvider {
+
+    /**
+     * Position of a chapter in per-title read progress bitmaps.
+     *
+     * @param titleId   the title the chapter belongs to
+     * @param readIndex the stable index of the chapter within its title
+     */
+    record ChapterIndex(UUID titleId, int readIndex) {
+    }
+
+    /**
+     * Get the read progress positions of the given chapters.
+     *
+     * @param chapterIds the chapter IDs
+     * @return map of chapter ID to its position, chapters that do not exist or have no index yet are absent
+     */
+    Map<UUID, ChapterIndex> getChapterIndexes(Collection<UUID> chapterIds);
+
+}
@@ -1,12 +1,15 @@
 package dev.harakki.comics.content.api;
 
 import java.io.Serializable;
+import java.time.Instant;
 import java.util.UUID;
 
 public record ChapterReadEvent(
         UUID titleId,
         UUID userId,
         UUID chapterId,
-        long readTimeMillis
+        long readTimeMillis,
+        Integer readIndex, // Position of the chapter in read progress bitmaps, see ChapterIndexProvider
+        Instant readAt // When the read was recorded, consumers bucket it by this time rather than when they process it
 ) implements Serializable {
 }
@@ -0,0 +1,29 @@
+package dev.harakki.comics.content.api;
+
+import org.jspecify.annotations.Nullable;
+
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Chapters inserted by one bulk import batch, in place of a {@link ChapterCreatedEvent} per chapter.
+ */
+public record ChaptersImportedEvent(
+        List<ImportedChapter> chapters,
+        @Nullable UUID userId
+) implements Serializable {
+
+    /**
+     * @param createdAt when the chapter was created, null in events published before it was recorded
+     */
+    public record ImportedChapter(
+            UUID chapterId,
+            UUID titleId,
+            String chapterNumber,
+            @Nullable Instant createdAt
+    ) implements Serializable {
+    }
+
+}
@@ -0,0 +1,20 @@
+package dev.harakki.comics.content.api;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+public interface LatestChapterProvider {
+
+    record LatestChapter(UUID chapterId, UUID titleId, String chapterNumber, Instant createdAt) {
+    }
+
+    /**
+     * Get the newest chapter of each of the most recently updated titles.
+     *
+     * @param limit maximum number of titles
+     * @return one chapter per title, newest first
+     */
+    List<LatestChapter> getLatestChapters(int limit);
+
+}
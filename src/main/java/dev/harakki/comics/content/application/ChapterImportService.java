@@ -0,0 +1,81 @@
+package dev.harakki.comics.content.application;
+
+import com.github.f4b6a3.uuid.UuidCreator;
+import dev.harakki.comics.content.api.ChapterImporter;
+import dev.harakki.comics.content.api.ChaptersImportedEvent;
+import dev.harakki.comics.content.api.ChaptersImportedEvent.ImportedChapter;
+import dev.harakki.comics.content.domain.Chapter;
+import dev.harakki.comics.content.infrastructure.ChapterImportRepository;
+import dev.harakki.comics.content.infrastructure.ChapterImportRepository.ChapterKey;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.jspecify.annotations.Nullable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.*;
+
+@Slf4j
+@RequiredArgsConstructor
+@Service
+public class ChapterImportService implements ChapterImporter {
+
+    private final ChapterImportRepository chapterImportRepository;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Override
+    @Transactional(noRollbackFor = IllegalArgumentException.class)
+    public int importChapters(List<ChapterRecord> records, @Nullable UUID userId) {
+        if (records.isEmpty()) {
+            return 0;
+        }
+        records.forEach(record -> {
+            if (record.number() < 0 || record.subNumber() < 0) {
+                throw new IllegalArgumentException("Chapter number must not be negative");
+            }
+        });
+
+        // Existing chapters and repeats within the batch are skipped before read indexes are allocated
+        var titleIds = records.stream().map(ChapterRecord::titleId).distinct().toList();
+        var seen = chapterImportRepository.findExistingKeys(titleIds);
+        var fresh = records.stream()
+                .filter(record -> seen.add(new ChapterKey(record.titleId(), record.number(), record.subNumber())))
+                .toList();
+        if (fresh.isEmpty()) {
+            return 0;
+        }
+
+        var countsByTitle = new HashMap<UUID, Integer>();
+        fresh.forEach(record -> countsByTitle.merge(record.titleId(), 1, Integer::sum));
+        var nextIndexes = chapterImportRepository.allocateReadIndexes(countsByTitle);
+
+        var now = Instant.now();
+        var chapters = new ArrayList<Chapter>(fresh.size());
+        for (var record : fresh) {
+            chapters.add(Chapter.builder()
+                    .id(UuidCreator.getTimeOrderedEpoch())
+                    .titleId(record.titleId())
+                    .volume(record.volume())
+                    .number(record.number())
+                    .subNumber(record.subNumber())
+                    .name(record.name())
+                    .readIndex(nextIndexes.merge(record.titleId(), 1, Integer::sum) - 1)
+                    .createdAt(now)
+                    .createdBy(userId)
+                    .build());
+        }
+        var inserted = chapterImportRepository.insertAll(chapters);
+        log.info("Imported {} of {} chapters", inserted.size(), records.size());
+
+        if (!inserted.isEmpty()) {
+            eventPublisher.publishEvent(new ChaptersImportedEvent(inserted.stream()
+                    .map(chapter -> new ImportedChapter(chapter.getId(), chapter.getTitleId(), chapter.getDisplayNumber(), chapter.getCreatedAt()))
+                    .toList(), userId));
+        }
+        return inserted.size();
+    }
+
+}
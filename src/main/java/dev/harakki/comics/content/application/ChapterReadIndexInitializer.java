@@ -0,0 +1,37 @@
+package dev.harakki.comics.content.application;
+
+import dev.harakki.comics.content.infrastructure.ChapterIndexSequenceRepository;
+import dev.harakki.comics.content.infrastructure.ChapterRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Assigns read indexes to chapters created before the column existed. Runs ahead of other startup
+ * listeners, as read progress backfills depend on these indexes.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ChapterReadIndexInitializer {
+
+    private final ChapterRepository chapterRepository;
+    private final ChapterIndexSequenceRepository chapterIndexSequenceRepository;
+
+    @Transactional
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @EventListener(ApplicationReadyEvent.class)
+    public void assignMissingReadIndexes() {
+        int assigned = chapterRepository.assignMissingReadIndexes();
+        if (assigned > 0) {
+            chapterIndexSequenceRepository.syncWithChapters();
+            log.info("Assigned read indexes to {} existing chapters", assigned);
+        }
+    }
+
+}
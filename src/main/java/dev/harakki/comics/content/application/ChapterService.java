@@ -2,11 +2,14 @@ package dev.harakki.comics.content.application;
 
 import dev.harakki.comics.content.api.ChapterCreatedEvent;
 import dev.harakki.comics.content.api.ChapterDeletedEvent;
+import dev.harakki.comics.content.api.ChapterIndexProvider;
 import dev.harakki.comics.content.api.ChapterReadEvent;
+import dev.harakki.comics.content.api.LatestChapterProvider;
 import dev.harakki.comics.content.api.ChapterUpdatedEvent;
 import dev.harakki.comics.content.domain.Chapter;
 import dev.harakki.comics.content.domain.Page;
 import dev.harakki.comics.content.dto.*;
+import dev.harakki.comics.content.infrastructure.ChapterIndexSequenceRepository;
 import dev.harakki.comics.content.infrastructure.ChapterMapper;
 import dev.harakki.comics.content.infrastructure.ChapterRepository;
 import dev.harakki.comics.media.api.MediaDeleteRequestedEvent;
@@ -23,6 +26,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.validation.annotation.Validated;
 
+import java.time.Instant;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -31,11 +35,12 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
 @Service
-public class ChapterService {
+public class ChapterService implements ChapterIndexProvider, LatestChapterProvider {
 
     private static final int MAX_PAGES_PER_CHAPTER = 500;
 
     private final ChapterRepository chapterRepository;
+    private final ChapterIndexSequenceRepository chapterIndexSequenceRepository;
     private final ChapterMapper chapterMapper;
 
     private final MediaUrlProvider mediaUrlProvider;
@@ -53,6 +58,7 @@ public class ChapterService {
                 .subNumber(request.subNumber())
                 .name(request.name())
                 .volume(request.volume())
+                .readIndex(chapterIndexSequenceRepository.allocateReadIndex(titleId))
                 .build();
 
         addPagesToChapter(chapter, request.pages());
@@ -66,7 +72,8 @@ public class ChapterService {
                 chapter.getId(),
                 titleId,
                 userId,
-                chapter.getDisplayNumber()
+                chapter.getDisplayNumber(),
+                chapter.getCreatedAt()
         ));
 
         log.info("Created chapter: titleId={}, number={}.{}", titleId, request.number(), request.subNumber());
@@ -185,15 +192,16 @@ public class ChapterService {
 
     @Transactional
     public void recordChapterRead(UUID chapterId, UUID titleId, ChapterReadRequest request) {
-        if (!chapterRepository.existsById(chapterId)) {
-            throw new ResourceNotFoundException("Chapter with id " + chapterId + " not found");
-        }
+        var chapter = chapterRepository.findById(chapterId)
+                .orElseThrow(() -> new ResourceNotFoundException("Chapter with id " + chapterId + " not found"));
 
         var event = new ChapterReadEvent(
                 titleId,
                 request.userId(),
                 chapterId,
-                request.readTimeMillis()
+                request.readTimeMillis(),
+                chapter.getTitleId().equals(titleId) ? chapter.getReadIndex() : null,
+                Instant.now()
         );
 
         eventPublisher.publishEvent(event);
@@ -201,16 +209,16 @@ public class ChapterService {
     }
 
     public ChapterReadStatusResponse isChapterRead(UUID chapterId, UUID titleId) {
-        if (!chapterRepository.existsById(chapterId)) {
-            throw new ResourceNotFoundException("Chapter not found");
-        }
+        var chapter = chapterRepository.findById(chapterId)
+                .orElseThrow(() -> new ResourceNotFoundException("Chapter not found"));
 
         var userId = SecurityUtils.getOptionalCurrentUserId().orElse(null);
         if (Objects.isNull(userId)) {
             throw new ResourceNotAvailableException("User ID must be provided to check read status");
         }
 
-        boolean isRead = chapterReadHistoryProvider.isChapterRead(userId, chapterId);
+        boolean isRead = chapter.getReadIndex() != null
+                && chapterReadHistoryProvider.isChapterRead(userId, chapter.getTitleId(), chapter.getReadIndex());
         return new ChapterReadStatusResponse(chapterId, isRead);
     }
 
@@ -226,16 +234,32 @@ public class ChapterService {
             throw new ResourceNotAvailableException("User ID must be provided to check read status");
         }
 
-        List<UUID> chapterIds = chapters.stream().map(Chapter::getId).toList();
-        Set<UUID> readChapterIds = chapterReadHistoryProvider.getReadChapterIds(userId, chapterIds);
+        BitSet readChapters = chapterReadHistoryProvider.getReadChapterIndexes(userId, titleId);
 
         return chapters.stream()
-                .filter(c -> !readChapterIds.contains(c.getId()))
+                .filter(c -> c.getReadIndex() == null || !readChapters.get(c.getReadIndex()))
                 .findFirst()
                 .map(c -> new NextChapterResponse(c.getId(), c.getDisplayNumber(), c.getName(), true))
                 .orElse(NextChapterResponse.noChapter());
     }
 
+    @Override
+    public Map<UUID, ChapterIndex> getChapterIndexes(Collection<UUID> chapterIds) {
+        if (chapterIds.isEmpty()) {
+            return Map.of();
+        }
+        return chapterRepository.findAllByIdIn(chapterIds).stream()
+                .filter(c -> c.getReadIndex() != null)
+                .collect(Collectors.toMap(Chapter::getId, c -> new ChapterIndex(c.getTitleId(), c.getReadIndex())));
+    }
+
+    @Override
+    public List<LatestChapter> getLatestChapters(int limit) {
+        return chapterRepository.findLatestPerTitle(limit).stream()
+                .map(c -> new LatestChapter(c.getId(), c.getTitleId(), c.getDisplayNumber(), c.getCreatedAt()))
+                .toList();
+    }
+
     private void validatePages(List<UUID> pages) {
         if (pages == null) {
             return;
@@ -26,7 +26,8 @@ import java.util.UUID;
                 @Index(name = "idx_chapter_number", columnList = "number")
         },
         uniqueConstraints = {
-                @UniqueConstraint(name = "uc_chapter_title_number_subnumber", columnNames = {"titleId", "number", "subNumber"})
+                @UniqueConstraint(name = "uc_chapter_title_number_subnumber", columnNames = {"titleId", "number", "subNumber"}),
+                @UniqueConstraint(name = "uc_chapter_title_read_index", columnNames = {"titleId", "readIndex"})
         }
 )
 @EntityListeners(AuditingEntityListener.class)
@@ -49,6 +50,11 @@ public class Chapter {
 
     private String name;
 
+    // Position of the chapter in per-title read progress bitmaps: allocated once in creation order
+    // and never reused, so inserting or deleting chapters does not shift other chapters' bits.
+    // Nullable only for rows created before the column existed, see ChapterReadIndexInitializer
+    private Integer readIndex;
+
     @Builder.Default
     @OneToMany(mappedBy = "chapter", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
     @OrderBy("pageOrder ASC")
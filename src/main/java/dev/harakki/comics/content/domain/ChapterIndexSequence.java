@@ -0,0 +1,30 @@
+package dev.harakki.comics.content.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.*;
+
+import java.util.UUID;
+
+/**
+ * Next free {@link Chapter#getReadIndex()} of a title. Only moves forward, so indexes of deleted chapters are not reused.
+ */
+@Getter
+@Setter
+@Entity
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "chapter_index_sequences")
+public class ChapterIndexSequence {
+
+    @Id
+    @Column(nullable = false)
+    private UUID titleId;
+
+    @Column(nullable = false)
+    private Integer nextIndex;
+
+}
@@ -0,0 +1,96 @@
+package dev.harakki.comics.content.infrastructure;
+
+import dev.harakki.comics.content.domain.Chapter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.*;
+
+/**
+ * Batched inserts of chapters for bulk imports, bypassing the persistence context.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ChapterImportRepository {
+
+    private static final int BATCH_SIZE = 1000;
+
+    public record ChapterKey(UUID titleId, int number, int subNumber) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public Set<ChapterKey> findExistingKeys(Collection<UUID> titleIds) {
+        var keys = new HashSet<ChapterKey>();
+        jdbcTemplate.query(con -> {
+            var ps = con.prepareStatement("SELECT title_id, number, sub_number FROM chapters WHERE title_id = ANY(?)");
+            ps.setArray(1, con.createArrayOf("uuid", titleIds.toArray()));
+            return ps;
+        }, rs -> {
+            keys.add(new ChapterKey(rs.getObject(1, UUID.class), rs.getInt(2), rs.getInt(3)));
+        });
+        return keys;
+    }
+
+    /**
+     * Allocates a block of consecutive read indexes per title with one upsert each, the batched
+     * counterpart of {@link ChapterIndexSequenceRepository#allocateReadIndex(UUID)}.
+     *
+     * @return the first allocated index per title
+     */
+    public Map<UUID, Integer> allocateReadIndexes(Map<UUID, Integer> countsByTitle) {
+        var firstIndexes = new HashMap<UUID, Integer>();
+        // Sorted by key so that concurrent imports lock rows in the same order
+        new TreeMap<>(countsByTitle).forEach((titleId, count) -> {
+            Integer next = jdbcTemplate.queryForObject("""
+                    INSERT INTO chapter_index_sequences (title_id, next_index) VALUES (?, ?)
+                    ON CONFLICT (title_id) DO UPDATE SET next_index = chapter_index_sequences.next_index + EXCLUDED.next_index
+                    RETURNING next_index
+                    """, Integer.class, titleId, count);
+            firstIndexes.put(titleId, next - count);
+        });
+        return firstIndexes;
+    }
+
+    /**
+     * Chapters whose number is taken by now are left out.
+     *
+     * @return the inserted chapters
+     */
+    public List<Chapter> insertAll(List<Chapter> chapters) {
+        var counts = jdbcTemplate.batchUpdate("""
+                INSERT INTO chapters (id, title_id, volume, number, sub_number, name, read_index, created_at, created_by, version)
+                VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, 0)
+                ON CONFLICT DO NOTHING
+                """, chapters, BATCH_SIZE, (ps, chapter) -> {
+            ps.setObject(1, chapter.getId());
+            ps.setObject(2, chapter.getTitleId());
+            if (chapter.getVolume() != null) {
+                ps.setInt(3, chapter.getVolume());
+            } else {
+                ps.setNull(3, Types.INTEGER);
+            }
+            ps.setInt(4, chapter.getNumber());
+            ps.setInt(5, chapter.getSubNumber());
+            ps.setString(6, chapter.getName());
+            ps.setInt(7, chapter.getReadIndex());
+            ps.setTimestamp(8, Timestamp.from(chapter.getCreatedAt()));
+            ps.setObject(9, chapter.getCreatedBy());
+        });
+        var inserted = new ArrayList<Chapter>(chapters.size());
+        int i = 0;
+        for (int[] batch : counts) {
+            for (int count : batch) {
+                if (count > 0) {
+                    inserted.add(chapters.get(i));
+                }
+                i++;
+            }
+        }
+        return inserted;
+    }
+
+}
@@ -0,0 +1,31 @@
+package dev.harakki.comics.content.infrastructure;
+
+import dev.harakki.comics.content.domain.ChapterIndexSequence;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.UUID;
+
+public interface ChapterIndexSequenceRepository extends JpaRepository<ChapterIndexSequence, UUID> {
+
+    // Single atomic statement: concurrent chapter creations for a title never get the same index.
+    // Not @Modifying: that would return the update count instead of the RETURNING value
+    @Transactional
+    @Query(value = """
+                INSERT INTO chapter_index_sequences (title_id, next_index) VALUES (:titleId, 1)
+                ON CONFLICT (title_id) DO UPDATE SET next_index = chapter_index_sequences.next_index + 1
+                RETURNING next_index - 1
+            """, nativeQuery = true)
+    int allocateReadIndex(UUID titleId);
+
+    @Modifying
+    @Query(value = """
+                INSERT INTO chapter_index_sequences (title_id, next_index)
+                SELECT title_id, MAX(read_index) + 1 FROM chapters WHERE read_index IS NOT NULL GROUP BY title_id
+                ON CONFLICT (title_id) DO UPDATE SET next_index = GREATEST(chapter_index_sequences.next_index, EXCLUDED.next_index)
+            """, nativeQuery = true)
+    int syncWithChapters();
+
+}
@@ -2,8 +2,10 @@ package dev.harakki.comics.content.infrastructure;
 
 import dev.harakki.comics.content.domain.Chapter;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -18,4 +20,33 @@ public interface ChapterRepository extends JpaRepository<Chapter, UUID> {
     @Query("SELECT c FROM Chapter c LEFT JOIN FETCH c.pages WHERE c.id = :id")
     Optional<Chapter> findByIdWithPages(UUID id);
 
+    List<Chapter> findAllByIdIn(Collection<UUID> ids);
+
+    // Newest chapter of each title, for the titles updated most recently
+    @Query(value = """
+                SELECT latest.* FROM (
+                    SELECT DISTINCT ON (c.title_id) c.*
+                    FROM chapters c
+                    ORDER BY c.title_id, c.created_at DESC, c.id DESC
+                ) latest
+                ORDER BY latest.created_at DESC, latest.id DESC
+                LIMIT :limit
+            """, nativeQuery = true)
+    List<Chapter> findLatestPerTitle(int limit);
+
+    // Number chapters without a read index after the highest index of their title, in creation (UUIDv7) order
+    @Modifying
+    @Query(value = """
+                WITH numbered AS (
+                    SELECT c.id,
+                           COALESCE(MAX(c.read_index) OVER (PARTITION BY c.title_id), -1)
+                               + ROW_NUMBER() OVER (PARTITION BY c.title_id, c.read_index IS NULL ORDER BY c.id) AS read_index
+                    FROM chapters c
+                )
+                UPDATE chapters SET read_index = numbered.read_index
+                FROM numbered
+                WHERE chapters.id = numbered.id AND chapters.read_index IS NULL
+            """, nativeQuery = true)
+    int assignMissingReadIndexes();
+
 }
@@ -0,0 +1,108 @@
+package dev.harakki.comics.home.application;
+
+import dev.harakki.comics.catalog.api.TitleCreatedEvent;
+import dev.harakki.comics.catalog.api.TitleDeletedEvent;
+import dev.harakki.comics.catalog.api.TitleUpdatedEvent;
+import dev.harakki.comics.catalog.api.TitlesImportedEvent;
+import dev.harakki.comics.content.api.ChapterCreatedEvent;
+import dev.harakki.comics.content.api.ChapterDeletedEvent;
+import dev.harakki.comics.content.api.ChaptersImportedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.modulith.events.ApplicationModuleListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class HomeEventListener {
+
+    private final HomeService homeService;
+
+    @Async
+    @ApplicationModuleListener
+    public void on(ChapterCreatedEvent event) {
+        log.debug("Processing chapter created event: chapterId={}, titleId={}", event.chapterId(), event.titleId());
+
+        try {
+            homeService.recordChapterCreated(event.chapterId(), event.titleId(), event.chapterNumber(), event.createdAt());
+        } catch (Exception e) {
+            log.error("Failed to process chapter created event: chapterId={}, titleId={}", event.chapterId(), event.titleId(), e);
+        }
+    }
+
+    @Async
+    @ApplicationModuleListener
+    public void on(ChaptersImportedEvent event) {
+        log.debug("Processing chapters imported event: chapters={}", event.chapters().size());
+
+        try {
+            event.chapters().forEach(chapter ->
+                    homeService.recordChapterCreated(chapter.chapterId(), chapter.titleId(), chapter.chapterNumber(), chapter.createdAt()));
+        } catch (Exception e) {
+            log.error("Failed to process chapters imported event: chapters={}", event.chapters().size(), e);
+        }
+    }
+
+    @Async
+    @ApplicationModuleListener
+    public void on(ChapterDeletedEvent event) {
+        log.debug("Processing chapter deleted event: chapterId={}, titleId={}", event.chapterId(), event.titleId());
+
+        try {
+            homeService.recordChapterDeleted(event.chapterId());
+        } catch (Exception e) {
+            log.error("Failed to process chapter deleted event: chapterId={}, titleId={}", event.chapterId(), event.titleId(), e);
+        }
+    }
+
+    @Async
+    @ApplicationModuleListener
+    public void on(TitleCreatedEvent event) {
+        log.debug("Processing title created event: titleId={}", event.titleId());
+
+        try {
+            homeService.recordTitleCreated(event.titleId());
+        } catch (Exception e) {
+            log.error("Failed to process title created event: titleId={}", event.titleId(), e);
+        }
+    }
+
+    @Async
+    @ApplicationModuleListener
+    public void on(TitlesImportedEvent event) {
+        log.debug("Processing titles imported event: titles={}", event.titles().size());
+
+        try {
+            event.titleIds().forEach(homeService::recordTitleCreated);
+        } catch (Exception e) {
+            log.error("Failed to process titles imported event: titles={}", event.titles().size(), e);
+        }
+    }
+
+    @Async
+    @ApplicationModuleListener
+    public void on(TitleUpdatedEvent event) {
+        log.debug("Processing title updated event: titleId={}", event.titleId());
+
+        try {
+            homeService.recordTitleUpdated(event.titleId());
+        } catch (Exception e) {
+            log.error("Failed to process title updated event: titleId={}", event.titleId(), e);
+        }
+    }
+
+    @Async
+    @ApplicationModuleListener
+    public void on(TitleDeletedEvent event) {
+        log.debug("Processing title deleted event: titleId={}", event.titleId());
+
+        try {
+            homeService.recordTitleDeleted(event.titleId());
+        } catch (Exception e) {
+            log.error("Failed to process title deleted event: titleId={}", event.titleId(), e);
+        }
+    }
+
+}
@@ -0,0 +1,233 @@
+package dev.harakki.comics.home.application;
+
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import dev.harakki.comics.analytics.api.PopularTitleProvider;
+import dev.harakki.comics.analytics.api.TrendingTitleProvider;
+import dev.harakki.comics.analytics.api.TrendingWindow;
+import dev.harakki.comics.catalog.api.TitleCardProvider;
+import dev.harakki.comics.catalog.api.TitleCardProvider.TitleCard;
+import dev.harakki.comics.content.api.LatestChapterProvider;
+import dev.harakki.comics.home.domain.Shelf;
+import dev.harakki.comics.home.domain.ShelfType;
+import dev.harakki.comics.home.dto.HomeResponse;
+import dev.harakki.comics.home.dto.ShelfItemResponse;
+import dev.harakki.comics.home.dto.ShelfResponse;
+import dev.harakki.comics.home.dto.TitleCardResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Home page shelves kept in memory as bounded, versioned {@link Shelf}s. "Latest updates" and "new
+ * titles" follow chapter and title events one item at a time, the popularity shelves are re-read
+ * from analytics periodically; nothing joins chapters against titles on a request.
+ * <p>
+ * The assembled page, with title cards hydrated from a cache, is kept until a shelf or a card
+ * changes. Its ETag is derived from the versions, so unchanged pages are answered with 304 without
+ * touching the shelves.
+ */
+@Slf4j
+@Service
+public class HomeService {
+
+    public record Home(String eTag, HomeResponse response) {
+    }
+
+    private final TitleCardProvider titleCardProvider;
+    private final LatestChapterProvider latestChapterProvider;
+    private final TrendingTitleProvider trendingTitleProvider;
+    private final PopularTitleProvider popularTitleProvider;
+    private final int shelfSize;
+    private final TrendingWindow trendingWindow;
+
+    private final Map<ShelfType, Shelf> shelves = new EnumMap<>(ShelfType.class);
+    private final LoadingCache<UUID, TitleCard> cards;
+    private final AtomicLong cardsVersion = new AtomicLong();
+    // Versions restart from zero, the boot time keeps ETags of different runs apart
+    private final String bootId = Long.toHexString(System.currentTimeMillis());
+
+    private volatile Home home;
+
+    HomeService(
+            TitleCardProvider titleCardProvider,
+            LatestChapterProvider latestChapterProvider,
+            TrendingTitleProvider trendingTitleProvider,
+            PopularTitleProvider popularTitleProvider,
+            @Value("${home.shelf-size:24}") int shelfSize,
+            @Value("${home.trending-window:DAY}") TrendingWindow trendingWindow,
+            @Value("${home.card-cache-size:10000}") long cardCacheSize
+    ) {
+        this.titleCardProvider = titleCardProvider;
+        this.latestChapterProvider = latestChapterProvider;
+        this.trendingTitleProvider = trendingTitleProvider;
+        this.popularTitleProvider = popularTitleProvider;
+        this.shelfSize = shelfSize;
+        this.trendingWindow = trendingWindow;
+        for (var type : ShelfType.values()) {
+            shelves.put(type, new Shelf(shelfSize));
+        }
+        this.cards = Caffeine.newBuilder()
+                .maximumSize(cardCacheSize)
+                .build(new CacheLoader<>() {
+                    @Override
+                    public TitleCard load(UUID titleId) {
+                        return loadAll(Set.of(titleId)).get(titleId);
+                    }
+
+                    @Override
+                    public Map<UUID, TitleCard> loadAll(Set<? extends UUID> titleIds) {
+                        return titleCardProvider.getTitleCards(List.copyOf(titleIds)).stream()
+                                .collect(Collectors.toMap(TitleCard::id, Function.identity()));
+                    }
+                });
+    }
+
+    /**
+     * The assembled page, rebuilt only if a shelf or a card changed since the last call.
+     */
+    public Home getHome() {
+        String eTag = currentETag();
+        var current = home;
+        if (current != null && current.eTag().equals(eTag)) {
+            return current;
+        }
+        return assemble();
+    }
+
+    /**
+     * @param createdAt when the chapter was created, null for now
+     */
+    public void recordChapterCreated(UUID chapterId, UUID titleId, String chapterNumber, Instant createdAt) {
+        var chapterCreatedAt = createdAt != null ? createdAt : Instant.now();
+        shelves.get(ShelfType.LATEST_UPDATES).pushChapter(new Shelf.Item(titleId, chapterId, chapterNumber, chapterCreatedAt));
+    }
+
+    /**
+     * A deleted chapter that is the newest of its title is replaced by re-reading the shelf.
+     */
+    public void recordChapterDeleted(UUID chapterId) {
+        if (shelves.get(ShelfType.LATEST_UPDATES).containsChapter(chapterId)) {
+            loadLatestUpdates();
+        }
+    }
+
+    public void recordTitleCreated(UUID titleId) {
+        shelves.get(ShelfType.NEW_TITLES).pushFront(Shelf.Item.of(titleId));
+    }
+
+    public void recordTitleUpdated(UUID titleId) {
+        cards.invalidate(titleId);
+        cardsVersion.incrementAndGet();
+    }
+
+    public void recordTitleDeleted(UUID titleId) {
+        shelves.values().forEach(shelf -> shelf.removeTitle(titleId));
+        cards.invalidate(titleId);
+        cardsVersion.incrementAndGet();
+    }
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadShelves() {
+        try {
+            loadLatestUpdates();
+            shelves.get(ShelfType.NEW_TITLES).replaceAll(titleCardProvider.getNewestTitleIds(shelfSize).stream()
+                    .map(Shelf.Item::of)
+                    .toList());
+            refreshPopularShelves();
+            log.info("Loaded home page shelves");
+        } catch (Exception e) {
+            log.error("Failed to load home page shelves, they fill up from new events only", e);
+        }
+    }
+
+    /**
+     * Re-reads the popularity rankings; a shelf keeps its version if the ranking did not change.
+     */
+    @Scheduled(fixedDelayString = "${home.refresh-interval:PT1M}")
+    public void refreshPopularShelves() {
+        try {
+            shelves.get(ShelfType.POPULAR_NOW).replaceAll(trendingTitleProvider.getTrendingTitleIds(trendingWindow, shelfSize).stream()
+                    .map(Shelf.Item::of)
+                    .toList());
+            shelves.get(ShelfType.POPULAR).replaceAll(popularTitleProvider.getPopularTitleIds(shelfSize).stream()
+                    .map(Shelf.Item::of)
+                    .toList());
+        } catch (Exception e) {
+            log.error("Failed to refresh popular home page shelves", e);
+        }
+    }
+
+    private void loadLatestUpdates() {
+        shelves.get(ShelfType.LATEST_UPDATES).replaceAll(latestChapterProvider.getLatestChapters(shelfSize).stream()
+                .map(chapter -> new Shelf.Item(chapter.titleId(), chapter.chapterId(), chapter.chapterNumber(), chapter.createdAt()))
+                .toList());
+    }
+
+    private String currentETag() {
+        long version = cardsVersion.get();
+        for (var shelf : shelves.values()) {
+            version += shelf.snapshot().version();
+        }
+        // Every change increments one of the versions, so their sum identifies the page within a run
+        return "\"" + bootId + "-" + Long.toHexString(version) + "\"";
+    }
+
+    private synchronized Home assemble() {
+        // Versions are read before the contents, so a concurrent change can only make the page newer than its ETag
+        String eTag = currentETag();
+        var current = home;
+        if (current != null && current.eTag().equals(eTag)) {
+            return current;
+        }
+
+        Map<ShelfType, Shelf.Snapshot> snapshots = new EnumMap<>(ShelfType.class);
+        Set<UUID> titleIds = new HashSet<>();
+        shelves.forEach((type, shelf) -> {
+            var snapshot = shelf.snapshot();
+            snapshots.put(type, snapshot);
+            snapshot.items().forEach(item -> titleIds.add(item.titleId()));
+        });
+        var titleCards = cards.getAll(titleIds);
+
+        List<ShelfResponse> shelfResponses = new ArrayList<>(snapshots.size());
+        snapshots.forEach((type, snapshot) -> {
+            var items = snapshot.items().stream()
+                    .filter(item -> titleCards.containsKey(item.titleId()))
+                    .map(item -> new ShelfItemResponse(toResponse(titleCards.get(item.titleId())),
+                            item.chapterId(), item.chapterNumber(), item.chapterCreatedAt()))
+                    .toList();
+            shelfResponses.add(new ShelfResponse(type, snapshot.version(), items));
+        });
+
+        var assembled = new Home(eTag, new HomeResponse(shelfResponses));
+        home = assembled;
+        return assembled;
+    }
+
+    private static TitleCardResponse toResponse(TitleCard card) {
+        return new TitleCardResponse(
+                card.id(),
+                card.name(),
+                card.slug(),
+                card.type(),
+                card.titleStatus(),
+                card.contentRating(),
+                card.releaseYear(),
+                card.mainCoverMediaId()
+        );
+    }
+
+}
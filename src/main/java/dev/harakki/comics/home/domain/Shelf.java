@@ -0,0 +1,123 @@
+package dev.harakki.comics.home.domain;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Bounded, ordered list of titles shown on the home page. Every change publishes a new immutable
+ * {@link Snapshot} with the next version, so readers never lock and can tell whether a shelf changed
+ * from its version alone. A title appears at most once.
+ */
+public final class Shelf {
+
+    /**
+     * @param chapterId        chapter that put the title on the shelf, null for shelves not about chapters
+     * @param chapterNumber    display number of that chapter
+     * @param chapterCreatedAt when that chapter was published
+     */
+    public record Item(UUID titleId, UUID chapterId, String chapterNumber, Instant chapterCreatedAt) {
+
+        public static Item of(UUID titleId) {
+            return new Item(titleId, null, null, null);
+        }
+    }
+
+    public record Snapshot(long version, List<Item> items) {
+    }
+
+    private final int capacity;
+    private volatile Snapshot snapshot = new Snapshot(0, List.of());
+
+    public Shelf(int capacity) {
+        this.capacity = capacity;
+    }
+
+    public Snapshot snapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Puts a title first, moving it up if it is already on the shelf and dropping the last one if full.
+     */
+    public synchronized void pushFront(Item item) {
+        List<Item> items = new ArrayList<>(capacity);
+        items.add(item);
+        for (var existing : snapshot.items()) {
+            if (items.size() == capacity) {
+                break;
+            }
+            if (!existing.titleId().equals(item.titleId())) {
+                items.add(existing);
+            }
+        }
+        publish(items);
+    }
+
+    /**
+     * Puts a title at the position of its chapter on a shelf ordered by chapter time, newest first,
+     * so chapters delivered out of order still end up in order. Ignored if the title is already on
+     * the shelf with a newer chapter, or if the chapter is older than everything on a full shelf.
+     */
+    public synchronized void pushChapter(Item item) {
+        var existing = snapshot.items();
+        for (var current : existing) {
+            if (current.titleId().equals(item.titleId()) && isNewer(current, item)) {
+                return;
+            }
+        }
+        List<Item> items = new ArrayList<>(capacity);
+        boolean placed = false;
+        for (var current : existing) {
+            if (current.titleId().equals(item.titleId())) {
+                continue;
+            }
+            if (!placed && !isNewer(current, item)) {
+                items.add(item);
+                placed = true;
+            }
+            items.add(current);
+        }
+        if (!placed) {
+            items.add(item);
+        }
+        if (items.size() > capacity) {
+            if (items.get(capacity) == item) {
+                return;
+            }
+            items = items.subList(0, capacity);
+        }
+        publish(items);
+    }
+
+    /**
+     * Replaces the whole shelf, keeping the version if nothing changed.
+     */
+    public synchronized void replaceAll(List<Item> items) {
+        var bounded = items.size() > capacity ? items.subList(0, capacity) : items;
+        if (!bounded.equals(snapshot.items())) {
+            publish(bounded);
+        }
+    }
+
+    public synchronized void removeTitle(UUID titleId) {
+        var items = snapshot.items();
+        if (items.stream().anyMatch(item -> item.titleId().equals(titleId))) {
+            publish(items.stream().filter(item -> !item.titleId().equals(titleId)).toList());
+        }
+    }
+
+    public boolean containsChapter(UUID chapterId) {
+        return snapshot.items().stream().anyMatch(item -> chapterId.equals(item.chapterId()));
+    }
+
+    private static boolean isNewer(Item item, Item than) {
+        return item.chapterCreatedAt() != null && item.chapterCreatedAt().isAfter(than.chapterCreatedAt());
+    }
+
+    private void publish(List<Item> items) {
+        snapshot = new Snapshot(snapshot.version() + 1, List.copyOf(items));
+    }
+
+}
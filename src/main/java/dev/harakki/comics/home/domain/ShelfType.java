@@ -0,0 +1,8 @@
+package dev.harakki.comics.home.domain;
+
+public enum ShelfType {
+    LATEST_UPDATES,
+    NEW_TITLES,
+    POPULAR_NOW,
+    POPULAR
+}
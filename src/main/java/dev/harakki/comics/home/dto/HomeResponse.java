@@ -0,0 +1,15 @@
+package dev.harakki.comics.home.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.io.Serializable;
+import java.util.List;
+
+@Schema(description = "All home page shelves")
+public record HomeResponse(
+
+        @Schema(description = "Shelves in display order")
+        List<ShelfResponse> shelves
+
+) implements Serializable {
+}
@@ -0,0 +1,25 @@
+package dev.harakki.comics.home.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.UUID;
+
+@Schema(description = "Title on a home page shelf")
+public record ShelfItemResponse(
+
+        @Schema(description = "The title")
+        TitleCardResponse title,
+
+        @Schema(description = "Newest chapter, only on the latest updates shelf", example = "019b9d1e-bc3a-70f3-8520-36e8d82dc9e2")
+        UUID chapterId,
+
+        @Schema(description = "Display number of the newest chapter", example = "12.5")
+        String chapterNumber,
+
+        @Schema(description = "When the newest chapter was published", example = "2026-01-30T12:00:00Z")
+        Instant chapterCreatedAt
+
+) implements Serializable {
+}
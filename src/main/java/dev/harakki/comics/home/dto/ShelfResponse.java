@@ -0,0 +1,22 @@
+package dev.harakki.comics.home.dto;
+
+import dev.harakki.comics.home.domain.ShelfType;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.io.Serializable;
+import java.util.List;
+
+@Schema(description = "Home page shelf")
+public record ShelfResponse(
+
+        @Schema(description = "Shelf type", example = "LATEST_UPDATES")
+        ShelfType type,
+
+        @Schema(description = "Version of the shelf, increases whenever its titles change", example = "42")
+        long version,
+
+        @Schema(description = "Titles on the shelf, in display order")
+        List<ShelfItemResponse> items
+
+) implements Serializable {
+}
@@ -0,0 +1,37 @@
+package dev.harakki.comics.home.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.io.Serializable;
+import java.time.Year;
+import java.util.UUID;
+
+@Schema(description = "Title as shown in a listing")
+public record TitleCardResponse(
+
+        @Schema(description = "Title unique identifier", example = "019b9d1e-bc3a-70f3-8520-36e8d82dc9e0")
+        UUID id,
+
+        @Schema(description = "Title name", example = "Berserk")
+        String name,
+
+        @Schema(description = "URL slug", example = "berserk")
+        String slug,
+
+        @Schema(description = "Title type", example = "MANGA")
+        String type,
+
+        @Schema(description = "Publication status", example = "ONGOING")
+        String titleStatus,
+
+        @Schema(description = "Content rating", example = "EIGHTEEN_PLUS")
+        String contentRating,
+
+        @Schema(description = "Release year", example = "1989")
+        Year releaseYear,
+
+        @Schema(description = "Cover media unique identifier", example = "019b9d1e-bc3a-70f3-8520-36e8d82dc9e1")
+        UUID mainCoverMediaId
+
+) implements Serializable {
+}
@@ -0,0 +1,11 @@
+@ApplicationModule(
+        allowedDependencies = {
+                "shared",
+                "analytics :: api",
+                "catalog :: api",
+                "content :: api"
+        }
+)
+package dev.harakki.comics.home;
+
+import org.springframework.modulith.ApplicationModule;
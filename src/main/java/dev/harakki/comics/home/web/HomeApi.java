@@ -0,0 +1,29 @@
+package dev.harakki.comics.home.web;
+
+import dev.harakki.comics.home.dto.HomeResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+
+@Tag(name = "Home", description = "Home page API.")
+public interface HomeApi {
+
+    @Operation(
+            operationId = "getHome",
+            summary = "Get home page shelves",
+            description = "Retrieve all home page shelves (latest updates, new titles, popular now, popular) with their title cards in one call. Responses may be cached briefly and support revalidation with If-None-Match."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Shelves retrieved successfully",
+                    content = @Content(schema = @Schema(implementation = HomeResponse.class))),
+            @ApiResponse(responseCode = "304", description = "Shelves have not changed since the given ETag")
+    })
+    ResponseEntity<HomeResponse> getHome(@Parameter(hidden = true) WebRequest webRequest);
+
+}
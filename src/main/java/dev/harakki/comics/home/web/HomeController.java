@@ -0,0 +1,39 @@
+package dev.harakki.comics.home.web;
+
+import dev.harakki.comics.home.application.HomeService;
+import dev.harakki.comics.home.dto.HomeResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+import java.time.Duration;
+
+@RequiredArgsConstructor
+@RestController
+@RequestMapping(path = "/api/v1/home", produces = MediaType.APPLICATION_JSON_VALUE)
+public class HomeController implements HomeApi {
+
+    private final HomeService homeService;
+
+    @Value("${home.max-age:PT30S}")
+    private Duration maxAge;
+
+    @GetMapping
+    public ResponseEntity<HomeResponse> getHome(WebRequest webRequest) {
+        var home = homeService.getHome();
+        if (webRequest.checkNotModified(home.eTag())) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .eTag(home.eTag())
+                .cacheControl(CacheControl.maxAge(maxAge).cachePublic())
+                .body(home.response());
+    }
+
+}
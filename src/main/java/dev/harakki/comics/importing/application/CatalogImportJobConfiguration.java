@@ -0,0 +1,151 @@
+package dev.harakki.comics.importing.application;
+
+import dev.harakki.comics.catalog.api.CatalogImporter;
+import dev.harakki.comics.catalog.api.CatalogImporter.AuthorRecord;
+import dev.harakki.comics.catalog.api.CatalogImporter.TagRecord;
+import dev.harakki.comics.content.api.ChapterImporter;
+import dev.harakki.comics.importing.dto.AuthorImportRow;
+import dev.harakki.comics.importing.dto.ChapterImportRow;
+import dev.harakki.comics.importing.dto.TagImportRow;
+import dev.harakki.comics.importing.dto.TitleImportRow;
+import org.jspecify.annotations.Nullable;
+import org.springframework.batch.core.configuration.annotation.StepScope;
+import org.springframework.batch.core.job.Job;
+import org.springframework.batch.core.job.builder.JobBuilder;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.core.step.Step;
+import org.springframework.batch.core.step.builder.StepBuilder;
+import org.springframework.batch.infrastructure.item.ItemProcessor;
+import org.springframework.batch.infrastructure.item.file.FlatFileItemReader;
+import org.springframework.batch.infrastructure.item.file.FlatFileParseException;
+import org.springframework.batch.infrastructure.item.support.CompositeItemProcessor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+
+/**
+ * Bulk catalog import as a Spring Batch job of one chunk-oriented step per file: authors, tags, titles
+ * and then chapters, so each step can resolve names against everything imported before it. The names in
+ * the catalog are loaded once per run and extended with what each chunk inserts. A chunk is inserted with
+ * batched statements in one transaction and announced with one event. Malformed and invalid rows and rows
+ * referencing unknown names are skipped up to a limit, rows whose name exists are filtered.
+ * Readers keep their position in the job repository, so a failed import restarts after its last chunk.
+ */
+@Configuration
+class CatalogImportJobConfiguration {
+
+    static final String JOB_NAME = "catalogImportJob";
+
+    private final JobRepository jobRepository;
+    private final PlatformTransactionManager transactionManager;
+    private final int chunkSize;
+    private final long skipLimit;
+
+    CatalogImportJobConfiguration(
+            JobRepository jobRepository,
+            PlatformTransactionManager transactionManager,
+            @Value("${importing.chunk-size:1000}") int chunkSize,
+            @Value("${importing.skip-limit:1000}") long skipLimit
+    ) {
+        this.jobRepository = jobRepository;
+        this.transactionManager = transactionManager;
+        this.chunkSize = chunkSize;
+        this.skipLimit = skipLimit;
+    }
+
+    @Bean
+    Job catalogImportJob(FlatFileItemReader<AuthorImportRow> authorImportReader,
+                         FlatFileItemReader<TagImportRow> tagImportReader,
+                         FlatFileItemReader<TitleImportRow> titleImportReader,
+                         FlatFileItemReader<ChapterImportRow> chapterImportReader,
+                         CatalogImporter catalogImporter,
+                         ChapterImporter chapterImporter) {
+        var authorIds = new NameLookup(catalogImporter::getAuthorIdsByName);
+        var tagIds = new NameLookup(catalogImporter::getTagIdsByName);
+        var titleIds = new NameLookup(catalogImporter::getTitleIdsByName);
+        var authorFilter = new NewNameFilter<>(authorIds, AuthorImportRow::name);
+        var tagFilter = new NewNameFilter<>(tagIds, TagImportRow::name);
+        var titleFilter = new NewNameFilter<>(titleIds, TitleImportRow::name);
+
+        return new JobBuilder(JOB_NAME, jobRepository)
+                .listener(authorIds)
+                .listener(tagIds)
+                .listener(titleIds)
+                .start(step("authorImportStep", authorImportReader,
+                        composite(authorFilter, row -> new AuthorRecord(
+                                row.name(), row.description(), row.countryIsoCode(), row.websiteUrls())),
+                        (items, userId) -> authorIds.addAfterCommit(catalogImporter.importAuthors(items, userId)),
+                        authorFilter))
+                .next(step("tagImportStep", tagImportReader,
+                        composite(tagFilter, row -> new TagRecord(row.name(), row.type(), row.description())),
+                        (items, userId) -> tagIds.addAfterCommit(catalogImporter.importTags(items, userId)),
+                        tagFilter))
+                .next(step("titleImportStep", titleImportReader,
+                        composite(titleFilter, new TitleRowProcessor(authorIds, tagIds)),
+                        (items, userId) -> titleIds.addAfterCommit(catalogImporter.importTitles(items, userId)),
+                        titleFilter))
+                .next(step("chapterImportStep", chapterImportReader,
+                        new ChapterRowProcessor(titleIds),
+                        chapterImporter::importChapters))
+                .build();
+    }
+
+    @Bean
+    @StepScope
+    FlatFileItemReader<AuthorImportRow> authorImportReader(ImportFileReaders readers,
+                                                          @Value("#{jobParameters['authors']}") @Nullable String path) {
+        return readers.create("authorImportReader", path, AuthorImportRow.class);
+    }
+
+    @Bean
+    @StepScope
+    FlatFileItemReader<TagImportRow> tagImportReader(ImportFileReaders readers,
+                                                    @Value("#{jobParameters['tags']}") @Nullable String path) {
+        return readers.create("tagImportReader", path, TagImportRow.class);
+    }
+
+    @Bean
+    @StepScope
+    FlatFileItemReader<TitleImportRow> titleImportReader(ImportFileReaders readers,
+                                                        @Value("#{jobParameters['titles']}") @Nullable String path) {
+        return readers.create("titleImportReader", path, TitleImportRow.class);
+    }
+
+    @Bean
+    @StepScope
+    FlatFileItemReader<ChapterImportRow> chapterImportReader(ImportFileReaders readers,
+                                                            @Value("#{jobParameters['chapters']}") @Nullable String path) {
+        return readers.create("chapterImportReader", path, ChapterImportRow.class);
+    }
+
+    /**
+     * Step of one file. The writer and the given listeners are set up when the step starts.
+     */
+    private <I, O> Step step(String name, FlatFileItemReader<I> reader, ItemProcessor<I, O> processor,
+                             ImportWriter.Importer<O> importer, Object... listeners) {
+        var progressListener = new ImportProgressListener<I, O>();
+        var writer = new ImportWriter<>(importer);
+        var builder = new StepBuilder(name, jobRepository)
+                .<I, O>chunk(chunkSize)
+                .transactionManager(transactionManager)
+                .reader(reader)
+                .processor(processor)
+                .writer(writer)
+                .faultTolerant()
+                .skip(FlatFileParseException.class, UnresolvedReferenceException.class, IllegalArgumentException.class)
+                .skipLimit(skipLimit)
+                .skipListener(progressListener)
+                .listener(progressListener)
+                .listener(writer);
+        for (var listener : listeners) {
+            builder.listener(listener);
+        }
+        return builder.build();
+    }
+
+    private static <I, O> ItemProcessor<I, O> composite(ItemProcessor<I, I> filter, ItemProcessor<I, O> processor) {
+        return new CompositeItemProcessor<>(filter, processor);
+    }
+
+}
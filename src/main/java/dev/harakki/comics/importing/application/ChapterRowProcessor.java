@@ -0,0 +1,36 @@
+package dev.harakki.comics.importing.application;
+
+import dev.harakki.comics.content.api.ChapterImporter.ChapterRecord;
+import dev.harakki.comics.importing.dto.ChapterImportRow;
+import org.springframework.batch.infrastructure.item.ItemProcessor;
+
+/**
+ * Resolves the title names of chapter rows, including the titles of the same import.
+ */
+class ChapterRowProcessor implements ItemProcessor<ChapterImportRow, ChapterRecord> {
+
+    private final NameLookup titleIds;
+
+    ChapterRowProcessor(NameLookup titleIds) {
+        this.titleIds = titleIds;
+    }
+
+    @Override
+    public ChapterRecord process(ChapterImportRow row) {
+        if (row.number() == null) {
+            throw new IllegalArgumentException("Chapter number is missing");
+        }
+        var titleId = titleIds.get(row.title());
+        if (titleId == null) {
+            throw new UnresolvedReferenceException("Title " + row.title() + " not found");
+        }
+        return new ChapterRecord(
+                titleId,
+                row.volume(),
+                row.number(),
+                row.subNumber() != null ? row.subNumber() : 0,
+                row.name()
+        );
+    }
+
+}
@@ -0,0 +1,84 @@
+package dev.harakki.comics.importing.application;
+
+import lombok.RequiredArgsConstructor;
+import org.jspecify.annotations.Nullable;
+import org.springframework.batch.infrastructure.item.file.FlatFileItemReader;
+import org.springframework.batch.infrastructure.item.file.LineMapper;
+import org.springframework.batch.infrastructure.item.file.builder.FlatFileItemReaderBuilder;
+import org.springframework.batch.infrastructure.item.file.transform.DelimitedLineTokenizer;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.stereotype.Component;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Line-by-line readers of import files into row records. Files ending in {@code .csv} are read as CSV
+ * whose header row names the record components, with list components separated by {@code '|'}; any
+ * other file as newline-delimited JSON. The readers keep their line count in the step execution
+ * context, so a restarted step continues after the last committed chunk.
+ */
+@Component
+@RequiredArgsConstructor
+class ImportFileReaders {
+
+    private static final String LIST_SEPARATOR = "\\|";
+
+    private final JsonMapper jsonMapper;
+
+    /**
+     * @param path absolute path of the file, or null for a reader of nothing
+     */
+    <T extends Record> FlatFileItemReader<T> create(String name, @Nullable String path, Class<T> type) {
+        var builder = new FlatFileItemReaderBuilder<T>()
+                .name(name)
+                .encoding("UTF-8");
+        if (path == null) {
+            return builder
+                    .resource(new ByteArrayResource(new byte[0]))
+                    .lineMapper((_, _) -> null)
+                    .build();
+        }
+        builder.resource(new FileSystemResource(path));
+        if (path.endsWith(".csv")) {
+            var tokenizer = new DelimitedLineTokenizer();
+            return builder
+                    .linesToSkip(1)
+                    .skippedLinesCallback(header -> tokenizer.setNames(new DelimitedLineTokenizer().tokenize(header).getValues()))
+                    .lineMapper(csvLineMapper(tokenizer, type))
+                    .build();
+        }
+        return builder
+                .lineMapper((line, _) -> jsonMapper.readValue(line, type))
+                .build();
+    }
+
+    private <T extends Record> LineMapper<T> csvLineMapper(DelimitedLineTokenizer tokenizer, Class<T> type) {
+        Set<String> listComponents = Arrays.stream(type.getRecordComponents())
+                .filter(component -> List.class.isAssignableFrom(component.getType()))
+                .map(component -> component.getName())
+                .collect(Collectors.toSet());
+        return (line, _) -> {
+            var fields = tokenizer.tokenize(line);
+            var names = fields.getNames();
+            var values = fields.getValues();
+            var properties = new HashMap<String, Object>();
+            for (int i = 0; i < names.length; i++) {
+                var value = values[i].strip();
+                if (value.isEmpty()) {
+                    continue;
+                }
+                properties.put(names[i], listComponents.contains(names[i])
+                        ? Arrays.stream(value.split(LIST_SEPARATOR)).map(String::strip).filter(v -> !v.isEmpty()).toList()
+                        : value);
+            }
+            return jsonMapper.convertValue(properties, type);
+        };
+    }
+
+}
@@ -0,0 +1,77 @@
+package dev.harakki.comics.importing.application;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.job.Job;
+import org.springframework.batch.core.job.JobExecution;
+import org.springframework.batch.core.job.parameters.JobParameters;
+import org.springframework.batch.core.launch.JobOperator;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Runs the catalog import job in the background, after {@link ImportService} has checked the request.
+ * A run has to be reserved first and releases the launcher when it ends, so two requests can't both
+ * start one before either shows up as running in the job repository.
+ */
+@Slf4j
+@Component
+class ImportJobLauncher {
+
+    private final JobOperator jobOperator;
+    private final Job catalogImportJob;
+    private final AtomicBoolean reserved = new AtomicBoolean();
+
+    ImportJobLauncher(JobOperator jobOperator, @Qualifier("catalogImportJob") Job catalogImportJob) {
+        this.jobOperator = jobOperator;
+        this.catalogImportJob = catalogImportJob;
+    }
+
+    /**
+     * @return false if a run is reserved or in progress already
+     */
+    public boolean reserve() {
+        return reserved.compareAndSet(false, true);
+    }
+
+    /**
+     * Gives up a reservation that no run was started for.
+     */
+    public void release() {
+        reserved.set(false);
+    }
+
+    @Async
+    public void start(JobParameters parameters) {
+        try {
+            logResult(jobOperator.start(catalogImportJob, parameters));
+        } catch (Exception e) {
+            log.error("Failed to run catalog import", e);
+        } finally {
+            release();
+        }
+    }
+
+    @Async
+    public void restart(JobExecution execution) {
+        try {
+            logResult(jobOperator.restart(execution));
+        } catch (Exception e) {
+            log.error("Failed to restart catalog import: executionId={}", execution.getId(), e);
+        } finally {
+            release();
+        }
+    }
+
+    private static void logResult(JobExecution execution) {
+        if (execution.getStatus() != BatchStatus.COMPLETED) {
+            log.error("Catalog import finished with status {}: executionId={}", execution.getStatus(), execution.getId());
+            return;
+        }
+        log.info("Catalog import completed: executionId={}", execution.getId());
+    }
+
+}
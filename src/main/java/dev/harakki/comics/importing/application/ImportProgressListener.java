@@ -0,0 +1,55 @@
+package dev.harakki.comics.importing.application;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.ExitStatus;
+import org.springframework.batch.core.listener.SkipListener;
+import org.springframework.batch.core.listener.StepExecutionListener;
+import org.springframework.batch.core.step.StepExecution;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Logs the rows skipped by an import step and its counts and throughput when it ends.
+ */
+@Slf4j
+class ImportProgressListener<I, O> implements StepExecutionListener, SkipListener<I, O> {
+
+    @Override
+    public void onSkipInRead(Throwable t) {
+        log.warn("Skipped unreadable import row: {}", t.getMessage());
+    }
+
+    @Override
+    public void onSkipInProcess(I item, Throwable t) {
+        log.warn("Skipped import row {}: {}", item, t.getMessage());
+    }
+
+    @Override
+    public void onSkipInWrite(O item, Throwable t) {
+        log.warn("Skipped import record {}: {}", item, t.getMessage());
+    }
+
+    @Override
+    public ExitStatus afterStep(StepExecution stepExecution) {
+        log.info("Import step {} {}: read={}, imported={}, filtered={}, skipped={}, rowsPerSecond={}",
+                stepExecution.getStepName(), stepExecution.getStatus(), stepExecution.getReadCount(),
+                stepExecution.getExecutionContext().getLong(ImportWriter.IMPORTED_KEY, 0),
+                stepExecution.getFilterCount(), stepExecution.getSkipCount(),
+                String.format("%.1f", rowsPerSecond(stepExecution)));
+        return stepExecution.getExitStatus();
+    }
+
+    /**
+     * Rows read per second from the step's start to its end, or to now while it runs.
+     */
+    static double rowsPerSecond(StepExecution stepExecution) {
+        if (stepExecution.getStartTime() == null) {
+            return 0;
+        }
+        var end = stepExecution.getEndTime() != null ? stepExecution.getEndTime() : LocalDateTime.now();
+        long millis = Math.max(Duration.between(stepExecution.getStartTime(), end).toMillis(), 1);
+        return stepExecution.getReadCount() * 1000.0 / millis;
+    }
+
+}
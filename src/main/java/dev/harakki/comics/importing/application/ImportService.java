@@ -0,0 +1,150 @@
+package dev.harakki.comics.importing.application;
+
+import dev.harakki.comics.importing.dto.CatalogImportRequest;
+import dev.harakki.comics.importing.dto.ImportExecutionResponse;
+import dev.harakki.comics.importing.dto.ImportStepResponse;
+import dev.harakki.comics.shared.exception.ResourceInUseException;
+import dev.harakki.comics.shared.exception.ResourceNotFoundException;
+import dev.harakki.comics.shared.utils.SecurityUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.jspecify.annotations.Nullable;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.job.JobExecution;
+import org.springframework.batch.core.job.parameters.JobParametersBuilder;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.core.step.StepExecution;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Starts, restarts and reports catalog imports. Only files inside the configured import directory can
+ * be imported, and only one import runs at a time.
+ */
+@Slf4j
+@Service
+public class ImportService {
+
+    static final String USER_ID_PARAMETER = "userId";
+
+    private final JobRepository jobRepository;
+    private final ImportJobLauncher importJobLauncher;
+    private final Path directory;
+
+    ImportService(
+            JobRepository jobRepository,
+            ImportJobLauncher importJobLauncher,
+            @Value("${importing.directory:data/imports}") String directory
+    ) {
+        this.jobRepository = jobRepository;
+        this.importJobLauncher = importJobLauncher;
+        this.directory = Path.of(directory).toAbsolutePath().normalize();
+    }
+
+    public void start(CatalogImportRequest request) {
+        var parameters = new JobParametersBuilder();
+        addFile(parameters, "authors", request.authors());
+        addFile(parameters, "tags", request.tags());
+        addFile(parameters, "titles", request.titles());
+        addFile(parameters, "chapters", request.chapters());
+        SecurityUtils.getOptionalCurrentUserId()
+                .ifPresent(userId -> parameters.addString(USER_ID_PARAMETER, userId.toString(), false));
+        parameters.addLong("startedAt", System.currentTimeMillis());
+
+        launch(() -> importJobLauncher.start(parameters.toJobParameters()));
+        log.info("Started catalog import: {}", request);
+    }
+
+    /**
+     * Continues a failed or stopped import from the last committed chunk of the step it stopped in.
+     */
+    public void restart(long executionId) {
+        var execution = jobRepository.getJobExecution(executionId);
+        if (execution == null || !CatalogImportJobConfiguration.JOB_NAME.equals(execution.getJobInstance().getJobName())) {
+            throw new ResourceNotFoundException("Import execution with id " + executionId + " not found");
+        }
+        if (execution.getStatus() != BatchStatus.FAILED && execution.getStatus() != BatchStatus.STOPPED) {
+            throw new ResourceInUseException("Import execution with id " + executionId + " is "
+                    + execution.getStatus() + " and cannot be restarted");
+        }
+
+        launch(() -> importJobLauncher.restart(execution));
+        log.info("Restarted catalog import: executionId={}", executionId);
+    }
+
+    /**
+     * @return the latest imports, newest first
+     */
+    public List<ImportExecutionResponse> getExecutions(int limit) {
+        return jobRepository.getJobInstances(CatalogImportJobConfiguration.JOB_NAME, 0, limit).stream()
+                .flatMap(instance -> jobRepository.getJobExecutions(instance).stream())
+                .sorted(Comparator.comparingLong(JobExecution::getId).reversed())
+                .limit(limit)
+                .map(ImportService::toResponse)
+                .toList();
+    }
+
+    /**
+     * Reserves the launcher before checking the job repository, so of concurrent requests only one gets
+     * through, and the run it starts in the background holds the reservation until it ends.
+     */
+    private void launch(Runnable run) {
+        if (!importJobLauncher.reserve()) {
+            throw new ResourceInUseException("A catalog import is already running");
+        }
+        try {
+            if (!jobRepository.findRunningJobExecutions(CatalogImportJobConfiguration.JOB_NAME).isEmpty()) {
+                throw new ResourceInUseException("A catalog import is already running");
+            }
+            run.run();
+        } catch (RuntimeException e) {
+            importJobLauncher.release();
+            throw e;
+        }
+    }
+
+    private void addFile(JobParametersBuilder parameters, String name, @Nullable String file) {
+        if (file == null) {
+            return;
+        }
+        var path = directory.resolve(file).normalize();
+        if (!path.startsWith(directory) || !Files.isRegularFile(path)) {
+            throw new ResourceNotFoundException("Import file " + file + " not found");
+        }
+        parameters.addString(name, path.toString());
+    }
+
+    private static ImportExecutionResponse toResponse(JobExecution execution) {
+        var steps = execution.getStepExecutions().stream()
+                .sorted(Comparator.comparingLong(StepExecution::getId))
+                .map(step -> new ImportStepResponse(
+                        step.getStepName(),
+                        step.getStatus().name(),
+                        step.getReadCount(),
+                        step.getExecutionContext().getLong(ImportWriter.IMPORTED_KEY, 0),
+                        step.getFilterCount(),
+                        step.getSkipCount(),
+                        ImportProgressListener.rowsPerSecond(step)
+                ))
+                .toList();
+        return new ImportExecutionResponse(
+                execution.getId(),
+                execution.getStatus().name(),
+                toInstant(execution.getStartTime()),
+                toInstant(execution.getEndTime()),
+                steps
+        );
+    }
+
+    private static @Nullable Instant toInstant(@Nullable LocalDateTime time) {
+        return time != null ? time.atZone(ZoneId.systemDefault()).toInstant() : null;
+    }
+
+}
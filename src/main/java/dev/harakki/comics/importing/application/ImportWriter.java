@@ -0,0 +1,57 @@
+package dev.harakki.comics.importing.application;
+
+import org.jspecify.annotations.Nullable;
+import org.springframework.batch.core.listener.StepExecutionListener;
+import org.springframework.batch.core.step.StepExecution;
+import org.springframework.batch.infrastructure.item.Chunk;
+import org.springframework.batch.infrastructure.item.ItemWriter;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Hands each chunk to a bulk importer in the chunk's transaction, and counts the inserted rows in the
+ * step execution context under {@value #IMPORTED_KEY}, as an importer may leave out rows taken by now.
+ */
+class ImportWriter<T> implements ItemWriter<T>, StepExecutionListener {
+
+    static final String IMPORTED_KEY = "imported";
+
+    /**
+     * Rejects invalid items with an {@link IllegalArgumentException} before writing anything, without
+     * marking the transaction rollback-only, so the chunk transaction stays usable for the item-by-item
+     * retry that skips them.
+     */
+    @FunctionalInterface
+    interface Importer<T> {
+
+        /**
+         * @return number of inserted rows
+         */
+        int importAll(List<T> items, @Nullable UUID userId);
+
+    }
+
+    private final Importer<T> importer;
+    private @Nullable StepExecution stepExecution;
+    private @Nullable UUID userId;
+
+    ImportWriter(Importer<T> importer) {
+        this.importer = importer;
+    }
+
+    @Override
+    public void beforeStep(StepExecution stepExecution) {
+        this.stepExecution = stepExecution;
+        var user = stepExecution.getJobParameters().getString(ImportService.USER_ID_PARAMETER);
+        this.userId = user != null ? UUID.fromString(user) : null;
+    }
+
+    @Override
+    public void write(Chunk<? extends T> chunk) {
+        int imported = importer.importAll(List.copyOf(chunk.getItems()), userId);
+        var context = stepExecution.getExecutionContext();
+        context.putLong(IMPORTED_KEY, context.getLong(IMPORTED_KEY, 0) + imported);
+    }
+
+}
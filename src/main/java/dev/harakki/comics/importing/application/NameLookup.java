@@ -0,0 +1,65 @@
+package dev.harakki.comics.importing.application;
+
+import org.jspecify.annotations.Nullable;
+import org.springframework.batch.core.job.JobExecution;
+import org.springframework.batch.core.listener.JobExecutionListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * IDs by name of the authors, tags or titles an import resolves references against. Loaded from the catalog
+ * when a run starts, then extended with the IDs every committed chunk inserted, so a step sees what the
+ * steps before it imported without loading the catalog again.
+ */
+class NameLookup implements JobExecutionListener {
+
+    private final Supplier<Map<String, UUID>> catalog;
+    private Map<String, UUID> ids = Map.of();
+
+    NameLookup(Supplier<Map<String, UUID>> catalog) {
+        this.catalog = catalog;
+    }
+
+    @Override
+    public void beforeJob(JobExecution jobExecution) {
+        ids = new HashMap<>(catalog.get());
+    }
+
+    @Override
+    public void afterJob(JobExecution jobExecution) {
+        ids = Map.of();
+    }
+
+    @Nullable UUID get(String name) {
+        return ids.get(name);
+    }
+
+    Set<String> names() {
+        return ids.keySet();
+    }
+
+    /**
+     * Adds the IDs of the rows a chunk inserted once its transaction commits, a rolled back chunk adds nothing.
+     * For a name used more than once the first ID is kept, like the catalog does.
+     *
+     * @return number of inserted rows
+     */
+    int addAfterCommit(Map<String, UUID> inserted) {
+        if (!inserted.isEmpty()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    inserted.forEach(ids::putIfAbsent);
+                }
+            });
+        }
+        return inserted.size();
+    }
+
+}
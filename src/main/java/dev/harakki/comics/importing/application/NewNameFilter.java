@@ -0,0 +1,37 @@
+package dev.harakki.comics.importing.application;
+
+import org.springframework.batch.core.listener.StepExecutionListener;
+import org.springframework.batch.core.step.StepExecution;
+import org.springframework.batch.infrastructure.item.ItemProcessor;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Filters out rows whose name is in the catalog already or was seen earlier in the file. The names in
+ * the catalog are taken from the lookup when the step starts, which also makes a restarted or repeated
+ * import leave out what an earlier run inserted.
+ */
+class NewNameFilter<T> implements ItemProcessor<T, T>, StepExecutionListener {
+
+    private final NameLookup existing;
+    private final Function<T, String> name;
+    private Set<String> seen = new HashSet<>();
+
+    NewNameFilter(NameLookup existing, Function<T, String> name) {
+        this.existing = existing;
+        this.name = name;
+    }
+
+    @Override
+    public void beforeStep(StepExecution stepExecution) {
+        seen = new HashSet<>(existing.names());
+    }
+
+    @Override
+    public T process(T item) {
+        return seen.add(name.apply(item)) ? item : null;
+    }
+
+}
@@ -0,0 +1,54 @@
+package dev.harakki.comics.importing.application;
+
+import dev.harakki.comics.catalog.api.CatalogImporter.TitleAuthorRecord;
+import dev.harakki.comics.catalog.api.CatalogImporter.TitleRecord;
+import dev.harakki.comics.importing.dto.TitleImportRow;
+import org.springframework.batch.infrastructure.item.ItemProcessor;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Resolves the author and tag names of title rows, including the authors and tags of the same import.
+ */
+class TitleRowProcessor implements ItemProcessor<TitleImportRow, TitleRecord> {
+
+    private final NameLookup authorIds;
+    private final NameLookup tagIds;
+
+    TitleRowProcessor(NameLookup authorIds, NameLookup tagIds) {
+        this.authorIds = authorIds;
+        this.tagIds = tagIds;
+    }
+
+    @Override
+    public TitleRecord process(TitleImportRow row) {
+        var authors = row.authors() == null ? List.<TitleAuthorRecord>of() : row.authors().stream()
+                .map(author -> new TitleAuthorRecord(resolve(authorIds, "Author", author.name()), author.role()))
+                .toList();
+        var tags = row.tags() == null ? List.<UUID>of() : row.tags().stream()
+                .map(tag -> resolve(tagIds, "Tag", tag))
+                .toList();
+        return new TitleRecord(
+                row.name(),
+                row.description(),
+                row.type(),
+                row.status(),
+                row.releaseYear(),
+                row.contentRating(),
+                row.countryIsoCode(),
+                Boolean.TRUE.equals(row.licensed()),
+                authors,
+                tags
+        );
+    }
+
+    private static UUID resolve(NameLookup ids, String kind, String name) {
+        var id = ids.get(name);
+        if (id == null) {
+            throw new UnresolvedReferenceException(kind + " " + name + " not found");
+        }
+        return id;
+    }
+
+}
@@ -0,0 +1,12 @@
+package dev.harakki.comics.importing.application;
+
+/**
+ * An import row references an author, tag or title by a name that is not in the catalog.
+ */
+class UnresolvedReferenceException extends RuntimeException {
+
+    UnresolvedReferenceException(String message) {
+        super(message);
+    }
+
+}
@@ -0,0 +1,14 @@
+package dev.harakki.comics.importing.dto;
+
+import java.util.List;
+
+/**
+ * Author as read from an import file.
+ */
+public record AuthorImportRow(
+        String name,
+        String description,
+        String countryIsoCode,
+        List<String> websiteUrls
+) {
+}
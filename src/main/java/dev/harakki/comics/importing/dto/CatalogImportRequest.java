@@ -0,0 +1,29 @@
+package dev.harakki.comics.importing.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.AssertTrue;
+
+@Schema(description = "Files to import, relative to the import directory of the server. Files ending in .csv are read as CSV with a header row, others as newline-delimited JSON. List columns of CSV files are separated by '|'")
+public record CatalogImportRequest(
+
+        @Schema(description = "File of authors", example = "authors.ndjson")
+        String authors,
+
+        @Schema(description = "File of tags", example = "tags.csv")
+        String tags,
+
+        @Schema(description = "File of titles referencing authors and tags by name", example = "titles.ndjson")
+        String titles,
+
+        @Schema(description = "File of chapters referencing titles by name", example = "chapters.csv")
+        String chapters
+
+) {
+
+    @Schema(hidden = true)
+    @AssertTrue(message = "At least one file must be given")
+    public boolean isAnyFileGiven() {
+        return authors != null || tags != null || titles != null || chapters != null;
+    }
+
+}
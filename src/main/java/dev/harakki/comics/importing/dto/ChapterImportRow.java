@@ -0,0 +1,13 @@
+package dev.harakki.comics.importing.dto;
+
+/**
+ * Chapter without pages as read from an import file, referencing its title by name.
+ */
+public record ChapterImportRow(
+        String title,
+        Integer volume,
+        Integer number,
+        Integer subNumber,
+        String name
+) {
+}
@@ -0,0 +1,28 @@
+package dev.harakki.comics.importing.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.List;
+
+@Schema(description = "Run of a catalog import")
+public record ImportExecutionResponse(
+
+        @Schema(description = "Execution identifier, used to restart a failed import", example = "42")
+        long id,
+
+        @Schema(description = "Execution status", example = "COMPLETED")
+        String status,
+
+        @Schema(description = "Start time, null while waiting to start")
+        Instant startedAt,
+
+        @Schema(description = "End time, null while running")
+        Instant endedAt,
+
+        @Schema(description = "Progress per imported file")
+        List<ImportStepResponse> steps
+
+) implements Serializable {
+}
@@ -0,0 +1,32 @@
+package dev.harakki.comics.importing.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.io.Serializable;
+
+@Schema(description = "Progress of one file of a catalog import")
+public record ImportStepResponse(
+
+        @Schema(description = "Step name", example = "titleImportStep")
+        String name,
+
+        @Schema(description = "Step status", example = "COMPLETED")
+        String status,
+
+        @Schema(description = "Rows read", example = "250000")
+        long read,
+
+        @Schema(description = "Rows inserted", example = "249000")
+        long imported,
+
+        @Schema(description = "Rows left out because they already exist", example = "900")
+        long filtered,
+
+        @Schema(description = "Rows skipped because they are malformed, invalid or reference something unknown", example = "100")
+        long skipped,
+
+        @Schema(description = "Rows read per second of the step's run time", example = "18500.5")
+        double rowsPerSecond
+
+) implements Serializable {
+}
@@ -0,0 +1,11 @@
+package dev.harakki.comics.importing.dto;
+
+/**
+ * Tag as read from an import file.
+ */
+public record TagImportRow(
+        String name,
+        String type,
+        String description
+) {
+}
@@ -0,0 +1,51 @@
+package dev.harakki.comics.importing.dto;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+
+import java.util.List;
+
+/**
+ * Title as read from an import file, referencing its authors and tags by name.
+ */
+public record TitleImportRow(
+        String name,
+        String description,
+        String type,
+        String status,
+        Integer releaseYear,
+        String contentRating,
+        String countryIsoCode,
+        Boolean licensed,
+        List<AuthorRef> authors,
+        List<String> tags
+) {
+
+    /**
+     * Author of the title with a role, {@code STORY_AND_ART} if none is given. Also read from the
+     * short form {@code "Name:ROLE"} used in CSV files.
+     */
+    public record AuthorRef(
+            String name,
+            String role
+    ) {
+
+        private static final String DEFAULT_ROLE = "STORY_AND_ART";
+
+        @JsonCreator(mode = JsonCreator.Mode.PROPERTIES)
+        public AuthorRef {
+            if (role == null || role.isBlank()) {
+                role = DEFAULT_ROLE;
+            }
+        }
+
+        @JsonCreator(mode = JsonCreator.Mode.DELEGATING)
+        public static AuthorRef parse(String value) {
+            int separator = value.lastIndexOf(':');
+            return separator < 0
+                    ? new AuthorRef(value.strip(), null)
+                    : new AuthorRef(value.substring(0, separator).strip(), value.substring(separator + 1).strip());
+        }
+
+    }
+
+}
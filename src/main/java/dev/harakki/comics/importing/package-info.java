@@ -0,0 +1,10 @@
+@ApplicationModule(
+        allowedDependencies = {
+                "shared",
+                "catalog :: api",
+                "content :: api"
+        }
+)
+package dev.harakki.comics.importing;
+
+import org.springframework.modulith.ApplicationModule;
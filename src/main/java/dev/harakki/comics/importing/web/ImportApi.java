@@ -0,0 +1,61 @@
+package dev.harakki.comics.importing.web;
+
+import dev.harakki.comics.importing.dto.CatalogImportRequest;
+import dev.harakki.comics.importing.dto.ImportExecutionResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+import java.util.List;
+
+@Tag(name = "Imports", description = "Bulk catalog import API.")
+public interface ImportApi {
+
+    @Operation(
+            operationId = "startCatalogImport",
+            summary = "Start catalog import",
+            description = "Start importing authors, tags, titles and chapters from files in the import directory of the server, in that order. Rows whose name already exists are left out, invalid rows and rows referencing unknown names are skipped. Runs in the background. Requires ADMIN role."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "202", description = "Import started"),
+            @ApiResponse(responseCode = "400", ref = "BadRequest"),
+            @ApiResponse(responseCode = "401", ref = "Unauthorized"),
+            @ApiResponse(responseCode = "403", ref = "Forbidden"),
+            @ApiResponse(responseCode = "404", ref = "NotFound"),
+            @ApiResponse(responseCode = "409", ref = "Conflict")
+    })
+    void startImport(CatalogImportRequest request);
+
+    @Operation(
+            operationId = "restartCatalogImport",
+            summary = "Restart catalog import",
+            description = "Continue a failed or stopped import after the last rows it committed. Runs in the background. Requires ADMIN role."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "202", description = "Import restarted"),
+            @ApiResponse(responseCode = "401", ref = "Unauthorized"),
+            @ApiResponse(responseCode = "403", ref = "Forbidden"),
+            @ApiResponse(responseCode = "404", ref = "NotFound"),
+            @ApiResponse(responseCode = "409", ref = "Conflict")
+    })
+    void restartImport(@Parameter(description = "Execution identifier", required = true) long executionId);
+
+    @Operation(
+            operationId = "getCatalogImports",
+            summary = "Get catalog imports",
+            description = "Retrieve the latest imports, newest first, with the rows read, imported, filtered and skipped and the throughput per file. Requires ADMIN role."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Imports retrieved successfully",
+                    content = @Content(array = @ArraySchema(schema = @Schema(implementation = ImportExecutionResponse.class)))),
+            @ApiResponse(responseCode = "401", ref = "Unauthorized"),
+            @ApiResponse(responseCode = "403", ref = "Forbidden")
+    })
+    List<ImportExecutionResponse> getImports(@Parameter(description = "Maximum number of imports", example = "20") int limit);
+
+}
@@ -0,0 +1,42 @@
+package dev.harakki.comics.importing.web;
+
+import dev.harakki.comics.importing.application.ImportService;
+import dev.harakki.comics.importing.dto.CatalogImportRequest;
+import dev.harakki.comics.importing.dto.ImportExecutionResponse;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RequiredArgsConstructor
+@RestController
+@RequestMapping(path = "/api/v1/imports", produces = MediaType.APPLICATION_JSON_VALUE)
+public class ImportController implements ImportApi {
+
+    private final ImportService importService;
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    public void startImport(@RequestBody @Valid CatalogImportRequest request) {
+        importService.start(request);
+    }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping("/{executionId}/restart")
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    public void restartImport(@PathVariable long executionId) {
+        importService.restart(executionId);
+    }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping
+    public List<ImportExecutionResponse> getImports(@RequestParam(defaultValue = "20") int limit) {
+        return importService.getExecutions(Math.clamp(limit, 1, 100));
+    }
+
+}
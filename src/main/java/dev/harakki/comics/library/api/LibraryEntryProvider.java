@@ -0,0 +1,55 @@
+package dev.harakki.comics.library.api;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+public interface LibraryEntryProvider {
+
+    record LibraryTitle(UUID entryId, UUID userId, UUID titleId, VoteType vote) {
+    }
+
+    /**
+     * Number of titles in a user's library and how many of them the user voted on.
+     */
+    record LibraryCounts(UUID userId, long titles, long votes) {
+    }
+
+    /**
+     * Get a page of library entries of all users, in keyset order of entry ID.
+     *
+     * @param afterEntryId last entry ID of the previous page, the nil UUID for the first page
+     * @param limit        maximum number of entries in the page
+     * @return entries ordered by ID, empty once all entries are read
+     */
+    List<LibraryTitle> getLibraryTitles(UUID afterEntryId, int limit);
+
+    /**
+     * Get the IDs of all titles in a user's library.
+     */
+    Set<UUID> getLibraryTitleIds(UUID userId);
+
+    /**
+     * Get the IDs of all titles in the libraries of the given users with a single query.
+     *
+     * @return title IDs by user, users with an empty library are missing
+     */
+    Map<UUID, Set<UUID>> getLibraryTitleIds(Collection<UUID> userIds);
+
+    /**
+     * Get the library counts of the next users after the given one, in keyset order.
+     *
+     * @param afterUserId last user ID of the previous page, the nil UUID for the first page
+     * @param userLimit   maximum number of users in the page
+     * @return counts ordered by user ID, empty once all users are read
+     */
+    List<LibraryCounts> getLibraryCounts(UUID afterUserId, int userLimit);
+
+    /**
+     * Get the current library counts of one user, zero for an empty library.
+     */
+    LibraryCounts getLibraryCounts(UUID userId);
+
+}
@@ -5,6 +5,7 @@ import java.util.UUID;
 
 public record LibraryRemoveTitleEvent(
         UUID titleId,
-        UUID userId
+        UUID userId,
+        VoteType vote // Vote withdrawn together with the entry, null if the user had not voted
 ) implements Serializable {
 }
@@ -6,6 +6,7 @@ import java.util.UUID;
 public record LibraryVoteTitleEvent(
         UUID titleId,
         UUID userId,
-        VoteType vote
+        VoteType vote,
+        VoteType previousVote // Null when the user votes on the title for the first time
 ) implements Serializable {
 }
@@ -1,6 +1,7 @@
 package dev.harakki.comics.library.application;
 
 import dev.harakki.comics.library.api.LibraryAddTitleEvent;
+import dev.harakki.comics.library.api.LibraryEntryProvider;
 import dev.harakki.comics.library.api.LibraryRemoveTitleEvent;
 import dev.harakki.comics.library.api.LibraryVoteTitleEvent;
 import dev.harakki.comics.library.domain.LibraryEntry;
@@ -12,25 +13,38 @@ import dev.harakki.comics.library.infrastructure.LibraryEntryMapper;
 import dev.harakki.comics.library.infrastructure.LibraryEntryRepository;
 import dev.harakki.comics.shared.exception.ResourceAlreadyExistsException;
 import dev.harakki.comics.shared.exception.ResourceNotFoundException;
+import dev.harakki.comics.shared.pagination.CursorPage;
+import dev.harakki.comics.shared.pagination.Cursors;
 import dev.harakki.comics.shared.utils.SecurityUtils;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.jspecify.annotations.Nullable;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
-public class LibraryService {
+public class LibraryService implements LibraryEntryProvider {
+
+    private static final Set<String> SCROLL_SORTABLE = Set.of("updatedAt", "createdAt");
 
     private final LibraryEntryRepository libraryEntryRepository;
     private final LibraryEntryMapper libraryEntryMapper;
@@ -60,7 +74,7 @@ public class LibraryService {
 
         // If initial rating provided, publish analytics event
         if (request.vote() != null) {
-            eventPublisher.publishEvent(new LibraryVoteTitleEvent(request.titleId(), currentUserId, request.vote()));
+            eventPublisher.publishEvent(new LibraryVoteTitleEvent(request.titleId(), currentUserId, request.vote(), null));
             log.debug("Published TitleVoteEvent for new library entry: titleId={}, userId={}, rating={}",
                     request.titleId(), currentUserId, request.vote());
         }
@@ -88,7 +102,7 @@ public class LibraryService {
         // If vote changed, publish analytics event
         var newVote = entry.getVote();
         if (newVote != null && !newVote.equals(oldVote)) {
-            eventPublisher.publishEvent(new LibraryVoteTitleEvent(entry.getTitleId(), currentUserId, newVote));
+            eventPublisher.publishEvent(new LibraryVoteTitleEvent(entry.getTitleId(), currentUserId, newVote, oldVote));
             log.debug("Published TitleVoteEvent for updated library entry: titleId={}, userId={}, rating={}",
                     entry.getTitleId(), currentUserId, newVote);
         }
@@ -109,7 +123,7 @@ public class LibraryService {
 
         libraryEntryRepository.delete(entry);
 
-        eventPublisher.publishEvent(new LibraryRemoveTitleEvent(entry.getTitleId(), currentUserId));
+        eventPublisher.publishEvent(new LibraryRemoveTitleEvent(entry.getTitleId(), currentUserId, entry.getVote()));
         log.info("Removed library entry: id={} for user {}", entryId, currentUserId);
     }
 
@@ -169,6 +183,67 @@ public class LibraryService {
                 .map(libraryEntryMapper::toResponse);
     }
 
+    /**
+     * Keyset variant of {@link #searchLibrary}: seeks past the cursor on the sort keys instead of skipping
+     * an offset, and only counts the entries when the total is asked for.
+     */
+    public CursorPage<LibraryEntryResponse> scrollLibrary(Specification<LibraryEntry> spec, Sort sort,
+                                                          @Nullable String cursor, int size, boolean withTotal) {
+        UUID currentUserId = getCurrentUserId();
+
+        Specification<LibraryEntry> userSpec = (root, query, cb) ->
+                cb.equal(root.get("userId"), currentUserId);
+        Specification<LibraryEntry> finalSpec = Specification.where(userSpec).and(spec);
+
+        var keysetSort = Cursors.sort(sort, SCROLL_SORTABLE);
+        var position = Cursors.decode(cursor, keysetSort);
+        var limit = Cursors.limit(size);
+
+        var window = libraryEntryRepository.findBy(finalSpec, query -> query
+                .sortBy(keysetSort)
+                .limit(limit.max())
+                .scroll(position));
+        return CursorPage.of(window, keysetSort, libraryEntryMapper::toResponse,
+                withTotal ? libraryEntryRepository.count(finalSpec) : null);
+    }
+
+    @Override
+    public List<LibraryTitle> getLibraryTitles(UUID afterEntryId, int limit) {
+        return libraryEntryRepository.findByIdGreaterThanOrderById(afterEntryId, Limit.of(limit)).stream()
+                .map(entry -> new LibraryTitle(entry.getId(), entry.getUserId(), entry.getTitleId(), entry.getVote()))
+                .toList();
+    }
+
+    @Override
+    public Set<UUID> getLibraryTitleIds(UUID userId) {
+        return new HashSet<>(libraryEntryRepository.findTitleIdsByUserId(userId));
+    }
+
+    @Override
+    public Map<UUID, Set<UUID>> getLibraryTitleIds(Collection<UUID> userIds) {
+        if (userIds.isEmpty()) {
+            return Map.of();
+        }
+        Map<UUID, Set<UUID>> titleIds = new HashMap<>();
+        for (var row : libraryEntryRepository.findUserTitleIdsByUserIdIn(userIds)) {
+            titleIds.computeIfAbsent((UUID) row[0], _ -> new HashSet<>()).add((UUID) row[1]);
+        }
+        return titleIds;
+    }
+
+    @Override
+    public List<LibraryCounts> getLibraryCounts(UUID afterUserId, int userLimit) {
+        return libraryEntryRepository.countByUserIdAfter(afterUserId, Limit.of(userLimit)).stream()
+                .map(row -> new LibraryCounts((UUID) row[0], (Long) row[1], (Long) row[2]))
+                .toList();
+    }
+
+    @Override
+    public LibraryCounts getLibraryCounts(UUID userId) {
+        var row = libraryEntryRepository.countByUserId(userId).getFirst();
+        return new LibraryCounts(userId, (Long) row[0], (Long) row[1]);
+    }
+
     private UUID getCurrentUserId() {
         return SecurityUtils.getCurrentUserId();
     }
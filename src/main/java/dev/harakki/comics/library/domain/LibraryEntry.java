@@ -24,6 +24,8 @@ import java.util.UUID;
         indexes = {
                 @Index(name = "idx_library_user_status", columnList = "userId, status"),
                 @Index(name = "idx_library_user", columnList = "userId"),
+                @Index(name = "idx_library_user_updated", columnList = "userId, updatedAt, id"),
+                @Index(name = "idx_library_user_created", columnList = "userId, createdAt, id"),
                 @Index(name = "idx_library_title", columnList = "titleId")
         }
 )
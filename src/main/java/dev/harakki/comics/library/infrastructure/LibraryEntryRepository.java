@@ -2,11 +2,15 @@ package dev.harakki.comics.library.infrastructure;
 
 import dev.harakki.comics.library.domain.LibraryEntry;
 import dev.harakki.comics.library.domain.ReadingStatus;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -20,4 +24,23 @@ public interface LibraryEntryRepository extends JpaRepository<LibraryEntry, UUID
 
     Page<LibraryEntry> findByUserIdAndStatus(UUID userId, ReadingStatus status, Pageable pageable);
 
+    List<LibraryEntry> findByIdGreaterThanOrderById(UUID afterId, Limit limit);
+
+    @Query("SELECT e.titleId FROM LibraryEntry e WHERE e.userId = :userId")
+    List<UUID> findTitleIdsByUserId(UUID userId);
+
+    @Query("SELECT e.userId, e.titleId FROM LibraryEntry e WHERE e.userId IN :userIds")
+    List<Object[]> findUserTitleIdsByUserIdIn(Collection<UUID> userIds);
+
+    @Query("""
+                SELECT e.userId, COUNT(e), COUNT(e.vote) FROM LibraryEntry e
+                WHERE e.userId > :afterUserId
+                GROUP BY e.userId
+                ORDER BY e.userId
+            """)
+    List<Object[]> countByUserIdAfter(UUID afterUserId, Limit limit);
+
+    @Query("SELECT COUNT(e), COUNT(e.vote) FROM LibraryEntry e WHERE e.userId = :userId")
+    List<Object[]> countByUserId(UUID userId);
+
 }
@@ -4,6 +4,7 @@ import dev.harakki.comics.library.domain.LibraryEntry;
 import dev.harakki.comics.library.dto.LibraryEntryCreateRequest;
 import dev.harakki.comics.library.dto.LibraryEntryResponse;
 import dev.harakki.comics.library.dto.LibraryEntryUpdateRequest;
+import dev.harakki.comics.shared.pagination.CursorPage;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -15,6 +16,7 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 
 import java.util.UUID;
@@ -65,6 +67,26 @@ public interface LibraryApi {
             @ParameterObject Pageable pageable
     );
 
+    @Operation(
+            operationId = "scrollMyLibrary",
+            summary = "Scroll my library with a cursor",
+            description = "Keyset-paginated variant of my library for infinite scroll. Sortable by updatedAt or createdAt. " +
+                    "Pass the returned nextCursor to get the following slice; the total is only counted when withTotal is set."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Slice of library entries"),
+            @ApiResponse(responseCode = "400", ref = "BadRequest"),
+            @ApiResponse(responseCode = "401", ref = "Unauthorized")
+    })
+    @Parameter(name = "sort", description = "Sort by updatedAt or createdAt", example = "updatedAt,desc")
+    CursorPage<LibraryEntryResponse> scrollMyLibrary(
+            @Parameter(hidden = true) Specification<LibraryEntry> spec,
+            @Parameter(description = "Cursor from the previous slice, omit for the first one") String cursor,
+            @Parameter(description = "Slice size", example = "20") int size,
+            @Parameter(description = "Also count all entries") boolean withTotal,
+            @Parameter(hidden = true) Sort sort
+    );
+
     @Operation(
             operationId = "updateLibraryEntry",
             summary = "Update library entry",
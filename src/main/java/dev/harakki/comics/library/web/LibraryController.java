@@ -5,6 +5,7 @@ import dev.harakki.comics.library.domain.LibraryEntry;
 import dev.harakki.comics.library.dto.LibraryEntryCreateRequest;
 import dev.harakki.comics.library.dto.LibraryEntryResponse;
 import dev.harakki.comics.library.dto.LibraryEntryUpdateRequest;
+import dev.harakki.comics.shared.pagination.CursorPage;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
 import lombok.RequiredArgsConstructor;
@@ -13,8 +14,10 @@ import net.kaczmarzyk.spring.data.jpa.web.annotation.And;
 import net.kaczmarzyk.spring.data.jpa.web.annotation.Spec;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.data.web.SortDefault;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -52,6 +55,20 @@ class LibraryController implements LibraryApi {
         return libraryService.searchLibrary(spec, pageable);
     }
 
+    @GetMapping("/scroll")
+    public CursorPage<LibraryEntryResponse> scrollMyLibrary(
+            @And({
+                    @Spec(path = "status", params = "status", spec = Equal.class),
+                    @Spec(path = "title.id", params = "titleId", spec = Equal.class)
+            }) Specification<LibraryEntry> spec,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "false") boolean withTotal,
+            @SortDefault(sort = "updatedAt") Sort sort
+    ) {
+        return libraryService.scrollLibrary(spec, sort, cursor, size, withTotal);
+    }
+
     @PutMapping("/{entryId}")
     public LibraryEntryResponse updateEntry(
             @PathVariable UUID entryId,
@@ -0,0 +1,269 @@
+package dev.harakki.comics.recommendations.application;
+
+import dev.harakki.comics.recommendations.domain.AlsSolver;
+import it.unimi.dsi.fastutil.longs.Long2FloatMap;
+import it.unimi.dsi.fastutil.longs.Long2FloatOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * Working state of one ALS training run, shared by the steps of the training job: feedback is
+ * accumulated while loading, then turned into CSR observation lists in both directions and dense
+ * row-major factor arrays that each iteration solves concurrently in disjoint row ranges.
+ * One run at a time; the job is launched from a single synchronized entry point, and the state is
+ * released again when the job ends.
+ */
+@Component
+class AlsTrainingContext {
+
+    private final int rank;
+    private final double lambda;
+    private final double alpha;
+    private final int iterations;
+    private final long seed;
+    private final ForkJoinPool pool;
+
+    private final Object2IntOpenHashMap<UUID> userIndex = new Object2IntOpenHashMap<>();
+    private final Object2IntOpenHashMap<UUID> titleIndex = new Object2IntOpenHashMap<>();
+    private final ArrayList<UUID> users = new ArrayList<>();
+    private final ArrayList<UUID> titles = new ArrayList<>();
+    // (user << 32 | title) -> summed feedback strength
+    private final Long2FloatOpenHashMap feedback = new Long2FloatOpenHashMap();
+
+    private Observations byUser = Observations.NONE;
+    private Observations byTitle = Observations.NONE;
+    private float[] userFactors = new float[0];
+    private float[] titleFactors = new float[0];
+    private double[] gram = new double[0];
+    private int iteration;
+
+    AlsTrainingContext(
+            @Value("${recommendations.als.rank:32}") int rank,
+            @Value("${recommendations.als.lambda:0.1}") double lambda,
+            @Value("${recommendations.als.alpha:10}") double alpha,
+            @Value("${recommendations.als.iterations:10}") int iterations,
+            @Value("${recommendations.als.seed:42}") long seed,
+            @Value("${recommendations.als.parallelism:0}") int parallelism
+    ) {
+        this.rank = rank;
+        this.lambda = lambda;
+        this.alpha = alpha;
+        this.iterations = iterations;
+        this.seed = seed;
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+        userIndex.defaultReturnValue(-1);
+        titleIndex.defaultReturnValue(-1);
+    }
+
+    int parallelism() {
+        return pool.getParallelism();
+    }
+
+    int rank() {
+        return rank;
+    }
+
+    /**
+     * Drops the state of the previous run, including the capacity of the maps and lists.
+     */
+    void reset() {
+        userIndex.clear();
+        userIndex.trim();
+        titleIndex.clear();
+        titleIndex.trim();
+        users.clear();
+        users.trimToSize();
+        titles.clear();
+        titles.trimToSize();
+        feedback.clear();
+        feedback.trim();
+        byUser = Observations.NONE;
+        byTitle = Observations.NONE;
+        userFactors = new float[0];
+        titleFactors = new float[0];
+        gram = new double[0];
+        iteration = 0;
+    }
+
+    void addFeedback(UUID userId, UUID titleId, float strength) {
+        long key = (long) index(userIndex, users, userId) << 32 | index(titleIndex, titles, titleId);
+        feedback.addTo(key, strength);
+    }
+
+    /**
+     * Freezes the loaded feedback into observation lists with confidence {@code 1 + alpha * ln(1 + r)}
+     * and initializes the factors with small random values.
+     */
+    void prepare() {
+        int userCount = users.size();
+        int titleCount = titles.size();
+        byUser = Observations.of(feedback, userCount, alpha, false);
+        byTitle = Observations.of(feedback, titleCount, alpha, true);
+        feedback.clear();
+        feedback.trim();
+
+        var random = new SplittableRandom(seed);
+        float scale = (float) (0.1 / Math.sqrt(rank));
+        userFactors = new float[userCount * rank];
+        titleFactors = new float[titleCount * rank];
+        for (int k = 0; k < userFactors.length; k++) {
+            userFactors[k] = (float) random.nextDouble() * scale;
+        }
+        for (int k = 0; k < titleFactors.length; k++) {
+            titleFactors[k] = (float) random.nextDouble() * scale;
+        }
+        iteration = 0;
+    }
+
+    int userCount() {
+        return users.size();
+    }
+
+    int titleCount() {
+        return titles.size();
+    }
+
+    int observationCount() {
+        return byUser.columns.length;
+    }
+
+    /**
+     * Gram matrix of the title factors, shared by all user rows of the next user solve.
+     */
+    void computeUserGram() {
+        gram = gram(titleFactors, titles.size());
+    }
+
+    /**
+     * Gram matrix of the user factors, shared by all title rows of the next title solve.
+     */
+    void computeTitleGram() {
+        gram = gram(userFactors, users.size());
+    }
+
+    void solveUsers(int from, int to) {
+        AlsSolver.solveRows(from, to, byUser.offsets, byUser.columns, byUser.confidence, titleFactors, gram, rank, lambda, userFactors);
+    }
+
+    void solveTitles(int from, int to) {
+        AlsSolver.solveRows(from, to, byTitle.offsets, byTitle.columns, byTitle.confidence, userFactors, gram, rank, lambda, titleFactors);
+    }
+
+    /**
+     * Solves all rows split into contiguous ranges, which run concurrently on the training pool.
+     */
+    void solveInRanges(int rows, int ranges, RowRangeSolver solver) {
+        int parts = Math.max(1, Math.min(ranges, rows));
+        pool.submit(() -> IntStream.range(0, parts).parallel()
+                .forEach(part -> solver.solve((int) ((long) rows * part / parts), (int) ((long) rows * (part + 1) / parts))))
+                .join();
+    }
+
+    /**
+     * Counts a finished user and title solve.
+     *
+     * @return true while more iterations are due
+     */
+    boolean completeIteration() {
+        return ++iteration < iterations;
+    }
+
+    int iteration() {
+        return iteration;
+    }
+
+    UUID[] users() {
+        return users.toArray(UUID[]::new);
+    }
+
+    UUID[] titles() {
+        return titles.toArray(UUID[]::new);
+    }
+
+    float[] userFactors() {
+        return userFactors;
+    }
+
+    float[] titleFactors() {
+        return titleFactors;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        pool.shutdownNow();
+    }
+
+    private double[] gram(float[] factors, int rows) {
+        int parts = Math.max(1, Math.min(pool.getParallelism(), rows));
+        return pool.submit(() -> IntStream.range(0, parts).parallel()
+                .mapToObj(part -> {
+                    double[] partial = new double[rank * rank];
+                    AlsSolver.addGram(factors, rank, rows * part / parts, rows * (part + 1) / parts, partial);
+                    return partial;
+                })
+                .reduce(new double[rank * rank], (a, b) -> {
+                    double[] sum = new double[a.length];
+                    for (int k = 0; k < sum.length; k++) {
+                        sum[k] = a[k] + b[k];
+                    }
+                    return sum;
+                })).join();
+    }
+
+    @FunctionalInterface
+    interface RowRangeSolver {
+        void solve(int from, int to);
+    }
+
+    private static int index(Object2IntOpenHashMap<UUID> index, List<UUID> ids, UUID id) {
+        int i = index.getInt(id);
+        if (i < 0) {
+            i = ids.size();
+            index.put(id, i);
+            ids.add(id);
+        }
+        return i;
+    }
+
+    /**
+     * Observations of one side in compressed sparse row layout.
+     */
+    private record Observations(int[] offsets, int[] columns, float[] confidence) {
+
+        static final Observations NONE = new Observations(new int[]{0}, new int[0], new float[0]);
+
+        static Observations of(Long2FloatOpenHashMap feedback, int rows, double alpha, boolean byTitle) {
+            int[] offsets = new int[rows + 1];
+            for (long key : feedback.keySet()) {
+                offsets[row(key, byTitle) + 1]++;
+            }
+            for (int r = 0; r < rows; r++) {
+                offsets[r + 1] += offsets[r];
+            }
+            int[] columns = new int[feedback.size()];
+            float[] confidence = new float[feedback.size()];
+            int[] fill = offsets.clone();
+            for (Long2FloatMap.Entry entry : feedback.long2FloatEntrySet()) {
+                long key = entry.getLongKey();
+                int p = fill[row(key, byTitle)]++;
+                columns[p] = row(key, !byTitle);
+                confidence[p] = (float) (1 + alpha * Math.log1p(entry.getFloatValue()));
+            }
+            return new Observations(offsets, columns, confidence);
+        }
+
+        private static int row(long key, boolean byTitle) {
+            return byTitle ? (int) key : (int) (key >>> 32);
+        }
+    }
+
+}
@@ -0,0 +1,174 @@
+package dev.harakki.comics.recommendations.application;
+
+import dev.harakki.comics.analytics.api.InteractionSignalProvider;
+import dev.harakki.comics.analytics.api.InteractionSignalProvider.TitleSignal;
+import dev.harakki.comics.library.api.LibraryEntryProvider;
+import dev.harakki.comics.library.api.LibraryEntryProvider.LibraryTitle;
+import dev.harakki.comics.library.api.VoteType;
+import dev.harakki.comics.recommendations.infrastructure.AlsFactorStore;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.job.Job;
+import org.springframework.batch.core.job.JobExecution;
+import org.springframework.batch.core.job.builder.JobBuilder;
+import org.springframework.batch.core.job.flow.FlowExecutionStatus;
+import org.springframework.batch.core.job.flow.JobExecutionDecider;
+import org.springframework.batch.core.listener.JobExecutionListener;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.core.step.Step;
+import org.springframework.batch.core.step.builder.StepBuilder;
+import org.springframework.batch.infrastructure.item.ItemWriter;
+import org.springframework.batch.infrastructure.repeat.RepeatStatus;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Implicit-feedback ALS training as a Spring Batch job:
+ * <ol>
+ *     <li>library entries and aggregated interactions are streamed in chunks into the training context,</li>
+ *     <li>feedback is frozen into observation lists and factors are initialized,</li>
+ *     <li>user and title factors are solved alternately, each half-iteration split into row ranges
+ *     that run concurrently on the training fork/join pool, until the configured number of iterations,</li>
+ *     <li>factors are written to the binary factor store.</li>
+ * </ol>
+ * An iteration is one step, the row ranges are not partitions of their own: with the JDBC job
+ * repository every step execution is persisted, and partitioned solves would store grid size times
+ * two of them per iteration. The training state is released when the job ends, successful or not.
+ * Feedback is read through the library and analytics module APIs rather than from their tables.
+ */
+@Slf4j
+@Configuration
+class AlsTrainingJobConfiguration {
+
+    static final String JOB_NAME = "alsTrainingJob";
+    private static final String CONTINUE = "CONTINUE";
+
+    record Feedback(UUID userId, UUID titleId, float strength) {
+    }
+
+    private final JobRepository jobRepository;
+    private final AlsTrainingContext context;
+    private final int chunkSize;
+    private final int pageSize;
+    private final int gridSize;
+    private final float libraryWeight;
+    private final float likeWeight;
+    private final float collectionWeight;
+
+    AlsTrainingJobConfiguration(
+            JobRepository jobRepository,
+            AlsTrainingContext context,
+            @Value("${recommendations.als.chunk-size:1000}") int chunkSize,
+            @Value("${recommendations.als.page-size:1000}") int pageSize,
+            @Value("${recommendations.als.grid-size:0}") int gridSize,
+            @Value("${recommendations.als.library-weight:2}") float libraryWeight,
+            @Value("${recommendations.als.like-weight:3}") float likeWeight,
+            @Value("${recommendations.als.collection-weight:1}") float collectionWeight
+    ) {
+        this.jobRepository = jobRepository;
+        this.context = context;
+        this.chunkSize = chunkSize;
+        this.pageSize = pageSize;
+        // A few row ranges per core, so ranges with heavy users don't leave the other cores idle
+        this.gridSize = gridSize > 0 ? gridSize : 4 * context.parallelism();
+        this.libraryWeight = libraryWeight;
+        this.likeWeight = likeWeight;
+        this.collectionWeight = collectionWeight;
+    }
+
+    @Bean
+    Job alsTrainingJob(LibraryEntryProvider libraryEntryProvider,
+                       InteractionSignalProvider interactionSignalProvider,
+                       AlsFactorStore factorStore) {
+        var iteration = tasklet("alsIterationStep", this::iterate);
+        JobExecutionDecider iterationDecider = (jobExecution, stepExecution) ->
+                context.completeIteration() ? new FlowExecutionStatus(CONTINUE) : FlowExecutionStatus.COMPLETED;
+
+        return new JobBuilder(JOB_NAME, jobRepository)
+                .start(tasklet("alsResetStep", context::reset))
+                .next(loadLibraryStep(libraryEntryProvider))
+                .next(loadInteractionsStep(interactionSignalProvider))
+                .next(tasklet("alsPrepareStep", this::prepare))
+                .next(iteration)
+                .next(iterationDecider)
+                .on(CONTINUE).to(iteration)
+                .from(iterationDecider).on("*").to(tasklet("alsWriteFactorsStep", () -> writeFactors(factorStore)))
+                .end()
+                .listener(new JobExecutionListener() {
+                    @Override
+                    public void afterJob(JobExecution jobExecution) {
+                        context.reset();
+                    }
+                })
+                .build();
+    }
+
+    private Step loadLibraryStep(LibraryEntryProvider libraryEntryProvider) {
+        return new StepBuilder("alsLoadLibraryStep", jobRepository)
+                .<LibraryTitle, Feedback>chunk(chunkSize)
+                .reader(new KeysetItemReader<>(libraryEntryProvider::getLibraryTitles, LibraryTitle::entryId, pageSize))
+                .processor(entry -> {
+                    if (entry.vote() == VoteType.DISLIKE) {
+                        return null;
+                    }
+                    float strength = libraryWeight + (entry.vote() == VoteType.LIKE ? likeWeight : 0);
+                    return new Feedback(entry.userId(), entry.titleId(), strength);
+                })
+                .writer(feedbackWriter())
+                .allowStartIfComplete(true)
+                .build();
+    }
+
+    private Step loadInteractionsStep(InteractionSignalProvider interactionSignalProvider) {
+        return new StepBuilder("alsLoadInteractionsStep", jobRepository)
+                .<TitleSignal, Feedback>chunk(chunkSize)
+                .reader(new KeysetItemReader<>((after, limit) -> {
+                    var page = interactionSignalProvider.getTitleSignals(after, limit);
+                    return new KeysetItemReader.Page<>(page.signals(), page.lastUserId());
+                }, pageSize))
+                .processor(signal -> {
+                    // Library membership and votes come from the library entries themselves
+                    float strength = signal.chapterReads() + (signal.inCollection() ? collectionWeight : 0);
+                    return signal.disliked() || strength <= 0 ? null : new Feedback(signal.userId(), signal.titleId(), strength);
+                })
+                .writer(feedbackWriter())
+                .allowStartIfComplete(true)
+                .build();
+    }
+
+    private ItemWriter<Feedback> feedbackWriter() {
+        return chunk -> chunk.forEach(feedback -> context.addFeedback(feedback.userId(), feedback.titleId(), feedback.strength()));
+    }
+
+    private void prepare() {
+        context.prepare();
+        log.debug("Prepared ALS training: {} users, {} titles, {} observations",
+                context.userCount(), context.titleCount(), context.observationCount());
+    }
+
+    private void iterate() {
+        context.computeUserGram();
+        context.solveInRanges(context.userCount(), gridSize, context::solveUsers);
+        context.computeTitleGram();
+        context.solveInRanges(context.titleCount(), gridSize, context::solveTitles);
+    }
+
+    private void writeFactors(AlsFactorStore factorStore) {
+        factorStore.write(context.rank(), context.users(), context.titles(),
+                context.userFactors(), context.titleFactors(), Instant.now());
+    }
+
+    private Step tasklet(String name, Runnable action) {
+        return new StepBuilder(name, jobRepository)
+                .tasklet((contribution, chunkContext) -> {
+                    action.run();
+                    return RepeatStatus.FINISHED;
+                })
+                .allowStartIfComplete(true)
+                .build();
+    }
+
+}
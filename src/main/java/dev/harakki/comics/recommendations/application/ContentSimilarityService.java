@@ -0,0 +1,193 @@
+package dev.harakki.comics.recommendations.application;
+
+import dev.harakki.comics.catalog.api.TitleFeatureProvider;
+import dev.harakki.comics.catalog.api.TitleFeatureProvider.TitleFeatures;
+import dev.harakki.comics.recommendations.domain.HnswIndex;
+import dev.harakki.comics.recommendations.dto.SimilarTitleResponse;
+import dev.harakki.comics.recommendations.dto.SimilarTitlesResponse;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Content-based "similar titles" from catalog attributes: titles are encoded as feature vectors and
+ * kept in an {@link HnswIndex}, so a lookup visits a small part of the catalog instead of scoring
+ * every title. The index follows catalog changes one title at a time and is snapshotted to disk;
+ * on startup the snapshot is loaded and only titles whose features changed since are re-inserted.
+ */
+@Slf4j
+@Service
+public class ContentSimilarityService {
+
+    private static final UUID NIL = new UUID(0, 0);
+    private static final long SEED = 42;
+
+    private final TitleFeatureProvider titleFeatureProvider;
+    private final TitleFeatureEncoder encoder;
+    private final Path snapshotPath;
+    private final int m;
+    private final int efConstruction;
+    private final int efSearch;
+    private final int maxLimit;
+    private final int pageSize;
+    private final double compactRatio;
+
+    private volatile HnswIndex index;
+    private volatile Instant updatedAt = Instant.EPOCH;
+    private final AtomicBoolean dirty = new AtomicBoolean();
+
+    ContentSimilarityService(
+            TitleFeatureProvider titleFeatureProvider,
+            TitleFeatureEncoder encoder,
+            @Value("${recommendations.content.snapshot-path:data/recommendations/title-features.hnsw}") Path snapshotPath,
+            @Value("${recommendations.content.m:16}") int m,
+            @Value("${recommendations.content.ef-construction:100}") int efConstruction,
+            @Value("${recommendations.content.ef-search:64}") int efSearch,
+            @Value("${recommendations.content.max-limit:50}") int maxLimit,
+            @Value("${recommendations.content.page-size:500}") int pageSize,
+            @Value("${recommendations.content.compact-ratio:0.25}") double compactRatio
+    ) {
+        this.titleFeatureProvider = titleFeatureProvider;
+        this.encoder = encoder;
+        this.snapshotPath = snapshotPath;
+        this.m = m;
+        this.efConstruction = efConstruction;
+        this.efSearch = efSearch;
+        this.maxLimit = maxLimit;
+        this.pageSize = pageSize;
+        this.compactRatio = compactRatio;
+        this.index = new HnswIndex(encoder.dimension(), m, efConstruction, SEED);
+    }
+
+    public SimilarTitlesResponse getSimilarTitles(UUID titleId, int limit) {
+        int k = Math.clamp(limit, 0, maxLimit);
+        var items = index.similar(titleId, k, Math.max(efSearch, k)).stream()
+                .map(match -> new SimilarTitleResponse(match.id(), match.similarity()))
+                .toList();
+        return new SimilarTitlesResponse(titleId, items, updatedAt);
+    }
+
+    /**
+     * Re-encodes a created or updated title, or drops it if it no longer exists.
+     */
+    public void updateTitle(UUID titleId) {
+        titleFeatureProvider.getTitleFeatures(titleId)
+                .ifPresentOrElse(this::index, () -> removeTitle(titleId));
+    }
+
+    public void removeTitle(UUID titleId) {
+        if (index.remove(titleId)) {
+            changed();
+        }
+    }
+
+    /**
+     * Loads the snapshot, then brings it up to date with the catalog: every title is re-encoded, which
+     * is cheap, but only changed vectors are re-inserted into the graph. Without a snapshot the whole
+     * index is built here.
+     */
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadIndex() {
+        long started = System.nanoTime();
+        try {
+            loadSnapshot();
+            var stale = index.ids();
+            UUID afterTitleId = NIL;
+            List<TitleFeatures> page;
+            do {
+                page = titleFeatureProvider.getTitleFeatures(afterTitleId, pageSize);
+                for (var features : page) {
+                    stale.remove(features.titleId());
+                    index(features);
+                }
+                if (!page.isEmpty()) {
+                    afterTitleId = page.getLast().titleId();
+                }
+            } while (!page.isEmpty());
+            stale.forEach(this::removeTitle);
+
+            log.info("Loaded content similarity index of {} titles in {} ms",
+                    index.size(), (System.nanoTime() - started) / 1_000_000);
+            saveSnapshot();
+        } catch (Exception e) {
+            log.error("Failed to load the content similarity index, it only covers titles changed from now on", e);
+        }
+    }
+
+    /**
+     * Compacts the graph once enough vectors were replaced or removed and writes a snapshot if anything changed.
+     */
+    @PreDestroy
+    @Scheduled(fixedDelayString = "${recommendations.content.snapshot-interval:PT5M}")
+    public void saveSnapshot() {
+        if (!dirty.getAndSet(false)) {
+            return;
+        }
+        try {
+            var current = index;
+            if (current.tombstones() > compactRatio * Math.max(current.size(), 1)) {
+                current.compact();
+            }
+            if (snapshotPath.getParent() != null) {
+                Files.createDirectories(snapshotPath.getParent());
+            }
+            var tmp = snapshotPath.resolveSibling(snapshotPath.getFileName() + ".tmp");
+            try (var out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+                out.writeLong(encoder.fingerprint());
+                current.writeTo(out);
+            }
+            Files.move(tmp, snapshotPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            log.debug("Saved content similarity index of {} titles to {}", current.size(), snapshotPath);
+        } catch (Exception e) {
+            dirty.set(true);
+            log.error("Failed to save the content similarity index to {}", snapshotPath, e);
+        }
+    }
+
+    private void loadSnapshot() {
+        if (!Files.exists(snapshotPath)) {
+            return;
+        }
+        try (var in = new DataInputStream(new BufferedInputStream(Files.newInputStream(snapshotPath)))) {
+            if (in.readLong() != encoder.fingerprint()) {
+                log.info("Feature encoding changed since the content similarity snapshot, rebuilding the index");
+                return;
+            }
+            index = HnswIndex.readFrom(in, encoder.dimension(), m, efConstruction, SEED);
+            updatedAt = Instant.ofEpochMilli(Files.getLastModifiedTime(snapshotPath).toMillis());
+        } catch (IOException | IllegalStateException e) {
+            log.warn("Ignoring unreadable content similarity snapshot {}", snapshotPath, e);
+        }
+    }
+
+    private void index(TitleFeatures features) {
+        float[] vector = encoder.encode(features);
+        boolean changed = vector != null
+                ? index.put(features.titleId(), vector)
+                : index.remove(features.titleId());
+        if (changed) {
+            changed();
+        }
+    }
+
+    private void changed() {
+        updatedAt = Instant.now();
+        dirty.set(true);
+    }
+
+}
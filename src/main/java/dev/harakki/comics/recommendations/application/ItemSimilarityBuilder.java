@@ -0,0 +1,269 @@
+package dev.harakki.comics.recommendations.application;
+
+import dev.harakki.comics.analytics.api.InteractionSignalProvider;
+import dev.harakki.comics.analytics.api.InteractionSignalProvider.TitleSignal;
+import dev.harakki.comics.recommendations.domain.SimilarityMatrix;
+import dev.harakki.comics.recommendations.domain.TopK;
+import it.unimi.dsi.fastutil.floats.FloatArrayList;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntArrays;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * Builds the item-item cosine similarity matrix from user preference signals.
+ * <p>
+ * User profiles are loaded into primitive arrays (titles are renumbered to dense ints) and inverted
+ * to title -> users. Titles are then scored in parallel batches: for title {@code i}, walking the
+ * profiles of its users accumulates the dot products with every co-occurring title into a dense
+ * per-worker scratch array, and only the top-K neighbours by cosine are kept. Cost is the sum of
+ * squared profile sizes, so profiles are capped to their strongest signals.
+ */
+@Slf4j
+@Component
+class ItemSimilarityBuilder {
+
+    private static final UUID NIL = new UUID(0, 0);
+
+    // Preference weights; a disliked title carries no preference at all
+    private static final float LIKE_WEIGHT = 2.0f;
+    private static final float LIBRARY_WEIGHT = 1.5f;
+    private static final float COLLECTION_WEIGHT = 1.0f;
+
+    private final InteractionSignalProvider interactionSignalProvider;
+    private final int pageSize;
+    private final int maxUserTitles;
+    private final int neighbours;
+    private final int minCommonUsers;
+    private final int parallelism;
+    private final int batchSize;
+
+    ItemSimilarityBuilder(
+            InteractionSignalProvider interactionSignalProvider,
+            @Value("${recommendations.similarity.page-size:1000}") int pageSize,
+            @Value("${recommendations.similarity.max-user-titles:500}") int maxUserTitles,
+            @Value("${recommendations.similarity.neighbours:50}") int neighbours,
+            @Value("${recommendations.similarity.min-common-users:2}") int minCommonUsers,
+            @Value("${recommendations.similarity.parallelism:0}") int parallelism,
+            @Value("${recommendations.similarity.batch-size:256}") int batchSize
+    ) {
+        this.interactionSignalProvider = interactionSignalProvider;
+        this.pageSize = pageSize;
+        this.maxUserTitles = maxUserTitles;
+        this.neighbours = neighbours;
+        this.minCommonUsers = minCommonUsers;
+        this.parallelism = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        this.batchSize = batchSize;
+    }
+
+    int neighbours() {
+        return neighbours;
+    }
+
+    SimilarityMatrix build() {
+        var profiles = loadProfiles();
+        int titleCount = profiles.titles.size();
+        if (titleCount == 0) {
+            return SimilarityMatrix.EMPTY;
+        }
+
+        int[] userOffsets = profiles.userOffsets.toIntArray();
+        int[] userTitles = profiles.userTitles.toIntArray();
+        float[] userWeights = profiles.userWeights.toFloatArray();
+
+        // Vector norms and the inverted title -> users index, both in one pass over the profiles
+        double[] norms = new double[titleCount];
+        int[] titleOffsets = new int[titleCount + 1];
+        for (int q = 0; q < userTitles.length; q++) {
+            norms[userTitles[q]] += (double) userWeights[q] * userWeights[q];
+            titleOffsets[userTitles[q] + 1]++;
+        }
+        for (int i = 0; i < titleCount; i++) {
+            norms[i] = Math.sqrt(norms[i]);
+            titleOffsets[i + 1] += titleOffsets[i];
+        }
+        int[] titleUsers = new int[userTitles.length];
+        float[] titleUserWeights = new float[userTitles.length];
+        int[] fill = titleOffsets.clone();
+        for (int u = 0; u + 1 < userOffsets.length; u++) {
+            for (int q = userOffsets[u]; q < userOffsets[u + 1]; q++) {
+                int p = fill[userTitles[q]]++;
+                titleUsers[p] = u;
+                titleUserWeights[p] = userWeights[q];
+            }
+        }
+
+        int[][] topTitles = new int[titleCount][];
+        float[][] topScores = new float[titleCount][];
+        var scratch = ThreadLocal.withInitial(() -> new Scratch(titleCount, neighbours));
+        int batches = (titleCount + batchSize - 1) / batchSize;
+
+        try (var pool = new ForkJoinPool(parallelism)) {
+            pool.submit(() -> IntStream.range(0, batches).parallel().forEach(batch -> {
+                var s = scratch.get();
+                int end = Math.min(titleCount, (batch + 1) * batchSize);
+                for (int i = batch * batchSize; i < end; i++) {
+                    for (int p = titleOffsets[i]; p < titleOffsets[i + 1]; p++) {
+                        int u = titleUsers[p];
+                        float wi = titleUserWeights[p];
+                        for (int q = userOffsets[u]; q < userOffsets[u + 1]; q++) {
+                            int j = userTitles[q];
+                            if (j == i) {
+                                continue;
+                            }
+                            if (s.support[j]++ == 0) {
+                                s.touched.add(j);
+                            }
+                            s.dot[j] += wi * userWeights[q];
+                        }
+                    }
+
+                    s.top.clear();
+                    for (int t = 0; t < s.touched.size(); t++) {
+                        int j = s.touched.getInt(t);
+                        if (s.support[j] >= minCommonUsers) {
+                            s.top.offer(j, (float) (s.dot[j] / (norms[i] * norms[j])));
+                        }
+                        s.dot[j] = 0;
+                        s.support[j] = 0;
+                    }
+                    s.touched.clear();
+
+                    topTitles[i] = new int[s.top.size()];
+                    topScores[i] = new float[s.top.size()];
+                    s.top.drainDescending(topTitles[i], topScores[i]);
+                }
+            })).join();
+        }
+
+        int[] offsets = new int[titleCount + 1];
+        for (int i = 0; i < titleCount; i++) {
+            offsets[i + 1] = offsets[i] + topTitles[i].length;
+        }
+        int[] neighbourTitles = new int[offsets[titleCount]];
+        float[] scores = new float[offsets[titleCount]];
+        for (int i = 0; i < titleCount; i++) {
+            System.arraycopy(topTitles[i], 0, neighbourTitles, offsets[i], topTitles[i].length);
+            System.arraycopy(topScores[i], 0, scores, offsets[i], topScores[i].length);
+        }
+
+        log.debug("Computed item similarities of {} titles from {} users", titleCount, userOffsets.length - 1);
+        return new SimilarityMatrix(profiles.titles.toArray(UUID[]::new), offsets, neighbourTitles, scores, Instant.now());
+    }
+
+    private Profiles loadProfiles() {
+        var profiles = new Profiles();
+        var titles = new IntArrayList();
+        var weights = new FloatArrayList();
+        UUID afterUserId = NIL;
+        while (afterUserId != null) {
+            var page = interactionSignalProvider.getTitleSignals(afterUserId, pageSize);
+            UUID current = null;
+            for (var signal : page.signals()) {
+                if (!signal.userId().equals(current)) {
+                    profiles.addUser(titles, weights, maxUserTitles);
+                    current = signal.userId();
+                }
+                float weight = weight(signal);
+                if (weight > 0) {
+                    titles.add(profiles.titleIndex(signal.titleId()));
+                    weights.add(weight);
+                }
+            }
+            profiles.addUser(titles, weights, maxUserTitles);
+            afterUserId = page.lastUserId();
+        }
+        return profiles;
+    }
+
+    private static float weight(TitleSignal signal) {
+        if (signal.disliked()) {
+            return 0;
+        }
+        float weight = signal.chapterReads() > 0 ? 1 + (float) Math.log(signal.chapterReads()) : 0;
+        if (signal.liked()) {
+            weight += LIKE_WEIGHT;
+        }
+        if (signal.inLibrary()) {
+            weight += LIBRARY_WEIGHT;
+        }
+        if (signal.inCollection()) {
+            weight += COLLECTION_WEIGHT;
+        }
+        return weight;
+    }
+
+    /**
+     * User profiles in compressed sparse row layout over dense title numbers.
+     */
+    private static final class Profiles {
+        final Object2IntOpenHashMap<UUID> titleNumbers = new Object2IntOpenHashMap<>();
+        final List<UUID> titles = new ArrayList<>();
+        final IntArrayList userOffsets = IntArrayList.of(0);
+        final IntArrayList userTitles = new IntArrayList();
+        final FloatArrayList userWeights = new FloatArrayList();
+
+        Profiles() {
+            titleNumbers.defaultReturnValue(-1);
+        }
+
+        int titleIndex(UUID titleId) {
+            int index = titleNumbers.getInt(titleId);
+            if (index < 0) {
+                index = titles.size();
+                titleNumbers.put(titleId, index);
+                titles.add(titleId);
+            }
+            return index;
+        }
+
+        /**
+         * Appends the collected profile, keeping only its strongest signals, and resets the buffers.
+         */
+        void addUser(IntArrayList titles, FloatArrayList weights, int maxTitles) {
+            if (titles.isEmpty()) {
+                return;
+            }
+            if (titles.size() > maxTitles) {
+                int[] order = IntStream.range(0, titles.size()).toArray();
+                IntArrays.quickSort(order, (a, b) -> Float.compare(weights.getFloat(b), weights.getFloat(a)));
+                for (int k = 0; k < maxTitles; k++) {
+                    userTitles.add(titles.getInt(order[k]));
+                    userWeights.add(weights.getFloat(order[k]));
+                }
+            } else {
+                userTitles.addAll(titles);
+                userWeights.addAll(weights);
+            }
+            userOffsets.add(userTitles.size());
+            titles.clear();
+            weights.clear();
+        }
+    }
+
+    /**
+     * Per-worker accumulators, sized once per build and reset after every title.
+     */
+    private static final class Scratch {
+        final double[] dot;
+        final int[] support;
+        final IntArrayList touched = new IntArrayList();
+        final TopK top;
+
+        Scratch(int titleCount, int k) {
+            this.dot = new double[titleCount];
+            this.support = new int[titleCount];
+            this.top = new TopK(k);
+        }
+    }
+
+}
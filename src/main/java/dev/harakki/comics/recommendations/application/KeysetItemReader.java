@@ -0,0 +1,77 @@
+package dev.harakki.comics.recommendations.application;
+
+import org.jspecify.annotations.Nullable;
+import org.springframework.batch.infrastructure.item.ExecutionContext;
+import org.springframework.batch.infrastructure.item.ItemStreamReader;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Streams items page by page from a keyset-paginated source, holding a single page in memory.
+ * Every page continues after the last key of the previous one, and a page without a last key ends the data.
+ * Sources that filter after picking their keys report the last picked key themselves, as a page can then
+ * come back empty before the end.
+ */
+class KeysetItemReader<T> implements ItemStreamReader<T> {
+
+    private static final UUID NIL = new UUID(0, 0);
+
+    /**
+     * @param items   items of the page, possibly none
+     * @param lastKey key to continue after, {@code null} once the source is exhausted
+     */
+    record Page<T>(List<T> items, @Nullable UUID lastKey) {
+    }
+
+    private final BiFunction<UUID, Integer, Page<T>> pageLoader;
+    private final int pageSize;
+
+    private UUID after = NIL;
+    private Iterator<T> page;
+    private boolean exhausted;
+
+    KeysetItemReader(BiFunction<UUID, Integer, Page<T>> pageLoader, int pageSize) {
+        this.pageLoader = pageLoader;
+        this.pageSize = pageSize;
+    }
+
+    /**
+     * For sources that return every item whose key they pick: continues after the key of the last item
+     * and ends at the first empty page.
+     */
+    KeysetItemReader(BiFunction<UUID, Integer, List<T>> pageLoader, Function<T, UUID> keyExtractor, int pageSize) {
+        this((after, limit) -> {
+            var items = pageLoader.apply(after, limit);
+            return new Page<>(items, items.isEmpty() ? null : keyExtractor.apply(items.getLast()));
+        }, pageSize);
+    }
+
+    @Override
+    public void open(ExecutionContext executionContext) {
+        after = NIL;
+        page = null;
+        exhausted = false;
+    }
+
+    @Override
+    public T read() {
+        while (page == null || !page.hasNext()) {
+            if (exhausted) {
+                return null;
+            }
+            var next = pageLoader.apply(after, pageSize);
+            if (next.lastKey() == null) {
+                exhausted = true;
+            } else {
+                after = next.lastKey();
+            }
+            page = next.items().iterator();
+        }
+        return page.next();
+    }
+
+}
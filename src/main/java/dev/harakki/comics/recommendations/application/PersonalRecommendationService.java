@@ -0,0 +1,133 @@
+package dev.harakki.comics.recommendations.application;
+
+import dev.harakki.comics.recommendations.domain.FactorModel;
+import dev.harakki.comics.recommendations.domain.MinHash;
+import dev.harakki.comics.recommendations.dto.RecommendedTitleResponse;
+import dev.harakki.comics.recommendations.dto.RecommendedTitlesResponse;
+import dev.harakki.comics.recommendations.infrastructure.AlsFactorStore;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.job.Job;
+import org.springframework.batch.core.job.parameters.JobParametersBuilder;
+import org.springframework.batch.core.launch.JobOperator;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.Arrays;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+/**
+ * Serves "recommended for you" lists from implicit-feedback ALS factors. Training runs as the
+ * {@link AlsTrainingJobConfiguration ALS training job}, which writes the factors to the
+ * {@link AlsFactorStore}; the stored file is memory-mapped and swapped in once a run completes.
+ * Titles the user already read, saved or liked are left out.
+ */
+@Slf4j
+@Service
+public class PersonalRecommendationService {
+
+    private final JobOperator jobOperator;
+    private final Job alsTrainingJob;
+    private final AlsFactorStore factorStore;
+    private final UserSimilarityIndex userSimilarityIndex;
+    private final int maxLimit;
+
+    private volatile FactorModel model = FactorModel.EMPTY;
+
+    // Titles deleted since the model was trained, hidden until a retraining drops them
+    private final Set<UUID> deletedTitles = ConcurrentHashMap.newKeySet();
+
+    PersonalRecommendationService(
+            JobOperator jobOperator,
+            @Qualifier("alsTrainingJob") Job alsTrainingJob,
+            AlsFactorStore factorStore,
+            UserSimilarityIndex userSimilarityIndex,
+            @Value("${recommendations.als.max-limit:50}") int maxLimit
+    ) {
+        this.jobOperator = jobOperator;
+        this.alsTrainingJob = alsTrainingJob;
+        this.factorStore = factorStore;
+        this.userSimilarityIndex = userSimilarityIndex;
+        this.maxLimit = maxLimit;
+    }
+
+    public RecommendedTitlesResponse getRecommendedTitles(UUID userId, int limit) {
+        var current = model;
+        var items = current.recommend(userId, Math.clamp(limit, 0, maxLimit), excludedTitles(userId))
+                .stream()
+                .map(recommendation -> new RecommendedTitleResponse(recommendation.titleId(), recommendation.score()))
+                .toList();
+        return new RecommendedTitlesResponse(userId, items, current.trainedAt());
+    }
+
+    /**
+     * Current model, for callers that rank titles themselves.
+     */
+    FactorModel model() {
+        return model;
+    }
+
+    /**
+     * Titles the user already read, saved or liked, and titles deleted since the model was trained.
+     */
+    Predicate<UUID> excludedTitles(UUID userId) {
+        long[] known = userSimilarityIndex.profile(userId).titles();
+        return titleId -> deletedTitles.contains(titleId) || Arrays.binarySearch(known, MinHash.titleKey(titleId)) >= 0;
+    }
+
+    public void removeTitle(UUID titleId) {
+        deletedTitles.add(titleId);
+    }
+
+    /**
+     * Serves the stored factors right away, training only when there are none yet.
+     */
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        try {
+            var stored = factorStore.load();
+            if (stored.isPresent()) {
+                model = stored.get();
+                log.info("Loaded ALS factors of {} users and {} titles trained at {}",
+                        model.userCount(), model.titleCount(), model.trainedAt());
+                return;
+            }
+        } catch (Exception e) {
+            log.error("Failed to load stored ALS factors, retraining", e);
+        }
+        train();
+    }
+
+    @Scheduled(cron = "${recommendations.als.cron:0 30 3 * * *}")
+    public synchronized void train() {
+        long started = System.nanoTime();
+        try {
+            var parameters = new JobParametersBuilder()
+                    .addLong("startedAt", System.currentTimeMillis())
+                    .toJobParameters();
+            var execution = jobOperator.start(alsTrainingJob, parameters);
+            if (execution.getStatus() != BatchStatus.COMPLETED) {
+                log.error("ALS training finished with status {}, keeping the previous factors", execution.getStatus());
+                return;
+            }
+
+            var trained = factorStore.load().orElseThrow();
+            model = trained;
+            deletedTitles.removeIf(titleId -> !trained.contains(titleId));
+            log.info("Trained ALS factors of {} users and {} titles in {} ms",
+                    trained.userCount(), trained.titleCount(), (System.nanoTime() - started) / 1_000_000);
+        } catch (Exception e) {
+            log.error("Failed to train ALS factors, keeping the previous ones", e);
+        }
+    }
+
+}
@@ -0,0 +1,134 @@
+package dev.harakki.comics.recommendations.application;
+
+import dev.harakki.comics.catalog.api.TitleCreatedEvent;
+import dev.harakki.comics.catalog.api.TitleDeletedEvent;
+import dev.harakki.comics.catalog.api.TitleUpdatedEvent;
+import dev.harakki.comics.catalog.api.TitlesImportedEvent;
+import dev.harakki.comics.content.api.ChapterReadEvent;
+import dev.harakki.comics.library.api.LibraryAddTitleEvent;
+import dev.harakki.comics.library.api.LibraryRemoveTitleEvent;
+import dev.harakki.comics.library.api.LibraryVoteTitleEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.modulith.events.ApplicationModuleListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RecommendationEventListener {
+
+    private final RecommendationService recommendationService;
+    private final UserSimilarityService userSimilarityService;
+    private final PersonalRecommendationService personalRecommendationService;
+    private final ContentSimilarityService contentSimilarityService;
+    private final RecommendationFeedService recommendationFeedService;
+
+    @Async
+    @ApplicationModuleListener
+    public void on(TitleCreatedEvent event) {
+        log.debug("Processing title created event: titleId={}", event.titleId());
+
+        try {
+            contentSimilarityService.updateTitle(event.titleId());
+        } catch (Exception e) {
+            log.error("Failed to process title created event: titleId={}", event.titleId(), e);
+        }
+    }
+
+    @Async
+    @ApplicationModuleListener
+    public void on(TitlesImportedEvent event) {
+        log.debug("Processing titles imported event: titles={}", event.titles().size());
+
+        try {
+            event.titleIds().forEach(contentSimilarityService::updateTitle);
+        } catch (Exception e) {
+            log.error("Failed to process titles imported event: titles={}", event.titles().size(), e);
+        }
+    }
+
+    @Async
+    @ApplicationModuleListener
+    public void on(TitleUpdatedEvent event) {
+        log.debug("Processing title updated event: titleId={}", event.titleId());
+
+        try {
+            contentSimilarityService.updateTitle(event.titleId());
+        } catch (Exception e) {
+            log.error("Failed to process title updated event: titleId={}", event.titleId(), e);
+        }
+    }
+
+    @Async
+    @ApplicationModuleListener
+    public void on(TitleDeletedEvent event) {
+        log.debug("Processing title deleted event: titleId={}", event.titleId());
+
+        try {
+            recommendationService.removeTitle(event.titleId());
+            personalRecommendationService.removeTitle(event.titleId());
+            contentSimilarityService.removeTitle(event.titleId());
+            recommendationFeedService.removeTitle(event.titleId());
+            log.info("Title deleted event processed successfully: titleId={}", event.titleId());
+        } catch (Exception e) {
+            log.error("Failed to process title deleted event: titleId={}", event.titleId(), e);
+        }
+    }
+
+    @Async
+    @ApplicationModuleListener
+    public void on(ChapterReadEvent event) {
+        if (event.userId() == null) {
+            return;
+        }
+        log.debug("Processing chapter read event: titleId={}, userId={}", event.titleId(), event.userId());
+
+        try {
+            userSimilarityService.recordChapterRead(event.userId(), event.titleId());
+            recommendationFeedService.recordInteraction(event.userId(), event.titleId());
+        } catch (Exception e) {
+            log.error("Failed to process chapter read event: titleId={}, userId={}", event.titleId(), event.userId(), e);
+        }
+    }
+
+    @Async
+    @ApplicationModuleListener
+    public void on(LibraryAddTitleEvent event) {
+        log.debug("Processing library add title event: titleId={}, userId={}", event.titleId(), event.userId());
+
+        try {
+            userSimilarityService.recordLibraryAdd(event.userId(), event.titleId());
+            recommendationFeedService.recordInteraction(event.userId(), event.titleId());
+        } catch (Exception e) {
+            log.error("Failed to process library add title event: titleId={}, userId={}", event.titleId(), event.userId(), e);
+        }
+    }
+
+    @Async
+    @ApplicationModuleListener
+    public void on(LibraryRemoveTitleEvent event) {
+        log.debug("Processing library remove title event: titleId={}, userId={}", event.titleId(), event.userId());
+
+        try {
+            userSimilarityService.recordLibraryRemove(event.userId(), event.titleId());
+        } catch (Exception e) {
+            log.error("Failed to process library remove title event: titleId={}, userId={}", event.titleId(), event.userId(), e);
+        }
+    }
+
+    @Async
+    @ApplicationModuleListener
+    public void on(LibraryVoteTitleEvent event) {
+        log.debug("Processing library vote title event: titleId={}, userId={}, vote={}", event.titleId(), event.userId(), event.vote());
+
+        try {
+            userSimilarityService.recordVote(event.userId(), event.titleId(), event.vote());
+            recommendationFeedService.recordInteraction(event.userId(), event.titleId());
+        } catch (Exception e) {
+            log.error("Failed to process library vote title event: titleId={}, userId={}", event.titleId(), event.userId(), e);
+        }
+    }
+
+}
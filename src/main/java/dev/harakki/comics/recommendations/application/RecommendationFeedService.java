@@ -0,0 +1,261 @@
+package dev.harakki.comics.recommendations.application;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import dev.harakki.comics.analytics.api.PopularTitleProvider;
+import dev.harakki.comics.analytics.api.TrendingTitleProvider;
+import dev.harakki.comics.analytics.api.TrendingWindow;
+import dev.harakki.comics.library.api.LibraryEntryProvider;
+import dev.harakki.comics.recommendations.domain.RecommendationFeed;
+import dev.harakki.comics.recommendations.dto.RecommendationFeedResponse;
+import dev.harakki.comics.recommendations.dto.RecommendedTitleResponse;
+import dev.harakki.comics.shared.exception.InvalidCursorException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Serves the "for you" feed from per-user {@link RecommendationFeed}s materialized ahead of the
+ * request, so a page is a slice of an array instead of scoring the whole catalog.
+ * <p>
+ * A feed is built on the first interaction or request of a user and then refreshed incrementally:
+ * a title the user reads, saves or votes on is dropped from it, and only a feed that lost half of
+ * its titles is rebuilt. A periodic pass rebuilds the feeds built from an outdated model or fallback
+ * list. Users the model does not know yet get the trending titles instead, topped up with all-time
+ * popular ones.
+ * <p>
+ * Pages are addressed by an opaque cursor holding the last title served and the rank after it, so paging
+ * stays consistent while titles are dropped from the feed in between.
+ */
+@Slf4j
+@Service
+public class RecommendationFeedService {
+
+    private static final int CURSOR_BYTES = Integer.BYTES + 2 * Long.BYTES;
+
+    private final PersonalRecommendationService personalRecommendationService;
+    private final LibraryEntryProvider libraryEntryProvider;
+    private final PopularTitleProvider popularTitleProvider;
+    private final TrendingTitleProvider trendingTitleProvider;
+    private final TrendingWindow trendingWindow;
+    private final int feedSize;
+    private final int maxLimit;
+    private final int refreshPageSize;
+    private final Cache<UUID, RecommendationFeed> feeds;
+
+    private volatile List<UUID> fallbackTitles = List.of();
+    private volatile Instant fallbackTitlesVersion = Instant.EPOCH;
+
+    RecommendationFeedService(
+            PersonalRecommendationService personalRecommendationService,
+            LibraryEntryProvider libraryEntryProvider,
+            PopularTitleProvider popularTitleProvider,
+            TrendingTitleProvider trendingTitleProvider,
+            @Value("${recommendations.feed.trending-window:DAY}") TrendingWindow trendingWindow,
+            @Value("${recommendations.feed.size:200}") int feedSize,
+            @Value("${recommendations.feed.max-limit:50}") int maxLimit,
+            @Value("${recommendations.feed.refresh-page-size:500}") int refreshPageSize,
+            @Value("${recommendations.feed.cache-size:100000}") long cacheSize,
+            @Value("${recommendations.feed.idle-ttl:P7D}") Duration idleTtl
+    ) {
+        this.personalRecommendationService = personalRecommendationService;
+        this.libraryEntryProvider = libraryEntryProvider;
+        this.popularTitleProvider = popularTitleProvider;
+        this.trendingTitleProvider = trendingTitleProvider;
+        this.trendingWindow = trendingWindow;
+        this.feedSize = feedSize;
+        this.maxLimit = maxLimit;
+        this.refreshPageSize = refreshPageSize;
+        this.feeds = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfterAccess(idleTtl)
+                .build();
+    }
+
+    /**
+     * @param cursor {@code nextCursor} of the previous page, null for the first page
+     */
+    public RecommendationFeedResponse getFeed(UUID userId, String cursor, int limit) {
+        var feed = feeds.get(userId, this::build);
+
+        int start = 0;
+        if (cursor != null && !cursor.isBlank()) {
+            var position = decodeCursor(cursor);
+            // The last title served moves up when titles before it are dropped from the feed;
+            // once it was dropped itself, the page goes on with the next title it was ranked above
+            int last = feed.indexOf(position.lastTitleId());
+            start = last >= 0 ? last + 1 : feed.positionOfRank(position.nextRank());
+        }
+        int end = Math.min(start + Math.clamp(limit, 0, maxLimit), feed.size());
+
+        List<RecommendedTitleResponse> items = new ArrayList<>(end - start);
+        for (int i = start; i < end; i++) {
+            items.add(new RecommendedTitleResponse(feed.titleId(i), feed.score(i)));
+        }
+        String nextCursor = end < feed.size() && end > start ? encodeCursor(feed.rank(end - 1) + 1, feed.titleId(end - 1)) : null;
+        return new RecommendationFeedResponse(userId, items, nextCursor, feed.personalized(), feed.builtAt());
+    }
+
+    /**
+     * Drops a title the user read, saved or voted on from their feed, rebuilding it once it runs
+     * low. Users without a feed get one built now, ahead of their next visit.
+     */
+    public void recordInteraction(UUID userId, UUID titleId) {
+        var map = feeds.asMap();
+        while (true) {
+            var feed = map.get(userId);
+            if (feed == null) {
+                map.putIfAbsent(userId, build(userId));
+                return;
+            }
+            var updated = feed.without(titleId);
+            if (updated == feed) {
+                return;
+            }
+            // Measured against the feed as built: a short one, e.g. for a user who has read most titles,
+            // would otherwise be rebuilt on every interaction
+            if (updated.size() < feed.builtSize() / 2) {
+                updated = build(userId);
+            }
+            // Retry if a concurrent update replaced the feed meanwhile
+            if (map.replace(userId, feed, updated)) {
+                return;
+            }
+        }
+    }
+
+    public void removeTitle(UUID titleId) {
+        fallbackTitles = fallbackTitles.stream().filter(id -> !id.equals(titleId)).toList();
+        feeds.asMap().replaceAll((_, feed) -> feed.without(titleId));
+    }
+
+    /**
+     * Reloads the fallback titles and rebuilds the feeds built from an outdated model or fallback list,
+     * as well as cold-start feeds of users the model has learned since. Stale feeds are rebuilt in
+     * pages of users whose libraries are loaded with one query per page.
+     */
+    @Scheduled(fixedDelayString = "${recommendations.feed.refresh-interval:PT10M}")
+    public void refreshFeeds() {
+        long started = System.nanoTime();
+        try {
+            var fallback = new LinkedHashSet<>(trendingTitleProvider.getTrendingTitleIds(trendingWindow, feedSize));
+            if (fallback.size() < feedSize) {
+                for (var titleId : popularTitleProvider.getPopularTitleIds(feedSize)) {
+                    if (fallback.size() == feedSize) {
+                        break;
+                    }
+                    fallback.add(titleId);
+                }
+            }
+            var titles = List.copyOf(fallback);
+            if (!titles.equals(fallbackTitles)) {
+                fallbackTitles = titles;
+                fallbackTitlesVersion = Instant.now();
+            }
+
+            var model = personalRecommendationService.model();
+            int rebuilt = 0;
+            List<Map.Entry<UUID, RecommendationFeed>> page = new ArrayList<>(refreshPageSize);
+            for (var entry : feeds.asMap().entrySet()) {
+                var feed = entry.getValue();
+                boolean stale = feed.personalized()
+                        ? !feed.version().equals(model.trainedAt())
+                        : !feed.version().equals(fallbackTitlesVersion) || model.containsUser(entry.getKey());
+                if (stale) {
+                    page.add(Map.entry(entry.getKey(), feed));
+                    if (page.size() == refreshPageSize) {
+                        rebuilt += rebuild(page);
+                        page.clear();
+                    }
+                }
+            }
+            rebuilt += rebuild(page);
+            if (rebuilt > 0) {
+                log.info("Rebuilt {} of {} recommendation feeds in {} ms",
+                        rebuilt, feeds.estimatedSize(), (System.nanoTime() - started) / 1_000_000);
+            }
+        } catch (Exception e) {
+            log.error("Failed to refresh recommendation feeds", e);
+        }
+    }
+
+    /**
+     * Rebuilds the given feeds unless they were replaced meanwhile.
+     *
+     * @return number of feeds rebuilt
+     */
+    private int rebuild(List<Map.Entry<UUID, RecommendationFeed>> stale) {
+        if (stale.isEmpty()) {
+            return 0;
+        }
+        var libraries = libraryEntryProvider.getLibraryTitleIds(stale.stream().map(Map.Entry::getKey).toList());
+        int rebuilt = 0;
+        for (var entry : stale) {
+            var feed = build(entry.getKey(), libraries.getOrDefault(entry.getKey(), Set.of()));
+            if (feeds.asMap().replace(entry.getKey(), entry.getValue(), feed)) {
+                rebuilt++;
+            }
+        }
+        return rebuilt;
+    }
+
+    private RecommendationFeed build(UUID userId) {
+        return build(userId, libraryEntryProvider.getLibraryTitleIds(userId));
+    }
+
+    private RecommendationFeed build(UUID userId, Set<UUID> library) {
+        var model = personalRecommendationService.model();
+        var known = personalRecommendationService.excludedTitles(userId);
+        var now = Instant.now();
+
+        if (model.containsUser(userId)) {
+            var recommendations = model.recommend(userId, feedSize,
+                    titleId -> library.contains(titleId) || known.test(titleId));
+            return RecommendationFeed.personalized(recommendations, model.trainedAt(), now);
+        }
+        var version = fallbackTitlesVersion;
+        var titles = fallbackTitles.stream()
+                .filter(titleId -> !library.contains(titleId) && !known.test(titleId))
+                .toList();
+        return RecommendationFeed.fallback(titles, version, now);
+    }
+
+    private record CursorPosition(int nextRank, UUID lastTitleId) {
+    }
+
+    private static String encodeCursor(int nextRank, UUID lastTitleId) {
+        var buffer = ByteBuffer.allocate(CURSOR_BYTES)
+                .putInt(nextRank)
+                .putLong(lastTitleId.getMostSignificantBits())
+                .putLong(lastTitleId.getLeastSignificantBits());
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(buffer.array());
+    }
+
+    private static CursorPosition decodeCursor(String cursor) {
+        byte[] bytes;
+        try {
+            bytes = Base64.getUrlDecoder().decode(cursor);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException("Invalid feed cursor");
+        }
+        if (bytes.length != CURSOR_BYTES) {
+            throw new InvalidCursorException("Invalid feed cursor");
+        }
+        var buffer = ByteBuffer.wrap(bytes);
+        int nextRank = buffer.getInt();
+        return new CursorPosition(Math.max(nextRank, 0), new UUID(buffer.getLong(), buffer.getLong()));
+    }
+
+}
@@ -0,0 +1,66 @@
+package dev.harakki.comics.recommendations.application;
+
+import dev.harakki.comics.recommendations.domain.SimilarityMatrix;
+import dev.harakki.comics.recommendations.dto.SimilarTitleResponse;
+import dev.harakki.comics.recommendations.dto.SimilarTitlesResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Serves "users who read X also read" lists from an in-memory {@link SimilarityMatrix} that is
+ * rebuilt off the request path and swapped in atomically.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RecommendationService {
+
+    private final ItemSimilarityBuilder itemSimilarityBuilder;
+
+    private volatile SimilarityMatrix similarities = SimilarityMatrix.EMPTY;
+
+    // Titles deleted since the matrix was built, hidden until a rebuild drops them
+    private final Set<UUID> deletedTitles = ConcurrentHashMap.newKeySet();
+
+    public SimilarTitlesResponse getSimilarTitles(UUID titleId, int limit) {
+        var matrix = similarities;
+        var items = matrix.neighbours(titleId, Math.min(limit, itemSimilarityBuilder.neighbours()), deletedTitles).stream()
+                .map(neighbour -> new SimilarTitleResponse(neighbour.titleId(), neighbour.score()))
+                .toList();
+        return new SimilarTitlesResponse(titleId, items, matrix.builtAt());
+    }
+
+    public void removeTitle(UUID titleId) {
+        deletedTitles.add(titleId);
+    }
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        rebuildSimilarities();
+    }
+
+    @Scheduled(cron = "${recommendations.similarity.rebuild-cron:0 15 * * * *}")
+    public synchronized void rebuildSimilarities() {
+        long started = System.nanoTime();
+        try {
+            var matrix = itemSimilarityBuilder.build();
+            similarities = matrix;
+            deletedTitles.removeIf(titleId -> !matrix.contains(titleId));
+            log.info("Rebuilt item similarities: {} titles, {} neighbours in {} ms",
+                    matrix.titleCount(), matrix.neighbourCount(), (System.nanoTime() - started) / 1_000_000);
+        } catch (Exception e) {
+            log.error("Failed to rebuild item similarities, keeping the previous ones", e);
+        }
+    }
+
+}
@@ -0,0 +1,112 @@
+package dev.harakki.comics.recommendations.application;
+
+import dev.harakki.comics.catalog.api.TitleFeatureProvider.TitleFeatures;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Encodes catalog attributes of a title as a unit-length feature vector with the hashing trick:
+ * every attribute (each tag, author, the publisher, type and content rating) is hashed to a signed
+ * coordinate, so the vocabulary needs no dictionary and new tags or authors need no re-encoding.
+ * Each attribute group has a weight and is scaled by the square root of its size, so a title with
+ * many tags does not drown out its authors. Cosine similarity is then a plain dot product.
+ */
+@Component
+class TitleFeatureEncoder {
+
+    // Bump when the encoding changes, so stored vectors encoded the old way are discarded
+    private static final int ENCODING_VERSION = 1;
+
+    private final int dimension;
+    private final float tagWeight;
+    private final float authorWeight;
+    private final float publisherWeight;
+    private final float typeWeight;
+    private final float contentRatingWeight;
+
+    TitleFeatureEncoder(
+            @Value("${recommendations.content.dimension:256}") int dimension,
+            @Value("${recommendations.content.tag-weight:1.0}") float tagWeight,
+            @Value("${recommendations.content.author-weight:0.8}") float authorWeight,
+            @Value("${recommendations.content.publisher-weight:0.3}") float publisherWeight,
+            @Value("${recommendations.content.type-weight:0.5}") float typeWeight,
+            @Value("${recommendations.content.content-rating-weight:0.3}") float contentRatingWeight
+    ) {
+        this.dimension = dimension;
+        this.tagWeight = tagWeight;
+        this.authorWeight = authorWeight;
+        this.publisherWeight = publisherWeight;
+        this.typeWeight = typeWeight;
+        this.contentRatingWeight = contentRatingWeight;
+    }
+
+    int dimension() {
+        return dimension;
+    }
+
+    /**
+     * Identifies the encoding settings; vectors encoded with a different fingerprint are not comparable.
+     */
+    long fingerprint() {
+        return Objects.hash(ENCODING_VERSION, dimension, tagWeight, authorWeight, publisherWeight, typeWeight, contentRatingWeight);
+    }
+
+    /**
+     * @return the unit-length feature vector, null for a title without any attributes
+     */
+    float[] encode(TitleFeatures features) {
+        float[] vector = new float[dimension];
+        addIds(vector, 1, features.tagIds(), tagWeight);
+        addIds(vector, 2, features.authorIds(), authorWeight);
+        addIds(vector, 3, features.publisherId() != null ? List.of(features.publisherId()) : List.of(), publisherWeight);
+        addName(vector, 4, features.type(), typeWeight);
+        addName(vector, 5, features.contentRating(), contentRatingWeight);
+
+        double norm = 0;
+        for (float v : vector) {
+            norm += v * v;
+        }
+        if (norm == 0) {
+            return null;
+        }
+        float scale = (float) (1 / Math.sqrt(norm));
+        for (int d = 0; d < dimension; d++) {
+            vector[d] *= scale;
+        }
+        return vector;
+    }
+
+    private void addIds(float[] vector, long group, Collection<UUID> ids, float weight) {
+        if (ids == null || ids.isEmpty()) {
+            return;
+        }
+        float value = (float) (weight / Math.sqrt(ids.size()));
+        for (var id : ids) {
+            add(vector, mix(group * 0x9E3779B97F4A7C15L ^ mix(id.getMostSignificantBits()) ^ id.getLeastSignificantBits()), value);
+        }
+    }
+
+    private void addName(float[] vector, long group, String name, float weight) {
+        if (name != null) {
+            add(vector, mix(group * 0x9E3779B97F4A7C15L ^ name.hashCode()), weight);
+        }
+    }
+
+    private void add(float[] vector, long hash, float value) {
+        int coordinate = (int) Math.floorMod(hash, (long) dimension);
+        vector[coordinate] += hash < 0 ? -value : value;
+    }
+
+    // Stafford variant 13 of the murmur3 finalizer
+    private static long mix(long h) {
+        h = (h ^ (h >>> 30)) * 0xBF58476D1CE4E5B9L;
+        h = (h ^ (h >>> 27)) * 0x94D049BB133111EBL;
+        return h ^ (h >>> 31);
+    }
+
+}
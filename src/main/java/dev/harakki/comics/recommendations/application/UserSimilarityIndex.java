@@ -0,0 +1,93 @@
+package dev.harakki.comics.recommendations.application;
+
+import dev.harakki.comics.recommendations.domain.MinHash;
+import dev.harakki.comics.recommendations.domain.TasteProfile;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory taste profiles of all users with an LSH banding index over their MinHash signatures.
+ * Profile updates run under the profile map's per-key lock, which also serializes the bucket moves
+ * of that user; readers only ever see whole immutable profiles.
+ */
+@Component
+class UserSimilarityIndex {
+
+    private final Map<UUID, TasteProfile> profiles = new ConcurrentHashMap<>();
+    private final Map<Long, Set<UUID>> buckets = new ConcurrentHashMap<>();
+
+    private final int maxBucketSize;
+    private final int maxCandidates;
+
+    UserSimilarityIndex(
+            @Value("${recommendations.users.max-bucket-size:1000}") int maxBucketSize,
+            @Value("${recommendations.users.max-candidates:2000}") int maxCandidates
+    ) {
+        this.maxBucketSize = maxBucketSize;
+        this.maxCandidates = maxCandidates;
+    }
+
+    void update(UUID userId, UUID titleId, byte set, byte clear) {
+        long title = MinHash.titleKey(titleId);
+        profiles.compute(userId, (_, current) -> {
+            var before = current != null ? current : TasteProfile.EMPTY;
+            var after = before.update(title, set, clear);
+            if (after != before) {
+                moveBuckets(userId, before, after);
+            }
+            return after.size() > 0 ? after : null;
+        });
+    }
+
+    TasteProfile profile(UUID userId) {
+        return profiles.getOrDefault(userId, TasteProfile.EMPTY);
+    }
+
+    /**
+     * Users sharing at least one band bucket with the given user. Oversized buckets (sets made of a
+     * few very popular titles) are skipped, they would add many candidates with little signal.
+     */
+    Set<UUID> candidates(UUID userId) {
+        var profile = profiles.get(userId);
+        if (profile == null) {
+            return Set.of();
+        }
+        Set<UUID> candidates = new HashSet<>();
+        for (int band = 0; band < MinHash.BANDS && candidates.size() < maxCandidates; band++) {
+            var bucket = buckets.get(MinHash.bandKey(profile.signature(), band));
+            if (bucket != null && bucket.size() <= maxBucketSize) {
+                candidates.addAll(bucket);
+            }
+        }
+        candidates.remove(userId);
+        return candidates;
+    }
+
+    int userCount() {
+        return profiles.size();
+    }
+
+    private void moveBuckets(UUID userId, TasteProfile before, TasteProfile after) {
+        for (int band = 0; band < MinHash.BANDS; band++) {
+            long oldKey = before.size() > 0 ? MinHash.bandKey(before.signature(), band) : 0;
+            long newKey = after.size() > 0 ? MinHash.bandKey(after.signature(), band) : 0;
+            if (before.size() > 0 && (after.size() == 0 || oldKey != newKey)) {
+                buckets.computeIfPresent(oldKey, (_, users) -> {
+                    users.remove(userId);
+                    return users.isEmpty() ? null : users;
+                });
+            }
+            if (after.size() > 0 && (before.size() == 0 || oldKey != newKey)) {
+                buckets.compute(newKey, (_, users) -> {
+                    var bucket = users != null ? users : ConcurrentHashMap.<UUID>newKeySet();
+                    bucket.add(userId);
+                    return bucket;
+                });
+            }
+        }
+    }
+
+}
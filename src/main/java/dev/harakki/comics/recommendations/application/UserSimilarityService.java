@@ -0,0 +1,144 @@
+package dev.harakki.comics.recommendations.application;
+
+import dev.harakki.comics.analytics.api.InteractionSignalProvider;
+import dev.harakki.comics.collections.api.PublicProfileProvider;
+import dev.harakki.comics.library.api.LibraryEntryProvider;
+import dev.harakki.comics.library.api.VoteType;
+import dev.harakki.comics.recommendations.domain.TasteProfile;
+import dev.harakki.comics.recommendations.dto.CompatibleUserResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Finds readers with a similar taste. Candidates come from the MinHash LSH index, so only users
+ * likely to overlap are compared; the compatibility itself is the exact Jaccard similarity of the
+ * two users' title sets (titles read, saved to the library or liked). Libraries are private, so
+ * only users with a public profile are ever compared with someone else.
+ */
+@Slf4j
+@Service
+public class UserSimilarityService {
+
+    private static final UUID NIL = new UUID(0, 0);
+
+    private final UserSimilarityIndex index;
+    private final LibraryEntryProvider libraryEntryProvider;
+    private final InteractionSignalProvider interactionSignalProvider;
+    private final PublicProfileProvider publicProfileProvider;
+    private final int pageSize;
+    private final int maxLimit;
+
+    UserSimilarityService(
+            UserSimilarityIndex index,
+            LibraryEntryProvider libraryEntryProvider,
+            InteractionSignalProvider interactionSignalProvider,
+            PublicProfileProvider publicProfileProvider,
+            @Value("${recommendations.users.page-size:1000}") int pageSize,
+            @Value("${recommendations.users.max-limit:50}") int maxLimit
+    ) {
+        this.index = index;
+        this.libraryEntryProvider = libraryEntryProvider;
+        this.interactionSignalProvider = interactionSignalProvider;
+        this.publicProfileProvider = publicProfileProvider;
+        this.pageSize = pageSize;
+        this.maxLimit = maxLimit;
+    }
+
+    public List<CompatibleUserResponse> getSimilarUsers(UUID userId, int limit) {
+        var profile = index.profile(userId);
+        return publicProfileProvider.getUsersWithPublicProfile(index.candidates(userId)).stream()
+                .map(candidate -> compatibility(candidate, profile, index.profile(candidate)))
+                .filter(match -> match.sharedTitles() > 0)
+                .sorted(Comparator.comparing(CompatibleUserResponse::compatibility).reversed()
+                        .thenComparing(Comparator.comparing(CompatibleUserResponse::sharedTitles).reversed()))
+                .limit(Math.clamp(limit, 0, maxLimit))
+                .toList();
+    }
+
+    public CompatibleUserResponse getCompatibility(UUID userId, UUID otherUserId) {
+        if (!userId.equals(otherUserId) && publicProfileProvider.getUsersWithPublicProfile(Set.of(otherUserId)).isEmpty()) {
+            throw new AccessDeniedException("You don't have permission to compare with this user");
+        }
+        return compatibility(otherUserId, index.profile(userId), index.profile(otherUserId));
+    }
+
+    public void recordChapterRead(UUID userId, UUID titleId) {
+        index.update(userId, titleId, TasteProfile.READ, (byte) 0);
+    }
+
+    public void recordLibraryAdd(UUID userId, UUID titleId) {
+        index.update(userId, titleId, TasteProfile.IN_LIBRARY, (byte) 0);
+    }
+
+    public void recordLibraryRemove(UUID userId, UUID titleId) {
+        // The vote is withdrawn together with the entry
+        index.update(userId, titleId, (byte) 0, (byte) (TasteProfile.IN_LIBRARY | TasteProfile.LIKED));
+    }
+
+    public void recordVote(UUID userId, UUID titleId, VoteType vote) {
+        if (vote == VoteType.LIKE) {
+            index.update(userId, titleId, TasteProfile.LIKED, (byte) 0);
+        } else {
+            index.update(userId, titleId, (byte) 0, TasteProfile.LIKED);
+        }
+    }
+
+    /**
+     * Loads all profiles from library entries and the read log. Events arriving meanwhile are applied
+     * directly, additions commute with the load.
+     */
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadProfiles() {
+        long started = System.nanoTime();
+        try {
+            UUID afterEntryId = NIL;
+            List<LibraryEntryProvider.LibraryTitle> entries;
+            do {
+                entries = libraryEntryProvider.getLibraryTitles(afterEntryId, pageSize);
+                for (var entry : entries) {
+                    byte reasons = entry.vote() == VoteType.LIKE
+                            ? (byte) (TasteProfile.IN_LIBRARY | TasteProfile.LIKED)
+                            : TasteProfile.IN_LIBRARY;
+                    index.update(entry.userId(), entry.titleId(), reasons, (byte) 0);
+                }
+                if (!entries.isEmpty()) {
+                    afterEntryId = entries.getLast().entryId();
+                }
+            } while (!entries.isEmpty());
+
+            UUID afterUserId = NIL;
+            while (afterUserId != null) {
+                var page = interactionSignalProvider.getTitleSignals(afterUserId, pageSize);
+                for (var signal : page.signals()) {
+                    if (signal.chapterReads() > 0) {
+                        recordChapterRead(signal.userId(), signal.titleId());
+                    }
+                }
+                afterUserId = page.lastUserId();
+            }
+
+            log.info("Loaded taste profiles of {} users in {} ms", index.userCount(), (System.nanoTime() - started) / 1_000_000);
+        } catch (Exception e) {
+            log.error("Failed to load taste profiles, similar users are based on new events only", e);
+        }
+    }
+
+    private static CompatibleUserResponse compatibility(UUID userId, TasteProfile profile, TasteProfile other) {
+        int shared = profile.intersectionSize(other);
+        int union = profile.size() + other.size() - shared;
+        int percent = union == 0 ? 0 : (int) Math.round(100.0 * shared / union);
+        return new CompatibleUserResponse(userId, percent, shared);
+    }
+
+}
@@ -0,0 +1,117 @@
+package dev.harakki.comics.recommendations.domain;
+
+import java.util.Arrays;
+
+/**
+ * Least squares steps of implicit-feedback ALS (Hu, Koren, Volinsky) over dense row-major factor arrays.
+ * <p>
+ * Solving the rows of one side keeps the other side fixed. With the shared Gram matrix {@code YᵗY}
+ * precomputed once per half-iteration, a row only touches its own observations:
+ * {@code (YᵗY + Yᵗ(C - I)Y + λI) x = YᵗC p}, where {@code p} is 1 for every observed pair.
+ * Rows are independent, so disjoint row ranges can be solved concurrently.
+ */
+public final class AlsSolver {
+
+    private AlsSolver() {
+    }
+
+    /**
+     * Adds {@code FᵗF} of the factor rows {@code [from, to)} into the {@code rank x rank} target.
+     */
+    public static void addGram(float[] factors, int rank, int from, int to, double[] target) {
+        for (int r = from; r < to; r++) {
+            int base = r * rank;
+            for (int a = 0; a < rank; a++) {
+                double fa = factors[base + a];
+                for (int b = a; b < rank; b++) {
+                    target[a * rank + b] += fa * factors[base + b];
+                }
+            }
+        }
+        for (int a = 0; a < rank; a++) {
+            for (int b = 0; b < a; b++) {
+                target[a * rank + b] = target[b * rank + a];
+            }
+        }
+    }
+
+    /**
+     * Solves the rows {@code [from, to)} of {@code target} against the {@code fixed} factors.
+     *
+     * @param offsets    CSR offsets of the observations of each row
+     * @param columns    observed column of every observation, a row of {@code fixed}
+     * @param confidence confidence of every observation, at least 1
+     * @param gram       {@code FᵗF} of the fixed factors
+     */
+    public static void solveRows(int from, int to, int[] offsets, int[] columns, float[] confidence,
+                                 float[] fixed, double[] gram, int rank, double lambda, float[] target) {
+        double[] a = new double[rank * rank];
+        double[] b = new double[rank];
+        for (int r = from; r < to; r++) {
+            int base = r * rank;
+            if (offsets[r] == offsets[r + 1]) {
+                Arrays.fill(target, base, base + rank, 0f);
+                continue;
+            }
+
+            System.arraycopy(gram, 0, a, 0, a.length);
+            Arrays.fill(b, 0);
+            for (int k = 0; k < rank; k++) {
+                a[k * rank + k] += lambda;
+            }
+            for (int q = offsets[r]; q < offsets[r + 1]; q++) {
+                int y = columns[q] * rank;
+                double c = confidence[q];
+                for (int i = 0; i < rank; i++) {
+                    double cy = (c - 1) * fixed[y + i];
+                    for (int j = i; j < rank; j++) {
+                        a[i * rank + j] += cy * fixed[y + j];
+                    }
+                    b[i] += c * fixed[y + i];
+                }
+            }
+
+            choleskySolve(a, b, rank);
+            for (int k = 0; k < rank; k++) {
+                target[base + k] = (float) b[k];
+            }
+        }
+    }
+
+    /**
+     * Solves {@code A x = b} in place for a symmetric positive definite {@code A}, of which only the
+     * upper triangle is read. The factor overwrites the lower triangle, the solution overwrites {@code b}.
+     */
+    private static void choleskySolve(double[] a, double[] b, int n) {
+        for (int j = 0; j < n; j++) {
+            double d = a[j * n + j];
+            for (int k = 0; k < j; k++) {
+                d -= a[j * n + k] * a[j * n + k];
+            }
+            d = Math.sqrt(Math.max(d, 1e-12));
+            a[j * n + j] = d;
+            for (int i = j + 1; i < n; i++) {
+                double s = a[j * n + i];
+                for (int k = 0; k < j; k++) {
+                    s -= a[i * n + k] * a[j * n + k];
+                }
+                a[i * n + j] = s / d;
+            }
+        }
+        for (int i = 0; i < n; i++) {
+            double s = b[i];
+            for (int k = 0; k < i; k++) {
+                s -= a[i * n + k] * b[k];
+            }
+            b[i] = s / a[i * n + i];
+        }
+        for (int i = n - 1; i >= 0; i--) {
+            double s = b[i];
+            for (int k = i + 1; k < n; k++) {
+                s -= a[k * n + i] * b[k];
+            }
+            b[i] = s / a[i * n + i];
+        }
+    }
+
+}
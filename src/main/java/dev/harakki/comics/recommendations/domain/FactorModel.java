@@ -0,0 +1,118 @@
+package dev.harakki.comics.recommendations.domain;
+
+import it.unimi.dsi.fastutil.objects.Object2IntMap;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.ByteOrder;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Predicate;
+
+/**
+ * Trained user and title factor vectors, read in place from (typically memory-mapped) segments of
+ * little-endian floats in row-major order. A user's predicted preference for a title is the dot
+ * product of their vectors.
+ */
+public final class FactorModel {
+
+    public record Recommendation(UUID titleId, float score) {
+    }
+
+    public static final ValueLayout.OfFloat FLOAT = ValueLayout.JAVA_FLOAT_UNALIGNED.withOrder(ByteOrder.LITTLE_ENDIAN);
+
+    public static final FactorModel EMPTY = new FactorModel(0, new UUID[0], new UUID[0],
+            MemorySegment.NULL, MemorySegment.NULL, Instant.EPOCH);
+
+    private final int rank;
+    private final UUID[] titles;
+    private final Object2IntMap<UUID> userIndex;
+    private final Set<UUID> titleSet;
+    private final MemorySegment userFactors;
+    private final MemorySegment titleFactors;
+    private final Instant trainedAt;
+
+    public FactorModel(int rank, UUID[] users, UUID[] titles, MemorySegment userFactors, MemorySegment titleFactors, Instant trainedAt) {
+        if (userFactors.byteSize() != (long) users.length * rank * Float.BYTES
+                || titleFactors.byteSize() != (long) titles.length * rank * Float.BYTES) {
+            throw new IllegalArgumentException("Inconsistent factor model layout");
+        }
+        this.rank = rank;
+        this.titles = titles;
+        this.userFactors = userFactors;
+        this.titleFactors = titleFactors;
+        this.trainedAt = trainedAt;
+
+        var index = new Object2IntOpenHashMap<UUID>(users.length);
+        index.defaultReturnValue(-1);
+        for (int u = 0; u < users.length; u++) {
+            index.put(users[u], u);
+        }
+        this.userIndex = index;
+        this.titleSet = Set.of(titles);
+    }
+
+    /**
+     * Titles with the highest predicted preference of the user first, skipping the excluded ones.
+     * Empty for users unknown to the model.
+     */
+    public List<Recommendation> recommend(UUID userId, int limit, Predicate<UUID> excluded) {
+        int u = userIndex.getInt(userId);
+        if (u < 0 || limit <= 0) {
+            return List.of();
+        }
+        float[] user = new float[rank];
+        MemorySegment.copy(userFactors, FLOAT, (long) u * rank * Float.BYTES, user, 0, rank);
+
+        var top = new TopK(limit);
+        long offset = 0;
+        for (int t = 0; t < titles.length; t++) {
+            float score = 0;
+            for (int k = 0; k < rank; k++) {
+                score += user[k] * titleFactors.get(FLOAT, offset + (long) k * Float.BYTES);
+            }
+            offset += (long) rank * Float.BYTES;
+            if (!excluded.test(titles[t])) {
+                top.offer(t, score);
+            }
+        }
+
+        int[] order = new int[top.size()];
+        float[] scores = new float[top.size()];
+        top.drainDescending(order, scores);
+        List<Recommendation> result = new ArrayList<>(order.length);
+        for (int k = 0; k < order.length; k++) {
+            result.add(new Recommendation(titles[order[k]], scores[k]));
+        }
+        return result;
+    }
+
+    public boolean contains(UUID titleId) {
+        return titleSet.contains(titleId);
+    }
+
+    public boolean containsUser(UUID userId) {
+        return userIndex.containsKey(userId);
+    }
+
+    public int rank() {
+        return rank;
+    }
+
+    public int userCount() {
+        return userIndex.size();
+    }
+
+    public int titleCount() {
+        return titles.length;
+    }
+
+    public Instant trainedAt() {
+        return trainedAt;
+    }
+
+}
@@ -0,0 +1,644 @@
+package dev.harakki.comics.recommendations.domain;
+
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Hierarchical navigable small world graph (Malkov, Yashunin) over unit-length vectors, for
+ * approximate top-K search by cosine similarity.
+ * <p>
+ * Every node lives on layers {@code 0 .. level}, with levels drawn from an exponential distribution,
+ * and links to at most {@code m} neighbours per layer ({@code 2m} on layer 0) picked with the
+ * diversity heuristic. A search descends greedily from the top layer and runs a best-first search
+ * of width {@code ef} on layer 0, visiting a few hundred nodes instead of all of them.
+ * <p>
+ * Removed and replaced vectors stay in the graph as tombstones that keep it navigable but are never
+ * returned; {@link #compact()} rebuilds the graph without them. Searches share a read lock, changes
+ * take the write lock. Compaction builds the new graph from a copy of the live vectors without
+ * holding the lock, then replays the changes made meanwhile and swaps it in.
+ */
+public final class HnswIndex {
+
+    public record Match(UUID id, float similarity) {
+    }
+
+    private static final int MAGIC = 0x57534E48; // "HNSW"
+    private static final int VERSION = 1;
+    private static final int MAX_LEVEL = 16;
+    private static final int[] NO_LINKS = new int[0];
+
+    private final int dimension;
+    private final int m;
+    private final int efConstruction;
+    private final double levelMultiplier;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Object compaction = new Object();
+
+    private volatile Graph graph;
+    // Changes made while a compaction builds the new graph, null when none runs; guarded by the lock
+    private List<Change> pendingChanges;
+
+    private record Change(UUID id, float[] vector) {
+    }
+
+    public HnswIndex(int dimension, int m, int efConstruction, long seed) {
+        this.dimension = dimension;
+        this.m = m;
+        this.efConstruction = efConstruction;
+        this.levelMultiplier = 1 / Math.log(m);
+        this.graph = new Graph(new SplittableRandom(seed), 16);
+    }
+
+    public int dimension() {
+        return dimension;
+    }
+
+    /**
+     * Number of searchable vectors.
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return graph.liveNodes.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Number of removed or replaced vectors still kept in the graph.
+     */
+    public int tombstones() {
+        lock.readLock().lock();
+        try {
+            return graph.nodeCount - graph.liveNodes.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public Set<UUID> ids() {
+        lock.readLock().lock();
+        try {
+            return new HashSet<>(graph.liveNodes.keySet());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public Optional<float[]> vector(UUID id) {
+        lock.readLock().lock();
+        try {
+            var current = graph;
+            int node = current.liveNodes.getInt(id);
+            return node < 0 ? Optional.empty() : Optional.of(current.vector(node));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Adds or replaces the vector of an id. Putting an unchanged vector does nothing.
+     *
+     * @return true if the index changed
+     */
+    public boolean put(UUID id, float[] vector) {
+        if (vector.length != dimension) {
+            throw new IllegalArgumentException("Expected a vector of dimension " + dimension + ", got " + vector.length);
+        }
+        lock.writeLock().lock();
+        try {
+            if (!graph.put(id, vector)) {
+                return false;
+            }
+            if (pendingChanges != null) {
+                pendingChanges.add(new Change(id, vector.clone()));
+            }
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @return true if the id was indexed
+     */
+    public boolean remove(UUID id) {
+        lock.writeLock().lock();
+        try {
+            if (!graph.remove(id)) {
+                return false;
+            }
+            if (pendingChanges != null) {
+                pendingChanges.add(new Change(id, null));
+            }
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Most similar vectors to the one of the given id, excluding the id itself.
+     * Empty if the id is not indexed.
+     */
+    public List<Match> similar(UUID id, int k, int ef) {
+        lock.readLock().lock();
+        try {
+            var current = graph;
+            int node = current.liveNodes.getInt(id);
+            if (node < 0) {
+                return List.of();
+            }
+            return current.search(current.vector(node), k, ef, node);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Most similar vectors to the query, best first. Searches {@code max(ef, k)} candidates on the bottom layer.
+     */
+    public List<Match> search(float[] query, int k, int ef) {
+        lock.readLock().lock();
+        try {
+            return graph.search(query, k, ef, -1);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Rebuilds the graph from the live vectors only, dropping all tombstones. Searches and changes
+     * go on against the current graph meanwhile; the changes are replayed onto the new graph before
+     * it replaces the current one.
+     */
+    public void compact() {
+        synchronized (compaction) {
+            Graph current;
+            UUID[] liveIds;
+            float[] liveVectors;
+            SplittableRandom random;
+            lock.writeLock().lock();
+            try {
+                current = graph;
+                liveIds = new UUID[current.liveNodes.size()];
+                liveVectors = new float[liveIds.length * dimension];
+                int live = 0;
+                for (int node = 0; node < current.nodeCount; node++) {
+                    if (!current.deleted.get(node)) {
+                        liveIds[live] = current.ids[node];
+                        System.arraycopy(current.vectors, node * dimension, liveVectors, live * dimension, dimension);
+                        live++;
+                    }
+                }
+                random = current.random.split();
+                pendingChanges = new ArrayList<>();
+            } finally {
+                lock.writeLock().unlock();
+            }
+
+            Graph compacted = null;
+            try {
+                var rebuilt = new Graph(random, liveIds.length);
+                for (int node = 0; node < liveIds.length; node++) {
+                    rebuilt.insert(liveIds[node], Arrays.copyOfRange(liveVectors, node * dimension, (node + 1) * dimension));
+                }
+                compacted = rebuilt;
+            } finally {
+                lock.writeLock().lock();
+                try {
+                    if (compacted != null) {
+                        for (var change : pendingChanges) {
+                            if (change.vector() == null) {
+                                compacted.remove(change.id());
+                            } else {
+                                compacted.put(change.id(), change.vector());
+                            }
+                        }
+                        graph = compacted;
+                    }
+                    pendingChanges = null;
+                } finally {
+                    lock.writeLock().unlock();
+                }
+            }
+        }
+    }
+
+    public void writeTo(DataOutput out) throws IOException {
+        lock.readLock().lock();
+        try {
+            var current = graph;
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(dimension);
+            out.writeInt(m);
+            out.writeInt(current.nodeCount);
+            out.writeInt(current.entryPoint);
+            out.writeInt(current.topLevel);
+            for (int node = 0; node < current.nodeCount; node++) {
+                out.writeLong(current.ids[node].getMostSignificantBits());
+                out.writeLong(current.ids[node].getLeastSignificantBits());
+                out.writeBoolean(current.deleted.get(node));
+                for (int d = 0; d < dimension; d++) {
+                    out.writeFloat(current.vectors[node * dimension + d]);
+                }
+                out.writeByte(current.links[node].length);
+                for (int[] layer : current.links[node]) {
+                    out.writeShort(layer.length);
+                    for (int neighbour : layer) {
+                        out.writeInt(neighbour);
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Reads a graph written by {@link #writeTo}.
+     *
+     * @throws IllegalStateException if the data is not an index of the given dimension and {@code m}
+     */
+    public static HnswIndex readFrom(DataInput in, int dimension, int m, int efConstruction, long seed) throws IOException {
+        if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+            throw new IllegalStateException("Not an HNSW index of version " + VERSION);
+        }
+        if (in.readInt() != dimension || in.readInt() != m) {
+            throw new IllegalStateException("HNSW index was built with a different dimension or m");
+        }
+        var index = new HnswIndex(dimension, m, efConstruction, seed);
+        var graph = index.graph;
+        int count = in.readInt();
+        graph.entryPoint = in.readInt();
+        graph.topLevel = in.readInt();
+        graph.ids = new UUID[Math.max(16, count)];
+        graph.vectors = new float[graph.ids.length * dimension];
+        graph.links = new int[graph.ids.length][][];
+        for (int node = 0; node < count; node++) {
+            var id = new UUID(in.readLong(), in.readLong());
+            graph.ids[node] = id;
+            if (in.readBoolean()) {
+                graph.deleted.set(node);
+            } else {
+                graph.liveNodes.put(id, node);
+            }
+            for (int d = 0; d < dimension; d++) {
+                graph.vectors[node * dimension + d] = in.readFloat();
+            }
+            var layers = new int[in.readByte()][];
+            for (int level = 0; level < layers.length; level++) {
+                layers[level] = new int[in.readShort()];
+                for (int k = 0; k < layers[level].length; k++) {
+                    layers[level][k] = in.readInt();
+                }
+            }
+            graph.links[node] = layers;
+        }
+        graph.nodeCount = count;
+        return index;
+    }
+
+    /**
+     * The graph itself; {@link #compact()} replaces it as a whole.
+     */
+    private final class Graph {
+
+        private final SplittableRandom random;
+        private UUID[] ids;
+        private float[] vectors;
+        private int[][][] links;
+        private final BitSet deleted = new BitSet();
+        private final Object2IntOpenHashMap<UUID> liveNodes = new Object2IntOpenHashMap<>();
+        private int nodeCount;
+        private int entryPoint = -1;
+        private int topLevel = -1;
+
+        Graph(SplittableRandom random, int capacity) {
+            this.random = random;
+            this.ids = new UUID[Math.max(16, capacity)];
+            this.vectors = new float[ids.length * dimension];
+            this.links = new int[ids.length][][];
+            liveNodes.defaultReturnValue(-1);
+        }
+
+        /**
+         * @return true if the graph changed, false for an unchanged vector
+         */
+        boolean put(UUID id, float[] vector) {
+            int current = liveNodes.getInt(id);
+            if (current >= 0) {
+                if (Arrays.equals(vectors, current * dimension, (current + 1) * dimension, vector, 0, dimension)) {
+                    return false;
+                }
+                deleted.set(current);
+            }
+            insert(id, vector);
+            return true;
+        }
+
+        boolean remove(UUID id) {
+            int node = liveNodes.removeInt(id);
+            if (node < 0) {
+                return false;
+            }
+            deleted.set(node);
+            return true;
+        }
+
+        float[] vector(int node) {
+            return Arrays.copyOfRange(vectors, node * dimension, (node + 1) * dimension);
+        }
+
+        List<Match> search(float[] query, int k, int ef, int excludedNode) {
+            if (entryPoint < 0 || k <= 0) {
+                return List.of();
+            }
+            int entry = entryPoint;
+            for (int level = topLevel; level > 0; level--) {
+                entry = greedyClosest(query, entry, level);
+            }
+
+            var found = searchLayer(query, entry, Math.max(ef, k + 1), 0);
+            int[] nodes = new int[found.size()];
+            float[] similarities = new float[found.size()];
+            found.drainDescending(nodes, similarities);
+
+            List<Match> result = new ArrayList<>(k);
+            for (int i = 0; i < nodes.length && result.size() < k; i++) {
+                if (nodes[i] != excludedNode && !deleted.get(nodes[i])) {
+                    result.add(new Match(ids[nodes[i]], similarities[i]));
+                }
+            }
+            return result;
+        }
+
+        void insert(UUID id, float[] vector) {
+            int level = randomLevel();
+            int node = allocate(id, vector);
+            links[node] = new int[level + 1][];
+            Arrays.fill(links[node], NO_LINKS);
+            liveNodes.put(id, node);
+
+            if (entryPoint < 0) {
+                entryPoint = node;
+                topLevel = level;
+                return;
+            }
+
+            int entry = entryPoint;
+            for (int l = topLevel; l > level; l--) {
+                entry = greedyClosest(vector, entry, l);
+            }
+            for (int l = Math.min(level, topLevel); l >= 0; l--) {
+                var found = searchLayer(vector, entry, efConstruction, l);
+                int[] candidates = new int[found.size()];
+                float[] similarities = new float[found.size()];
+                found.drainDescending(candidates, similarities);
+
+                links[node][l] = selectNeighbours(node, candidates, m);
+                for (int neighbour : links[node][l]) {
+                    connect(neighbour, node, l);
+                }
+                entry = candidates[0];
+            }
+
+            if (level > topLevel) {
+                entryPoint = node;
+                topLevel = level;
+            }
+        }
+
+        /**
+         * Adds a back link, re-selecting the neighbour's links once it has too many.
+         */
+        private void connect(int node, int neighbour, int level) {
+            int[] current = links[node][level];
+            int[] extended = Arrays.copyOf(current, current.length + 1);
+            extended[current.length] = neighbour;
+            int capacity = level == 0 ? 2 * m : m;
+            if (extended.length <= capacity) {
+                links[node][level] = extended;
+                return;
+            }
+
+            // Candidates sorted by similarity to the node, most similar first (insertion sort, the list is short)
+            int[] sorted = new int[extended.length];
+            float[] similarity = new float[extended.length];
+            for (int i = 0; i < extended.length; i++) {
+                float s = similarity(node, extended[i]);
+                int k = i;
+                while (k > 0 && similarity[k - 1] < s) {
+                    sorted[k] = sorted[k - 1];
+                    similarity[k] = similarity[k - 1];
+                    k--;
+                }
+                sorted[k] = extended[i];
+                similarity[k] = s;
+            }
+            links[node][level] = selectNeighbours(node, sorted, capacity);
+        }
+
+        /**
+         * Diversity heuristic: a candidate is kept only if it is more similar to the base node than to
+         * any neighbour kept so far, so links spread in different directions. Remaining slots are filled
+         * with the closest discarded candidates.
+         *
+         * @param candidates sorted by similarity to the base node, most similar first
+         */
+        private int[] selectNeighbours(int base, int[] candidates, int count) {
+            int[] selected = new int[Math.min(count, candidates.length)];
+            int size = 0;
+            int[] pruned = new int[candidates.length];
+            int prunedSize = 0;
+            for (int candidate : candidates) {
+                if (size == selected.length) {
+                    break;
+                }
+                if (candidate == base) {
+                    continue;
+                }
+                float toBase = similarity(base, candidate);
+                boolean diverse = true;
+                for (int k = 0; k < size && diverse; k++) {
+                    diverse = similarity(candidate, selected[k]) <= toBase;
+                }
+                if (diverse) {
+                    selected[size++] = candidate;
+                } else {
+                    pruned[prunedSize++] = candidate;
+                }
+            }
+            for (int k = 0; k < prunedSize && size < selected.length; k++) {
+                selected[size++] = pruned[k];
+            }
+            return size == selected.length ? selected : Arrays.copyOf(selected, size);
+        }
+
+        private int greedyClosest(float[] query, int entry, int level) {
+            int best = entry;
+            float bestSimilarity = similarity(query, entry);
+            boolean improved = true;
+            while (improved) {
+                improved = false;
+                for (int neighbour : links(best, level)) {
+                    float s = similarity(query, neighbour);
+                    if (s > bestSimilarity) {
+                        bestSimilarity = s;
+                        best = neighbour;
+                        improved = true;
+                    }
+                }
+            }
+            return best;
+        }
+
+        /**
+         * Best-first search of one layer, keeping the {@code ef} most similar nodes found.
+         */
+        private TopK searchLayer(float[] query, int entry, int ef, int level) {
+            var visited = new BitSet(nodeCount);
+            var results = new TopK(ef);
+            var candidates = new CandidateQueue();
+            float entrySimilarity = similarity(query, entry);
+            visited.set(entry);
+            results.offer(entry, entrySimilarity);
+            candidates.push(entry, entrySimilarity);
+
+            while (!candidates.isEmpty()) {
+                float candidateSimilarity = candidates.topSimilarity();
+                if (results.isFull() && candidateSimilarity < results.minScore()) {
+                    break;
+                }
+                int candidate = candidates.pop();
+                for (int neighbour : links(candidate, level)) {
+                    if (visited.get(neighbour)) {
+                        continue;
+                    }
+                    visited.set(neighbour);
+                    float s = similarity(query, neighbour);
+                    if (!results.isFull() || s > results.minScore()) {
+                        results.offer(neighbour, s);
+                        candidates.push(neighbour, s);
+                    }
+                }
+            }
+            return results;
+        }
+
+        private int[] links(int node, int level) {
+            return level < links[node].length ? links[node][level] : NO_LINKS;
+        }
+
+        private int allocate(UUID id, float[] vector) {
+            if (nodeCount == ids.length) {
+                int capacity = ids.length * 2;
+                ids = Arrays.copyOf(ids, capacity);
+                vectors = Arrays.copyOf(vectors, capacity * dimension);
+                links = Arrays.copyOf(links, capacity);
+            }
+            int node = nodeCount++;
+            ids[node] = id;
+            System.arraycopy(vector, 0, vectors, node * dimension, dimension);
+            return node;
+        }
+
+        private int randomLevel() {
+            return Math.min(MAX_LEVEL, (int) (-Math.log(1 - random.nextDouble()) * levelMultiplier));
+        }
+
+        private float similarity(float[] query, int node) {
+            return dot(query, 0, vectors, node * dimension);
+        }
+
+        private float similarity(int a, int b) {
+            return dot(vectors, a * dimension, vectors, b * dimension);
+        }
+
+        // Four independent accumulators, so consecutive multiply-adds don't wait on each other
+        private float dot(float[] x, int xOffset, float[] y, int yOffset) {
+            float s0 = 0, s1 = 0, s2 = 0, s3 = 0;
+            int d = 0;
+            for (; d + 3 < dimension; d += 4) {
+                s0 += x[xOffset + d] * y[yOffset + d];
+                s1 += x[xOffset + d + 1] * y[yOffset + d + 1];
+                s2 += x[xOffset + d + 2] * y[yOffset + d + 2];
+                s3 += x[xOffset + d + 3] * y[yOffset + d + 3];
+            }
+            for (; d < dimension; d++) {
+                s0 += x[xOffset + d] * y[yOffset + d];
+            }
+            return (s0 + s1) + (s2 + s3);
+        }
+
+    }
+
+    /**
+     * Unbounded max-heap of nodes by similarity, the frontier of a layer search.
+     */
+    private static final class CandidateQueue {
+        private int[] nodes = new int[64];
+        private float[] similarities = new float[64];
+        private int size;
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+
+        float topSimilarity() {
+            return similarities[0];
+        }
+
+        void push(int node, float similarity) {
+            if (size == nodes.length) {
+                nodes = Arrays.copyOf(nodes, size * 2);
+                similarities = Arrays.copyOf(similarities, size * 2);
+            }
+            int k = size++;
+            while (k > 0) {
+                int parent = (k - 1) >>> 1;
+                if (similarities[parent] >= similarity) {
+                    break;
+                }
+                nodes[k] = nodes[parent];
+                similarities[k] = similarities[parent];
+                k = parent;
+            }
+            nodes[k] = node;
+            similarities[k] = similarity;
+        }
+
+        int pop() {
+            int top = nodes[0];
+            int lastNode = nodes[--size];
+            float last = similarities[size];
+            int k = 0;
+            while (true) {
+                int child = 2 * k + 1;
+                if (child >= size) {
+                    break;
+                }
+                if (child + 1 < size && similarities[child + 1] > similarities[child]) {
+                    child++;
+                }
+                if (similarities[child] <= last) {
+                    break;
+                }
+                nodes[k] = nodes[child];
+                similarities[k] = similarities[child];
+                k = child;
+            }
+            nodes[k] = lastNode;
+            similarities[k] = last;
+            return top;
+        }
+    }
+
+}
@@ -0,0 +1,70 @@
+package dev.harakki.comics.recommendations.domain;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.UUID;
+
+/**
+ * MinHash signatures of title sets. The probability that two signatures agree at a position equals
+ * the Jaccard similarity of the sets, and signatures are split into bands of rows for LSH: two sets
+ * with similarity {@code s} share at least one band bucket with probability {@code 1 - (1 - s^ROWS)^BANDS}.
+ */
+public final class MinHash {
+
+    public static final int BANDS = 32;
+    public static final int ROWS = 4;
+    public static final int SIZE = BANDS * ROWS;
+
+    // Fixed seed, signatures must stay comparable across rebuilds
+    private static final long[] SEEDS = new SplittableRandom(0x5EED_C0FFEEL).longs(SIZE).toArray();
+
+    private MinHash() {
+    }
+
+    public static long titleKey(UUID titleId) {
+        return mix(titleId.getMostSignificantBits() ^ Long.rotateLeft(titleId.getLeastSignificantBits(), 32));
+    }
+
+    public static int[] signature(long[] titleKeys) {
+        var signature = new int[SIZE];
+        Arrays.fill(signature, Integer.MAX_VALUE);
+        for (long key : titleKeys) {
+            add(signature, key);
+        }
+        return signature;
+    }
+
+    /**
+     * Adds a title to a signature in place; removals need the signature to be recomputed from the set.
+     */
+    public static void add(int[] signature, long titleKey) {
+        for (int k = 0; k < SIZE; k++) {
+            int hash = (int) (mix(titleKey ^ SEEDS[k]) >>> 32);
+            if (hash < signature[k]) {
+                signature[k] = hash;
+            }
+        }
+    }
+
+    /**
+     * Bucket key of one band of a signature, distinct across bands.
+     */
+    public static long bandKey(int[] signature, int band) {
+        long key = band;
+        for (int r = band * ROWS; r < (band + 1) * ROWS; r++) {
+            key = key * 0x9E3779B97F4A7C15L + signature[r];
+        }
+        return mix(key);
+    }
+
+    // MurmurHash3 64-bit finalizer
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+}
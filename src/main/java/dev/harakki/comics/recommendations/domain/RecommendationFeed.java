@@ -0,0 +1,158 @@
+package dev.harakki.comics.recommendations.domain;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Ranked titles recommended to one user, materialized ahead of the request. Title IDs are packed
+ * into a single {@code long} array (most and least significant bits in turn) with a parallel array
+ * of scores, so a feed of a few hundred titles is a few kilobytes and two objects (three once titles
+ * are dropped).
+ * <p>
+ * Feeds are immutable: dropping a title returns a copy. The version identifies what the feed was
+ * built from (the trained model, or the popular titles for a cold-start feed), so stale feeds can be
+ * found without comparing contents. Once titles are dropped, the rank each remaining title had when
+ * the feed was built is kept as well, so a position can still be found after its title is gone.
+ */
+public final class RecommendationFeed {
+
+    private final long[] titleIds;
+    private final float[] scores;
+    // Null until a title is dropped: the rank of a title is its position then
+    private final int[] ranks;
+    private final int builtSize;
+    private final boolean personalized;
+    private final Instant version;
+    private final Instant builtAt;
+
+    private RecommendationFeed(long[] titleIds, float[] scores, int[] ranks, int builtSize,
+                               boolean personalized, Instant version, Instant builtAt) {
+        this.titleIds = titleIds;
+        this.scores = scores;
+        this.ranks = ranks;
+        this.builtSize = builtSize;
+        this.personalized = personalized;
+        this.version = version;
+        this.builtAt = builtAt;
+    }
+
+    /**
+     * Feed ranked by the model, best match first.
+     */
+    public static RecommendationFeed personalized(List<FactorModel.Recommendation> recommendations, Instant version, Instant builtAt) {
+        long[] titleIds = new long[recommendations.size() * 2];
+        float[] scores = new float[recommendations.size()];
+        for (int i = 0; i < recommendations.size(); i++) {
+            var titleId = recommendations.get(i).titleId();
+            titleIds[2 * i] = titleId.getMostSignificantBits();
+            titleIds[2 * i + 1] = titleId.getLeastSignificantBits();
+            scores[i] = recommendations.get(i).score();
+        }
+        return new RecommendationFeed(titleIds, scores, null, recommendations.size(), true, version, builtAt);
+    }
+
+    /**
+     * Unscored feed for users the model does not know yet, in the given order.
+     */
+    public static RecommendationFeed fallback(List<UUID> titles, Instant version, Instant builtAt) {
+        long[] titleIds = new long[titles.size() * 2];
+        for (int i = 0; i < titles.size(); i++) {
+            titleIds[2 * i] = titles.get(i).getMostSignificantBits();
+            titleIds[2 * i + 1] = titles.get(i).getLeastSignificantBits();
+        }
+        return new RecommendationFeed(titleIds, null, null, titles.size(), false, version, builtAt);
+    }
+
+    public int size() {
+        return titleIds.length / 2;
+    }
+
+    /**
+     * @return the number of titles the feed was built with, before any was dropped
+     */
+    public int builtSize() {
+        return builtSize;
+    }
+
+    public UUID titleId(int position) {
+        return new UUID(titleIds[2 * position], titleIds[2 * position + 1]);
+    }
+
+    /**
+     * @return the score of the title at the position, null for an unscored feed
+     */
+    public Float score(int position) {
+        return scores != null ? scores[position] : null;
+    }
+
+    /**
+     * @return the position the title at the given position had when the feed was built
+     */
+    public int rank(int position) {
+        return ranks != null ? ranks[position] : position;
+    }
+
+    /**
+     * @return the position of the first remaining title ranked at or after the given rank, the feed size if none is
+     */
+    public int positionOfRank(int rank) {
+        if (ranks == null) {
+            return Math.clamp(rank, 0, size());
+        }
+        int position = Arrays.binarySearch(ranks, rank);
+        return position >= 0 ? position : -position - 1;
+    }
+
+    /**
+     * @return the position of the title, -1 if the feed does not contain it
+     */
+    public int indexOf(UUID titleId) {
+        long most = titleId.getMostSignificantBits();
+        long least = titleId.getLeastSignificantBits();
+        for (int i = 0; i < titleIds.length; i += 2) {
+            if (titleIds[i] == most && titleIds[i + 1] == least) {
+                return i / 2;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @return a copy without the title, or this feed if it does not contain it
+     */
+    public RecommendationFeed without(UUID titleId) {
+        int position = indexOf(titleId);
+        if (position < 0) {
+            return this;
+        }
+        long[] remainingIds = new long[titleIds.length - 2];
+        System.arraycopy(titleIds, 0, remainingIds, 0, 2 * position);
+        System.arraycopy(titleIds, 2 * position + 2, remainingIds, 2 * position, remainingIds.length - 2 * position);
+        float[] remainingScores = null;
+        if (scores != null) {
+            remainingScores = new float[scores.length - 1];
+            System.arraycopy(scores, 0, remainingScores, 0, position);
+            System.arraycopy(scores, position + 1, remainingScores, position, remainingScores.length - position);
+        }
+        int[] remainingRanks = new int[size() - 1];
+        for (int i = 0; i < remainingRanks.length; i++) {
+            remainingRanks[i] = rank(i < position ? i : i + 1);
+        }
+        return new RecommendationFeed(remainingIds, remainingScores, remainingRanks, builtSize, personalized, version, builtAt);
+    }
+
+    public boolean personalized() {
+        return personalized;
+    }
+
+    public Instant version() {
+        return version;
+    }
+
+    public Instant builtAt() {
+        return builtAt;
+    }
+
+}
@@ -0,0 +1,83 @@
+package dev.harakki.comics.recommendations.domain;
+
+import it.unimi.dsi.fastutil.objects.Object2IntMap;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Immutable top-K neighbour lists of titles in compressed sparse row layout: the neighbours of title
+ * {@code i} are {@code neighbours[offsets[i] .. offsets[i + 1])}, ordered by descending score.
+ * A lookup is one hash probe plus an array slice.
+ */
+public final class SimilarityMatrix {
+
+    public record Neighbour(UUID titleId, float score) {
+    }
+
+    public static final SimilarityMatrix EMPTY = new SimilarityMatrix(new UUID[0], new int[]{0}, new int[0], new float[0], Instant.EPOCH);
+
+    private final UUID[] titles;
+    private final Object2IntMap<UUID> titleIndex;
+    private final int[] offsets;
+    private final int[] neighbours;
+    private final float[] scores;
+    private final Instant builtAt;
+
+    public SimilarityMatrix(UUID[] titles, int[] offsets, int[] neighbours, float[] scores, Instant builtAt) {
+        if (offsets.length != titles.length + 1 || neighbours.length != scores.length) {
+            throw new IllegalArgumentException("Inconsistent similarity matrix layout");
+        }
+        this.titles = titles;
+        this.offsets = offsets;
+        this.neighbours = neighbours;
+        this.scores = scores;
+        this.builtAt = builtAt;
+
+        var index = new Object2IntOpenHashMap<UUID>(titles.length);
+        index.defaultReturnValue(-1);
+        for (int i = 0; i < titles.length; i++) {
+            index.put(titles[i], i);
+        }
+        this.titleIndex = index;
+    }
+
+    /**
+     * Most similar titles first, skipping the excluded ones.
+     */
+    public List<Neighbour> neighbours(UUID titleId, int limit, Set<UUID> excluded) {
+        int i = titleIndex.getInt(titleId);
+        if (i < 0 || limit <= 0) {
+            return List.of();
+        }
+        List<Neighbour> result = new ArrayList<>(Math.min(limit, offsets[i + 1] - offsets[i]));
+        for (int k = offsets[i]; k < offsets[i + 1] && result.size() < limit; k++) {
+            var neighbour = titles[neighbours[k]];
+            if (!excluded.contains(neighbour)) {
+                result.add(new Neighbour(neighbour, scores[k]));
+            }
+        }
+        return result;
+    }
+
+    public boolean contains(UUID titleId) {
+        return titleIndex.containsKey(titleId);
+    }
+
+    public int titleCount() {
+        return titles.length;
+    }
+
+    public int neighbourCount() {
+        return neighbours.length;
+    }
+
+    public Instant builtAt() {
+        return builtAt;
+    }
+
+}
@@ -0,0 +1,82 @@
+package dev.harakki.comics.recommendations.domain;
+
+import java.util.Arrays;
+
+/**
+ * Immutable set of titles a user has shown interest in, with the reasons each title is in the set
+ * and the MinHash signature of the set. Titles are kept as sorted {@link MinHash#titleKey keys} so
+ * that the exact Jaccard similarity is a linear merge.
+ */
+public record TasteProfile(long[] titles, byte[] reasons, int[] signature) {
+
+    public static final byte READ = 1;
+    public static final byte IN_LIBRARY = 1 << 1;
+    public static final byte LIKED = 1 << 2;
+
+    public static final TasteProfile EMPTY = new TasteProfile(new long[0], new byte[0], MinHash.signature(new long[0]));
+
+    public int size() {
+        return titles.length;
+    }
+
+    /**
+     * Profile with the given reasons set and cleared for a title, or this profile if nothing changes.
+     * A title leaves the set once it has no reason left.
+     */
+    public TasteProfile update(long title, byte set, byte clear) {
+        int i = Arrays.binarySearch(titles, title);
+        byte current = i >= 0 ? reasons[i] : 0;
+        byte updated = (byte) ((current | set) & ~clear);
+        if (updated == current) {
+            return this;
+        }
+
+        if (i >= 0 && updated != 0) {
+            var newReasons = reasons.clone();
+            newReasons[i] = updated;
+            return new TasteProfile(titles, newReasons, signature);
+        }
+        if (i >= 0) {
+            var newTitles = new long[titles.length - 1];
+            var newReasons = new byte[titles.length - 1];
+            System.arraycopy(titles, 0, newTitles, 0, i);
+            System.arraycopy(titles, i + 1, newTitles, i, titles.length - i - 1);
+            System.arraycopy(reasons, 0, newReasons, 0, i);
+            System.arraycopy(reasons, i + 1, newReasons, i, reasons.length - i - 1);
+            return new TasteProfile(newTitles, newReasons, MinHash.signature(newTitles));
+        }
+
+        int insert = -i - 1;
+        var newTitles = new long[titles.length + 1];
+        var newReasons = new byte[titles.length + 1];
+        System.arraycopy(titles, 0, newTitles, 0, insert);
+        System.arraycopy(titles, insert, newTitles, insert + 1, titles.length - insert);
+        System.arraycopy(reasons, 0, newReasons, 0, insert);
+        System.arraycopy(reasons, insert, newReasons, insert + 1, reasons.length - insert);
+        newTitles[insert] = title;
+        newReasons[insert] = updated;
+        var newSignature = signature.clone();
+        MinHash.add(newSignature, title);
+        return new TasteProfile(newTitles, newReasons, newSignature);
+    }
+
+    public int intersectionSize(TasteProfile other) {
+        int shared = 0;
+        int i = 0;
+        int j = 0;
+        while (i < titles.length && j < other.titles.length) {
+            int cmp = Long.compare(titles[i], other.titles[j]);
+            if (cmp == 0) {
+                shared++;
+                i++;
+                j++;
+            } else if (cmp < 0) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return shared;
+    }
+
+}
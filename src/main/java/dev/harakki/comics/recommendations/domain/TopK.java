@@ -0,0 +1,102 @@
+package dev.harakki.comics.recommendations.domain;
+
+/**
+ * Bounded min-heap of (index, score) pairs on primitive arrays, keeps the highest scores seen.
+ * Not thread-safe, meant to be reused by one worker.
+ */
+public final class TopK {
+
+    private final int[] indexes;
+    private final float[] scores;
+    private int size;
+
+    public TopK(int capacity) {
+        this.indexes = new int[capacity];
+        this.scores = new float[capacity];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isFull() {
+        return size == indexes.length;
+    }
+
+    /**
+     * Lowest score kept, the one the next offer has to beat once the heap is full.
+     */
+    public float minScore() {
+        return scores[0];
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    public void offer(int index, float score) {
+        if (size < indexes.length) {
+            indexes[size] = index;
+            scores[size] = score;
+            siftUp(size++);
+        } else if (indexes.length > 0 && score > scores[0]) {
+            indexes[0] = index;
+            scores[0] = score;
+            siftDown(0);
+        }
+    }
+
+    /**
+     * Empties the heap into the given arrays, highest score first.
+     */
+    public void drainDescending(int[] outIndexes, float[] outScores) {
+        while (size > 0) {
+            outIndexes[size - 1] = indexes[0];
+            outScores[size - 1] = scores[0];
+            size--;
+            indexes[0] = indexes[size];
+            scores[0] = scores[size];
+            siftDown(0);
+        }
+    }
+
+    private void siftUp(int k) {
+        while (k > 0) {
+            int parent = (k - 1) >>> 1;
+            if (scores[parent] <= scores[k]) {
+                return;
+            }
+            swap(parent, k);
+            k = parent;
+        }
+    }
+
+    private void siftDown(int k) {
+        while (true) {
+            int smallest = k;
+            int left = 2 * k + 1;
+            int right = left + 1;
+            if (left < size && scores[left] < scores[smallest]) {
+                smallest = left;
+            }
+            if (right < size && scores[right] < scores[smallest]) {
+                smallest = right;
+            }
+            if (smallest == k) {
+                return;
+            }
+            swap(k, smallest);
+            k = smallest;
+        }
+    }
+
+    private void swap(int a, int b) {
+        int index = indexes[a];
+        indexes[a] = indexes[b];
+        indexes[b] = index;
+        float score = scores[a];
+        scores[a] = scores[b];
+        scores[b] = score;
+    }
+
+}
@@ -0,0 +1,21 @@
+package dev.harakki.comics.recommendations.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.io.Serializable;
+import java.util.UUID;
+
+@Schema(description = "Reader with a similar taste and how well it matches")
+public record CompatibleUserResponse(
+
+        @Schema(description = "User unique identifier", example = "019b9d1e-bc3a-70f3-8520-36e8d82dc9e0")
+        UUID userId,
+
+        @Schema(description = "Compatibility in percent: shared titles out of all titles either user read, liked or saved", example = "37")
+        Integer compatibility,
+
+        @Schema(description = "Number of titles both users read, liked or saved", example = "12")
+        Integer sharedTitles
+
+) implements Serializable {
+}
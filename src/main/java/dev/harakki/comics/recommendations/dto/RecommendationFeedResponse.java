@@ -0,0 +1,29 @@
+package dev.harakki.comics.recommendations.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+@Schema(description = "Page of the personal recommendation feed of a user")
+public record RecommendationFeedResponse(
+
+        @Schema(description = "User unique identifier", example = "019b9d1e-bc3a-70f3-8520-36e8d82dc9e0")
+        UUID userId,
+
+        @Schema(description = "Recommended titles not in the user's library yet, best match first. Scores are null for trending titles")
+        List<RecommendedTitleResponse> items,
+
+        @Schema(description = "Cursor of the next page, null on the last page", example = "AAAAFAGbnR68OnDzhSA26NgtyeA")
+        String nextCursor,
+
+        @Schema(description = "Whether the feed is ranked for the user; false while the user is too new and trending titles are shown instead", example = "true")
+        boolean personalized,
+
+        @Schema(description = "When the feed was built", example = "2026-01-30T03:40:00Z")
+        Instant builtAt
+
+) implements Serializable {
+}
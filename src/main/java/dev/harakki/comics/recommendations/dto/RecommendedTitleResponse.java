@@ -0,0 +1,18 @@
+package dev.harakki.comics.recommendations.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.io.Serializable;
+import java.util.UUID;
+
+@Schema(description = "Title recommended to a user, with its predicted preference")
+public record RecommendedTitleResponse(
+
+        @Schema(description = "Title unique identifier", example = "019b9d1e-bc3a-70f3-8520-36e8d82dc9e0")
+        UUID titleId,
+
+        @Schema(description = "Predicted preference of the user, higher is better; around 1 for a strong match", example = "0.87")
+        Float score
+
+) implements Serializable {
+}
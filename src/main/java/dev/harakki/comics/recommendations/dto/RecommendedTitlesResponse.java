@@ -0,0 +1,23 @@
+package dev.harakki.comics.recommendations.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+@Schema(description = "Personal title recommendations of a user")
+public record RecommendedTitlesResponse(
+
+        @Schema(description = "User unique identifier", example = "019b9d1e-bc3a-70f3-8520-36e8d82dc9e0")
+        UUID userId,
+
+        @Schema(description = "Recommended titles the user has not read, saved or liked yet, best match first")
+        List<RecommendedTitleResponse> items,
+
+        @Schema(description = "When the recommendation model was trained", example = "2026-01-30T03:00:00Z")
+        Instant trainedAt
+
+) implements Serializable {
+}
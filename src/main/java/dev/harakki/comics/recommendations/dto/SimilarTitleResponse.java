@@ -0,0 +1,18 @@
+package dev.harakki.comics.recommendations.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.io.Serializable;
+import java.util.UUID;
+
+@Schema(description = "Title read by the same users, with its similarity")
+public record SimilarTitleResponse(
+
+        @Schema(description = "Title unique identifier", example = "019b9d1e-bc3a-70f3-8520-36e8d82dc9e0")
+        UUID titleId,
+
+        @Schema(description = "Cosine similarity of the users' preferences, from 0 to 1", example = "0.42")
+        Float score
+
+) implements Serializable {
+}
@@ -0,0 +1,23 @@
+package dev.harakki.comics.recommendations.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+@Schema(description = "Titles that users who read a title also read")
+public record SimilarTitlesResponse(
+
+        @Schema(description = "Title unique identifier", example = "019b9d1e-bc3a-70f3-8520-36e8d82dc9e0")
+        UUID titleId,
+
+        @Schema(description = "Similar titles, most similar first")
+        List<SimilarTitleResponse> items,
+
+        @Schema(description = "When the similarities were computed", example = "2026-01-30T12:30:00Z")
+        Instant computedAt
+
+) implements Serializable {
+}
@@ -0,0 +1,135 @@
+package dev.harakki.comics.recommendations.infrastructure;
+
+import dev.harakki.comics.recommendations.domain.FactorModel;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * Single-file binary store of trained factors, little-endian throughout:
+ * <pre>
+ * header   magic "ALSF", version, rank, user count, title count, padding (int each), trained at (epoch millis)
+ * ids      user ids, then title ids, 16 bytes each (most then least significant bits)
+ * factors  user factors, then title factors, rank floats per row
+ * </pre>
+ * A new file is written next to the current one and moved over it, readers keep their mapping of the
+ * previous file. Loading maps the file read-only, factors are served straight from the page cache.
+ */
+@Slf4j
+@Component
+public class AlsFactorStore {
+
+    private static final int MAGIC = 0x46534C41; // "ALSF"
+    private static final int VERSION = 1;
+    private static final long HEADER_BYTES = 32;
+    private static final ValueLayout.OfInt INT = ValueLayout.JAVA_INT_UNALIGNED.withOrder(ByteOrder.LITTLE_ENDIAN);
+    private static final ValueLayout.OfLong LONG = ValueLayout.JAVA_LONG_UNALIGNED.withOrder(ByteOrder.LITTLE_ENDIAN);
+
+    private final Path path;
+
+    public AlsFactorStore(@Value("${recommendations.als.factors-path:data/recommendations/als-factors.bin}") Path path) {
+        this.path = path;
+    }
+
+    public void write(int rank, UUID[] users, UUID[] titles, float[] userFactors, float[] titleFactors, Instant trainedAt) {
+        long idsBytes = 16L * (users.length + titles.length);
+        long size = HEADER_BYTES + idsBytes + (long) Float.BYTES * (userFactors.length + titleFactors.length);
+        var tmp = path.resolveSibling(path.getFileName() + ".tmp");
+        try {
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+            try (var channel = FileChannel.open(tmp, CREATE, TRUNCATE_EXISTING, READ, WRITE);
+                 var arena = Arena.ofConfined()) {
+                var file = channel.map(FileChannel.MapMode.READ_WRITE, 0, size, arena);
+                file.set(INT, 0, MAGIC);
+                file.set(INT, 4, VERSION);
+                file.set(INT, 8, rank);
+                file.set(INT, 12, users.length);
+                file.set(INT, 16, titles.length);
+                file.set(LONG, 24, trainedAt.toEpochMilli());
+
+                long offset = HEADER_BYTES;
+                offset = writeIds(file, offset, users);
+                offset = writeIds(file, offset, titles);
+                MemorySegment.copy(userFactors, 0, file, FactorModel.FLOAT, offset, userFactors.length);
+                offset += (long) Float.BYTES * userFactors.length;
+                MemorySegment.copy(titleFactors, 0, file, FactorModel.FLOAT, offset, titleFactors.length);
+                file.force();
+            }
+            Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write factors to " + path, e);
+        }
+        log.debug("Wrote factors of {} users and {} titles ({} bytes) to {}", users.length, titles.length, size, path);
+    }
+
+    /**
+     * Maps the stored factors, empty if nothing was stored yet. The mapping is released once the model is unreachable.
+     */
+    public Optional<FactorModel> load() {
+        if (!Files.exists(path)) {
+            return Optional.empty();
+        }
+        try (var channel = FileChannel.open(path, READ)) {
+            var file = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size(), Arena.ofAuto());
+            if (file.byteSize() < HEADER_BYTES || file.get(INT, 0) != MAGIC || file.get(INT, 4) != VERSION) {
+                throw new IllegalStateException("Not a factor file of version " + VERSION + ": " + path);
+            }
+            int rank = file.get(INT, 8);
+            var users = new UUID[file.get(INT, 12)];
+            var titles = new UUID[file.get(INT, 16)];
+            var trainedAt = Instant.ofEpochMilli(file.get(LONG, 24));
+
+            long offset = HEADER_BYTES;
+            offset = readIds(file, offset, users);
+            offset = readIds(file, offset, titles);
+            long userBytes = (long) Float.BYTES * rank * users.length;
+            long titleBytes = (long) Float.BYTES * rank * titles.length;
+            if (file.byteSize() != offset + userBytes + titleBytes) {
+                throw new IllegalStateException("Truncated factor file: " + path);
+            }
+            return Optional.of(new FactorModel(rank, users, titles,
+                    file.asSlice(offset, userBytes), file.asSlice(offset + userBytes, titleBytes), trainedAt));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read factors from " + path, e);
+        }
+    }
+
+    private static long writeIds(MemorySegment file, long offset, UUID[] ids) {
+        for (var id : ids) {
+            file.set(LONG, offset, id.getMostSignificantBits());
+            file.set(LONG, offset + 8, id.getLeastSignificantBits());
+            offset += 16;
+        }
+        return offset;
+    }
+
+    private static long readIds(MemorySegment file, long offset, UUID[] ids) {
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = new UUID(file.get(LONG, offset), file.get(LONG, offset + 8));
+            offset += 16;
+        }
+        return offset;
+    }
+
+}
@@ -0,0 +1,13 @@
+@ApplicationModule(
+        allowedDependencies = {
+                "shared",
+                "analytics :: api",
+                "catalog :: api",
+                "collections :: api",
+                "content :: api",
+                "library :: api"
+        }
+)
+package dev.harakki.comics.recommendations;
+
+import org.springframework.modulith.ApplicationModule;
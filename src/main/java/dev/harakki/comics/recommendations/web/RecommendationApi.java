@@ -0,0 +1,45 @@
+package dev.harakki.comics.recommendations.web;
+
+import dev.harakki.comics.recommendations.dto.SimilarTitlesResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+import java.util.UUID;
+
+@Tag(name = "Recommendations", description = "Recommendations API based on reader behaviour.")
+public interface RecommendationApi {
+
+    @Operation(
+            operationId = "getSimilarTitles",
+            summary = "Get similar titles",
+            description = "Retrieve titles that users who read, liked or saved a title also read. Unknown titles get an empty list."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Similar titles retrieved successfully",
+                    content = @Content(schema = @Schema(implementation = SimilarTitlesResponse.class)))
+    })
+    SimilarTitlesResponse getSimilarTitles(
+            @Parameter(description = "Title UUID", required = true) UUID titleId,
+            @Parameter(description = "Maximum number of titles", example = "20") int limit
+    );
+
+    @Operation(
+            operationId = "getSimilarContentTitles",
+            summary = "Get titles with similar content",
+            description = "Retrieve titles whose tags, authors, publisher, type and content rating are most similar to a title's. Unknown titles get an empty list."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Similar titles retrieved successfully",
+                    content = @Content(schema = @Schema(implementation = SimilarTitlesResponse.class)))
+    })
+    SimilarTitlesResponse getSimilarContentTitles(
+            @Parameter(description = "Title UUID", required = true) UUID titleId,
+            @Parameter(description = "Maximum number of titles", example = "20") int limit
+    );
+
+}
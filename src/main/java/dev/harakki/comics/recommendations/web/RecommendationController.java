@@ -0,0 +1,40 @@
+package dev.harakki.comics.recommendations.web;
+
+import dev.harakki.comics.recommendations.application.ContentSimilarityService;
+import dev.harakki.comics.recommendations.application.RecommendationService;
+import dev.harakki.comics.recommendations.dto.SimilarTitlesResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.UUID;
+
+@RequiredArgsConstructor
+@RestController
+@RequestMapping(path = "/api/v1/recommendations", produces = MediaType.APPLICATION_JSON_VALUE)
+public class RecommendationController implements RecommendationApi {
+
+    private final RecommendationService recommendationService;
+    private final ContentSimilarityService contentSimilarityService;
+
+    @GetMapping("/titles/{titleId}/similar")
+    public SimilarTitlesResponse getSimilarTitles(
+            @PathVariable UUID titleId,
+            @RequestParam(defaultValue = "20") int limit
+    ) {
+        return recommendationService.getSimilarTitles(titleId, limit);
+    }
+
+    @GetMapping("/titles/{titleId}/similar-content")
+    public SimilarTitlesResponse getSimilarContentTitles(
+            @PathVariable UUID titleId,
+            @RequestParam(defaultValue = "20") int limit
+    ) {
+        return contentSimilarityService.getSimilarTitles(titleId, limit);
+    }
+
+}
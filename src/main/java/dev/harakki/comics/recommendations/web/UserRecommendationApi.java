@@ -0,0 +1,70 @@
+package dev.harakki.comics.recommendations.web;
+
+import dev.harakki.comics.recommendations.dto.CompatibleUserResponse;
+import dev.harakki.comics.recommendations.dto.RecommendationFeedResponse;
+import dev.harakki.comics.recommendations.dto.RecommendedTitlesResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+import java.util.List;
+import java.util.UUID;
+
+@Tag(name = "Recommendations", description = "Recommendations API based on reader behaviour.")
+public interface UserRecommendationApi {
+
+    @Operation(
+            operationId = "getRecommendedTitles",
+            summary = "Get personal title recommendations",
+            description = "Retrieve titles the current user is predicted to like, based on the reading behaviour of all users. Titles the user already read, saved or liked are left out. The model is retrained periodically."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Recommendations retrieved successfully",
+                    content = @Content(schema = @Schema(implementation = RecommendedTitlesResponse.class))),
+            @ApiResponse(responseCode = "401", ref = "Unauthorized")
+    })
+    RecommendedTitlesResponse getRecommendedTitles(@Parameter(description = "Maximum number of titles", example = "20") int limit);
+
+    @Operation(
+            operationId = "getRecommendationFeed",
+            summary = "Get the personal recommendation feed",
+            description = "Retrieve a page of the current user's recommendation feed. The feed is prepared ahead of time and titles the user reads, saves or votes on drop out of it. Until the user is known to the recommendation model, trending titles are shown instead. Pass the returned cursor to get the next page."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Feed page retrieved successfully",
+                    content = @Content(schema = @Schema(implementation = RecommendationFeedResponse.class))),
+            @ApiResponse(responseCode = "401", ref = "Unauthorized")
+    })
+    RecommendationFeedResponse getFeed(@Parameter(description = "Cursor of the next page from the previous response") String cursor,
+                                       @Parameter(description = "Maximum number of titles", example = "20") int limit);
+
+    @Operation(
+            operationId = "getSimilarUsers",
+            summary = "Get readers with a similar taste",
+            description = "Retrieve readers whose read, liked and saved titles overlap most with the current user's, with a compatibility percentage."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Similar readers retrieved successfully",
+                    content = @Content(array = @ArraySchema(schema = @Schema(implementation = CompatibleUserResponse.class)))),
+            @ApiResponse(responseCode = "401", ref = "Unauthorized")
+    })
+    List<CompatibleUserResponse> getSimilarUsers(@Parameter(description = "Maximum number of readers", example = "10") int limit);
+
+    @Operation(
+            operationId = "getCompatibility",
+            summary = "Get compatibility with a reader",
+            description = "Compute the compatibility percentage between the current user and another reader."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Compatibility computed successfully",
+                    content = @Content(schema = @Schema(implementation = CompatibleUserResponse.class))),
+            @ApiResponse(responseCode = "401", ref = "Unauthorized")
+    })
+    CompatibleUserResponse getCompatibility(@Parameter(description = "Other user UUID", required = true) UUID userId);
+
+}
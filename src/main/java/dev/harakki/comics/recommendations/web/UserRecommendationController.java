@@ -0,0 +1,53 @@
+package dev.harakki.comics.recommendations.web;
+
+import dev.harakki.comics.recommendations.application.PersonalRecommendationService;
+import dev.harakki.comics.recommendations.application.RecommendationFeedService;
+import dev.harakki.comics.recommendations.application.UserSimilarityService;
+import dev.harakki.comics.recommendations.dto.CompatibleUserResponse;
+import dev.harakki.comics.recommendations.dto.RecommendationFeedResponse;
+import dev.harakki.comics.recommendations.dto.RecommendedTitlesResponse;
+import dev.harakki.comics.shared.utils.SecurityUtils;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.UUID;
+
+@RequiredArgsConstructor
+@PreAuthorize("hasRole('USER')")
+@RestController
+@RequestMapping(path = "/api/v1/recommendations/users/me", produces = MediaType.APPLICATION_JSON_VALUE)
+public class UserRecommendationController implements UserRecommendationApi {
+
+    private final UserSimilarityService userSimilarityService;
+    private final PersonalRecommendationService personalRecommendationService;
+    private final RecommendationFeedService recommendationFeedService;
+
+    @GetMapping("/titles")
+    public RecommendedTitlesResponse getRecommendedTitles(@RequestParam(defaultValue = "20") int limit) {
+        return personalRecommendationService.getRecommendedTitles(SecurityUtils.getCurrentUserId(), limit);
+    }
+
+    @GetMapping("/feed")
+    public RecommendationFeedResponse getFeed(@RequestParam(required = false) String cursor,
+                                              @RequestParam(defaultValue = "20") int limit) {
+        return recommendationFeedService.getFeed(SecurityUtils.getCurrentUserId(), cursor, limit);
+    }
+
+    @GetMapping("/similar")
+    public List<CompatibleUserResponse> getSimilarUsers(@RequestParam(defaultValue = "10") int limit) {
+        return userSimilarityService.getSimilarUsers(SecurityUtils.getCurrentUserId(), limit);
+    }
+
+    @GetMapping("/compatibility/{userId}")
+    public CompatibleUserResponse getCompatibility(@PathVariable UUID userId) {
+        return userSimilarityService.getCompatibility(SecurityUtils.getCurrentUserId(), userId);
+    }
+
+}
@@ -1,7 +1,6 @@
 package dev.harakki.comics.shared.api;
 
-import java.util.List;
-import java.util.Set;
+import java.util.BitSet;
 import java.util.UUID;
 
 public interface ChapterReadHistoryProvider {
@@ -10,18 +9,19 @@ public interface ChapterReadHistoryProvider {
      * Check if a specific chapter has been read by a user.
      *
      * @param userId    the user ID
-     * @param chapterId the chapter ID
+     * @param titleId   the title the chapter belongs to
+     * @param readIndex the read index of the chapter within its title
      * @return true if the chapter has been read, false otherwise
      */
-    boolean isChapterRead(UUID userId, UUID chapterId);
+    boolean isChapterRead(UUID userId, UUID titleId, int readIndex);
 
     /**
-     * Get all chapter IDs that have been read by a user for a specific title.
+     * Get the read indexes of all chapters of a title that have been read by a user.
      *
-     * @param userId     the user ID
-     * @param chapterIds the list of chapter IDs to check
-     * @return set of chapter IDs that have been read or empty set if none are read
+     * @param userId  the user ID
+     * @param titleId the title ID
+     * @return bitmap with a set bit for every read chapter index, empty if none are read
      */
-    Set<UUID> getReadChapterIds(UUID userId, List<UUID> chapterIds);
+    BitSet getReadChapterIndexes(UUID userId, UUID titleId);
 
 }
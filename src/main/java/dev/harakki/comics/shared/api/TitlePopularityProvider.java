@@ -0,0 +1,17 @@
+package dev.harakki.comics.shared.api;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.UUID;
+
+public interface TitlePopularityProvider {
+
+    /**
+     * Get the popularity of titles as their number of readers plus the net number of libraries containing them.
+     *
+     * @param titleIds the title IDs
+     * @return popularity by title ID, titles without any activity are absent
+     */
+    Map<UUID, Long> getPopularity(Collection<UUID> titleIds);
+
+}
@@ -45,8 +45,8 @@ public class GlobalExceptionHandler {
         return problemDetail;
     }
 
-    // Resource not uploaded -> ResourceNotUploadedException -> 400 Bad Request
-    @ExceptionHandler(ResourceNotUploadedException.class)
+    // Resource not uploaded or invalid cursor -> ResourceNotUploadedException, InvalidCursorException -> 400 Bad Request
+    @ExceptionHandler({ResourceNotUploadedException.class, InvalidCursorException.class})
     public ProblemDetail handleBadRequestException(RuntimeException ex) {
         ProblemDetail problemDetail = ProblemDetail.forStatusAndDetail(HttpStatus.BAD_REQUEST, ex.getMessage());
         problemDetail.setTitle("Bad Request");
@@ -0,0 +1,33 @@
+package dev.harakki.comics.shared.pagination;
+
+import org.jspecify.annotations.Nullable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * A slice of a keyset-paginated listing.
+ *
+ * @param content       items of this slice
+ * @param nextCursor    opaque cursor of the next slice, {@code null} on the last one
+ * @param totalElements total number of matches, only counted when requested
+ */
+public record CursorPage<T>(
+        List<T> content,
+        @Nullable String nextCursor,
+        @Nullable Long totalElements
+) {
+
+    public static <S, T> CursorPage<T> of(Window<S> window, Sort sort, Function<? super S, ? extends T> mapper, @Nullable Long totalElements) {
+        String nextCursor = window.hasNext() && !window.isEmpty()
+                ? Cursors.encode(window.positionAt(window.size() - 1), sort)
+                : null;
+        List<T> content = window.getContent().stream()
+                .<T>map(mapper)
+                .toList();
+        return new CursorPage<>(content, nextCursor, totalElements);
+    }
+
+}
@@ -0,0 +1,157 @@
+package dev.harakki.comics.shared.pagination;
+
+import dev.harakki.comics.shared.exception.InvalidCursorException;
+import lombok.experimental.UtilityClass;
+import org.jspecify.annotations.Nullable;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+
+import java.io.*;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Opaque cursors for keyset pagination.
+ * <p>
+ * A cursor carries the sort key values of the last item of a slice, so the next slice is read with
+ * {@code WHERE (key, id) > (:key, :id)} on an index instead of skipping an offset. Listings sort on
+ * a few non-null indexed columns only, always followed by the (time-ordered) id as a tiebreaker.
+ * The cursor also records the direction of each key, so it is only accepted for the exact sort it
+ * was issued for.
+ */
+@UtilityClass
+public class Cursors {
+
+    public static final String ID = "id";
+    public static final int MAX_SIZE = 100;
+
+    private static final byte STRING = 'S';
+    private static final byte UUID_VALUE = 'U';
+    private static final byte INSTANT = 'I';
+    private static final byte LONG = 'L';
+
+    private static final byte ASC = 'A';
+    private static final byte DESC = 'D';
+
+    /**
+     * Validate the requested sort against the sortable properties and append the id tiebreaker.
+     */
+    public Sort sort(Sort requested, Set<String> sortable) {
+        Sort sort = Sort.unsorted();
+        for (Sort.Order order : requested) {
+            if (!sortable.contains(order.getProperty()) && !ID.equals(order.getProperty())) {
+                throw new InvalidCursorException("Unsupported sort property for cursor pagination: " + order.getProperty());
+            }
+            sort = sort.and(Sort.by(order.getDirection(), order.getProperty()));
+        }
+        return sort.getOrderFor(ID) == null ? sort.and(Sort.by(ID)) : sort;
+    }
+
+    public Limit limit(int size) {
+        return Limit.of(Math.clamp(size, 1, MAX_SIZE));
+    }
+
+    /**
+     * Decode a cursor issued for the given sort, or start from the beginning if there is none.
+     */
+    public KeysetScrollPosition decode(@Nullable String cursor, Sort sort) {
+        if (cursor == null || cursor.isBlank()) {
+            return ScrollPosition.keyset();
+        }
+
+        Map<String, Object> keys = new LinkedHashMap<>();
+        List<Sort.Order> orders = new ArrayList<>();
+        try (var in = new DataInputStream(new ByteArrayInputStream(Base64.getUrlDecoder().decode(cursor)))) {
+            int count = in.readUnsignedByte();
+            for (int i = 0; i < count; i++) {
+                String property = in.readUTF();
+                orders.add(switch (in.readByte()) {
+                    case ASC -> Sort.Order.asc(property);
+                    case DESC -> Sort.Order.desc(property);
+                    default -> throw new InvalidCursorException("Invalid cursor");
+                });
+                keys.put(property, switch (in.readByte()) {
+                    case STRING -> in.readUTF();
+                    case UUID_VALUE -> new UUID(in.readLong(), in.readLong());
+                    case INSTANT -> Instant.ofEpochSecond(in.readLong(), in.readInt());
+                    case LONG -> in.readLong();
+                    default -> throw new InvalidCursorException("Invalid cursor");
+                });
+            }
+        } catch (IOException | IllegalArgumentException | DateTimeException | ArithmeticException ex) {
+            throw new InvalidCursorException("Invalid cursor");
+        }
+
+        if (!sameOrders(orders, sort)) {
+            throw new InvalidCursorException("Cursor does not match the requested sort");
+        }
+        return ScrollPosition.forward(keys);
+    }
+
+    /**
+     * Encode the position of the last item of a slice read with the given sort.
+     */
+    public String encode(ScrollPosition position, Sort sort) {
+        if (!(position instanceof KeysetScrollPosition keyset)) {
+            throw new IllegalArgumentException("Only keyset positions can be encoded");
+        }
+
+        var bytes = new ByteArrayOutputStream();
+        try (var out = new DataOutputStream(bytes)) {
+            out.writeByte(keyset.getKeys().size());
+            for (var key : keyset.getKeys().entrySet()) {
+                out.writeUTF(key.getKey());
+                var order = sort.getOrderFor(key.getKey());
+                out.writeByte(order != null && order.isDescending() ? DESC : ASC);
+                switch (key.getValue()) {
+                    case String value -> {
+                        out.writeByte(STRING);
+                        out.writeUTF(value);
+                    }
+                    case UUID value -> {
+                        out.writeByte(UUID_VALUE);
+                        out.writeLong(value.getMostSignificantBits());
+                        out.writeLong(value.getLeastSignificantBits());
+                    }
+                    case Instant value -> {
+                        out.writeByte(INSTANT);
+                        out.writeLong(value.getEpochSecond());
+                        out.writeInt(value.getNano());
+                    }
+                    case Long value -> {
+                        out.writeByte(LONG);
+                        out.writeLong(value);
+                    }
+                    case null, default -> throw new IllegalArgumentException("Unsupported cursor key: " + key.getKey());
+                }
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes.toByteArray());
+    }
+
+    private boolean sameOrders(List<Sort.Order> orders, Sort sort) {
+        var expected = sort.toList();
+        if (orders.size() != expected.size()) {
+            return false;
+        }
+        for (int i = 0; i < orders.size(); i++) {
+            if (!orders.get(i).getProperty().equals(expected.get(i).getProperty())
+                    || orders.get(i).getDirection() != expected.get(i).getDirection()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+}
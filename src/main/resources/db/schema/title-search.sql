@@ -0,0 +1,11 @@
+-- Full-text search documents of titles, kept up to date by TitleSearchIndexer.
+-- Weights: A - name, B - author names, C - tag names, D - description.
+-- Statements are idempotent: the script runs on every startup, before Hibernate schema update.
+CREATE TABLE IF NOT EXISTS title_search_documents
+(
+    title_id   UUID                     NOT NULL PRIMARY KEY,
+    document   TSVECTOR                 NOT NULL,
+    updated_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT now()
+);
+
+CREATE INDEX IF NOT EXISTS idx_title_search_document ON title_search_documents USING GIN (document);
@@ -0,0 +1,23 @@
+-- Append-only interaction log, range-partitioned by month on occurred_at.
+-- Monthly and default partitions are created by InteractionPartitionScheduler,
+-- a pre-existing non-partitioned table is left untouched here.
+-- Statements are idempotent: the script runs on every startup, before Hibernate schema update.
+CREATE SEQUENCE IF NOT EXISTS user_interactions_id_seq;
+
+CREATE TABLE IF NOT EXISTS user_interactions
+(
+    id          BIGINT                   NOT NULL DEFAULT nextval('user_interactions_id_seq'),
+    user_id     UUID,
+    type        VARCHAR(255)             NOT NULL,
+    target_id   UUID                     NOT NULL,
+    metadata    JSONB,
+    occurred_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    PRIMARY KEY (id, occurred_at)
+) PARTITION BY RANGE (occurred_at);
+
+CREATE INDEX IF NOT EXISTS idx_interactions_user_target ON user_interactions (user_id, target_id);
+CREATE INDEX IF NOT EXISTS idx_interactions_type ON user_interactions (type);
+CREATE INDEX IF NOT EXISTS idx_interactions_target_type ON user_interactions (target_id, type);
+
+-- Anonymous interactions have no user, Hibernate schema update never drops the NOT NULL of older tables
+ALTER TABLE user_interactions ALTER COLUMN user_id DROP NOT NULL;
@@ -0,0 +1,102 @@
+package dev.harakki.comics.achievements.domain;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AchievementProgressTest {
+
+    private static final LocalDate DAY = LocalDate.of(2026, 3, 1);
+
+    @Test
+    void consecutiveDaysExtendTheStreak() {
+        var progress = progress();
+
+        progress.recordActiveDay(DAY);
+        progress.recordActiveDay(DAY.plusDays(1));
+        progress.recordActiveDay(DAY.plusDays(2));
+
+        assertThat(progress.getCurrentStreak()).isEqualTo(3);
+        assertThat(progress.getLongestStreak()).isEqualTo(3);
+        assertThat(progress.getLastActiveDay()).isEqualTo(DAY.plusDays(2));
+    }
+
+    @Test
+    void sameDayCountsOnce() {
+        var progress = progress();
+
+        progress.recordActiveDay(DAY);
+        progress.recordActiveDay(DAY);
+
+        assertThat(progress.getCurrentStreak()).isEqualTo(1);
+    }
+
+    @Test
+    void gapRestartsTheStreakButKeepsTheLongest() {
+        var progress = progress();
+
+        progress.recordActiveDay(DAY);
+        progress.recordActiveDay(DAY.plusDays(1));
+        progress.recordActiveDay(DAY.plusDays(3));
+
+        assertThat(progress.getCurrentStreak()).isEqualTo(1);
+        assertThat(progress.getLongestStreak()).isEqualTo(2);
+    }
+
+    @Test
+    void lateEventsOfEarlierDaysAreIgnored() {
+        var progress = progress();
+
+        progress.recordActiveDay(DAY.plusDays(1));
+        progress.recordActiveDay(DAY);
+
+        assertThat(progress.getCurrentStreak()).isEqualTo(1);
+        assertThat(progress.getLastActiveDay()).isEqualTo(DAY.plusDays(1));
+    }
+
+    @Test
+    void rebuildReplacesTheStreaks() {
+        var progress = progress();
+        progress.recordActiveDay(DAY.minusDays(100));
+
+        progress.rebuildStreaks(List.of(DAY, DAY.plusDays(1), DAY.plusDays(2), DAY.plusDays(5), DAY.plusDays(6)));
+
+        assertThat(progress.getCurrentStreak()).isEqualTo(2);
+        assertThat(progress.getLongestStreak()).isEqualTo(3);
+        assertThat(progress.getLastActiveDay()).isEqualTo(DAY.plusDays(6));
+    }
+
+    @Test
+    void rebuildFromNoDaysClearsTheStreaks() {
+        var progress = progress();
+        progress.recordActiveDay(DAY);
+
+        progress.rebuildStreaks(List.of());
+
+        assertThat(progress.getCurrentStreak()).isZero();
+        assertThat(progress.getLongestStreak()).isZero();
+        assertThat(progress.getLastActiveDay()).isNull();
+    }
+
+    @Test
+    void streakLastsUntilAWholeDayIsMissed() {
+        var progress = progress();
+        progress.recordActiveDay(DAY);
+        progress.recordActiveDay(DAY.plusDays(1));
+
+        assertThat(progress.streakOn(DAY.plusDays(1))).isEqualTo(2);
+        // Not read yet today, the streak is still alive
+        assertThat(progress.streakOn(DAY.plusDays(2))).isEqualTo(2);
+        assertThat(progress.streakOn(DAY.plusDays(3))).isZero();
+        assertThat(progress().streakOn(DAY)).isZero();
+    }
+
+    private static AchievementProgress progress() {
+        return AchievementProgress.builder().userId(UUID.randomUUID()).build();
+    }
+
+}
@@ -0,0 +1,69 @@
+package dev.harakki.comics.achievements.domain;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AchievementTest {
+
+    @Test
+    void reportsThresholdsCrossedByAnUpdate() {
+        var before = progress(99, 0);
+        var after = progress(100, 0);
+
+        assertThat(Achievement.reachedBetween(AchievementMetric.measure(before), AchievementMetric.measure(after)))
+                .containsExactly(Achievement.CHAPTERS_100);
+    }
+
+    @Test
+    void reportsEveryThresholdCrossedAtOnce() {
+        var nothing = progress(0, 0);
+        var after = progress(1_000, 10);
+
+        assertThat(Achievement.reachedBetween(AchievementMetric.measure(nothing), AchievementMetric.measure(after)))
+                .containsExactlyInAnyOrder(Achievement.FIRST_CHAPTER, Achievement.CHAPTERS_100, Achievement.CHAPTERS_1000,
+                        Achievement.LIBRARY_10);
+    }
+
+    @Test
+    void thresholdsAlreadyReachedAreNotReportedAgain() {
+        var before = progress(150, 12);
+        var after = progress(151, 13);
+
+        assertThat(Achievement.reachedBetween(AchievementMetric.measure(before), AchievementMetric.measure(after))).isEmpty();
+    }
+
+    @Test
+    void decreasingCountersReachNothing() {
+        var before = progress(100, 10);
+        var after = progress(100, 9);
+
+        assertThat(Achievement.reachedBetween(AchievementMetric.measure(before), AchievementMetric.measure(after))).isEmpty();
+        // Reached again after dropping below the threshold, the unlock itself stays idempotent
+        assertThat(Achievement.reachedBetween(AchievementMetric.measure(after), AchievementMetric.measure(before)))
+                .containsExactly(Achievement.LIBRARY_10);
+    }
+
+    @Test
+    void readingHoursAreWholeHours() {
+        var before = progress(0, 0);
+        before.setReadTimeMillis(3_599_999);
+        var after = progress(0, 0);
+        after.setReadTimeMillis(3_600_000);
+
+        assertThat(Achievement.reachedBetween(AchievementMetric.measure(before), AchievementMetric.measure(before))).isEmpty();
+        assertThat(Achievement.reachedBetween(AchievementMetric.measure(before), AchievementMetric.measure(after)))
+                .containsExactly(Achievement.READING_1_HOUR);
+    }
+
+    private static AchievementProgress progress(long chaptersRead, long libraryTitles) {
+        return AchievementProgress.builder()
+                .userId(UUID.randomUUID())
+                .chaptersRead(chaptersRead)
+                .libraryTitles(libraryTitles)
+                .build();
+    }
+
+}
@@ -0,0 +1,97 @@
+package dev.harakki.comics.achievements.web;
+
+import dev.harakki.comics.achievements.application.AchievementBackfillService;
+import dev.harakki.comics.achievements.application.AchievementService;
+import dev.harakki.comics.achievements.domain.Achievement;
+import dev.harakki.comics.achievements.domain.AchievementMetric;
+import dev.harakki.comics.achievements.dto.AchievementResponse;
+import dev.harakki.comics.achievements.dto.UserAchievementsResponse;
+import dev.harakki.comics.shared.config.SecurityConfig;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.webmvc.test.autoconfigure.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationConverter;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(AchievementController.class)
+@Import(SecurityConfig.class)
+class AchievementControllerTest {
+
+    @MockitoBean
+    JwtAuthenticationConverter jwtAuthenticationConverter;
+
+    @MockitoBean
+    JwtDecoder jwtDecoder;
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @MockitoBean
+    AchievementService achievementService;
+
+    @MockitoBean
+    AchievementBackfillService achievementBackfillService;
+
+    // GET MY ACHIEVEMENTS
+
+    @Test
+    void getMyAchievements_ok() throws Exception {
+        UUID userId = UUID.randomUUID();
+        var titles = new AchievementResponse(Achievement.TITLES_1000, AchievementMetric.TITLES_READ, 1000, 1002,
+                Instant.parse("2026-01-29T10:00:00Z"));
+        var streak = new AchievementResponse(Achievement.STREAK_365_DAYS, AchievementMetric.LONGEST_STREAK_DAYS, 365, 40, null);
+        when(achievementService.getUserAchievements(userId))
+                .thenReturn(new UserAchievementsResponse(userId, 5120, 1002, 86_400_000, 12, 40, 57, 23, List.of(titles, streak)));
+
+        mockMvc.perform(get("/api/v1/achievements/users/me")
+                        .with(jwt().jwt(jwt -> jwt.subject(userId.toString())).authorities(new SimpleGrantedAuthority("ROLE_USER"))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.titlesRead").value(1002))
+                .andExpect(jsonPath("$.achievements[0].achievement").value("TITLES_1000"))
+                .andExpect(jsonPath("$.achievements[1].unlockedAt").doesNotExist());
+    }
+
+    @Test
+    void getMyAchievements_unauthorized() throws Exception {
+        mockMvc.perform(get("/api/v1/achievements/users/me"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    // BACKFILL
+
+    @Test
+    void backfill_accepted() throws Exception {
+        mockMvc.perform(post("/api/v1/achievements/backfill")
+                        .with(jwt().authorities(new SimpleGrantedAuthority("ROLE_ADMIN"))))
+                .andExpect(status().isAccepted());
+
+        verify(achievementBackfillService).backfill();
+    }
+
+    @Test
+    void backfill_forbidden() throws Exception {
+        mockMvc.perform(post("/api/v1/achievements/backfill")
+                        .with(jwt().authorities(new SimpleGrantedAuthority("ROLE_USER"))))
+                .andExpect(status().isForbidden());
+
+        verify(achievementBackfillService, never()).backfill();
+    }
+
+}
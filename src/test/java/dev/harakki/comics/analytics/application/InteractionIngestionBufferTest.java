@@ -0,0 +1,73 @@
+package dev.harakki.comics.analytics.application;
+
+import dev.harakki.comics.analytics.domain.InteractionType;
+import dev.harakki.comics.analytics.domain.UserInteraction;
+import dev.harakki.comics.analytics.infrastructure.UserInteractionBatchWriter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+/**
+ * The buffer is not started, so an interaction it takes is written right away.
+ */
+class InteractionIngestionBufferTest {
+
+    UserInteractionBatchWriter batchWriter = mock(UserInteractionBatchWriter.class);
+    InteractionIngestionBuffer buffer = new InteractionIngestionBuffer(batchWriter, new SimpleMeterRegistry(),
+            10, 10, Duration.ofSeconds(1), Duration.ofMillis(10));
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void writesOutsideATransactionRightAway() {
+        buffer.enqueue(interaction());
+
+        verify(batchWriter).writeAll(anyList());
+    }
+
+    @Test
+    void takesTheInteractionOnlyOnceTheTransactionCommits() {
+        TransactionSynchronizationManager.initSynchronization();
+        var interaction = interaction();
+
+        buffer.enqueue(interaction);
+        verifyNoInteractions(batchWriter);
+
+        TransactionSynchronizationUtils.triggerAfterCommit();
+        verify(batchWriter).writeAll(List.of(interaction));
+    }
+
+    @Test
+    void dropsTheInteractionWhenTheTransactionRollsBack() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        buffer.enqueue(interaction());
+        TransactionSynchronizationUtils.triggerAfterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        verifyNoInteractions(batchWriter);
+    }
+
+    private static UserInteraction interaction() {
+        return UserInteraction.builder()
+                .userId(UUID.randomUUID())
+                .type(InteractionType.TITLE_LIKED)
+                .targetId(UUID.randomUUID())
+                .build();
+    }
+
+}
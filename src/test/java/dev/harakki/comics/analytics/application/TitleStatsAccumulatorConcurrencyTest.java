@@ -0,0 +1,172 @@
+package dev.harakki.comics.analytics.application;
+
+import dev.harakki.comics.analytics.domain.TitleStats;
+import dev.harakki.comics.analytics.infrastructure.TitleStatsBatchWriter;
+import dev.harakki.comics.analytics.infrastructure.TitleStatsBatchWriter.Delta;
+import dev.harakki.comics.analytics.infrastructure.TitleStatsRepository;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+/**
+ * Reads that reload the persisted row while a flush is writing it: every delta must be counted exactly
+ * once, whether it is still in flight or already in the row, and without waiting for the database.
+ */
+class TitleStatsAccumulatorConcurrencyTest {
+
+    private static final int WRITERS = 4;
+    private static final int READERS = 4;
+    private static final int INCREMENTS_PER_WRITER = 20_000;
+
+    private final UUID titleId = UUID.randomUUID();
+    private final AtomicLong storedViews = new AtomicLong();
+    private final AtomicLong storedLikes = new AtomicLong();
+
+    @Test
+    void cacheReloadsDuringFlushCountEachDeltaOnce() throws Exception {
+        var batchWriter = mock(TitleStatsBatchWriter.class);
+        doAnswer(invocation -> {
+            List<Delta> deltas = invocation.getArgument(0);
+            for (var delta : deltas) {
+                storedViews.addAndGet(delta.views());
+                storedLikes.addAndGet(delta.likes());
+            }
+            // Committed, readers reloading the row now see the deltas
+            Thread.sleep(2);
+            return null;
+        }).when(batchWriter).upsertAll(anyList());
+        var repository = mock(TitleStatsRepository.class);
+        when(repository.findById(titleId)).thenAnswer(_ -> Optional.of(stored()));
+        when(repository.findAllById(anyCollection())).thenAnswer(_ -> List.of(stored()));
+        // Every read misses the cache and loads the row again
+        var accumulator = new TitleStatsAccumulator(batchWriter, repository, 1_000, Duration.ofNanos(1));
+
+        var added = new AtomicLong();
+        var writersDone = new CountDownLatch(WRITERS);
+        var violations = new ConcurrentLinkedQueue<String>();
+        var executor = Executors.newFixedThreadPool(WRITERS + READERS + 1);
+        try {
+            var futures = new ArrayList<Future<?>>();
+            for (int w = 0; w < WRITERS; w++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < INCREMENTS_PER_WRITER; i++) {
+                        accumulator.addViews(titleId, 1);
+                        accumulator.addLike(titleId, 1);
+                        added.incrementAndGet();
+                    }
+                    writersDone.countDown();
+                }));
+            }
+            futures.add(executor.submit(() -> {
+                while (writersDone.getCount() > 0) {
+                    accumulator.flush();
+                }
+                return null;
+            }));
+            for (int r = 0; r < READERS; r++) {
+                futures.add(executor.submit(() -> {
+                    while (writersDone.getCount() > 0) {
+                        long before = added.get();
+                        var stats = accumulator.current(titleId);
+                        // Each writer may have one increment in progress that is not in "added" yet
+                        long after = added.get() + WRITERS;
+                        if (stats.getViews() < before || stats.getViews() > after) {
+                            violations.add("views=" + stats.getViews() + " outside [" + before + ", " + after + "]");
+                        }
+                        if (stats.getLikes() < before || stats.getLikes() > after) {
+                            violations.add("likes=" + stats.getLikes() + " outside [" + before + ", " + after + "]");
+                        }
+                    }
+                }));
+            }
+            for (var future : futures) {
+                future.get(1, TimeUnit.MINUTES);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        accumulator.flush();
+        accumulator.flush();
+
+        long total = (long) WRITERS * INCREMENTS_PER_WRITER;
+        assertThat(violations).isEmpty();
+        assertThat(storedViews.get()).isEqualTo(total);
+        assertThat(storedLikes.get()).isEqualTo(total);
+        assertThat(accumulator.current(titleId).getViews()).isEqualTo(total);
+        verify(batchWriter, atLeast(2)).upsertAll(anyList());
+    }
+
+    @Test
+    void readsDoNotWaitForTheUpsert() throws Exception {
+        var upserting = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        var batchWriter = mock(TitleStatsBatchWriter.class);
+        doAnswer(invocation -> {
+            upserting.countDown();
+            release.await();
+            List<Delta> deltas = invocation.getArgument(0);
+            deltas.forEach(delta -> storedViews.addAndGet(delta.views()));
+            return null;
+        }).when(batchWriter).upsertAll(anyList());
+        var repository = mock(TitleStatsRepository.class);
+        when(repository.findById(titleId)).thenAnswer(_ -> Optional.of(stored()));
+        when(repository.findAllById(anyCollection())).thenAnswer(_ -> List.of(stored()));
+        var accumulator = new TitleStatsAccumulator(batchWriter, repository, 1_000, Duration.ofNanos(1));
+        accumulator.addViews(titleId, 3);
+
+        var flush = CompletableFuture.runAsync(accumulator::flush);
+        try {
+            assertThat(upserting.await(5, TimeUnit.SECONDS)).isTrue();
+            accumulator.addViews(titleId, 2);
+            assertThat(CompletableFuture.supplyAsync(() -> accumulator.current(titleId).getViews())
+                    .get(5, TimeUnit.SECONDS)).isEqualTo(5);
+        } finally {
+            release.countDown();
+        }
+        flush.get(5, TimeUnit.SECONDS);
+
+        assertThat(storedViews.get()).isEqualTo(3);
+        assertThat(accumulator.current(titleId).getViews()).isEqualTo(5);
+    }
+
+    @Test
+    void failedUpsertKeepsTheDeltas() {
+        var batchWriter = mock(TitleStatsBatchWriter.class);
+        doThrow(new IllegalStateException("database down")).when(batchWriter).upsertAll(anyList());
+        var repository = mock(TitleStatsRepository.class);
+        when(repository.findById(titleId)).thenAnswer(_ -> Optional.of(stored()));
+        var accumulator = new TitleStatsAccumulator(batchWriter, repository, 1_000, Duration.ofNanos(1));
+        accumulator.addViews(titleId, 3);
+
+        accumulator.flush();
+
+        assertThat(accumulator.current(titleId).getViews()).isEqualTo(3);
+        doNothing().when(batchWriter).upsertAll(anyList());
+        accumulator.flush();
+        // Both attempts carried the same deltas
+        verify(batchWriter, times(2)).upsertAll(List.of(new Delta(titleId, 3, 0, 0, 0, 0, 0)));
+    }
+
+    private TitleStats stored() {
+        return TitleStats.builder()
+                .titleId(titleId)
+                .views(storedViews.get())
+                .likes(storedLikes.get())
+                .updatedAt(Instant.EPOCH)
+                .build();
+    }
+
+}
@@ -0,0 +1,153 @@
+package dev.harakki.comics.analytics.domain;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.Random;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+class HyperLogLogTest {
+
+    // About three standard errors of a 2^12 register sketch
+    private static final double MAX_RELATIVE_ERROR = 0.05;
+
+    @ParameterizedTest
+    @ValueSource(ints = {100, 1_000, 10_000, 100_000, 1_000_000})
+    void estimatesWithinErrorBound(int cardinality) {
+        var sketch = sketchOf(new Random(cardinality), cardinality);
+
+        assertThat((double) sketch.estimate()).isCloseTo(cardinality, within(cardinality * MAX_RELATIVE_ERROR));
+    }
+
+    @Test
+    void repeatedValuesAreCountedOnce() {
+        var sketch = new HyperLogLog();
+        var random = new Random(1);
+        var values = new UUID[500];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = new UUID(random.nextLong(), random.nextLong());
+        }
+        for (int round = 0; round < 10; round++) {
+            for (var value : values) {
+                sketch.add(value);
+            }
+        }
+
+        assertThat((double) sketch.estimate()).isCloseTo(500, within(500 * MAX_RELATIVE_ERROR));
+    }
+
+    @Test
+    void emptySketchEstimatesZero() {
+        var sketch = new HyperLogLog();
+
+        assertThat(sketch.isEmpty()).isTrue();
+        assertThat(sketch.estimate()).isZero();
+    }
+
+    @Test
+    void mergeEstimatesUnion() {
+        // 30k + 30k values overlapping in 10k: union of 50k, both sketches dense
+        var random = new Random(7);
+        var shared = new UUID[10_000];
+        for (int i = 0; i < shared.length; i++) {
+            shared[i] = new UUID(random.nextLong(), random.nextLong());
+        }
+        var left = sketchOf(random, 20_000);
+        var right = sketchOf(random, 20_000);
+        for (var value : shared) {
+            left.add(value);
+            right.add(value);
+        }
+
+        left.merge(right);
+
+        assertThat((double) left.estimate()).isCloseTo(50_000, within(50_000 * MAX_RELATIVE_ERROR));
+    }
+
+    @Test
+    void mergeOfSparseAndDenseSketches() {
+        var random = new Random(11);
+        var sparse = sketchOf(random, 200);
+        var dense = sketchOf(random, 20_000);
+
+        var sparseIntoDense = dense.copy();
+        sparseIntoDense.merge(sparse);
+        var denseIntoSparse = sparse.copy();
+        denseIntoSparse.merge(dense);
+
+        assertThat(sparseIntoDense.estimate()).isEqualTo(denseIntoSparse.estimate());
+        assertThat((double) sparseIntoDense.estimate()).isCloseTo(20_200, within(20_200 * MAX_RELATIVE_ERROR));
+    }
+
+    @Test
+    void mergeOfSparseSketchesMatchesSingleSketch() {
+        var random = new Random(13);
+        var values = new UUID[300];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = new UUID(random.nextLong(), random.nextLong());
+        }
+        var all = new HyperLogLog();
+        var left = new HyperLogLog();
+        var right = new HyperLogLog();
+        for (int i = 0; i < values.length; i++) {
+            all.add(values[i]);
+            (i % 2 == 0 ? left : right).add(values[i]);
+        }
+
+        left.merge(right);
+
+        assertThat(left.toBytes()).isEqualTo(all.toBytes());
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {0, 1, 100, 511, 512, 10_000})
+    void bytesRoundTrip(int cardinality) {
+        var sketch = sketchOf(new Random(cardinality + 1), cardinality);
+
+        var bytes = sketch.toBytes();
+        var restored = HyperLogLog.fromBytes(bytes);
+
+        assertThat(restored.estimate()).isEqualTo(sketch.estimate());
+        assertThat(restored.toBytes()).isEqualTo(bytes);
+    }
+
+    @Test
+    void denseFormIsPacked() {
+        var sketch = sketchOf(new Random(3), 10_000);
+
+        assertThat(sketch.toBytes()).hasSize(2 + HyperLogLog.REGISTERS * 6 / 8);
+    }
+
+    @Test
+    void restoredSketchKeepsCounting() {
+        var random = new Random(5);
+        var sketch = HyperLogLog.fromBytes(sketchOf(random, 5_000).toBytes());
+        for (int i = 0; i < 5_000; i++) {
+            sketch.add(new UUID(random.nextLong(), random.nextLong()));
+        }
+
+        assertThat((double) sketch.estimate()).isCloseTo(10_000, within(10_000 * MAX_RELATIVE_ERROR));
+    }
+
+    @Test
+    void rejectsOtherPrecision() {
+        var bytes = new HyperLogLog().toBytes();
+        bytes[1] = HyperLogLog.PRECISION + 1;
+
+        assertThatThrownBy(() -> HyperLogLog.fromBytes(bytes)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static HyperLogLog sketchOf(Random random, int cardinality) {
+        var sketch = new HyperLogLog();
+        for (int i = 0; i < cardinality; i++) {
+            sketch.add(new UUID(random.nextLong(), random.nextLong()));
+        }
+        return sketch;
+    }
+
+}
@@ -0,0 +1,150 @@
+package dev.harakki.comics.analytics.infrastructure;
+
+import com.zaxxer.hikari.HikariDataSource;
+import dev.harakki.comics.analytics.application.InteractionIngestionBuffer;
+import dev.harakki.comics.analytics.domain.InteractionType;
+import dev.harakki.comics.analytics.domain.UserInteraction;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.postgresql.PostgreSQLContainer;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares the per-event insert path (one transaction and one INSERT per interaction) with the
+ * write-behind {@link InteractionIngestionBuffer}. Run with {@code ./gradlew benchmark}.
+ */
+@Tag("benchmark")
+class UserInteractionIngestionBenchmark {
+
+    private static final int EVENTS = 20_000;
+    private static final int PRODUCERS = 8;
+
+    static PostgreSQLContainer postgres = new PostgreSQLContainer("postgres:latest");
+
+    static HikariDataSource dataSource;
+    static JdbcTemplate jdbcTemplate;
+    static TransactionTemplate transactionTemplate;
+
+    List<UserInteraction> interactions;
+
+    @BeforeAll
+    static void startDatabase() {
+        postgres.start();
+        dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl(postgres.getJdbcUrl());
+        dataSource.setUsername(postgres.getUsername());
+        dataSource.setPassword(postgres.getPassword());
+        dataSource.setMaximumPoolSize(PRODUCERS + 2);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        jdbcTemplate.execute("""
+                CREATE TABLE user_interactions (
+                    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+                    user_id UUID,
+                    type VARCHAR(255) NOT NULL,
+                    target_id UUID NOT NULL,
+                    metadata JSONB,
+                    occurred_at TIMESTAMP WITH TIME ZONE NOT NULL
+                )
+                """);
+    }
+
+    @AfterAll
+    static void stopDatabase() {
+        dataSource.close();
+        postgres.stop();
+    }
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.execute("TRUNCATE user_interactions");
+        interactions = new ArrayList<>(EVENTS);
+        var titleId = UUID.randomUUID();
+        for (int i = 0; i < EVENTS; i++) {
+            interactions.add(UserInteraction.builder()
+                    .userId(UUID.randomUUID())
+                    .type(InteractionType.CHAPTER_READ)
+                    .targetId(UUID.randomUUID())
+                    .metadata(Map.of("titleId", titleId, "readTimeMillis", 60_000L))
+                    .occurredAt(Instant.now())
+                    .build());
+        }
+    }
+
+    @Test
+    void perEventInserts() throws InterruptedException {
+        long start = System.nanoTime();
+        runProducers(interaction -> transactionTemplate.executeWithoutResult(_ -> jdbcTemplate.update(
+                "INSERT INTO user_interactions (user_id, type, target_id, metadata, occurred_at) VALUES (?, ?, ?, CAST(? AS JSONB), ?)",
+                interaction.getUserId(),
+                interaction.getType().name(),
+                interaction.getTargetId(),
+                "{\"titleId\":\"" + interaction.getMetadata().get("titleId") + "\",\"readTimeMillis\":60000}",
+                Timestamp.from(interaction.getOccurredAt())
+        )));
+        long elapsed = System.nanoTime() - start;
+
+        report("per-event", elapsed);
+        assertThat(countRows()).isEqualTo(EVENTS);
+    }
+
+    @Test
+    void writeBehindBuffer() throws InterruptedException {
+        var writer = new UserInteractionBatchWriter(jdbcTemplate, JsonMapper.builder().build());
+        var buffer = new InteractionIngestionBuffer(writer, new SimpleMeterRegistry(),
+                10_000, 500, Duration.ofMillis(200), Duration.ofMillis(100));
+        buffer.start();
+
+        long start = System.nanoTime();
+        runProducers(buffer::enqueue);
+        buffer.stop(); // Includes the final flush
+        long elapsed = System.nanoTime() - start;
+
+        report("write-behind", elapsed);
+        assertThat(countRows()).isEqualTo(EVENTS);
+    }
+
+    private void runProducers(Consumer<UserInteraction> sink) throws InterruptedException {
+        try (ExecutorService executor = Executors.newFixedThreadPool(PRODUCERS)) {
+            int perProducer = EVENTS / PRODUCERS;
+            for (int p = 0; p < PRODUCERS; p++) {
+                var slice = interactions.subList(p * perProducer, (p + 1) * perProducer);
+                executor.submit(() -> slice.forEach(sink));
+            }
+            executor.shutdown();
+            assertThat(executor.awaitTermination(10, TimeUnit.MINUTES)).isTrue();
+        }
+    }
+
+    private long countRows() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM user_interactions", Long.class);
+    }
+
+    private static void report(String path, long elapsedNanos) {
+        double seconds = elapsedNanos / 1_000_000_000.0;
+        System.out.printf("[benchmark] %-12s %,d interactions in %.2f s (%,.0f inserts/s)%n",
+                path, EVENTS, seconds, EVENTS / seconds);
+    }
+
+}
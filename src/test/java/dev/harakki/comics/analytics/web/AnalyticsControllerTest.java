@@ -1,7 +1,17 @@
 package dev.harakki.comics.analytics.web;
 
+import dev.harakki.comics.analytics.api.TrendingWindow;
 import dev.harakki.comics.analytics.application.AnalyticsService;
+import dev.harakki.comics.analytics.application.UniqueCountService;
+import dev.harakki.comics.analytics.application.TrendingService;
+import dev.harakki.comics.analytics.application.UserStatsService;
+import dev.harakki.comics.analytics.application.UserStatsService.TaggedUserStats;
+import dev.harakki.comics.analytics.dto.ChapterUniqueCountsResponse;
 import dev.harakki.comics.analytics.dto.TitleAnalyticsResponse;
+import dev.harakki.comics.analytics.dto.TitleUniqueCountsResponse;
+import dev.harakki.comics.analytics.dto.TrendingTitleResponse;
+import dev.harakki.comics.analytics.dto.TrendingTitlesResponse;
+import dev.harakki.comics.analytics.dto.UserStatsResponse;
 import dev.harakki.comics.shared.config.SecurityConfig;
 import dev.harakki.comics.shared.exception.ResourceNotFoundException;
 import org.junit.jupiter.api.Test;
@@ -15,12 +25,21 @@ import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Predicate;
 
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.when;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(AnalyticsController.class)
@@ -39,13 +58,22 @@ class AnalyticsControllerTest {
     @MockitoBean
     AnalyticsService analyticsService;
 
+    @MockitoBean
+    UniqueCountService uniqueCountService;
+
+    @MockitoBean
+    UserStatsService userStatsService;
+
+    @MockitoBean
+    TrendingService trendingService;
+
     // GET TITLE ANALYTICS
 
     @Test
     void getTitleAnalytics_ok() throws Exception {
         UUID titleId = UUID.randomUUID();
         when(analyticsService.getTitleAnalytics(eq(titleId)))
-                .thenReturn(new TitleAnalyticsResponse(titleId, 4.5, 1000L, Instant.now()));
+                .thenReturn(new TitleAnalyticsResponse(titleId, 4.5, 0.87, 1000L, 5000L, 250L, 900L, 40L, 3L, 120L, Instant.now()));
 
         mockMvc.perform(get("/api/v1/analytics/titles/{titleId}", titleId)
                         .with(jwt().authorities(new SimpleGrantedAuthority("ROLE_USER"))))
@@ -71,4 +99,109 @@ class AnalyticsControllerTest {
                 .andExpect(status().isUnauthorized());
     }
 
+    // GET TRENDING TITLES
+
+    @Test
+    void getTrendingTitles_ok() throws Exception {
+        UUID titleId = UUID.randomUUID();
+        when(trendingService.getTrendingTitles(eq(TrendingWindow.HOUR), eq(10)))
+                .thenReturn(new TrendingTitlesResponse(TrendingWindow.HOUR, List.of(new TrendingTitleResponse(titleId, 412.7)), Instant.now()));
+
+        mockMvc.perform(get("/api/v1/analytics/titles/trending")
+                        .param("window", "HOUR")
+                        .param("limit", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.window").value("HOUR"))
+                .andExpect(jsonPath("$.items[0].titleId").value(titleId.toString()));
+    }
+
+    @Test
+    void getTrendingTitles_defaultWindow() throws Exception {
+        when(trendingService.getTrendingTitles(eq(TrendingWindow.DAY), eq(20)))
+                .thenReturn(new TrendingTitlesResponse(TrendingWindow.DAY, List.of(), Instant.now()));
+
+        mockMvc.perform(get("/api/v1/analytics/titles/trending"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.window").value("DAY"));
+    }
+
+    // GET UNIQUE USERS
+
+    @Test
+    void getTitleUniqueCounts_ok() throws Exception {
+        UUID titleId = UUID.randomUUID();
+        LocalDate from = LocalDate.of(2026, 1, 1);
+        LocalDate to = LocalDate.of(2026, 1, 30);
+        when(uniqueCountService.getTitleUniqueCounts(eq(titleId), eq(from), eq(to)))
+                .thenReturn(new TitleUniqueCountsResponse(titleId, from, to, 1204L, 731L, 0.01625));
+
+        mockMvc.perform(get("/api/v1/analytics/titles/{titleId}/unique-users", titleId)
+                        .param("from", "2026-01-01")
+                        .param("to", "2026-01-30")
+                        .with(jwt().authorities(new SimpleGrantedAuthority("ROLE_USER"))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.uniqueViewers").value(1204))
+                .andExpect(jsonPath("$.uniqueReaders").value(731));
+    }
+
+    @Test
+    void getTitleUniqueCounts_invalidDate() throws Exception {
+        mockMvc.perform(get("/api/v1/analytics/titles/{titleId}/unique-users", UUID.randomUUID())
+                        .param("from", "01/01/2026")
+                        .with(jwt().authorities(new SimpleGrantedAuthority("ROLE_USER"))))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getChapterUniqueCounts_ok() throws Exception {
+        UUID chapterId = UUID.randomUUID();
+        LocalDate today = LocalDate.now();
+        when(uniqueCountService.getChapterUniqueCounts(eq(chapterId), isNull(), isNull()))
+                .thenReturn(new ChapterUniqueCountsResponse(chapterId, today.minusDays(29), today, 512L, 0.01625));
+
+        mockMvc.perform(get("/api/v1/analytics/chapters/{chapterId}/unique-users", chapterId)
+                        .with(jwt().authorities(new SimpleGrantedAuthority("ROLE_USER"))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.uniqueReaders").value(512));
+    }
+
+    // GET MY STATS
+
+    @Test
+    void getMyStats_ok() throws Exception {
+        UUID userId = UUID.randomUUID();
+        LocalDate day = LocalDate.of(2026, 1, 29);
+        when(userStatsService.getUserStats(eq(userId), isNull(), isNull(), any()))
+                .thenReturn(Optional.of(new TaggedUserStats("\"7-2025-01-30-2026-01-29\"",
+                        new UserStatsResponse(userId, 7L, 3601111L, Map.of(day, 7)))));
+
+        mockMvc.perform(get("/api/v1/analytics/users/me/stats")
+                        .with(jwt().jwt(jwt -> jwt.subject(userId.toString())).authorities(new SimpleGrantedAuthority("ROLE_USER"))))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"7-2025-01-30-2026-01-29\""))
+                .andExpect(jsonPath("$.totalChaptersRead").value(7))
+                .andExpect(jsonPath("$.activityHeatmap['2026-01-29']").value(7));
+    }
+
+    @Test
+    void getMyStats_notModified() throws Exception {
+        UUID userId = UUID.randomUUID();
+        when(userStatsService.getUserStats(eq(userId), isNull(), isNull(), any())).thenAnswer(invocation -> {
+            Predicate<String> notModified = invocation.getArgument(3);
+            return notModified.test("\"7-2025-01-30-2026-01-29\"") ? Optional.empty() : Optional.of(
+                    new TaggedUserStats("\"7-2025-01-30-2026-01-29\"", new UserStatsResponse(userId, 7L, 0L, Map.of())));
+        });
+
+        mockMvc.perform(get("/api/v1/analytics/users/me/stats")
+                        .header("If-None-Match", "\"7-2025-01-30-2026-01-29\"")
+                        .with(jwt().jwt(jwt -> jwt.subject(userId.toString())).authorities(new SimpleGrantedAuthority("ROLE_USER"))))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void getMyStats_unauthorized() throws Exception {
+        mockMvc.perform(get("/api/v1/analytics/users/me/stats"))
+                .andExpect(status().isUnauthorized());
+    }
+
 }
@@ -0,0 +1,111 @@
+package dev.harakki.comics.catalog.application;
+
+import dev.harakki.comics.catalog.domain.SlugScope;
+import dev.harakki.comics.catalog.infrastructure.SlugSequenceRepository;
+import dev.harakki.comics.shared.config.SlugifyConfig;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.postgresql.PostgreSQLContainer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Slug allocation from parallel creates of names that slugify alike, and while another transaction that
+ * allocated a slug is still open.
+ */
+@Testcontainers
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({SlugGenerator.class, SlugSequenceRepository.class, SlugifyConfig.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class SlugGeneratorConcurrencyTest {
+
+    private static final int THREADS = 16;
+    private static final int CREATES_PER_THREAD = 50;
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer postgres = new PostgreSQLContainer("postgres:latest");
+
+    @Autowired
+    SlugGenerator slugGenerator;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Test
+    void parallelCreatesGetDistinctSlugs() throws Exception {
+        var names = List.of("One Piece", "One-Piece", "one piece!", "ONE PIECE");
+        var executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            var futures = new ArrayList<Future<List<String>>>();
+            for (int t = 0; t < THREADS; t++) {
+                int thread = t;
+                futures.add(executor.submit(() -> IntStream.range(0, CREATES_PER_THREAD)
+                        .mapToObj(i -> slugGenerator.generate(names.get((thread + i) % names.size()), SlugScope.TITLE))
+                        .toList()));
+            }
+            var slugs = new ArrayList<String>();
+            for (var future : futures) {
+                slugs.addAll(future.get(30, TimeUnit.SECONDS));
+            }
+
+            // No gaps either: every suffix handed out is used
+            var expected = IntStream.rangeClosed(1, THREADS * CREATES_PER_THREAD)
+                    .mapToObj(n -> n == 1 ? "one-piece" : "one-piece-" + n)
+                    .collect(Collectors.toSet());
+            assertThat(slugs).doesNotHaveDuplicates();
+            assertThat(Set.copyOf(slugs)).isEqualTo(expected);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void allocationDoesNotWaitForOpenTransactions() throws Exception {
+        var executor = Executors.newSingleThreadExecutor();
+        try {
+            var slugs = new TransactionTemplate(transactionManager).execute(_ -> {
+                var first = slugGenerator.generate("Berserk", SlugScope.TITLE);
+                // The transaction that allocated the first slug has not committed yet
+                var second = executor.submit(() -> slugGenerator.generate("Berserk", SlugScope.TITLE));
+                try {
+                    return List.of(first, second.get(5, TimeUnit.SECONDS));
+                } catch (InterruptedException | ExecutionException | TimeoutException e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+
+            assertThat(slugs).containsExactly("berserk", "berserk-2");
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void skipsReservedSlugsAndKeepsScopesApart() {
+        slugGenerator.reserve(SlugScope.TAG, "action-2");
+
+        assertThat(slugGenerator.generate("Action", SlugScope.TAG)).isEqualTo("action");
+        assertThat(slugGenerator.generate("Action", SlugScope.TAG)).isEqualTo("action-3");
+        assertThat(slugGenerator.generate("Action", SlugScope.TITLE)).isEqualTo("action");
+    }
+
+}
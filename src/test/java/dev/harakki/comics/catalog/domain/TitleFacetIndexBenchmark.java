@@ -0,0 +1,123 @@
+package dev.harakki.comics.catalog.domain;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Latency of facet counting over a synthetic catalog with skewed tag, type, status, rating, country and
+ * year distributions, for random selections of one to three facets. Every count is checked against a scan
+ * of all titles. Run with {@code ./gradlew benchmark}.
+ */
+@Tag("benchmark")
+class TitleFacetIndexBenchmark {
+
+    private static final int QUERIES = 500;
+    private static final int TAGS = 400;
+    private static final String[] COUNTRIES = {"JP", "KR", "CN", "US", "FR", "BE", "IT", "DE"};
+
+    @ParameterizedTest
+    @ValueSource(ints = {10_000, 100_000})
+    void countLatency(int titles) {
+        var random = new SplittableRandom(7);
+        var index = new TitleFacetIndex();
+        var catalog = new ArrayList<Map<TitleFacet, Set<String>>>(titles);
+
+        long started = System.nanoTime();
+        for (int t = 0; t < titles; t++) {
+            var values = values(random);
+            catalog.add(values);
+            index.put(new UUID(0, t), values);
+        }
+        // Churn, so removed titles and reused numbers are covered
+        for (int t = 0; t < titles / 10; t++) {
+            int replaced = random.nextInt(titles);
+            index.remove(new UUID(0, replaced));
+            var values = values(random);
+            catalog.set(replaced, values);
+            index.put(new UUID(0, replaced), values);
+        }
+        index.optimize();
+        long buildMillis = (System.nanoTime() - started) / 1_000_000;
+
+        long[] nanos = new long[QUERIES];
+        for (int q = 0; q < QUERIES; q++) {
+            var selection = selection(catalog.get(random.nextInt(titles)), random);
+
+            started = System.nanoTime();
+            var result = index.count(selection, Integer.MAX_VALUE);
+            nanos[q] = System.nanoTime() - started;
+
+            assertThat(result.total()).isEqualTo(catalog.stream().filter(v -> matches(v, selection, null)).count());
+            for (var facet : TitleFacet.values()) {
+                var expected = new HashMap<String, Long>();
+                catalog.stream()
+                        .filter(v -> matches(v, selection, facet))
+                        .forEach(v -> v.getOrDefault(facet, Set.of()).forEach(value -> expected.merge(value, 1L, Long::sum)));
+                var actual = new HashMap<String, Long>();
+                result.counts().get(facet).forEach(count -> actual.put(count.value(), count.count()));
+                assertThat(actual).isEqualTo(expected);
+            }
+        }
+
+        System.out.printf("Facets over %,d titles: build %,d ms, counts p50 %.3f ms p99 %.3f ms%n",
+                titles, buildMillis, percentile(nanos, 0.5), percentile(nanos, 0.99));
+    }
+
+    private static Map<TitleFacet, Set<String>> values(SplittableRandom random) {
+        var values = new EnumMap<TitleFacet, Set<String>>(TitleFacet.class);
+        var tags = new HashSet<String>();
+        int tagCount = 1 + random.nextInt(8);
+        while (tags.size() < tagCount) {
+            // Squaring skews towards the first tags, like popular genres
+            double r = random.nextDouble();
+            tags.add("tag-" + (int) (r * r * TAGS));
+        }
+        values.put(TitleFacet.TAG, tags);
+        values.put(TitleFacet.TYPE, Set.of(TitleType.values()[random.nextInt(TitleType.values().length)].name()));
+        values.put(TitleFacet.STATUS, Set.of(TitleStatus.values()[random.nextInt(TitleStatus.values().length)].name()));
+        values.put(TitleFacet.CONTENT_RATING, Set.of(ContentRating.values()[random.nextInt(ContentRating.values().length)].name()));
+        if (random.nextInt(10) > 0) {
+            values.put(TitleFacet.COUNTRY, Set.of(COUNTRIES[Math.min(random.nextInt(4) + random.nextInt(5), COUNTRIES.length - 1)]));
+        }
+        values.put(TitleFacet.RELEASE_YEAR, Set.of(String.valueOf(1980 + random.nextInt(46))));
+        return values;
+    }
+
+    // A few facets of an existing title, sometimes with a second value, so selections are not empty
+    private static Map<TitleFacet, Set<String>> selection(Map<TitleFacet, Set<String>> title, SplittableRandom random) {
+        var facets = new ArrayList<>(title.keySet());
+        Collections.shuffle(facets, new Random(random.nextLong()));
+        var selection = new EnumMap<TitleFacet, Set<String>>(TitleFacet.class);
+        for (var facet : facets.subList(0, 1 + random.nextInt(Math.min(3, facets.size())))) {
+            var selected = new HashSet<String>();
+            selected.add(title.get(facet).iterator().next());
+            if (facet == TitleFacet.TAG && random.nextBoolean()) {
+                selected.add("tag-" + random.nextInt(TAGS));
+            }
+            selection.put(facet, selected);
+        }
+        return selection;
+    }
+
+    private static boolean matches(Map<TitleFacet, Set<String>> title, Map<TitleFacet, Set<String>> selection, TitleFacet excluded) {
+        for (var facet : selection.entrySet()) {
+            if (facet.getKey() != excluded
+                    && Collections.disjoint(title.getOrDefault(facet.getKey(), Set.of()), facet.getValue())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static double percentile(long[] nanos, double p) {
+        long[] sorted = nanos.clone();
+        Arrays.sort(sorted);
+        return sorted[(int) Math.min(sorted.length - 1, Math.floor(p * sorted.length))] / 1e6;
+    }
+
+}
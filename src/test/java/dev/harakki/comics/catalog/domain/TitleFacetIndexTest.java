@@ -0,0 +1,87 @@
+package dev.harakki.comics.catalog.domain;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TitleFacetIndexTest {
+
+    private static final UUID NARUTO = UUID.randomUUID();
+    private static final UUID BERSERK = UUID.randomUUID();
+
+    @Test
+    void reindexingATitleDropsItsPreviousValues() {
+        var index = new TitleFacetIndex();
+        index.put(NARUTO, Map.of(TitleFacet.TAG, Set.of("shonen", "action"), TitleFacet.TYPE, Set.of("MANGA")));
+        index.put(BERSERK, Map.of(TitleFacet.TAG, Set.of("action"), TitleFacet.TYPE, Set.of("MANGA")));
+
+        // The "shonen" tag got the slug "shounen"
+        index.put(NARUTO, Map.of(TitleFacet.TAG, Set.of("shounen", "action"), TitleFacet.TYPE, Set.of("MANGA")));
+
+        var result = index.count(Map.of(), 10);
+        assertThat(result.total()).isEqualTo(2);
+        assertThat(result.counts().get(TitleFacet.TAG)).containsExactly(
+                new TitleFacetIndex.ValueCount("action", 2),
+                new TitleFacetIndex.ValueCount("shounen", 1));
+        assertThat(index.count(Map.of(TitleFacet.TAG, Set.of("shonen")), 10).total()).isZero();
+    }
+
+    @Test
+    void countsOfASelectedFacetIgnoreItsOwnSelection() {
+        var index = new TitleFacetIndex();
+        index.put(NARUTO, Map.of(TitleFacet.TAG, Set.of("shonen"), TitleFacet.TYPE, Set.of("MANGA")));
+        index.put(BERSERK, Map.of(TitleFacet.TAG, Set.of("seinen"), TitleFacet.TYPE, Set.of("MANGA")));
+
+        var result = index.count(Map.of(TitleFacet.TAG, Set.of("shonen")), 10);
+
+        assertThat(result.total()).isEqualTo(1);
+        assertThat(result.counts().get(TitleFacet.TAG)).containsExactly(
+                new TitleFacetIndex.ValueCount("seinen", 1),
+                new TitleFacetIndex.ValueCount("shonen", 1));
+        assertThat(result.counts().get(TitleFacet.TYPE)).containsExactly(new TitleFacetIndex.ValueCount("MANGA", 1));
+    }
+
+    @Test
+    void filtersNarrowTheCountsOfTheirOwnFacet() {
+        var index = new TitleFacetIndex();
+        index.put(NARUTO, Map.of(TitleFacet.RELEASE_YEAR, Set.of("1999"), TitleFacet.TYPE, Set.of("MANGA")));
+        index.put(BERSERK, Map.of(TitleFacet.RELEASE_YEAR, Set.of("1989"), TitleFacet.TYPE, Set.of("MANGA")));
+
+        var result = index.count(Map.of(), Map.of(TitleFacet.RELEASE_YEAR, year -> Integer.parseInt(year) >= 1990), null, 10);
+
+        assertThat(result.total()).isEqualTo(1);
+        assertThat(result.counts().get(TitleFacet.RELEASE_YEAR)).containsExactly(new TitleFacetIndex.ValueCount("1999", 1));
+        assertThat(result.counts().get(TitleFacet.TYPE)).containsExactly(new TitleFacetIndex.ValueCount("MANGA", 1));
+    }
+
+    @Test
+    void countsAreLimitedToTheGivenTitles() {
+        var index = new TitleFacetIndex();
+        index.put(NARUTO, Map.of(TitleFacet.TAG, Set.of("shonen")));
+        index.put(BERSERK, Map.of(TitleFacet.TAG, Set.of("seinen")));
+
+        var result = index.count(Map.of(TitleFacet.TAG, Set.of("seinen")), Map.of(), Set.of(BERSERK, UUID.randomUUID()), 10);
+
+        assertThat(result.total()).isEqualTo(1);
+        assertThat(result.counts().get(TitleFacet.TAG)).containsExactly(new TitleFacetIndex.ValueCount("seinen", 1));
+    }
+
+    @Test
+    void removedTitlesAreNotCounted() {
+        var index = new TitleFacetIndex();
+        index.put(NARUTO, Map.of(TitleFacet.TAG, Set.of("shonen")));
+        index.put(BERSERK, Map.of(TitleFacet.TAG, Set.of("seinen")));
+
+        assertThat(index.remove(BERSERK)).isTrue();
+        assertThat(index.remove(BERSERK)).isFalse();
+
+        var result = index.count(Map.of(), 10);
+        assertThat(result.total()).isEqualTo(1);
+        assertThat(result.counts().get(TitleFacet.TAG)).containsExactly(new TitleFacetIndex.ValueCount("shonen", 1));
+    }
+
+}
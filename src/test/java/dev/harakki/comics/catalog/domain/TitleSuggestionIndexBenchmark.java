@@ -0,0 +1,135 @@
+package dev.harakki.comics.catalog.domain;
+
+import dev.harakki.comics.catalog.domain.TitleSuggestionIndex.Suggestion;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Latency of autocomplete over a synthetic catalog of titles, authors and tags with names made of random
+ * syllables, for prefixes typed keystroke by keystroke and for prefixes with one typo. Exact completions
+ * are checked against a scan of all keys. Run with {@code ./gradlew benchmark}.
+ */
+@Tag("benchmark")
+class TitleSuggestionIndexBenchmark {
+
+    private static final int K = 8;
+    private static final int QUERIES = 2_000;
+    private static final String[] SYLLABLES = {
+            "ka", "ki", "ku", "ke", "ko", "sa", "shi", "su", "se", "so", "ta", "chi", "tsu", "te", "to",
+            "na", "ni", "nu", "ne", "no", "ha", "hi", "fu", "he", "ho", "ma", "mi", "mu", "me", "mo",
+            "ra", "ri", "ru", "re", "ro", "ya", "yu", "yo", "wa", "n", "ga", "gi", "da", "de", "ba", "bo"
+    };
+
+    @ParameterizedTest
+    @ValueSource(ints = {10_000, 100_000})
+    void latency(int titles) {
+        var random = new SplittableRandom(7);
+        var index = new TitleSuggestionIndex(0.5f, 3);
+        var keys = new HashMap<UUID, List<String>>();
+        var suggestions = new HashMap<UUID, Suggestion>();
+        var names = new ArrayList<String>();
+
+        long started = System.nanoTime();
+        add(index, keys, suggestions, names, titles, SuggestionType.TITLE, 2, 4, random);
+        add(index, keys, suggestions, names, titles / 4, SuggestionType.AUTHOR, 2, 2, random);
+        add(index, keys, suggestions, names, 500, SuggestionType.TAG, 1, 2, random);
+        long buildMillis = (System.nanoTime() - started) / 1_000_000;
+
+        for (int q = 0; q < QUERIES; q++) {
+            var name = names.get(random.nextInt(names.size()));
+            index.suggest(name.substring(0, 1 + random.nextInt(name.length())), K);
+            index.suggest(typo(name, random), K);
+        }
+
+        long[] exactNanos = new long[QUERIES];
+        long[] typoNanos = new long[QUERIES];
+        for (int q = 0; q < QUERIES; q++) {
+            var name = names.get(random.nextInt(names.size()));
+            var prefix = name.substring(0, 1 + random.nextInt(name.length()));
+
+            started = System.nanoTime();
+            var completions = index.suggest(prefix, K);
+            exactNanos[q] = System.nanoTime() - started;
+
+            var typo = typo(name.substring(0, Math.min(name.length(), 3 + random.nextInt(6))), random);
+            started = System.nanoTime();
+            index.suggest(typo, K);
+            typoNanos[q] = System.nanoTime() - started;
+
+            // Completions one typo away may fill the list too, the exact ones among them have to be the best
+            var exact = completions.stream()
+                    .filter(s -> keys.get(s.id()).stream().anyMatch(key -> key.startsWith(prefix)))
+                    .map(Suggestion::weight)
+                    .toList();
+            var expected = suggestions.values().stream()
+                    .filter(s -> keys.get(s.id()).stream().anyMatch(key -> key.startsWith(prefix)))
+                    .map(Suggestion::weight)
+                    .sorted(Comparator.reverseOrder())
+                    .limit(K)
+                    .toList();
+            assertThat(exact).isEqualTo(expected.subList(0, exact.size()));
+            assertThat(completions).hasSizeGreaterThanOrEqualTo(Math.min(expected.size(), 1));
+        }
+
+        System.out.printf("Suggestions over %,d names: build %,d ms, prefix p50 %.3f ms p99 %.3f ms, "
+                        + "prefix with a typo p50 %.3f ms p99 %.3f ms%n",
+                index.size(), buildMillis,
+                percentile(exactNanos, 0.5), percentile(exactNanos, 0.99),
+                percentile(typoNanos, 0.5), percentile(typoNanos, 0.99));
+
+        assertThat(percentile(exactNanos, 0.99)).isLessThan(2.0);
+        assertThat(percentile(typoNanos, 0.99)).isLessThan(2.0);
+    }
+
+    private static void add(TitleSuggestionIndex index, Map<UUID, List<String>> keys, Map<UUID, Suggestion> suggestions,
+                            List<String> names, int count, SuggestionType type, int minWords, int maxWords,
+                            SplittableRandom random) {
+        for (int i = 0; i < count; i++) {
+            var words = new ArrayList<String>();
+            int wordCount = minWords + random.nextInt(maxWords - minWords + 1);
+            for (int w = 0; w < wordCount; w++) {
+                var word = new StringBuilder();
+                int syllables = 1 + random.nextInt(4);
+                for (int s = 0; s < syllables; s++) {
+                    word.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+                }
+                words.add(word.toString());
+            }
+            var name = String.join(" ", words);
+            var nameKeys = new ArrayList<String>();
+            for (int w = 0; w < words.size(); w++) {
+                nameKeys.add(String.join(" ", words.subList(w, words.size())));
+            }
+            // Popularity is heavily skewed, like in a real catalog
+            float weight = (float) Math.log1p(Math.pow(random.nextDouble(), 4) * 100_000) + 1;
+            var suggestion = new Suggestion(new UUID(type.ordinal(), i), type, name, name.replace(' ', '-'), weight);
+            index.put(suggestion, nameKeys);
+            keys.put(suggestion.id(), nameKeys);
+            suggestions.put(suggestion.id(), suggestion);
+            names.add(name);
+        }
+    }
+
+    private static String typo(String text, SplittableRandom random) {
+        var chars = new StringBuilder(text);
+        int at = random.nextInt(chars.length());
+        switch (random.nextInt(3)) {
+            case 0 -> chars.deleteCharAt(at);
+            case 1 -> chars.insert(at, (char) ('a' + random.nextInt(26)));
+            default -> chars.setCharAt(at, (char) ('a' + random.nextInt(26)));
+        }
+        return chars.toString();
+    }
+
+    private static double percentile(long[] nanos, double p) {
+        long[] sorted = nanos.clone();
+        Arrays.sort(sorted);
+        return sorted[(int) Math.min(sorted.length - 1, Math.floor(p * sorted.length))] / 1e6;
+    }
+
+}
@@ -0,0 +1,182 @@
+package dev.harakki.comics.catalog.infrastructure;
+
+import dev.harakki.comics.catalog.domain.Tag_;
+import dev.harakki.comics.catalog.domain.Title;
+import dev.harakki.comics.catalog.domain.Title_;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.postgresql.PostgreSQLContainer;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Title search over 100k titles: the former single query fetching the author and tag graphs with the
+ * page (paginated in memory by Hibernate, with a join for the tag filter) against the two-phase
+ * ID page plus graph fetch with an {@code EXISTS} tag filter. Run with {@code ./gradlew benchmark}.
+ */
+@Tag("benchmark")
+@Testcontainers
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class TitleSearchBenchmark {
+
+    private static final int TITLES = 100_000;
+    private static final int TAGS = 200;
+    private static final int AUTHORS = 20_000;
+    private static final int WARMUP = 3;
+    private static final int RUNS = 10;
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer postgres = new PostgreSQLContainer("postgres:latest");
+
+    @Autowired
+    TitleRepository titleRepository;
+
+    @Autowired
+    EntityManager entityManager;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Test
+    void searchTitles() {
+        seed();
+
+        var byName = PageRequest.of(0, 20, Sort.by(Title_.NAME));
+        var deepPage = PageRequest.of(250, 20, Sort.by(Title_.NAME));
+        var tags = Set.of("tag-7", "tag-42");
+
+        compare("first page, no filter", null, null, byName);
+        compare("page 250, no filter", null, null, deepPage);
+        compare("first page, two tags", tags, TitleSpecifications.hasAnyTag(tags), byName);
+        compare("first page, name search", null, nameLike("%title 1234%"), byName);
+    }
+
+    private void compare(String scenario, Set<String> joinedTags, Specification<Title> spec, Pageable pageable) {
+        var former = measure(() -> fetchGraphPage(joinedTags, spec, pageable));
+        var twoPhase = measure(() -> twoPhasePage(spec, pageable));
+
+        System.out.printf("[benchmark] %-24s fetch-graph page p50 %8.2f ms | two-phase p50 %6.2f ms%n",
+                scenario, former.millis(), twoPhase.millis());
+
+        assertThat(twoPhase.ids()).doesNotHaveDuplicates();
+        assertThat(twoPhase.ids()).containsExactlyInAnyOrderElementsOf(former.ids().stream().distinct().toList());
+        assertThat(twoPhase.millis()).isLessThan(former.millis());
+    }
+
+    /**
+     * The former query: graphs fetched together with the page, so Hibernate reads all matches and
+     * applies the limit in memory (HHH90003004). The tag filter joins the tags.
+     */
+    private List<UUID> fetchGraphPage(Set<String> joinedTags, Specification<Title> spec, Pageable pageable) {
+        var cb = entityManager.getCriteriaBuilder();
+        var query = cb.createQuery(Title.class);
+        var root = query.from(Title.class);
+        if (joinedTags != null) {
+            query.where(root.join(Title_.tags).get(Tag_.slug).in(joinedTags));
+        } else if (spec != null) {
+            query.where(spec.toPredicate(root, query, cb));
+        }
+        query.orderBy(QueryUtils.toOrders(pageable.getSort(), root, cb));
+
+        var graph = entityManager.createEntityGraph(Title.class);
+        graph.addSubgraph(Title_.authors).addAttributeNodes("author");
+        graph.addAttributeNodes(Title_.TAGS, Title_.PUBLISHER);
+
+        return entityManager.createQuery(query)
+                .setHint("jakarta.persistence.fetchgraph", graph)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize())
+                .getResultList().stream()
+                .map(Title::getId)
+                .toList();
+    }
+
+    private List<UUID> twoPhasePage(Specification<Title> spec, Pageable pageable) {
+        var ids = titleRepository.findIds(spec, pageable);
+        var titles = titleRepository.findByIdInOrderById(ids);
+        titles.forEach(title -> title.getTags().size());
+        return ids;
+    }
+
+    private Result measure(Supplier<List<UUID>> search) {
+        List<UUID> ids = List.of();
+        long[] nanos = new long[RUNS];
+        for (int run = -WARMUP; run < RUNS; run++) {
+            entityManager.clear();
+            long started = System.nanoTime();
+            ids = search.get();
+            if (run >= 0) {
+                nanos[run] = System.nanoTime() - started;
+            }
+        }
+        Arrays.sort(nanos);
+        return new Result(ids, nanos[RUNS / 2] / 1e6);
+    }
+
+    private record Result(List<UUID> ids, double millis) {
+    }
+
+    private static Specification<Title> nameLike(String pattern) {
+        return (root, query, cb) -> cb.like(cb.lower(root.get(Title_.name)), pattern);
+    }
+
+    private void seed() {
+        jdbcTemplate.update("""
+                INSERT INTO tags (id, name, slug, type, created_at, version)
+                SELECT gen_random_uuid(), 'Tag ' || i, 'tag-' || i, 'GENRE', now(), 0
+                FROM generate_series(1, ?) i
+                """, TAGS);
+        jdbcTemplate.update("""
+                INSERT INTO authors (id, name, slug, created_at, version)
+                SELECT gen_random_uuid(), 'Author ' || i, 'author-' || i, now(), 0
+                FROM generate_series(1, ?) i
+                """, AUTHORS);
+        jdbcTemplate.update("""
+                INSERT INTO titles (id, name, slug, type, title_status, content_rating, is_licensed, created_at, version)
+                SELECT gen_random_uuid(), 'Title ' || lpad(i::text, 6, '0'), 'title-' || i,
+                       (ARRAY['COMIC', 'MANGA', 'MANHWA'])[1 + i % 3],
+                       (ARRAY['ONGOING', 'COMPLETED'])[1 + i % 2],
+                       (ARRAY['SIX_PLUS', 'TWELVE_PLUS', 'SIXTEEN_PLUS'])[1 + i % 3],
+                       false, now(), 0
+                FROM generate_series(1, ?) i
+                """, TITLES);
+        // Four tags and two authors per title
+        jdbcTemplate.update("""
+                WITH t AS (SELECT id, row_number() OVER (ORDER BY slug) AS n FROM titles),
+                     g AS (SELECT id, row_number() OVER (ORDER BY slug) AS n FROM tags)
+                INSERT INTO title_tags (title_id, tag_id)
+                SELECT DISTINCT t.id, g.id FROM t CROSS JOIN generate_series(0, 3) k
+                JOIN g ON g.n = 1 + (t.n * 7 + k * 53) % ?
+                """, TAGS);
+        jdbcTemplate.update("""
+                WITH t AS (SELECT id, row_number() OVER (ORDER BY slug) AS n FROM titles),
+                     a AS (SELECT id, row_number() OVER (ORDER BY slug) AS n FROM authors)
+                INSERT INTO title_authors (id, title_id, author_id, role, sort_order, version)
+                SELECT gen_random_uuid(), t.id, a.id, 'STORY_AND_ART', k, 0 FROM t CROSS JOIN generate_series(0, 1) k
+                JOIN a ON a.n = 1 + (t.n * 3 + k * 101) % ?
+                """, AUTHORS);
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+}
@@ -1,14 +1,20 @@
 package dev.harakki.comics.catalog.web;
 
+import dev.harakki.comics.catalog.application.TitleFacetService;
 import dev.harakki.comics.catalog.application.TitleService;
+import dev.harakki.comics.catalog.application.TitleSuggestService;
+import dev.harakki.comics.catalog.application.TitleTextSearchService;
 import dev.harakki.comics.catalog.domain.AuthorRole;
+import dev.harakki.comics.catalog.domain.SuggestionType;
 import dev.harakki.comics.catalog.domain.ContentRating;
 import dev.harakki.comics.catalog.domain.TitleStatus;
 import dev.harakki.comics.catalog.domain.TitleType;
 import dev.harakki.comics.catalog.dto.*;
 import dev.harakki.comics.shared.config.SecurityConfig;
+import dev.harakki.comics.shared.exception.InvalidCursorException;
 import dev.harakki.comics.shared.exception.ResourceAlreadyExistsException;
 import dev.harakki.comics.shared.exception.ResourceNotFoundException;
+import dev.harakki.comics.shared.pagination.CursorPage;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -25,12 +31,17 @@ import tools.jackson.databind.json.JsonMapper;
 
 import java.time.Year;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -55,6 +66,15 @@ class TitleControllerTest {
     @MockitoBean
     TitleService titleService;
 
+    @MockitoBean
+    TitleTextSearchService titleTextSearchService;
+
+    @MockitoBean
+    TitleSuggestService titleSuggestService;
+
+    @MockitoBean
+    TitleFacetService titleFacetService;
+
     TitleCreateRequest title;
 
     @BeforeEach
@@ -217,13 +237,83 @@ class TitleControllerTest {
 
     @Test
     void searchTitles_ok() throws Exception {
-        when(titleService.getAll(any(), any())).thenReturn(Page.empty());
+        when(titleService.getAll(any(), any(), any())).thenReturn(Page.empty());
 
         mockMvc.perform(get("/api/v1/titles")
                         .with(jwt().authorities(new SimpleGrantedAuthority("ROLE_ADMIN"))))
                 .andExpect(status().isOk());
     }
 
+    @Test
+    void searchTitles_byRelevance_ok() throws Exception {
+        when(titleService.getAll(any(), eq("chainsaw man"), any())).thenReturn(Page.empty());
+
+        mockMvc.perform(get("/api/v1/titles")
+                        .param("search", "chainsaw man")
+                        .param("sort", "relevance"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void lookupTitles_ok() throws Exception {
+        var hit = new TitleSearchHitResponse(UUID.randomUUID(), "Naruto", "naruto", 4.2f);
+        when(titleTextSearchService.search("наруто", 5)).thenReturn(List.of(hit));
+
+        mockMvc.perform(get("/api/v1/titles/search")
+                        .param("q", "наруто")
+                        .param("limit", "5"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void suggestTitles_ok() throws Exception {
+        var suggestion = new TitleSuggestionResponse(UUID.randomUUID(), SuggestionType.TITLE, "Chainsaw Man", "chainsaw-man");
+        when(titleSuggestService.suggest("chainsw", 8)).thenReturn(List.of(suggestion));
+
+        mockMvc.perform(get("/api/v1/titles/suggest")
+                        .param("q", "chainsw"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void getTitleFacets_ok() throws Exception {
+        when(titleFacetService.getFacets(eq(Set.of("action")), eq(Set.of(TitleType.MANGA)), any(),
+                eq(ContentRating.SIXTEEN_PLUS), any(), any(), eq(2000), any(), eq("chainsaw")))
+                .thenReturn(new TitleFacetsResponse(0, Map.of()));
+
+        mockMvc.perform(get("/api/v1/titles/facets")
+                        .param("tags", "action")
+                        .param("type", "MANGA")
+                        .param("contentRating", "SIXTEEN_PLUS")
+                        .param("yearFrom", "2000")
+                        .param("search", "chainsaw"))
+                .andExpect(status().isOk());
+
+        verify(titleFacetService).getFacets(any(), any(), any(), any(), any(), any(), eq(2000), isNull(), eq("chainsaw"));
+    }
+
+    // SCROLL TITLES
+
+    @Test
+    void scrollTitles_ok() throws Exception {
+        when(titleService.scroll(any(), any(), any(), anyInt(), anyBoolean()))
+                .thenReturn(new CursorPage<>(List.of(), null, null));
+
+        mockMvc.perform(get("/api/v1/titles/scroll")
+                        .param("sort", "createdAt,desc"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void scrollTitles_invalidCursor() throws Exception {
+        when(titleService.scroll(any(), any(), eq("garbage"), anyInt(), anyBoolean()))
+                .thenThrow(new InvalidCursorException("Invalid cursor"));
+
+        mockMvc.perform(get("/api/v1/titles/scroll")
+                        .param("cursor", "garbage"))
+                .andExpect(status().isBadRequest());
+    }
+
     // DELETE TITLE
 
     @Test
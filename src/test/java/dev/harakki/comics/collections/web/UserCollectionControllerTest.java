@@ -5,7 +5,9 @@ import dev.harakki.comics.collections.dto.CollectionCreateRequest;
 import dev.harakki.comics.collections.dto.CollectionUpdateRequest;
 import dev.harakki.comics.collections.dto.UserCollectionResponse;
 import dev.harakki.comics.shared.config.SecurityConfig;
+import dev.harakki.comics.shared.exception.InvalidCursorException;
 import dev.harakki.comics.shared.exception.ResourceNotFoundException;
+import dev.harakki.comics.shared.pagination.CursorPage;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -26,6 +28,8 @@ import java.util.List;
 import java.util.UUID;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.when;
@@ -123,6 +127,28 @@ class UserCollectionControllerTest {
                 .andExpect(status().isOk());
     }
 
+    // SCROLL PUBLIC COLLECTIONS
+
+    @Test
+    void scroll_ok() throws Exception {
+        when(collectionService.scroll(any(), any(), any(), anyInt(), anyBoolean()))
+                .thenReturn(new CursorPage<>(List.of(), null, null));
+
+        mockMvc.perform(get("/api/v1/collections/scroll")
+                        .param("sort", "createdAt,desc"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void scroll_invalidCursor() throws Exception {
+        when(collectionService.scroll(any(), any(), eq("garbage"), anyInt(), anyBoolean()))
+                .thenThrow(new InvalidCursorException("Invalid cursor"));
+
+        mockMvc.perform(get("/api/v1/collections/scroll")
+                        .param("cursor", "garbage"))
+                .andExpect(status().isBadRequest());
+    }
+
     // GET MY COLLECTIONS
 
     @Test
@@ -0,0 +1,75 @@
+package dev.harakki.comics.home.web;
+
+import dev.harakki.comics.home.application.HomeService;
+import dev.harakki.comics.home.domain.ShelfType;
+import dev.harakki.comics.home.dto.HomeResponse;
+import dev.harakki.comics.home.dto.ShelfItemResponse;
+import dev.harakki.comics.home.dto.ShelfResponse;
+import dev.harakki.comics.home.dto.TitleCardResponse;
+import dev.harakki.comics.shared.config.SecurityConfig;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.webmvc.test.autoconfigure.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationConverter;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Instant;
+import java.time.Year;
+import java.util.List;
+import java.util.UUID;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(HomeController.class)
+@Import(SecurityConfig.class)
+class HomeControllerTest {
+
+    @MockitoBean
+    JwtAuthenticationConverter jwtAuthenticationConverter;
+
+    @MockitoBean
+    JwtDecoder jwtDecoder;
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @MockitoBean
+    HomeService homeService;
+
+    // GET HOME
+
+    @Test
+    void getHome_ok() throws Exception {
+        UUID titleId = UUID.randomUUID();
+        UUID chapterId = UUID.randomUUID();
+        var card = new TitleCardResponse(titleId, "Title", "title", "MANGA", "ONGOING", "TWELVE_PLUS", Year.of(2024), null);
+        var shelf = new ShelfResponse(ShelfType.LATEST_UPDATES, 3,
+                List.of(new ShelfItemResponse(card, chapterId, "12", Instant.parse("2026-01-29T10:00:00Z"))));
+        when(homeService.getHome()).thenReturn(new HomeService.Home("\"abc-3\"", new HomeResponse(List.of(shelf))));
+
+        mockMvc.perform(get("/api/v1/home"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"abc-3\""))
+                .andExpect(header().string("Cache-Control", "max-age=30, public"))
+                .andExpect(jsonPath("$.shelves[0].type").value("LATEST_UPDATES"))
+                .andExpect(jsonPath("$.shelves[0].items[0].title.slug").value("title"))
+                .andExpect(jsonPath("$.shelves[0].items[0].chapterNumber").value("12"));
+    }
+
+    @Test
+    void getHome_notModified() throws Exception {
+        when(homeService.getHome()).thenReturn(new HomeService.Home("\"abc-3\"", new HomeResponse(List.of())));
+
+        mockMvc.perform(get("/api/v1/home")
+                        .header("If-None-Match", "\"abc-3\""))
+                .andExpect(status().isNotModified());
+    }
+
+}
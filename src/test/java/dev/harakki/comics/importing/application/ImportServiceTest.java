@@ -0,0 +1,83 @@
+package dev.harakki.comics.importing.application;
+
+import dev.harakki.comics.importing.dto.CatalogImportRequest;
+import dev.harakki.comics.shared.exception.ResourceInUseException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.batch.core.job.Job;
+import org.springframework.batch.core.job.JobExecution;
+import org.springframework.batch.core.job.parameters.JobParameters;
+import org.springframework.batch.core.launch.JobOperator;
+import org.springframework.batch.core.repository.JobRepository;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * The launcher runs synchronously here, as without the {@code @Async} proxy, so a blocked job stands
+ * for one still running in the background.
+ */
+class ImportServiceTest {
+
+    private static final CatalogImportRequest REQUEST = new CatalogImportRequest("authors.ndjson", null, null, null);
+
+    @TempDir
+    Path directory;
+
+    JobRepository jobRepository = mock(JobRepository.class);
+    JobOperator jobOperator = mock(JobOperator.class);
+    ImportService importService;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        Files.writeString(directory.resolve("authors.ndjson"), "");
+        var launcher = new ImportJobLauncher(jobOperator, mock(Job.class));
+        importService = new ImportService(jobRepository, launcher, directory.toString());
+    }
+
+    @Test
+    void onlyOneImportStartsAtATime() throws Exception {
+        var started = new CountDownLatch(1);
+        var finish = new CountDownLatch(1);
+        when(jobOperator.start(any(Job.class), any(JobParameters.class))).thenAnswer(_ -> {
+            started.countDown();
+            finish.await();
+            return mock(JobExecution.class);
+        });
+
+        var first = CompletableFuture.runAsync(() -> importService.start(REQUEST));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // Not in the job repository yet, the reservation alone keeps the second one out
+        assertThatThrownBy(() -> importService.start(REQUEST)).isInstanceOf(ResourceInUseException.class);
+
+        finish.countDown();
+        first.get(5, TimeUnit.SECONDS);
+        importService.start(REQUEST);
+        verify(jobOperator, times(2)).start(any(Job.class), any(JobParameters.class));
+    }
+
+    @Test
+    void runningExecutionInTheRepositoryBlocksAStart() throws Exception {
+        when(jobRepository.findRunningJobExecutions(CatalogImportJobConfiguration.JOB_NAME))
+                .thenReturn(Set.of(mock(JobExecution.class)))
+                .thenReturn(Set.of());
+
+        assertThatThrownBy(() -> importService.start(REQUEST)).isInstanceOf(ResourceInUseException.class);
+
+        // The failed attempt gave its reservation back
+        importService.start(REQUEST);
+        verify(jobOperator).start(any(Job.class), any(JobParameters.class));
+    }
+
+}
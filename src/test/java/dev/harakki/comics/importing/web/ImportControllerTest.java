@@ -0,0 +1,143 @@
+package dev.harakki.comics.importing.web;
+
+import dev.harakki.comics.importing.application.ImportService;
+import dev.harakki.comics.importing.dto.CatalogImportRequest;
+import dev.harakki.comics.importing.dto.ImportExecutionResponse;
+import dev.harakki.comics.importing.dto.ImportStepResponse;
+import dev.harakki.comics.shared.config.SecurityConfig;
+import dev.harakki.comics.shared.exception.ResourceInUseException;
+import dev.harakki.comics.shared.exception.ResourceNotFoundException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.webmvc.test.autoconfigure.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationConverter;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(ImportController.class)
+@Import(SecurityConfig.class)
+class ImportControllerTest {
+
+    @MockitoBean
+    JwtAuthenticationConverter jwtAuthenticationConverter;
+
+    @MockitoBean
+    JwtDecoder jwtDecoder;
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    JsonMapper jsonMapper;
+
+    @MockitoBean
+    ImportService importService;
+
+    CatalogImportRequest request = new CatalogImportRequest("authors.ndjson", "tags.csv", "titles.ndjson", null);
+
+    // START IMPORT
+
+    @Test
+    void startImport_accepted() throws Exception {
+        mockMvc.perform(post("/api/v1/imports")
+                        .with(jwt().authorities(new SimpleGrantedAuthority("ROLE_ADMIN")))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(jsonMapper.writeValueAsString(request)))
+                .andExpect(status().isAccepted());
+
+        verify(importService).start(request);
+    }
+
+    @Test
+    void startImport_noFiles_badRequest() throws Exception {
+        mockMvc.perform(post("/api/v1/imports")
+                        .with(jwt().authorities(new SimpleGrantedAuthority("ROLE_ADMIN")))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(jsonMapper.writeValueAsString(new CatalogImportRequest(null, null, null, null))))
+                .andExpect(status().isBadRequest());
+
+        verify(importService, never()).start(any());
+    }
+
+    @Test
+    void startImport_running_conflict() throws Exception {
+        doThrow(new ResourceInUseException("A catalog import is already running")).when(importService).start(request);
+
+        mockMvc.perform(post("/api/v1/imports")
+                        .with(jwt().authorities(new SimpleGrantedAuthority("ROLE_ADMIN")))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(jsonMapper.writeValueAsString(request)))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    void startImport_forbidden() throws Exception {
+        mockMvc.perform(post("/api/v1/imports")
+                        .with(jwt().authorities(new SimpleGrantedAuthority("ROLE_USER")))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(jsonMapper.writeValueAsString(request)))
+                .andExpect(status().isForbidden());
+
+        verify(importService, never()).start(any());
+    }
+
+    // RESTART IMPORT
+
+    @Test
+    void restartImport_accepted() throws Exception {
+        mockMvc.perform(post("/api/v1/imports/42/restart")
+                        .with(jwt().authorities(new SimpleGrantedAuthority("ROLE_ADMIN"))))
+                .andExpect(status().isAccepted());
+
+        verify(importService).restart(42);
+    }
+
+    @Test
+    void restartImport_notFound() throws Exception {
+        doThrow(new ResourceNotFoundException("Import execution with id 42 not found")).when(importService).restart(42);
+
+        mockMvc.perform(post("/api/v1/imports/42/restart")
+                        .with(jwt().authorities(new SimpleGrantedAuthority("ROLE_ADMIN"))))
+                .andExpect(status().isNotFound());
+    }
+
+    // GET IMPORTS
+
+    @Test
+    void getImports_ok() throws Exception {
+        var step = new ImportStepResponse("titleImportStep", "COMPLETED", 1000, 990, 8, 2, 12500.0);
+        when(importService.getExecutions(20)).thenReturn(List.of(new ImportExecutionResponse(
+                42, "COMPLETED", Instant.parse("2026-01-29T10:00:00Z"), Instant.parse("2026-01-29T10:00:01Z"), List.of(step))));
+
+        mockMvc.perform(get("/api/v1/imports")
+                        .with(jwt().authorities(new SimpleGrantedAuthority("ROLE_ADMIN"))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(42))
+                .andExpect(jsonPath("$[0].steps[0].imported").value(990))
+                .andExpect(jsonPath("$[0].steps[0].rowsPerSecond").value(12500.0));
+    }
+
+    @Test
+    void getImports_forbidden() throws Exception {
+        mockMvc.perform(get("/api/v1/imports")
+                        .with(jwt().authorities(new SimpleGrantedAuthority("ROLE_USER"))))
+                .andExpect(status().isForbidden());
+    }
+
+}
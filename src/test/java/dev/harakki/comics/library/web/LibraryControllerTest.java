@@ -6,7 +6,9 @@ import dev.harakki.comics.library.domain.ReadingStatus;
 import dev.harakki.comics.library.dto.LibraryEntryCreateRequest;
 import dev.harakki.comics.library.dto.LibraryEntryResponse;
 import dev.harakki.comics.library.dto.LibraryEntryUpdateRequest;
+import dev.harakki.comics.shared.pagination.CursorPage;
 import dev.harakki.comics.shared.config.SecurityConfig;
+import dev.harakki.comics.shared.exception.InvalidCursorException;
 import dev.harakki.comics.shared.exception.ResourceAlreadyExistsException;
 import dev.harakki.comics.shared.exception.ResourceNotFoundException;
 import org.junit.jupiter.api.BeforeEach;
@@ -25,9 +27,12 @@ import org.springframework.test.web.servlet.MockMvc;
 import tools.jackson.databind.json.JsonMapper;
 
 import java.time.Instant;
+import java.util.List;
 import java.util.UUID;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.when;
@@ -287,6 +292,36 @@ class LibraryControllerTest {
                 .andExpect(status().isUnauthorized());
     }
 
+    // SCROLL MY LIBRARY
+
+    @Test
+    void scrollMyLibrary_ok() throws Exception {
+        when(libraryService.scrollLibrary(any(), any(), any(), anyInt(), anyBoolean()))
+                .thenReturn(new CursorPage<>(List.of(), null, null));
+
+        mockMvc.perform(get("/api/v1/library/scroll")
+                        .with(jwt().authorities(new SimpleGrantedAuthority("ROLE_USER")))
+                        .param("sort", "createdAt,desc"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void scrollMyLibrary_invalidCursor() throws Exception {
+        when(libraryService.scrollLibrary(any(), any(), eq("garbage"), anyInt(), anyBoolean()))
+                .thenThrow(new InvalidCursorException("Invalid cursor"));
+
+        mockMvc.perform(get("/api/v1/library/scroll")
+                        .with(jwt().authorities(new SimpleGrantedAuthority("ROLE_USER")))
+                        .param("cursor", "garbage"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void scrollMyLibrary_unauthorized() throws Exception {
+        mockMvc.perform(get("/api/v1/library/scroll"))
+                .andExpect(status().isUnauthorized());
+    }
+
     // GET LIBRARY BY STATUS
 
     @Test
@@ -0,0 +1,174 @@
+package dev.harakki.comics.recommendations.application;
+
+import dev.harakki.comics.analytics.api.InteractionSignalProvider;
+import dev.harakki.comics.analytics.api.InteractionSignalProvider.TitleSignal;
+import dev.harakki.comics.analytics.api.InteractionSignalProvider.TitleSignalPage;
+import dev.harakki.comics.library.api.LibraryEntryProvider;
+import dev.harakki.comics.library.api.LibraryEntryProvider.LibraryTitle;
+import dev.harakki.comics.library.api.VoteType;
+import dev.harakki.comics.recommendations.domain.FactorModel;
+import dev.harakki.comics.recommendations.infrastructure.AlsFactorStore;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.configuration.support.MapJobRegistry;
+import org.springframework.batch.core.job.parameters.JobParametersBuilder;
+import org.springframework.batch.core.launch.support.TaskExecutorJobOperator;
+import org.springframework.batch.core.repository.support.ResourcelessJobRepository;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.TreeSet;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tracks the wall time of the ALS training job against the dataset size. Users belong to one of a
+ * few taste clusters and mostly read titles of their cluster, so the trained model has to recommend
+ * unread titles of the same cluster. Run with {@code ./gradlew benchmark}.
+ */
+@Tag("benchmark")
+class AlsTrainingBenchmark {
+
+    private static final int CLUSTERS = 20;
+    private static final int TITLES_PER_USER = 30;
+    private static final int ITERATIONS = 5;
+
+    @TempDir
+    Path dir;
+
+    @ParameterizedTest
+    @ValueSource(ints = {10_000, 30_000, 90_000})
+    void trainingTime(int users) throws Exception {
+        int titles = users / 10;
+        var dataset = Dataset.generate(users, titles, 42);
+
+        var context = new AlsTrainingContext(32, 0.1, 10, ITERATIONS, 42, 0);
+        var store = new AlsFactorStore(dir.resolve("als-factors.bin"));
+        var jobRepository = new ResourcelessJobRepository();
+        var job = new AlsTrainingJobConfiguration(jobRepository, context, 1000, 1000, 0, 2, 3, 1)
+                .alsTrainingJob(dataset, dataset::signalPage, store);
+        var jobOperator = new TaskExecutorJobOperator();
+        jobOperator.setJobRepository(jobRepository);
+        jobOperator.setJobRegistry(new MapJobRegistry());
+        jobOperator.afterPropertiesSet();
+
+        long started = System.nanoTime();
+        var execution = jobOperator.start(job, new JobParametersBuilder().addLong("startedAt", System.currentTimeMillis()).toJobParameters());
+        long millis = (System.nanoTime() - started) / 1_000_000;
+
+        assertThat(execution.getStatus()).isEqualTo(BatchStatus.COMPLETED);
+        var model = store.load().orElseThrow();
+        double precision = clusterPrecision(model, dataset, 200);
+        System.out.printf("ALS training: %,d users, %,d titles, %,d signals, %d iterations on %d cores: %,d ms, cluster precision %.2f%n",
+                users, titles, dataset.signals().size(), ITERATIONS, context.parallelism(), millis, precision);
+        context.shutdown();
+
+        assertThat(model.userCount()).isEqualTo(users);
+        assertThat(precision).isGreaterThan(0.8);
+    }
+
+    /**
+     * Share of the top-10 recommendations of sampled users that belong to the user's own cluster.
+     */
+    private static double clusterPrecision(FactorModel model, Dataset dataset, int sampledUsers) {
+        int hits = 0;
+        int total = 0;
+        for (int u = 0; u < sampledUsers; u++) {
+            int cluster = dataset.clusterOfUser(u);
+            for (var recommendation : model.recommend(Dataset.id(u), 10, _ -> false)) {
+                total++;
+                if (dataset.clusterOfTitle(recommendation.titleId()) == cluster) {
+                    hits++;
+                }
+            }
+        }
+        return total == 0 ? 0 : (double) hits / total;
+    }
+
+    /**
+     * Synthetic users and titles with sequential ids, so keyset order is plain index order.
+     */
+    private record Dataset(int users, int titles, List<LibraryTitle> library, List<TitleSignal> signals) implements LibraryEntryProvider {
+
+        static Dataset generate(int users, int titles, long seed) {
+            var random = new SplittableRandom(seed);
+            List<LibraryTitle> library = new ArrayList<>();
+            List<TitleSignal> signals = new ArrayList<>();
+            int clusterSize = titles / CLUSTERS;
+            for (int u = 0; u < users; u++) {
+                int cluster = u % CLUSTERS;
+                var read = new TreeSet<Integer>();
+                while (read.size() < TITLES_PER_USER) {
+                    // 90% of the reads in the user's cluster
+                    read.add(random.nextInt(10) < 9
+                            ? cluster * clusterSize + random.nextInt(clusterSize)
+                            : random.nextInt(titles));
+                }
+                for (int t : read) {
+                    signals.add(new TitleSignal(id(u), id(users + t), 1 + random.nextInt(20), false, false, false, false));
+                    if (random.nextInt(4) == 0) {
+                        var vote = random.nextInt(3) == 0 ? VoteType.LIKE : null;
+                        library.add(new LibraryTitle(id(library.size()), id(u), id(users + t), vote));
+                    }
+                }
+            }
+            return new Dataset(users, titles, library, signals);
+        }
+
+        static UUID id(int index) {
+            return new UUID(0, index + 1);
+        }
+
+        int clusterOfUser(int user) {
+            return user % CLUSTERS;
+        }
+
+        int clusterOfTitle(UUID titleId) {
+            int title = (int) titleId.getLeastSignificantBits() - 1 - users;
+            return Math.min(title / (titles / CLUSTERS), CLUSTERS - 1);
+        }
+
+        @Override
+        public List<LibraryTitle> getLibraryTitles(UUID afterEntryId, int limit) {
+            int from = (int) afterEntryId.getLeastSignificantBits();
+            return library.subList(Math.min(from, library.size()), Math.min(from + limit, library.size()));
+        }
+
+        @Override
+        public Set<UUID> getLibraryTitleIds(UUID userId) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Map<UUID, Set<UUID>> getLibraryTitleIds(Collection<UUID> userIds) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public List<LibraryCounts> getLibraryCounts(UUID afterUserId, int userLimit) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public LibraryCounts getLibraryCounts(UUID userId) {
+            throw new UnsupportedOperationException();
+        }
+
+        TitleSignalPage signalPage(UUID afterUserId, int userLimit) {
+            int from = (int) afterUserId.getLeastSignificantBits() * TITLES_PER_USER;
+            int to = from + userLimit * TITLES_PER_USER;
+            var page = signals.subList(Math.min(from, signals.size()), Math.min(to, signals.size()));
+            return new TitleSignalPage(page, page.isEmpty() ? null : page.getLast().userId());
+        }
+    }
+
+}
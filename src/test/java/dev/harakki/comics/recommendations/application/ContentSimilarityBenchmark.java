@@ -0,0 +1,144 @@
+package dev.harakki.comics.recommendations.application;
+
+import dev.harakki.comics.catalog.api.TitleFeatureProvider.TitleFeatures;
+import dev.harakki.comics.recommendations.domain.HnswIndex;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.*;
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Recall and latency of the HNSW index against a brute-force scan, over a synthetic catalog with
+ * genre-clustered tags, authors, publishers, types and content ratings. A result counts as a hit
+ * when it is at least as similar as the k-th exact neighbour, since many titles tie.
+ * Run with {@code ./gradlew benchmark}.
+ */
+@Tag("benchmark")
+class ContentSimilarityBenchmark {
+
+    private static final int K = 10;
+    private static final int QUERIES = 1_000;
+    private static final int GENRES = 40;
+    private static final int TAGS_PER_GENRE = 15;
+    private static final String[] TYPES = {"COMIC", "MANGA", "MANHWA", "MANHUA", "ARTBOOK", "NOVEL"};
+    private static final String[] RATINGS = {"SIX_PLUS", "TWELVE_PLUS", "SIXTEEN_PLUS", "EIGHTEEN_PLUS"};
+
+    private final TitleFeatureEncoder encoder = new TitleFeatureEncoder(256, 1.0f, 0.8f, 0.3f, 0.5f, 0.3f);
+
+    @ParameterizedTest
+    @ValueSource(ints = {10_000, 50_000})
+    void recallAndLatency(int titles) throws IOException {
+        var random = new SplittableRandom(7);
+        UUID[] ids = new UUID[titles];
+        float[][] vectors = new float[titles][];
+        for (int t = 0; t < titles; t++) {
+            ids[t] = new UUID(random.nextLong(), random.nextLong());
+            vectors[t] = encoder.encode(features(ids[t], titles, random));
+        }
+
+        var index = new HnswIndex(encoder.dimension(), 16, 100, 42);
+        long started = System.nanoTime();
+        for (int t = 0; t < titles; t++) {
+            index.put(ids[t], vectors[t]);
+        }
+        long buildMillis = (System.nanoTime() - started) / 1_000_000;
+
+        var bytes = new ByteArrayOutputStream();
+        index.writeTo(new DataOutputStream(bytes));
+        started = System.nanoTime();
+        var loaded = HnswIndex.readFrom(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())), encoder.dimension(), 16, 100, 42);
+        long loadMillis = (System.nanoTime() - started) / 1_000_000;
+
+        long[] exactNanos = new long[QUERIES];
+        long[] hnswNanos = new long[QUERIES];
+        int hits = 0;
+        for (int q = 0; q < QUERIES; q++) {
+            int query = random.nextInt(titles);
+
+            started = System.nanoTime();
+            float kth = bruteForceKth(vectors, query);
+            exactNanos[q] = System.nanoTime() - started;
+
+            started = System.nanoTime();
+            var matches = index.similar(ids[query], K, 64);
+            hnswNanos[q] = System.nanoTime() - started;
+
+            for (var match : matches) {
+                if (match.similarity() >= kth - 1e-5f) {
+                    hits++;
+                }
+            }
+            assertThat(loaded.similar(ids[query], K, 64)).isEqualTo(matches);
+        }
+        double recall = (double) hits / (QUERIES * K);
+
+        System.out.printf("HNSW over %,d titles: build %,d ms, snapshot %,d KB loaded in %,d ms, recall@%d %.3f, "
+                        + "latency p50 %.3f ms p99 %.3f ms vs brute force p50 %.3f ms p99 %.3f ms%n",
+                titles, buildMillis, bytes.size() / 1024, loadMillis, K, recall,
+                percentile(hnswNanos, 0.5), percentile(hnswNanos, 0.99),
+                percentile(exactNanos, 0.5), percentile(exactNanos, 0.99));
+
+        assertThat(recall).isGreaterThan(0.95);
+        assertThat(percentile(hnswNanos, 0.5)).isLessThan(percentile(exactNanos, 0.5));
+    }
+
+    private static float bruteForceKth(float[][] vectors, int query) {
+        var top = new float[K];
+        Arrays.fill(top, Float.NEGATIVE_INFINITY);
+        for (int t = 0; t < vectors.length; t++) {
+            if (t == query) {
+                continue;
+            }
+            float s = 0;
+            for (int d = 0; d < vectors[t].length; d++) {
+                s += vectors[query][d] * vectors[t][d];
+            }
+            if (s > top[K - 1]) {
+                int i = K - 1;
+                while (i > 0 && top[i - 1] < s) {
+                    top[i] = top[i - 1];
+                    i--;
+                }
+                top[i] = s;
+            }
+        }
+        return top[K - 1];
+    }
+
+    private static TitleFeatures features(UUID titleId, int titles, SplittableRandom random) {
+        int genre = random.nextInt(GENRES);
+        Set<UUID> tags = new HashSet<>();
+        int tagCount = 3 + random.nextInt(8);
+        while (tags.size() < tagCount) {
+            // Mostly tags of the title's genre, some from anywhere
+            int tag = random.nextInt(4) > 0
+                    ? genre * TAGS_PER_GENRE + random.nextInt(TAGS_PER_GENRE)
+                    : random.nextInt(GENRES * TAGS_PER_GENRE);
+            tags.add(new UUID(1, tag));
+        }
+        Set<UUID> authors = new HashSet<>();
+        int authorCount = 1 + random.nextInt(2);
+        while (authors.size() < authorCount) {
+            authors.add(new UUID(2, random.nextInt(Math.max(100, titles / 4))));
+        }
+        return new TitleFeatures(
+                titleId,
+                TYPES[random.nextInt(TYPES.length)],
+                RATINGS[random.nextInt(RATINGS.length)],
+                new UUID(3, random.nextInt(300)),
+                authors,
+                tags
+        );
+    }
+
+    private static double percentile(long[] nanos, double p) {
+        long[] sorted = nanos.clone();
+        Arrays.sort(sorted);
+        return sorted[(int) Math.min(sorted.length - 1, Math.floor(p * sorted.length))] / 1e6;
+    }
+
+}
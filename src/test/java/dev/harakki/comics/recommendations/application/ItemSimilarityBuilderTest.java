@@ -0,0 +1,52 @@
+package dev.harakki.comics.recommendations.application;
+
+import dev.harakki.comics.analytics.api.InteractionSignalProvider;
+import dev.harakki.comics.analytics.api.InteractionSignalProvider.TitleSignal;
+import dev.harakki.comics.analytics.api.InteractionSignalProvider.TitleSignalPage;
+import dev.harakki.comics.recommendations.domain.SimilarityMatrix;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+class ItemSimilarityBuilderTest {
+
+    static final UUID NIL = new UUID(0, 0);
+
+    InteractionSignalProvider interactionSignalProvider = mock(InteractionSignalProvider.class);
+    ItemSimilarityBuilder builder = new ItemSimilarityBuilder(interactionSignalProvider, 2, 500, 50, 2, 1, 256);
+
+    @Test
+    void readsPastAPageWhoseUsersOnlyTouchedDeletedTitles() {
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        // The users picked for the first page only interacted with a deleted title, so none of their signals is left
+        when(interactionSignalProvider.getTitleSignals(NIL, 2)).thenReturn(new TitleSignalPage(List.of(), id(2)));
+        when(interactionSignalProvider.getTitleSignals(id(2), 2)).thenReturn(new TitleSignalPage(List.of(
+                liked(id(3), first), liked(id(3), second),
+                liked(id(4), first), liked(id(4), second)
+        ), id(4)));
+        when(interactionSignalProvider.getTitleSignals(id(4), 2)).thenReturn(new TitleSignalPage(List.of(), null));
+
+        var matrix = builder.build();
+
+        assertThat(matrix.titleCount()).isEqualTo(2);
+        assertThat(matrix.neighbours(first, 10, Set.of()))
+                .extracting(SimilarityMatrix.Neighbour::titleId)
+                .containsExactly(second);
+        verify(interactionSignalProvider, times(3)).getTitleSignals(any(), anyInt());
+    }
+
+    static UUID id(long n) {
+        return new UUID(0, n);
+    }
+
+    static TitleSignal liked(UUID userId, UUID titleId) {
+        return new TitleSignal(userId, titleId, 0, true, false, false, false);
+    }
+
+}
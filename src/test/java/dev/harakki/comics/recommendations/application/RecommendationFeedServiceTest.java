@@ -0,0 +1,81 @@
+package dev.harakki.comics.recommendations.application;
+
+import dev.harakki.comics.analytics.api.PopularTitleProvider;
+import dev.harakki.comics.analytics.api.TrendingTitleProvider;
+import dev.harakki.comics.analytics.api.TrendingWindow;
+import dev.harakki.comics.library.api.LibraryEntryProvider;
+import dev.harakki.comics.recommendations.domain.FactorModel;
+import dev.harakki.comics.recommendations.dto.RecommendedTitleResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+/**
+ * Users the model does not know get the trending titles, which keeps the feeds deterministic.
+ */
+class RecommendationFeedServiceTest {
+
+    static final UUID USER_ID = UUID.randomUUID();
+    static final List<UUID> TITLES = IntStream.range(0, 6).mapToObj(_ -> UUID.randomUUID()).toList();
+
+    PersonalRecommendationService personalRecommendationService = mock(PersonalRecommendationService.class);
+    LibraryEntryProvider libraryEntryProvider = mock(LibraryEntryProvider.class);
+    PopularTitleProvider popularTitleProvider = mock(PopularTitleProvider.class);
+    TrendingTitleProvider trendingTitleProvider = mock(TrendingTitleProvider.class);
+    RecommendationFeedService service = new RecommendationFeedService(personalRecommendationService, libraryEntryProvider,
+            popularTitleProvider, trendingTitleProvider, TrendingWindow.DAY, 200, 50, 500, 100, Duration.ofDays(7));
+
+    @BeforeEach
+    void setUp() {
+        when(personalRecommendationService.model()).thenReturn(FactorModel.EMPTY);
+        when(personalRecommendationService.excludedTitles(any())).thenReturn(_ -> false);
+        when(libraryEntryProvider.getLibraryTitleIds(USER_ID)).thenReturn(Set.of());
+        when(trendingTitleProvider.getTrendingTitleIds(any(), anyInt())).thenReturn(TITLES);
+        service.refreshFeeds();
+    }
+
+    @Test
+    void pagingGoesOnAfterTheLastServedTitleWasDropped() {
+        var first = service.getFeed(USER_ID, null, 3);
+        assertThat(titles(first.items())).containsExactlyElementsOf(TITLES.subList(0, 3));
+
+        // The last title served and one before it are gone by the next page
+        service.recordInteraction(USER_ID, TITLES.get(1));
+        service.recordInteraction(USER_ID, TITLES.get(2));
+
+        var second = service.getFeed(USER_ID, first.nextCursor(), 3);
+        assertThat(titles(second.items())).containsExactlyElementsOf(TITLES.subList(3, 6));
+    }
+
+    @Test
+    void aShortFeedIsNotRebuiltBeforeHalfOfItIsDropped() {
+        service.getFeed(USER_ID, null, 3);
+
+        service.recordInteraction(USER_ID, TITLES.get(0));
+        service.recordInteraction(USER_ID, TITLES.get(1));
+
+        // Built once, although the feed holds far fewer titles than the configured size
+        verify(libraryEntryProvider, times(1)).getLibraryTitleIds(USER_ID);
+        assertThat(titles(service.getFeed(USER_ID, null, 10).items())).containsExactlyElementsOf(TITLES.subList(2, 6));
+
+        service.recordInteraction(USER_ID, TITLES.get(2));
+        service.recordInteraction(USER_ID, TITLES.get(3));
+
+        verify(libraryEntryProvider, times(2)).getLibraryTitleIds(USER_ID);
+    }
+
+    private static List<UUID> titles(List<RecommendedTitleResponse> items) {
+        return items.stream().map(RecommendedTitleResponse::titleId).toList();
+    }
+
+}
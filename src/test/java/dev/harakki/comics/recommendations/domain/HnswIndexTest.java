@@ -0,0 +1,95 @@
+package dev.harakki.comics.recommendations.domain;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HnswIndexTest {
+
+    private static final int DIMENSION = 16;
+
+    @Test
+    void compactionDropsTombstones() {
+        var random = new SplittableRandom(1);
+        var index = new HnswIndex(DIMENSION, 8, 50, 42);
+        Map<UUID, float[]> vectors = new HashMap<>();
+        for (int i = 0; i < 500; i++) {
+            var id = new UUID(0, i);
+            vectors.put(id, unitVector(random));
+            index.put(id, vectors.get(id));
+        }
+        for (int i = 0; i < 100; i++) {
+            index.remove(new UUID(0, i));
+            vectors.remove(new UUID(0, i));
+        }
+        for (int i = 100; i < 200; i++) {
+            var id = new UUID(0, i);
+            vectors.put(id, unitVector(random));
+            index.put(id, vectors.get(id));
+        }
+
+        index.compact();
+
+        assertThat(index.tombstones()).isZero();
+        assertThat(index.ids()).isEqualTo(vectors.keySet());
+        vectors.forEach((id, vector) -> {
+            assertThat(index.vector(id)).contains(vector);
+            assertThat(index.search(vector, 1, 50)).first().extracting(HnswIndex.Match::id).isEqualTo(id);
+        });
+    }
+
+    @Test
+    void changesDuringCompactionAreKept() {
+        var random = new SplittableRandom(2);
+        var index = new HnswIndex(DIMENSION, 8, 50, 42);
+        Map<UUID, float[]> expected = new HashMap<>();
+        for (int i = 0; i < 5_000; i++) {
+            put(index, expected, new UUID(0, i), unitVector(random));
+        }
+        for (int i = 0; i < 2_000; i++) {
+            remove(index, expected, new UUID(0, i));
+        }
+
+        var compaction = CompletableFuture.runAsync(index::compact);
+        // Keeps adding, replacing and removing vectors until the compaction is done
+        for (int i = 0; !compaction.isDone() || i < 100; i++) {
+            put(index, expected, new UUID(1, i), unitVector(random));
+            put(index, expected, new UUID(0, 2_000 + random.nextInt(3_000)), unitVector(random));
+            remove(index, expected, new UUID(0, 2_000 + random.nextInt(3_000)));
+        }
+        compaction.join();
+
+        assertThat(index.ids()).isEqualTo(expected.keySet());
+        expected.forEach((id, vector) -> assertThat(index.vector(id)).contains(vector));
+    }
+
+    private static void put(HnswIndex index, Map<UUID, float[]> expected, UUID id, float[] vector) {
+        index.put(id, vector);
+        expected.put(id, vector);
+    }
+
+    private static void remove(HnswIndex index, Map<UUID, float[]> expected, UUID id) {
+        index.remove(id);
+        expected.remove(id);
+    }
+
+    private static float[] unitVector(SplittableRandom random) {
+        float[] vector = new float[DIMENSION];
+        double norm = 0;
+        for (int d = 0; d < DIMENSION; d++) {
+            vector[d] = (float) random.nextGaussian();
+            norm += vector[d] * vector[d];
+        }
+        for (int d = 0; d < DIMENSION; d++) {
+            vector[d] /= (float) Math.sqrt(norm);
+        }
+        return vector;
+    }
+
+}
@@ -0,0 +1,135 @@
+package dev.harakki.comics.recommendations.domain;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class MinHashTest {
+
+    // About three standard errors of the estimate from a 128 position signature
+    private static final double MAX_ERROR = 0.14;
+
+    @ParameterizedTest
+    @ValueSource(doubles = {0.0, 0.1, 0.3, 0.5, 0.8, 1.0})
+    void estimatesJaccardSimilarity(double similarity) {
+        var random = new Random(Double.doubleToLongBits(similarity));
+        // Two sets whose union has 400 titles, sharing the given fraction of them
+        int union = 400;
+        int shared = (int) Math.round(union * similarity);
+        long[] common = keys(random, shared);
+        long[] onlyA = keys(random, (union - shared) / 2);
+        long[] onlyB = keys(random, union - shared - onlyA.length);
+
+        int[] a = MinHash.signature(concat(common, onlyA));
+        int[] b = MinHash.signature(concat(common, onlyB));
+
+        assertThat(estimate(a, b)).isCloseTo(similarity, within(MAX_ERROR));
+    }
+
+    @Test
+    void estimateIsUnbiasedOverManySets() {
+        var random = new Random(7);
+        double total = 0;
+        int pairs = 50;
+        for (int p = 0; p < pairs; p++) {
+            long[] common = keys(random, 60);
+            total += estimate(
+                    MinHash.signature(concat(common, keys(random, 70))),
+                    MinHash.signature(concat(common, keys(random, 70))));
+        }
+
+        // 60 shared of 200
+        assertThat(total / pairs).isCloseTo(0.3, within(0.03));
+    }
+
+    @Test
+    void signatureDoesNotDependOnOrderOrDuplicates() {
+        long[] keys = keys(new Random(3), 50);
+        long[] shuffled = keys.clone();
+        Arrays.sort(shuffled);
+
+        assertThat(MinHash.signature(shuffled)).isEqualTo(MinHash.signature(keys));
+        assertThat(MinHash.signature(concat(keys, keys))).isEqualTo(MinHash.signature(keys));
+    }
+
+    @Test
+    void addingKeysMatchesSignatureOfTheSet() {
+        long[] keys = keys(new Random(5), 30);
+        int[] signature = MinHash.signature(new long[0]);
+        for (long key : keys) {
+            MinHash.add(signature, key);
+        }
+
+        assertThat(signature).isEqualTo(MinHash.signature(keys));
+    }
+
+    @Test
+    void signatureOfEmptySetHasNoMinimum() {
+        assertThat(MinHash.signature(new long[0]))
+                .hasSize(MinHash.SIZE)
+                .containsOnly(Integer.MAX_VALUE);
+    }
+
+    @Test
+    void titleKeyIsStable() {
+        var titleId = UUID.randomUUID();
+
+        assertThat(MinHash.titleKey(titleId)).isEqualTo(MinHash.titleKey(new UUID(
+                titleId.getMostSignificantBits(), titleId.getLeastSignificantBits())));
+        assertThat(MinHash.titleKey(titleId)).isNotEqualTo(MinHash.titleKey(UUID.randomUUID()));
+    }
+
+    @Test
+    void bandKeysAreDistinctAcrossBands() {
+        // All bands of an empty signature hold the same rows
+        int[] signature = MinHash.signature(new long[0]);
+
+        assertThat(IntStream.range(0, MinHash.BANDS).mapToLong(band -> MinHash.bandKey(signature, band)).distinct())
+                .hasSize(MinHash.BANDS);
+    }
+
+    @Test
+    void equalBandsShareABucket() {
+        var random = new Random(11);
+        long[] common = keys(random, 100);
+        int[] a = MinHash.signature(concat(common, keys(random, 5)));
+        int[] b = MinHash.signature(concat(common, keys(random, 5)));
+
+        for (int band = 0; band < MinHash.BANDS; band++) {
+            boolean equalRows = Arrays.equals(a, band * MinHash.ROWS, (band + 1) * MinHash.ROWS,
+                    b, band * MinHash.ROWS, (band + 1) * MinHash.ROWS);
+            assertThat(MinHash.bandKey(a, band) == MinHash.bandKey(b, band)).isEqualTo(equalRows);
+        }
+    }
+
+    private static double estimate(int[] a, int[] b) {
+        int equal = 0;
+        for (int k = 0; k < MinHash.SIZE; k++) {
+            if (a[k] == b[k]) {
+                equal++;
+            }
+        }
+        return (double) equal / MinHash.SIZE;
+    }
+
+    private static long[] keys(Random random, int count) {
+        return IntStream.range(0, count)
+                .mapToLong(_ -> MinHash.titleKey(new UUID(random.nextLong(), random.nextLong())))
+                .toArray();
+    }
+
+    private static long[] concat(long[] a, long[] b) {
+        long[] all = Arrays.copyOf(a, a.length + b.length);
+        System.arraycopy(b, 0, all, a.length, b.length);
+        return all;
+    }
+
+}
@@ -0,0 +1,87 @@
+package dev.harakki.comics.recommendations.domain;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TasteProfileTest {
+
+    private static final long A = MinHash.titleKey(UUID.randomUUID());
+    private static final long B = MinHash.titleKey(UUID.randomUUID());
+    private static final long C = MinHash.titleKey(UUID.randomUUID());
+
+    @Test
+    void addedTitlesAreKeptSorted() {
+        var profile = TasteProfile.EMPTY
+                .update(C, TasteProfile.READ, (byte) 0)
+                .update(A, TasteProfile.IN_LIBRARY, (byte) 0)
+                .update(B, TasteProfile.LIKED, (byte) 0);
+
+        assertThat(profile.size()).isEqualTo(3);
+        assertThat(profile.titles()).isSorted().containsExactlyInAnyOrder(A, B, C);
+        assertThat(profile.signature()).isEqualTo(MinHash.signature(new long[]{A, B, C}));
+    }
+
+    @Test
+    void reasonsAccumulatePerTitle() {
+        var profile = TasteProfile.EMPTY
+                .update(A, TasteProfile.READ, (byte) 0)
+                .update(A, (byte) (TasteProfile.IN_LIBRARY | TasteProfile.LIKED), (byte) 0)
+                .update(A, (byte) 0, TasteProfile.LIKED);
+
+        assertThat(profile.size()).isEqualTo(1);
+        assertThat(profile.reasons()).containsExactly((byte) (TasteProfile.READ | TasteProfile.IN_LIBRARY));
+    }
+
+    @Test
+    void titleLeavesOnceNoReasonIsLeft() {
+        var profile = TasteProfile.EMPTY
+                .update(A, TasteProfile.READ, (byte) 0)
+                .update(B, TasteProfile.IN_LIBRARY, (byte) 0)
+                .update(B, (byte) 0, (byte) (TasteProfile.IN_LIBRARY | TasteProfile.LIKED));
+
+        assertThat(profile.titles()).containsExactly(A);
+        // Removals recompute the signature from the remaining titles
+        assertThat(profile.signature()).isEqualTo(MinHash.signature(new long[]{A}));
+    }
+
+    @Test
+    void unchangedReasonsReturnTheSameProfile() {
+        var profile = TasteProfile.EMPTY.update(A, TasteProfile.READ, (byte) 0);
+
+        assertThat(profile.update(A, TasteProfile.READ, (byte) 0)).isSameAs(profile);
+        assertThat(profile.update(B, (byte) 0, TasteProfile.LIKED)).isSameAs(profile);
+    }
+
+    @Test
+    void updatesDoNotChangeTheOriginal() {
+        var profile = TasteProfile.EMPTY.update(A, TasteProfile.READ, (byte) 0);
+        var signature = profile.signature().clone();
+
+        profile.update(B, TasteProfile.READ, (byte) 0);
+        profile.update(A, TasteProfile.LIKED, (byte) 0);
+
+        assertThat(profile.titles()).containsExactly(A);
+        assertThat(profile.reasons()).containsExactly(TasteProfile.READ);
+        assertThat(profile.signature()).isEqualTo(signature);
+        assertThat(TasteProfile.EMPTY.size()).isZero();
+    }
+
+    @Test
+    void intersectionCountsSharedTitles() {
+        var first = TasteProfile.EMPTY
+                .update(A, TasteProfile.READ, (byte) 0)
+                .update(B, TasteProfile.READ, (byte) 0);
+        var second = TasteProfile.EMPTY
+                .update(B, TasteProfile.LIKED, (byte) 0)
+                .update(C, TasteProfile.LIKED, (byte) 0);
+
+        assertThat(first.intersectionSize(second)).isEqualTo(1);
+        assertThat(second.intersectionSize(first)).isEqualTo(1);
+        assertThat(first.intersectionSize(first)).isEqualTo(2);
+        assertThat(first.intersectionSize(TasteProfile.EMPTY)).isZero();
+    }
+
+}
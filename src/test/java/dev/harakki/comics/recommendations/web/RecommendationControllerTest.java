@@ -0,0 +1,94 @@
+package dev.harakki.comics.recommendations.web;
+
+import dev.harakki.comics.recommendations.application.ContentSimilarityService;
+import dev.harakki.comics.recommendations.application.RecommendationService;
+import dev.harakki.comics.recommendations.dto.SimilarTitleResponse;
+import dev.harakki.comics.recommendations.dto.SimilarTitlesResponse;
+import dev.harakki.comics.shared.config.SecurityConfig;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.webmvc.test.autoconfigure.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationConverter;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(RecommendationController.class)
+@Import(SecurityConfig.class)
+class RecommendationControllerTest {
+
+    @MockitoBean
+    JwtAuthenticationConverter jwtAuthenticationConverter;
+
+    @MockitoBean
+    JwtDecoder jwtDecoder;
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @MockitoBean
+    RecommendationService recommendationService;
+
+    @MockitoBean
+    ContentSimilarityService contentSimilarityService;
+
+    // GET SIMILAR TITLES
+
+    @Test
+    void getSimilarTitles_ok() throws Exception {
+        UUID titleId = UUID.randomUUID();
+        UUID similarId = UUID.randomUUID();
+        when(recommendationService.getSimilarTitles(eq(titleId), eq(5)))
+                .thenReturn(new SimilarTitlesResponse(titleId, List.of(new SimilarTitleResponse(similarId, 0.42f)), Instant.now()));
+
+        mockMvc.perform(get("/api/v1/recommendations/titles/{titleId}/similar", titleId)
+                        .param("limit", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].titleId").value(similarId.toString()))
+                .andExpect(jsonPath("$.items[0].score").value(0.42));
+    }
+
+    @Test
+    void getSimilarTitles_defaultLimit() throws Exception {
+        UUID titleId = UUID.randomUUID();
+        when(recommendationService.getSimilarTitles(eq(titleId), eq(20)))
+                .thenReturn(new SimilarTitlesResponse(titleId, List.of(), Instant.EPOCH));
+
+        mockMvc.perform(get("/api/v1/recommendations/titles/{titleId}/similar", titleId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items").isEmpty());
+    }
+
+    @Test
+    void getSimilarTitles_invalidId() throws Exception {
+        mockMvc.perform(get("/api/v1/recommendations/titles/{titleId}/similar", "not-a-uuid"))
+                .andExpect(status().isBadRequest());
+    }
+
+    // GET SIMILAR CONTENT TITLES
+
+    @Test
+    void getSimilarContentTitles_ok() throws Exception {
+        UUID titleId = UUID.randomUUID();
+        UUID similarId = UUID.randomUUID();
+        when(contentSimilarityService.getSimilarTitles(eq(titleId), eq(20)))
+                .thenReturn(new SimilarTitlesResponse(titleId, List.of(new SimilarTitleResponse(similarId, 0.9f)), Instant.now()));
+
+        mockMvc.perform(get("/api/v1/recommendations/titles/{titleId}/similar-content", titleId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.titleId").value(titleId.toString()))
+                .andExpect(jsonPath("$.items[0].titleId").value(similarId.toString()));
+    }
+
+}
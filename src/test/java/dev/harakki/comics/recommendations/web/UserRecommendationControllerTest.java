@@ -0,0 +1,165 @@
+package dev.harakki.comics.recommendations.web;
+
+import dev.harakki.comics.recommendations.application.PersonalRecommendationService;
+import dev.harakki.comics.recommendations.application.RecommendationFeedService;
+import dev.harakki.comics.recommendations.application.UserSimilarityService;
+import dev.harakki.comics.recommendations.dto.CompatibleUserResponse;
+import dev.harakki.comics.recommendations.dto.RecommendationFeedResponse;
+import dev.harakki.comics.recommendations.dto.RecommendedTitleResponse;
+import dev.harakki.comics.recommendations.dto.RecommendedTitlesResponse;
+import dev.harakki.comics.shared.config.SecurityConfig;
+import dev.harakki.comics.shared.exception.InvalidCursorException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.webmvc.test.autoconfigure.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationConverter;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(UserRecommendationController.class)
+@Import(SecurityConfig.class)
+class UserRecommendationControllerTest {
+
+    @MockitoBean
+    JwtAuthenticationConverter jwtAuthenticationConverter;
+
+    @MockitoBean
+    JwtDecoder jwtDecoder;
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @MockitoBean
+    UserSimilarityService userSimilarityService;
+
+    @MockitoBean
+    PersonalRecommendationService personalRecommendationService;
+
+    @MockitoBean
+    RecommendationFeedService recommendationFeedService;
+
+    // GET RECOMMENDED TITLES
+
+    @Test
+    void getRecommendedTitles_ok() throws Exception {
+        UUID userId = UUID.randomUUID();
+        UUID titleId = UUID.randomUUID();
+        when(personalRecommendationService.getRecommendedTitles(eq(userId), eq(20)))
+                .thenReturn(new RecommendedTitlesResponse(userId, List.of(new RecommendedTitleResponse(titleId, 0.87f)), Instant.now()));
+
+        mockMvc.perform(get("/api/v1/recommendations/users/me/titles")
+                        .with(jwt().jwt(jwt -> jwt.subject(userId.toString())).authorities(new SimpleGrantedAuthority("ROLE_USER"))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.userId").value(userId.toString()))
+                .andExpect(jsonPath("$.items[0].titleId").value(titleId.toString()));
+    }
+
+    @Test
+    void getRecommendedTitles_unauthorized() throws Exception {
+        mockMvc.perform(get("/api/v1/recommendations/users/me/titles"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    // GET FEED
+
+    @Test
+    void getFeed_ok() throws Exception {
+        UUID userId = UUID.randomUUID();
+        UUID titleId = UUID.randomUUID();
+        when(recommendationFeedService.getFeed(eq(userId), eq("cursor"), eq(10)))
+                .thenReturn(new RecommendationFeedResponse(userId, List.of(new RecommendedTitleResponse(titleId, 0.87f)), "next", true, Instant.now()));
+
+        mockMvc.perform(get("/api/v1/recommendations/users/me/feed")
+                        .param("cursor", "cursor")
+                        .param("limit", "10")
+                        .with(jwt().jwt(jwt -> jwt.subject(userId.toString())).authorities(new SimpleGrantedAuthority("ROLE_USER"))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].titleId").value(titleId.toString()))
+                .andExpect(jsonPath("$.nextCursor").value("next"))
+                .andExpect(jsonPath("$.personalized").value(true));
+    }
+
+    @Test
+    void getFeed_malformedCursor_badRequest() throws Exception {
+        UUID userId = UUID.randomUUID();
+        when(recommendationFeedService.getFeed(eq(userId), eq("not-a-cursor"), eq(20)))
+                .thenThrow(new InvalidCursorException("Invalid feed cursor"));
+
+        mockMvc.perform(get("/api/v1/recommendations/users/me/feed")
+                        .param("cursor", "not-a-cursor")
+                        .with(jwt().jwt(jwt -> jwt.subject(userId.toString())).authorities(new SimpleGrantedAuthority("ROLE_USER"))))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getFeed_unauthorized() throws Exception {
+        mockMvc.perform(get("/api/v1/recommendations/users/me/feed"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    // GET SIMILAR USERS
+
+    @Test
+    void getSimilarUsers_ok() throws Exception {
+        UUID userId = UUID.randomUUID();
+        UUID otherId = UUID.randomUUID();
+        when(userSimilarityService.getSimilarUsers(eq(userId), eq(10)))
+                .thenReturn(List.of(new CompatibleUserResponse(otherId, 37, 12)));
+
+        mockMvc.perform(get("/api/v1/recommendations/users/me/similar")
+                        .with(jwt().jwt(jwt -> jwt.subject(userId.toString())).authorities(new SimpleGrantedAuthority("ROLE_USER"))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].userId").value(otherId.toString()))
+                .andExpect(jsonPath("$[0].compatibility").value(37));
+    }
+
+    @Test
+    void getSimilarUsers_unauthorized() throws Exception {
+        mockMvc.perform(get("/api/v1/recommendations/users/me/similar"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    // GET COMPATIBILITY
+
+    @Test
+    void getCompatibility_ok() throws Exception {
+        UUID userId = UUID.randomUUID();
+        UUID otherId = UUID.randomUUID();
+        when(userSimilarityService.getCompatibility(eq(userId), eq(otherId)))
+                .thenReturn(new CompatibleUserResponse(otherId, 64, 9));
+
+        mockMvc.perform(get("/api/v1/recommendations/users/me/compatibility/{userId}", otherId)
+                        .with(jwt().jwt(jwt -> jwt.subject(userId.toString())).authorities(new SimpleGrantedAuthority("ROLE_USER"))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.compatibility").value(64))
+                .andExpect(jsonPath("$.sharedTitles").value(9));
+    }
+
+    @Test
+    void getCompatibility_privateUser_forbidden() throws Exception {
+        UUID userId = UUID.randomUUID();
+        UUID otherId = UUID.randomUUID();
+        when(userSimilarityService.getCompatibility(eq(userId), eq(otherId)))
+                .thenThrow(new AccessDeniedException("You don't have permission to compare with this user"));
+
+        mockMvc.perform(get("/api/v1/recommendations/users/me/compatibility/{userId}", otherId)
+                        .with(jwt().jwt(jwt -> jwt.subject(userId.toString())).authorities(new SimpleGrantedAuthority("ROLE_USER"))))
+                .andExpect(status().isForbidden());
+    }
+
+}
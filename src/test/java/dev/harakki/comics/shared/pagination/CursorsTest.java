@@ -0,0 +1,112 @@
+package dev.harakki.comics.shared.pagination;
+
+import dev.harakki.comics.shared.exception.InvalidCursorException;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CursorsTest {
+
+    private static final Set<String> SORTABLE = Set.of("name", "createdAt");
+
+    @Test
+    void roundTripsTheKeysOfTheSort() {
+        var sort = Cursors.sort(Sort.by(Sort.Direction.DESC, "createdAt"), SORTABLE);
+        var keys = new LinkedHashMap<String, Object>();
+        keys.put("createdAt", Instant.parse("2026-03-01T10:15:30.123456789Z"));
+        keys.put("id", UUID.randomUUID());
+
+        var position = Cursors.decode(Cursors.encode(ScrollPosition.forward(keys), sort), sort);
+
+        assertThat(position.getKeys()).isEqualTo(keys);
+    }
+
+    @Test
+    void sortGetsTheIdTiebreaker() {
+        assertThat(Cursors.sort(Sort.by("name"), SORTABLE)).isEqualTo(Sort.by("name", "id"));
+        assertThatThrownBy(() -> Cursors.sort(Sort.by("password"), SORTABLE))
+                .isInstanceOf(InvalidCursorException.class);
+    }
+
+    @Test
+    void rejectsACursorOfAnotherDirection() {
+        var descending = Cursors.sort(Sort.by(Sort.Direction.DESC, "createdAt"), SORTABLE);
+        var ascending = Cursors.sort(Sort.by(Sort.Direction.ASC, "createdAt"), SORTABLE);
+        var cursor = Cursors.encode(ScrollPosition.forward(keys("createdAt", Instant.now())), descending);
+
+        assertThatThrownBy(() -> Cursors.decode(cursor, ascending))
+                .isInstanceOf(InvalidCursorException.class);
+    }
+
+    @Test
+    void rejectsACursorOfAnotherProperty() {
+        var byName = Cursors.sort(Sort.by("name"), SORTABLE);
+        var byCreation = Cursors.sort(Sort.by("createdAt"), SORTABLE);
+        var cursor = Cursors.encode(ScrollPosition.forward(keys("name", "Berserk")), byName);
+
+        assertThatThrownBy(() -> Cursors.decode(cursor, byCreation))
+                .isInstanceOf(InvalidCursorException.class);
+    }
+
+    @Test
+    void rejectsGarbage() {
+        var sort = Cursors.sort(Sort.by("name"), SORTABLE);
+
+        assertThatThrownBy(() -> Cursors.decode("garbage!", sort)).isInstanceOf(InvalidCursorException.class);
+        assertThatThrownBy(() -> Cursors.decode("AAAA", sort)).isInstanceOf(InvalidCursorException.class);
+    }
+
+    @Test
+    void rejectsInstantsOutOfRange() throws IOException {
+        var sort = Cursors.sort(Sort.by("createdAt"), SORTABLE);
+
+        assertThatThrownBy(() -> Cursors.decode(instantCursor(Long.MAX_VALUE, 0), sort))
+                .isInstanceOf(InvalidCursorException.class);
+        assertThatThrownBy(() -> Cursors.decode(instantCursor(Long.MAX_VALUE, Integer.MAX_VALUE), sort))
+                .isInstanceOf(InvalidCursorException.class);
+    }
+
+    @Test
+    void startsFromTheBeginningWithoutACursor() {
+        assertThat(Cursors.decode(null, Sort.by("id")).isInitial()).isTrue();
+        assertThat(Cursors.decode(" ", Sort.by("id")).isInitial()).isTrue();
+    }
+
+    private static LinkedHashMap<String, Object> keys(String property, Object value) {
+        var keys = new LinkedHashMap<String, Object>();
+        keys.put(property, value);
+        keys.put("id", UUID.randomUUID());
+        return keys;
+    }
+
+    private static String instantCursor(long seconds, int nanos) throws IOException {
+        var bytes = new ByteArrayOutputStream();
+        try (var out = new DataOutputStream(bytes)) {
+            out.writeByte(2);
+            out.writeUTF("createdAt");
+            out.writeByte('A');
+            out.writeByte('I');
+            out.writeLong(seconds);
+            out.writeInt(nanos);
+            out.writeUTF("id");
+            out.writeByte('A');
+            out.writeByte('U');
+            out.writeLong(1);
+            out.writeLong(2);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes.toByteArray());
+    }
+
+}